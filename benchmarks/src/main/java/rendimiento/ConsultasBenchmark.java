@@ -0,0 +1,82 @@
+package rendimiento;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidades.HomeSolution;
+import entidades.Tupla;
+
+/** Consultas que no modifican el estado: costo de un proyecto, listados de proyectos y ranking de retrasos. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx3g"})
+public class ConsultasBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int tamanio;
+
+    private HomeSolution hs;
+    private int numero;
+
+    @Setup(Level.Trial)
+    public void poblar() throws Exception {
+        hs = Poblacion.crear(tamanio, 42);
+    }
+
+    // recorre los proyectos en orden, para no medir siempre el mismo en cache
+    private int siguiente() {
+        if (++numero > tamanio) numero = 1;
+        return numero;
+    }
+
+    @Benchmark
+    public double costoProyecto() {
+        return hs.costoProyecto(siguiente());
+    }
+
+    @Benchmark
+    public List<Tupla<Integer, String>> proyectosPendientes() {
+        return hs.proyectosPendientes();
+    }
+
+    @Benchmark
+    public List<Tupla<Integer, String>> proyectosActivos() {
+        return hs.proyectosActivos();
+    }
+
+    @Benchmark
+    public List<Tupla<Integer, String>> proyectosFinalizados() {
+        return hs.proyectosFinalizados();
+    }
+
+    @Benchmark
+    public int posicionPorRetrasos() {
+        return hs.posicionPorRetrasos(99 + siguiente()); // legajos desde 100, uno por proyecto
+    }
+
+    @Benchmark
+    public Tupla<Integer, Integer> percentil90DeRetrasos() {
+        return hs.empleadoEnPercentilDeRetrasos(0.9);
+    }
+
+    @Benchmark
+    public List<Tupla<Integer, Integer>> diezMasRetrasados() {
+        return hs.masRetrasados(10);
+    }
+}
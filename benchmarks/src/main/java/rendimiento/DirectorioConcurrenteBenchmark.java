@@ -0,0 +1,108 @@
+package rendimiento;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidades.HomeSolutionConcurrente;
+import entidades.HomeSolutionParticionado;
+import entidades.IHomeSolution;
+
+/**
+ * Carga mixta de varios hilos sobre los empleados: cada invocacion asigna una tarea (por FIFO
+ * o por menos retrasos, alternando), le registra un retraso al responsable y la finaliza, que
+ * lo devuelve al pool. Las tres pasan por el directorio de empleados.
+ *
+ * Compara el directorio con un unico mutex (particionado, DirectorioCompartido) con el de
+ * HomeSolutionConcurrente (DirectorioConcurrente, sin lock global). Los dos tienen FRANJAS
+ * locks de proyecto y cada hilo usa sus propios proyectos, asi la unica diferencia es el
+ * directorio.
+ *
+ * Como una tarea solo se asigna y finaliza una vez, cada iteracion arma la poblacion de nuevo
+ * y cada hilo hace POR_HILO ciclos (SingleShotTime con batchSize). Hay que correrlo con al
+ * menos HILOS nucleos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = DirectorioConcurrenteBenchmark.POR_HILO)
+@Measurement(iterations = 10, batchSize = DirectorioConcurrenteBenchmark.POR_HILO)
+@Fork(1)
+@Threads(DirectorioConcurrenteBenchmark.HILOS)
+public class DirectorioConcurrenteBenchmark {
+
+    static final int HILOS = 8;
+    static final int POR_HILO = 2048;
+    private static final int FRANJAS = 64;
+    private static final int PROYECTOS = FRANJAS; // uno por franja
+    private static final int POR_PROYECTO = POR_HILO / (PROYECTOS / HILOS);
+    private static final int EMPLEADOS = 1024;
+
+    static final String[] TITULOS = new String[POR_PROYECTO];
+
+    static {
+        for (int i = 0; i < POR_PROYECTO; i++) TITULOS[i] = "T" + i;
+    }
+
+    @Param({"particionado", "concurrente"})
+    public String directorio;
+
+    IHomeSolution hs;
+
+    @Setup(Level.Iteration)
+    public void poblar() {
+        hs = directorio.equals("concurrente") ? new HomeSolutionConcurrente(FRANJAS) : new HomeSolutionParticionado(FRANJAS);
+        for (int i = 0; i < EMPLEADOS; i++) hs.registrarEmpleado("E" + i, 1000);
+        String[] descripciones = new String[POR_PROYECTO];
+        double[] dias = new double[POR_PROYECTO];
+        Arrays.fill(descripciones, "");
+        Arrays.fill(dias, 1);
+        for (int p = 1; p <= PROYECTOS; p++) {
+            hs.registrarProyecto(TITULOS, descripciones, dias, "Calle " + p, new String[]{"Cli"},
+                    "2025-01-01", "2025-01-10");
+        }
+    }
+
+    /** Proyectos y cursor de un hilo. El hilo k usa los proyectos k + 1, k + 1 + HILOS, ... */
+    @State(Scope.Thread)
+    public static class Hilo {
+        private static final AtomicInteger SIGUIENTE = new AtomicInteger();
+
+        private final int indice = SIGUIENTE.getAndIncrement() % HILOS;
+        private int operacion;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            operacion = 0;
+        }
+
+        int proyecto(int i) {
+            return indice + 1 + i * HILOS;
+        }
+    }
+
+    @Benchmark
+    public void asignarRetrasarFinalizar(Hilo h) throws Exception {
+        int op = h.operacion++;
+        int proyecto = h.proyecto(op % (PROYECTOS / HILOS));
+        String titulo = TITULOS[op / (PROYECTOS / HILOS)];
+        if ((op & 1) == 0) hs.asignarResponsableEnTarea(proyecto, titulo);
+        else hs.asignarResponsableMenosRetraso(proyecto, titulo);
+        hs.registrarRetrasoEnTarea(proyecto, titulo, 1);
+        hs.finalizarTarea(proyecto, titulo);
+    }
+}
@@ -0,0 +1,168 @@
+package rendimiento;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import colecciones.ColaInt;
+import colecciones.ConjuntoInt;
+import colecciones.ListaInt;
+import colecciones.MapaInt;
+
+/**
+ * Los indices por legajo e id de HomeSolution armados de las dos formas que compara
+ * IndicesIntBenchmark: con java.util y claves Integer, como eran antes, y con las colecciones
+ * de claves int que los reemplazaron. Los valores son objetos vacios, iguales en las dos.
+ *
+ * empleados: legajo -> empleado; libres: cola FIFO de legajos;
+ * proyectos: id -> proyecto, cada uno con sus empleados actuales y su historial.
+ */
+abstract class Indices {
+    static final int PRIMER_LEGAJO = 100;
+
+    abstract Object empleado(int legajo);
+
+    abstract Object proyecto(int id);
+
+    abstract boolean esEmpleadoActual(int id, int legajo);
+
+    /** Saca el primer libre y lo vuelve a poner al final, como asignar y liberar. */
+    abstract int rotarLibres();
+
+    static Indices armar(String colecciones, int empleados, int proyectos, int porProyecto, long semilla) {
+        Indices indices;
+        if (colecciones.equals("boxeadas")) indices = new Boxeados(empleados, proyectos);
+        else if (colecciones.equals("primitivas")) indices = new Primitivos(empleados, proyectos);
+        else throw new IllegalArgumentException("Colecciones desconocidas: " + colecciones);
+        Random r = new Random(semilla);
+        for (int i = 0; i < empleados; i++) indices.agregarEmpleado(PRIMER_LEGAJO + i);
+        for (int id = 1; id <= proyectos; id++) {
+            indices.agregarProyecto(id);
+            for (int j = 0; j < porProyecto; j++) indices.agregarEmpleadoActual(id, PRIMER_LEGAJO + r.nextInt(empleados));
+        }
+        return indices;
+    }
+
+    abstract void agregarEmpleado(int legajo);
+
+    abstract void agregarProyecto(int id);
+
+    abstract void agregarEmpleadoActual(int id, int legajo);
+
+    private static final class Boxeados extends Indices {
+        private final Map<Integer, Object> empleados;
+        private final ArrayDeque<Integer> libres;
+        private final Map<Integer, ProyectoBoxeado> proyectos;
+
+        Boxeados(int empleados, int proyectos) {
+            this.empleados = new HashMap<>(empleados * 4 / 3 + 1);
+            this.libres = new ArrayDeque<>(empleados);
+            this.proyectos = new HashMap<>(proyectos * 4 / 3 + 1);
+        }
+
+        @Override
+        void agregarEmpleado(int legajo) {
+            empleados.put(legajo, new Object());
+            libres.addLast(legajo);
+        }
+
+        @Override
+        void agregarProyecto(int id) {
+            proyectos.put(id, new ProyectoBoxeado());
+        }
+
+        @Override
+        void agregarEmpleadoActual(int id, int legajo) {
+            ProyectoBoxeado p = proyectos.get(id);
+            if (p.actuales.add(legajo)) p.historial.add(legajo);
+        }
+
+        @Override
+        Object empleado(int legajo) {
+            return empleados.get(legajo);
+        }
+
+        @Override
+        Object proyecto(int id) {
+            return proyectos.get(id);
+        }
+
+        @Override
+        boolean esEmpleadoActual(int id, int legajo) {
+            return proyectos.get(id).actuales.contains(legajo);
+        }
+
+        @Override
+        int rotarLibres() {
+            Integer legajo = libres.pollFirst();
+            libres.addLast(legajo);
+            return legajo;
+        }
+    }
+
+    private static final class ProyectoBoxeado {
+        final Set<Integer> actuales = new HashSet<>();
+        final List<Integer> historial = new ArrayList<>();
+    }
+
+    private static final class Primitivos extends Indices {
+        private final MapaInt<Object> empleados;
+        private final ColaInt libres;
+        private final MapaInt<ProyectoPrimitivo> proyectos;
+
+        Primitivos(int empleados, int proyectos) {
+            this.empleados = new MapaInt<>(empleados);
+            this.libres = new ColaInt(empleados);
+            this.proyectos = new MapaInt<>(proyectos);
+        }
+
+        @Override
+        void agregarEmpleado(int legajo) {
+            empleados.put(legajo, new Object());
+            libres.agregarAlFinal(legajo);
+        }
+
+        @Override
+        void agregarProyecto(int id) {
+            proyectos.put(id, new ProyectoPrimitivo());
+        }
+
+        @Override
+        void agregarEmpleadoActual(int id, int legajo) {
+            ProyectoPrimitivo p = proyectos.get(id);
+            if (p.actuales.add(legajo)) p.historial.add(legajo);
+        }
+
+        @Override
+        Object empleado(int legajo) {
+            return empleados.get(legajo);
+        }
+
+        @Override
+        Object proyecto(int id) {
+            return proyectos.get(id);
+        }
+
+        @Override
+        boolean esEmpleadoActual(int id, int legajo) {
+            return proyectos.get(id).actuales.contains(legajo);
+        }
+
+        @Override
+        int rotarLibres() {
+            int legajo = libres.sacarPrimero();
+            libres.agregarAlFinal(legajo);
+            return legajo;
+        }
+    }
+
+    private static final class ProyectoPrimitivo {
+        final ConjuntoInt actuales = new ConjuntoInt();
+        final ListaInt historial = new ListaInt();
+    }
+}
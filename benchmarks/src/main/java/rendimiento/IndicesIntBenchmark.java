@@ -0,0 +1,74 @@
+package rendimiento;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Indices de HomeSolution con java.util y claves Integer contra las colecciones de claves int, con
+ * 1M empleados y 100k proyectos de 5 empleados. La memoria de las dos variantes la mide MemoriaIndices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx3g"})
+public class IndicesIntBenchmark {
+    static final int EMPLEADOS = 1_000_000;
+    static final int PROYECTOS = 100_000;
+    static final int POR_PROYECTO = 5;
+
+    @Param({"boxeadas", "primitivas"})
+    String colecciones;
+
+    private Indices indices;
+    private int[] legajos; // en orden aleatorio, para no medir siempre la misma linea de cache
+    private int i;
+
+    @Setup(Level.Trial)
+    public void armar() {
+        indices = Indices.armar(colecciones, EMPLEADOS, PROYECTOS, POR_PROYECTO, 42);
+        Random r = new Random(7);
+        legajos = new int[1 << 16];
+        for (int j = 0; j < legajos.length; j++) legajos[j] = Indices.PRIMER_LEGAJO + r.nextInt(EMPLEADOS);
+    }
+
+    private int siguiente() {
+        i = (i + 1) & (legajos.length - 1);
+        return legajos[i];
+    }
+
+    @Benchmark
+    public Object empleadoPorLegajo() {
+        return indices.empleado(siguiente());
+    }
+
+    @Benchmark
+    public Object proyectoPorId() {
+        return indices.proyecto(1 + siguiente() % PROYECTOS);
+    }
+
+    @Benchmark
+    public boolean esEmpleadoActual() {
+        int legajo = siguiente();
+        return indices.esEmpleadoActual(1 + legajo % PROYECTOS, legajo);
+    }
+
+    @Benchmark
+    public int rotarLibres() {
+        return indices.rotarLibres();
+    }
+}
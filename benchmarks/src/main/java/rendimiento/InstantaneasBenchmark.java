@@ -0,0 +1,63 @@
+package rendimiento;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidades.HomeSolution;
+
+/**
+ * Lo que cuesta publicar una instantanea en cada operacion: la misma operacion con y sin
+ * instantaneas, para varios tamaños. Con instantaneas el costo extra tiene que crecer a lo
+ * sumo con el logaritmo del tamaño (un camino de la raiz a la hoja en cada mapa persistente).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx3g"})
+public class InstantaneasBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int tamanio;
+
+    @Param({"false", "true"})
+    boolean instantaneas;
+
+    private HomeSolution hs;
+
+    @Setup(Level.Trial)
+    public void poblar() throws Exception {
+        hs = Poblacion.crear(tamanio, 42);
+        if (instantaneas) hs.habilitarInstantaneas();
+    }
+
+    // los impares tienen la primera tarea asignada y ninguno esta finalizado
+    private int proyectoAsignado() {
+        return 1 + 2 * ThreadLocalRandom.current().nextInt(tamanio / 2);
+    }
+
+    @Benchmark
+    public void registrarRetrasoEnTarea() {
+        hs.registrarRetrasoEnTarea(proyectoAsignado(), Poblacion.TAREA_ASIGNADA, 1);
+    }
+
+    @Benchmark
+    public double costoProyecto() {
+        int p = proyectoAsignado();
+        return instantaneas ? hs.instantanea().costoProyecto(p) : hs.costoProyecto(p);
+    }
+}
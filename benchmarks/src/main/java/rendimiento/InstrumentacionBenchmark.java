@@ -0,0 +1,68 @@
+package rendimiento;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidades.HomeSolution;
+import entidades.IHomeSolution;
+import metricas.HomeSolutionInstrumentado;
+
+/** Costo del decorador de metricas: la misma consulta con y sin instrumentar. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentacionBenchmark {
+
+    private static final int TAMANIO = 1000;
+
+    private IHomeSolution directo;
+    private IHomeSolution instrumentado;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int numero;
+
+        int siguiente() {
+            if (++numero > TAMANIO) numero = 1;
+            return numero;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void poblar() throws Exception {
+        HomeSolution hs = Poblacion.crear(TAMANIO, 42);
+        directo = hs;
+        instrumentado = new HomeSolutionInstrumentado(hs);
+    }
+
+    @Benchmark
+    public double costoDirecto(Cursor c) {
+        return directo.costoProyecto(c.siguiente());
+    }
+
+    @Benchmark
+    public double costoInstrumentado(Cursor c) {
+        return instrumentado.costoProyecto(c.siguiente());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public double costoInstrumentado4Hilos(Cursor c) {
+        return instrumentado.costoProyecto(c.siguiente());
+    }
+}
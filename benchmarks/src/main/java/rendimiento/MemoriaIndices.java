@@ -0,0 +1,40 @@
+package rendimiento;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+
+/**
+ * Heap que ocupan los indices de IndicesIntBenchmark con cada variante de colecciones: arma una por vez
+ * y mide el heap usado despues de un GC completo, antes y despues de armarla.
+ *
+ *     java -Xms2g -Xmx3g -cp benchmarks/target/benchmarks.jar rendimiento.MemoriaIndices [empleados proyectos]
+ */
+public class MemoriaIndices {
+    private static final MemoryMXBean MEMORIA = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) {
+        int empleados = args.length > 0 ? Integer.parseInt(args[0]) : IndicesIntBenchmark.EMPLEADOS;
+        int proyectos = args.length > 1 ? Integer.parseInt(args[1]) : IndicesIntBenchmark.PROYECTOS;
+        System.out.printf("%d empleados, %d proyectos de %d%n", empleados, proyectos, IndicesIntBenchmark.POR_PROYECTO);
+        for (String colecciones : new String[] {"boxeadas", "primitivas"}) {
+            long antes = usado();
+            Indices indices = Indices.armar(colecciones, empleados, proyectos, IndicesIntBenchmark.POR_PROYECTO, 42);
+            long despues = usado();
+            Reference.reachabilityFence(indices);
+            System.out.printf("%-10s %8.1f MB%n", colecciones, (despues - antes) / (1024.0 * 1024.0));
+        }
+    }
+
+    // varias pasadas: un System.gc() solo no siempre junta todo lo que ya no se usa
+    private static long usado() {
+        long anterior = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long actual = MEMORIA.getHeapMemoryUsage().getUsed();
+            if (actual >= anterior) return actual;
+            anterior = actual;
+        }
+        return anterior;
+    }
+}
@@ -0,0 +1,115 @@
+package rendimiento;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidades.HomeSolution;
+
+/**
+ * Operaciones que modifican el estado. Cada una consume lo que prepara el setup
+ * (una tarea sin asignar, un empleado libre, una tarea sin finalizar), asi que cada
+ * iteracion es una sola invocacion que aplica LOTE operaciones sobre LOTE proyectos
+ * nuevos agregados a la poblacion; el resultado es el tiempo promedio por operacion.
+ *
+ * La poblacion crece LOTE proyectos por iteracion; se vuelve a armar cuando crecio
+ * mas de un 10%, para que el tamaño medido siga siendo el del parametro. Por eso el tamaño
+ * minimo es 10 * LOTE: con menos, un solo lote ya lo pasaria (con 1000 se median 3000).
+ * LOTE no puede bajar con el tamaño porque OperationsPerInvocation es una constante.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx3g"})
+public class OperacionesBenchmark {
+    static final int LOTE = 2000;
+
+    @Param({"100000", "1000000"})
+    int tamanio;
+
+    private HomeSolution hs;
+    private Random random;
+    private int agregados;
+    private int primerProyecto; // los LOTE proyectos de esta iteracion
+
+    private final String[] titulos = {Poblacion.TAREA_ASIGNADA, Poblacion.TAREA_LIBRE};
+    private final String[] descripciones = {"", ""};
+    private final double[] dias = {2, 1.5};
+    private final String[] cliente = {"Cliente"};
+
+    @Setup(Level.Trial)
+    public void poblar() throws Exception {
+        if (tamanio < 10 * LOTE) throw new IllegalArgumentException("tamanio tiene que ser al menos " + 10 * LOTE);
+        random = new Random(42);
+        hs = Poblacion.crear(tamanio, 42);
+    }
+
+    /**
+     * LOTE proyectos nuevos con la primera tarea asignada y la segunda libre,
+     * y 2 * LOTE empleados nuevos: la mitad queda asignada y la otra mitad libre.
+     */
+    @Setup(Level.Iteration)
+    public void prepararLote() throws Exception {
+        if (agregados + LOTE > tamanio / 10) {
+            hs = Poblacion.crear(tamanio, 42);
+            agregados = 0;
+        }
+        Poblacion.agregarEmpleados(hs, 2 * LOTE, random);
+        primerProyecto = Poblacion.agregarProyectos(hs, LOTE, random);
+        for (int i = 0; i < LOTE; i++) hs.asignarResponsableEnTarea(primerProyecto + i, Poblacion.TAREA_ASIGNADA);
+        agregados += LOTE;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void registrarProyecto() {
+        for (int i = 0; i < LOTE; i++) {
+            hs.registrarProyecto(titulos, descripciones, dias, "Calle", cliente, "2025-01-01", "2025-02-01");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void asignarResponsableEnTarea() throws Exception {
+        for (int i = 0; i < LOTE; i++) hs.asignarResponsableEnTarea(primerProyecto + i, Poblacion.TAREA_LIBRE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void asignarResponsableMenosRetraso() throws Exception {
+        for (int i = 0; i < LOTE; i++) hs.asignarResponsableMenosRetraso(primerProyecto + i, Poblacion.TAREA_LIBRE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void reasignarEmpleadoConMenosRetraso() throws Exception {
+        for (int i = 0; i < LOTE; i++) hs.reasignarEmpleadoConMenosRetraso(primerProyecto + i, Poblacion.TAREA_ASIGNADA);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void registrarRetrasoEnTarea() {
+        for (int i = 0; i < LOTE; i++) hs.registrarRetrasoEnTarea(primerProyecto + i, Poblacion.TAREA_ASIGNADA, 2);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void finalizarTarea() throws Exception {
+        for (int i = 0; i < LOTE; i++) hs.finalizarTarea(primerProyecto + i, Poblacion.TAREA_ASIGNADA);
+    }
+}
@@ -0,0 +1,69 @@
+package rendimiento;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidades.HomeSolutionParticionado;
+
+/**
+ * Escalado de HomeSolutionParticionado con la cantidad de particiones: operaciones que solo
+ * tocan el proyecto desde varios hilos. Con una particion todos los hilos comparten el lock;
+ * para ver el escalado hay que correrlo en una maquina con al menos tantos nucleos como hilos.
+ * Las operaciones que cambian empleados estan en ParticionesEscrituraBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ParticionesBenchmark {
+
+    private static final int PROYECTOS = 10_000;
+
+    @Param({"1", "4", "16"})
+    public int particiones;
+
+    private HomeSolutionParticionado hs;
+
+    @Setup(Level.Trial)
+    public void poblar() throws Exception {
+        hs = new HomeSolutionParticionado(particiones);
+        for (int i = 0; i < PROYECTOS / 2; i++) hs.registrarEmpleado("E" + i, 1000);
+        String[] titulos = {Poblacion.TAREA_ASIGNADA, Poblacion.TAREA_LIBRE};
+        for (int i = 0; i < PROYECTOS; i++) {
+            hs.registrarProyecto(titulos, new String[]{"", ""}, new double[]{2, 3},
+                    "Calle " + i, new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        }
+        for (int p = 1; p <= PROYECTOS; p += 2) hs.asignarResponsableEnTarea(p, Poblacion.TAREA_ASIGNADA);
+    }
+
+    private static int proyectoAlAzar() {
+        return 1 + ThreadLocalRandom.current().nextInt(PROYECTOS);
+    }
+
+    @Benchmark
+    public double costoProyecto() {
+        return hs.costoProyecto(proyectoAlAzar());
+    }
+
+    @Benchmark
+    public Object[] tareasProyectoNoAsignadas() {
+        return hs.tareasProyectoNoAsignadas(proyectoAlAzar());
+    }
+}
@@ -0,0 +1,140 @@
+package rendimiento;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import entidades.HomeSolutionParticionado;
+
+/**
+ * Escalado de HomeSolutionParticionado con la cantidad de particiones en las operaciones de un
+ * proyecto que cambian empleados, las que pasan por el directorio compartido. Es la otra mitad
+ * de ParticionesBenchmark, que solo mide consultas.
+ *
+ * Asignar y finalizar no se pueden repetir sobre la misma tarea, asi que cada iteracion arma
+ * la poblacion de nuevo y cada hilo hace POR_HILO operaciones sobre sus propios proyectos
+ * (SingleShotTime con batchSize): el resultado es lo que tardan todos los hilos en hacer las
+ * suyas. Los proyectos de un hilo caen en particiones distintas a las de los otros cuando hay
+ * al menos tantas particiones como hilos. Hay que correrlo con al menos HILOS nucleos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = ParticionesEscrituraBenchmark.POR_HILO)
+@Measurement(iterations = 10, batchSize = ParticionesEscrituraBenchmark.POR_HILO)
+@Fork(1)
+@Threads(ParticionesEscrituraBenchmark.HILOS)
+public class ParticionesEscrituraBenchmark {
+
+    static final int HILOS = 8;
+    static final int POR_HILO = 2048;
+    private static final int PROYECTOS = 1024; // multiplo de HILOS y de la mayor cantidad de particiones
+    private static final int POR_PROYECTO = POR_HILO / (PROYECTOS / HILOS); // tareas de cada tipo
+    private static final int PRIMER_LEGAJO = 100;
+    // los repuestos se registran al final: la carga asigna por FIFO y no llega a tomarlos
+    private static final int EMPLEADOS = PROYECTOS * (2 * POR_PROYECTO + 1) + HILOS;
+
+    static final String LIBRE = "L"; // nunca se asigna: el proyecto no se cierra solo
+    static final String RETRASO = "R"; // asignada en la carga, para retrasos y reasignaciones
+    static final String[] PARA_ASIGNAR = titulos("A");
+    static final String[] PARA_FINALIZAR = titulos("F"); // asignadas en la carga
+
+    @Param({"1", "4", "16"})
+    public int particiones;
+
+    HomeSolutionParticionado hs;
+
+    @Setup(Level.Iteration)
+    public void poblar() throws Exception {
+        hs = new HomeSolutionParticionado(particiones);
+        for (int i = 0; i < EMPLEADOS; i++) hs.registrarEmpleado("E" + i, 1000);
+        int tareas = 2 + 2 * POR_PROYECTO;
+        String[] titulos = new String[tareas];
+        titulos[0] = LIBRE;
+        titulos[1] = RETRASO;
+        System.arraycopy(PARA_ASIGNAR, 0, titulos, 2, POR_PROYECTO);
+        System.arraycopy(PARA_FINALIZAR, 0, titulos, 2 + POR_PROYECTO, POR_PROYECTO);
+        String[] descripciones = new String[tareas];
+        double[] dias = new double[tareas];
+        Arrays.fill(descripciones, "");
+        Arrays.fill(dias, 1);
+        for (int p = 1; p <= PROYECTOS; p++) {
+            hs.registrarProyecto(titulos, descripciones, dias, "Calle " + p, new String[]{"Cli"},
+                    "2025-01-01", "2025-01-10");
+            hs.asignarResponsableEnTarea(p, RETRASO);
+            for (String t : PARA_FINALIZAR) hs.asignarResponsableEnTarea(p, t);
+        }
+    }
+
+    private static String[] titulos(String prefijo) {
+        String[] out = new String[POR_PROYECTO];
+        for (int i = 0; i < out.length; i++) out[i] = prefijo + i;
+        return out;
+    }
+
+    /** Proyectos y cursor de un hilo. El hilo k usa los proyectos k + 1, k + 1 + HILOS, ... */
+    @State(Scope.Thread)
+    public static class Hilo {
+        private static final AtomicInteger SIGUIENTE = new AtomicInteger();
+
+        private final int indice = SIGUIENTE.getAndIncrement() % HILOS;
+        private final int[] responsables = new int[PROYECTOS / HILOS]; // de la tarea RETRASO
+        private int operacion;
+        private int repuesto; // legajo libre que solo reasigna este hilo
+
+        @Setup(Level.Iteration)
+        public void reiniciar(ParticionesEscrituraBenchmark b) {
+            operacion = 0;
+            repuesto = PRIMER_LEGAJO + EMPLEADOS - HILOS + indice;
+            for (int i = 0; i < responsables.length; i++) responsables[i] = b.hs.responsableDeTarea(proyecto(i), RETRASO);
+        }
+
+        int proyecto(int i) {
+            return indice + 1 + i * HILOS;
+        }
+    }
+
+    @Benchmark
+    public void asignarResponsableEnTarea(Hilo h) throws Exception {
+        int op = h.operacion++;
+        int i = op % h.responsables.length;
+        hs.asignarResponsableEnTarea(h.proyecto(i), PARA_ASIGNAR[op / h.responsables.length]);
+    }
+
+    @Benchmark
+    public void finalizarTarea(Hilo h) throws Exception {
+        int op = h.operacion++;
+        int i = op % h.responsables.length;
+        hs.finalizarTarea(h.proyecto(i), PARA_FINALIZAR[op / h.responsables.length]);
+    }
+
+    @Benchmark
+    public void registrarRetrasoEnTarea(Hilo h) {
+        int i = h.operacion++ % h.responsables.length;
+        hs.registrarRetrasoEnTarea(h.proyecto(i), RETRASO, 1);
+    }
+
+    // el que deja la tarea queda libre y es el repuesto de la siguiente
+    @Benchmark
+    public void reasignarEmpleadoEnProyecto(Hilo h) throws Exception {
+        int i = h.operacion++ % h.responsables.length;
+        int nuevo = h.repuesto;
+        hs.reasignarEmpleadoEnProyecto(h.proyecto(i), nuevo, RETRASO);
+        h.repuesto = h.responsables[i];
+        h.responsables[i] = nuevo;
+    }
+}
@@ -0,0 +1,73 @@
+package rendimiento;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import entidades.AltaEmpleado;
+import entidades.AltaProyecto;
+import entidades.HomeSolution;
+
+/**
+ * Arma un HomeSolution con n empleados y n proyectos de dos tareas, con un estado
+ * parecido al de uso real: la mitad de los proyectos con una tarea asignada,
+ * uno de cada diez finalizado y algunos retrasos registrados.
+ * Usa las altas por lotes para que armar un millon no domine el tiempo del benchmark.
+ */
+final class Poblacion {
+    static final String TAREA_ASIGNADA = "Pintar";
+    static final String TAREA_LIBRE = "Techo";
+    private static final int LOTE = 10_000;
+
+    private Poblacion() {
+    }
+
+    static HomeSolution crear(int n, long semilla) throws Exception {
+        HomeSolution hs = new HomeSolution();
+        Random r = new Random(semilla);
+        agregarEmpleados(hs, n, r);
+        agregarProyectos(hs, n, r);
+        for (int p = 1; p <= n; p += 2) hs.asignarResponsableEnTarea(p, TAREA_ASIGNADA);
+        for (int p = 1; p <= n; p += 14) hs.registrarRetrasoEnTarea(p, TAREA_ASIGNADA, 1 + r.nextInt(3));
+        for (int p = 10; p <= n; p += 10) hs.finalizarProyecto(p, "2025-03-01");
+        return hs;
+    }
+
+    /** Agrega n empleados, de planta uno de cada cinco. @return el primer legajo. */
+    static int agregarEmpleados(HomeSolution hs, int n, Random r) {
+        int primero = -1;
+        List<AltaEmpleado> lote = new ArrayList<>(Math.min(n, LOTE));
+        for (int i = 0; i < n; i++) {
+            lote.add(i % 5 == 0
+                    ? AltaEmpleado.planta("Empleado " + i, 20_000 + r.nextInt(60_000), "EXPERTO")
+                    : AltaEmpleado.contratado("Empleado " + i, 1_000 + r.nextInt(4_000)));
+            if (lote.size() == LOTE || i == n - 1) {
+                int legajo = hs.registrarEmpleados(lote);
+                if (primero < 0) primero = legajo;
+                lote.clear();
+            }
+        }
+        return primero;
+    }
+
+    /** Agrega n proyectos con las dos tareas de siempre. @return el primer numero. */
+    static int agregarProyectos(HomeSolution hs, int n, Random r) {
+        int primero = -1;
+        List<AltaProyecto> lote = new ArrayList<>(Math.min(n, LOTE));
+        for (int i = 0; i < n; i++) {
+            lote.add(proyecto(i, r));
+            if (lote.size() == LOTE || i == n - 1) {
+                int numero = hs.registrarProyectos(lote);
+                if (primero < 0) primero = numero;
+                lote.clear();
+            }
+        }
+        return primero;
+    }
+
+    static AltaProyecto proyecto(int i, Random r) {
+        return AltaProyecto.validar(new String[]{TAREA_ASIGNADA, TAREA_LIBRE}, new String[]{"", ""},
+                new double[]{1 + r.nextInt(5), 0.5 + r.nextInt(3)}, "Calle " + i,
+                new String[]{"Cliente " + i}, "2025-01-01", "2025-02-01");
+    }
+}
@@ -0,0 +1,78 @@
+package rendimiento;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import protocolo.ClienteBinario;
+import protocolo.Operacion;
+import protocolo.ServidorBinario;
+
+/**
+ * Pedidos por segundo contra ServidorBinario en localhost: de a uno esperando cada respuesta,
+ * y con 64 pedidos en vuelo por la misma conexion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocoloBinarioBenchmark {
+
+    private static final int PROYECTOS = 1000;
+    private static final int EN_VUELO = 64;
+
+    private ServidorBinario servidor;
+    private ClienteBinario cliente;
+
+    @Setup(Level.Trial)
+    public void arrancar() throws Exception {
+        InetAddress local = InetAddress.getLoopbackAddress();
+        servidor = new ServidorBinario(Poblacion.crear(PROYECTOS, 42), new InetSocketAddress(local, 0));
+        servidor.iniciar();
+        cliente = ClienteBinario.conectar(new InetSocketAddress(local, servidor.getPuerto()));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws Exception {
+        cliente.close();
+        servidor.close();
+    }
+
+    private static int proyectoAlAzar() {
+        return 1 + ThreadLocalRandom.current().nextInt(PROYECTOS);
+    }
+
+    @Benchmark
+    public double costoSincronico() {
+        return cliente.costoProyecto(proyectoAlAzar());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EN_VUELO)
+    public double costo64EnVuelo() throws Exception {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Object>[] pedidos = new CompletableFuture[EN_VUELO];
+        for (int i = 0; i < EN_VUELO; i++) pedidos[i] = cliente.pedir(Operacion.COSTO_PROYECTO, proyectoAlAzar());
+        double total = 0;
+        for (CompletableFuture<Object> p : pedidos) total += (Double) p.get();
+        return total;
+    }
+}
@@ -1,23 +1,43 @@
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.management.JMException;
 
-import entidades.Empleado;
-import entidades.EmpleadoPlanta;
-import entidades.HomeSolution;
 import gui.PanelManager;
+import metricas.MonitorIndices;
+import persistencia.HomeSolutionPersistente;
+import persistencia.Journal;
 
 public class Main {
-    public static void main(String[] args) {
-        HomeSolution homeSolution = new HomeSolution();
+    // journal de operaciones: al arrancar se reproduce y el estado sobrevive entre ejecuciones
+    private static final Path JOURNAL = Paths.get("homesolution.journal");
+    // foto del estado: al arrancar solo se reproduce lo que vino despues
+    private static final Path SNAPSHOT = Paths.get("homesolution.snapshot");
+
+    public static void main(String[] args) throws IOException, JMException {
+        HomeSolutionPersistente homeSolution =
+                new HomeSolutionPersistente(JOURNAL, SNAPSHOT, Journal.Durabilidad.INMEDIATA, 0);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try (HomeSolutionPersistente hs = homeSolution) {
+                hs.tomarSnapshot();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
 
-        String titulos[] = {"Pintar","Instacion electrica","Trabajos jardineria","Instalar AA"};
-        String descripciones[] = {"","","",""};
-        double duracion[] = {4,2,1,.5};
-        String cliente[] = {"Pedro Gomez","",""};
-        homeSolution.registrarProyecto(titulos, descripciones, duracion, "San Martin 1000", cliente, "2025-11-01", "2025-11-05");
+        if (homeSolution.estaVacio()) { // datos de ejemplo solo la primera vez
+            String titulos[] = {"Pintar","Instacion electrica","Trabajos jardineria","Instalar AA"};
+            String descripciones[] = {"","","",""};
+            double duracion[] = {4,2,1,.5};
+            String cliente[] = {"Pedro Gomez","",""};
+            homeSolution.registrarProyecto(titulos, descripciones, duracion, "San Martin 1000", cliente, "2025-11-01", "2025-11-05");
 
-        homeSolution.registrarEmpleado("Juan", 15000);
-        homeSolution.registrarEmpleado("Luis", 80000, "EXPERTO");
-        homeSolution.registrarEmpleado("Julieta", 15000);
+            homeSolution.registrarEmpleado("Juan", 15000);
+            homeSolution.registrarEmpleado("Luis", 80000, "EXPERTO");
+            homeSolution.registrarEmpleado("Julieta", 15000);
+        }
+        MonitorIndices.registrar(homeSolution); // tamaños de indices y memoria estimada por JMX (JConsole)
         PanelManager panelManager = new PanelManager(homeSolution);
     }
 }
@@ -0,0 +1,420 @@
+package asincrono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import entidades.HomeSolution;
+import entidades.IHomeSolution;
+import entidades.Instantanea;
+import entidades.Tupla;
+
+/**
+ * Fachada asincronica sobre un IHomeSolution que no es seguro para varios hilos.
+ *
+ * Todas las llamadas se encolan en una cola acotada que consume un unico hilo escritor, el
+ * unico que toca el destino; no hay locks sobre el estado. El escritor saca los comandos de a
+ * lotes y cada llamada devuelve un CompletableFuture con el resultado o la excepcion del metodo.
+ * Si los productores van mas rapido que el escritor, la cola se llena y encolar bloquea.
+ *
+ * Si el destino es un HomeSolution, las consultas no pasan por la cola: se le habilitan las
+ * instantaneas y cada consulta se resuelve en el hilo que llama contra la ultima Instantanea
+ * publicada, que ya incluye todas las modificaciones terminadas. El resultado se guarda con el
+ * numero de esa instantanea y se reusa mientras no se publique otra.
+ *
+ * Con otros destinos las consultas se encolan como las modificaciones, y el escritor guarda
+ * el resultado de cada una con la version (cantidad de modificaciones) en que se calculo:
+ * mientras no haya otra modificacion, repetirla devuelve ese resultado sin pasar por la cola.
+ *
+ * Los futuros se completan en el hilo escritor: lo que se encadene con thenApply, thenAccept,
+ * etc. corre ahi y lo demora; para trabajo pesado o de interfaz usar las variantes ...Async.
+ */
+public class HomeSolutionAsincrono implements AutoCloseable {
+
+    /** Una operacion sobre el destino, ejecutada en el hilo escritor. */
+    @FunctionalInterface
+    public interface Operacion<T> {
+        T aplicar(IHomeSolution hs) throws Exception;
+    }
+
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+    private static final int LOTE_MAXIMO = 256;
+    private static final int CONSULTAS_GUARDADAS = 4096; // al pasarlas se vacia el cache en la proxima modificacion
+    private static final Comando FIN = new Comando(null, null, false);
+
+    private final IHomeSolution destino;
+    private final HomeSolution conInstantaneas; // null si el destino no publica instantaneas
+    private final BlockingQueue<Comando> cola;
+    private final int lote;
+    private final Thread escritor;
+    private final ConcurrentHashMap<List<Object>, Resultado> consultas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<List<Object>, Resultado> leidas = new ConcurrentHashMap<>(); // por instantanea
+    private volatile long version;  // solo la escribe el escritor
+    private volatile long lotes;
+    private volatile long comandos;
+    private volatile boolean cerrado;
+    private volatile boolean terminado;
+
+    public HomeSolutionAsincrono(IHomeSolution destino) {
+        this(destino, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /** @param capacidad comandos que puede haber en cola antes de que encolar bloquee. */
+    public HomeSolutionAsincrono(IHomeSolution destino, int capacidad) {
+        if (destino == null) throw new IllegalArgumentException("Destino nulo");
+        if (capacidad <= 0) throw new IllegalArgumentException("Capacidad inválida");
+        this.destino = destino;
+        if (destino instanceof HomeSolution) {
+            // antes de arrancar el escritor: desde aca solo el lo modifica y publica
+            conInstantaneas = (HomeSolution) destino;
+            conInstantaneas.habilitarInstantaneas();
+        } else {
+            conInstantaneas = null;
+        }
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+        this.lote = Math.min(capacidad, LOTE_MAXIMO);
+        this.escritor = new Thread(this::escribir, "homesolution-escritor");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    // -------------------------
+    // MODIFICACIONES
+    // -------------------------
+    public CompletableFuture<Void> registrarEmpleado(String nombre, double valor) {
+        return modificar(hs -> {
+            hs.registrarEmpleado(nombre, valor);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> registrarEmpleado(String nombre, double valor, String categoria) {
+        return modificar(hs -> {
+            hs.registrarEmpleado(nombre, valor, categoria);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> registrarProyecto(String[] titulos, String[] descripcion, double[] dias,
+                                                     String domicilio, String[] cliente, String inicio, String fin) {
+        // copias: el que llama puede reusar los arreglos antes de que corra el comando
+        String[] t = titulos == null ? null : titulos.clone();
+        String[] d = descripcion == null ? null : descripcion.clone();
+        double[] n = dias == null ? null : dias.clone();
+        String[] c = cliente == null ? null : cliente.clone();
+        return modificar(hs -> {
+            hs.registrarProyecto(t, d, n, domicilio, c, inicio, fin);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> asignarResponsableEnTarea(Integer numero, String titulo) {
+        return modificar(hs -> {
+            hs.asignarResponsableEnTarea(numero, titulo);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> asignarResponsableMenosRetraso(Integer numero, String titulo) {
+        return modificar(hs -> {
+            hs.asignarResponsableMenosRetraso(numero, titulo);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> registrarRetrasoEnTarea(Integer numero, String titulo, double cantidadDias) {
+        return modificar(hs -> {
+            hs.registrarRetrasoEnTarea(numero, titulo, cantidadDias);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> agregarTareaEnProyecto(Integer numero, String titulo, String descripcion, double dias) {
+        return modificar(hs -> {
+            hs.agregarTareaEnProyecto(numero, titulo, descripcion, dias);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> finalizarTarea(Integer numero, String titulo) {
+        return modificar(hs -> {
+            hs.finalizarTarea(numero, titulo);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> finalizarProyecto(Integer numero, String fin) {
+        return modificar(hs -> {
+            hs.finalizarProyecto(numero, fin);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> reasignarEmpleadoEnProyecto(Integer numero, Integer legajo, String titulo) {
+        return modificar(hs -> {
+            hs.reasignarEmpleadoEnProyecto(numero, legajo, titulo);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> reasignarEmpleadoConMenosRetraso(Integer numero, String titulo) {
+        return modificar(hs -> {
+            hs.reasignarEmpleadoConMenosRetraso(numero, titulo);
+            return null;
+        });
+    }
+
+    // -------------------------
+    // CONSULTAS
+    // -------------------------
+    public CompletableFuture<Double> costoProyecto(Integer numero) {
+        return leer(f -> f.costoProyecto(numero), hs -> hs.costoProyecto(numero), "costoProyecto", numero);
+    }
+
+    public CompletableFuture<List<Tupla<Integer, String>>> proyectosFinalizados() {
+        return leer(Instantanea::proyectosFinalizados, IHomeSolution::proyectosFinalizados, "proyectosFinalizados");
+    }
+
+    public CompletableFuture<List<Tupla<Integer, String>>> proyectosPendientes() {
+        return leer(Instantanea::proyectosPendientes, IHomeSolution::proyectosPendientes, "proyectosPendientes");
+    }
+
+    public CompletableFuture<List<Tupla<Integer, String>>> proyectosActivos() {
+        return leer(Instantanea::proyectosActivos, IHomeSolution::proyectosActivos, "proyectosActivos");
+    }
+
+    public CompletableFuture<Object[]> empleadosNoAsignados() {
+        return leer(Instantanea::empleadosNoAsignados, IHomeSolution::empleadosNoAsignados, "empleadosNoAsignados");
+    }
+
+    public CompletableFuture<Boolean> estaFinalizado(Integer numero) {
+        return leer(f -> f.estaFinalizado(numero), hs -> hs.estaFinalizado(numero), "estaFinalizado", numero);
+    }
+
+    public CompletableFuture<Integer> consultarCantidadRetrasosEmpleado(Integer legajo) {
+        return leer(f -> f.consultarCantidadRetrasosEmpleado(legajo), hs -> hs.consultarCantidadRetrasosEmpleado(legajo),
+                "consultarCantidadRetrasosEmpleado", legajo);
+    }
+
+    public CompletableFuture<List<Tupla<Integer, String>>> empleadosAsignadosAProyecto(Integer numero) {
+        return leer(f -> f.empleadosAsignadosAProyecto(numero), hs -> hs.empleadosAsignadosAProyecto(numero),
+                "empleadosAsignadosAProyecto", numero);
+    }
+
+    public CompletableFuture<Object[]> tareasProyectoNoAsignadas(Integer numero) {
+        return leer(f -> f.tareasProyectoNoAsignadas(numero), hs -> hs.tareasProyectoNoAsignadas(numero),
+                "tareasProyectoNoAsignadas", numero);
+    }
+
+    public CompletableFuture<Object[]> tareasDeUnProyecto(Integer numero) {
+        return leer(f -> f.tareasDeUnProyecto(numero), hs -> hs.tareasDeUnProyecto(numero),
+                "tareasDeUnProyecto", numero);
+    }
+
+    public CompletableFuture<String> consultarDomicilioProyecto(Integer numero) {
+        return leer(f -> f.consultarDomicilioProyecto(numero), hs -> hs.consultarDomicilioProyecto(numero),
+                "consultarDomicilioProyecto", numero);
+    }
+
+    public CompletableFuture<Boolean> tieneRestrasos(Integer legajo) {
+        return leer(f -> f.tieneRestrasos(legajo), hs -> hs.tieneRestrasos(legajo), "tieneRestrasos", legajo);
+    }
+
+    public CompletableFuture<List<Tupla<Integer, String>>> empleados() {
+        return leer(Instantanea::empleados, IHomeSolution::empleados, "empleados");
+    }
+
+    public CompletableFuture<String> consultarProyecto(Integer numero) {
+        return leer(f -> f.consultarProyecto(numero), hs -> hs.consultarProyecto(numero), "consultarProyecto", numero);
+    }
+
+    public CompletableFuture<Integer> responsableDeTarea(Integer numero, String titulo) {
+        return leer(f -> f.responsableDeTarea(numero, titulo), hs -> hs.responsableDeTarea(numero, titulo),
+                "responsableDeTarea", numero, titulo);
+    }
+
+    public CompletableFuture<List<Tupla<Integer, String>>> historialEmpleadosDeProyecto(Integer numero) {
+        return leer(f -> f.historialEmpleadosDeProyecto(numero), hs -> hs.historialEmpleadosDeProyecto(numero),
+                "historialEmpleadosDeProyecto", numero);
+    }
+
+    // -------------------------
+    // OPERACIONES GENERALES
+    // -------------------------
+
+    /** Encola una operacion que modifica el destino; invalida las consultas guardadas. */
+    public <T> CompletableFuture<T> modificar(Operacion<T> operacion) {
+        return encolar(new Comando(operacion, null, true));
+    }
+
+    /**
+     * Consulta identificada por clave: si ya se calculo y no hubo modificaciones desde
+     * entonces, se devuelve sin encolar. Las listas se guardan sin permitir cambios y los
+     * arreglos se copian en cada entrega. Sin clave la consulta siempre pasa por la cola.
+     * Estas consultas corren en el escritor aunque el destino publique instantaneas.
+     */
+    public <T> CompletableFuture<T> consultar(Operacion<T> operacion, Object... clave) {
+        if (clave.length == 0) return encolar(new Comando(operacion, null, false));
+        List<Object> k = Arrays.asList(clave);
+        Resultado r = consultas.get(k);
+        if (r != null && r.version == version) return CompletableFuture.completedFuture(entregar(r.valor));
+        return encolar(new Comando(operacion, k, false));
+    }
+
+    // contra la ultima instantanea si el destino las publica; si no, por la cola como cualquier consulta
+    private <T> CompletableFuture<T> leer(Function<Instantanea, T> consulta, Operacion<T> operacion, Object... clave) {
+        if (conInstantaneas == null) return consultar(operacion, clave);
+        Instantanea foto = conInstantaneas.instantanea();
+        List<Object> k = Arrays.asList(clave);
+        Resultado r = leidas.get(k);
+        if (r != null && r.version == foto.getVersion()) return CompletableFuture.completedFuture(entregar(r.valor));
+        Object valor;
+        try {
+            valor = consulta.apply(foto);
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        if (valor instanceof List) valor = Collections.unmodifiableList((List<?>) valor);
+        if (leidas.size() > CONSULTAS_GUARDADAS) leidas.clear();
+        leidas.put(k, new Resultado(foto.getVersion(), valor));
+        return CompletableFuture.completedFuture(entregar(valor));
+    }
+
+    /** Modificaciones ejecutadas hasta ahora (incluidas las que fallaron). */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Lotes sacados de la cola por el escritor. */
+    public long getLotes() {
+        return lotes;
+    }
+
+    /** Comandos ejecutados por el escritor, modificaciones y consultas. */
+    public long getComandos() {
+        return comandos;
+    }
+
+    /** Comandos esperando en la cola. */
+    public int getPendientes() {
+        return cola.size();
+    }
+
+    /**
+     * Deja de aceptar comandos, espera que el escritor termine los que ya estaban en cola
+     * y vuelve. Las llamadas posteriores devuelven futuros fallados. Si se interrumpe el hilo
+     * que espera, vuelve antes con el flag de interrupcion puesto.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!cerrado) {
+                cerrado = true;
+                cola.put(FIN);
+            }
+            escritor.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------
+    // INTERNOS
+    // -------------------------
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> encolar(Comando c) {
+        if (cerrado) return CompletableFuture.failedFuture(new RejectedExecutionException("Fachada cerrada"));
+        try {
+            cola.put(c); // bloquea si la cola esta llena
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ex);
+        }
+        // si el escritor ya termino nadie va a sacar el comando: se quita y se falla aca
+        if (terminado && cola.remove(c)) c.futuro.completeExceptionally(new RejectedExecutionException("Fachada cerrada"));
+        return (CompletableFuture<T>) c.futuro;
+    }
+
+    private void escribir() {
+        List<Comando> pendientes = new ArrayList<>(lote);
+        boolean fin = false;
+        try {
+            while (!fin) {
+                pendientes.add(cola.take());
+                cola.drainTo(pendientes, lote - 1);
+                for (Comando c : pendientes) {
+                    if (c == FIN) fin = true;
+                    else ejecutar(c);
+                }
+                comandos += pendientes.size() - (fin ? 1 : 0);
+                lotes++;
+                pendientes.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            terminado = true;
+            Comando c;
+            while ((c = cola.poll()) != null) {
+                if (c != FIN) c.futuro.completeExceptionally(new RejectedExecutionException("Fachada cerrada"));
+            }
+        }
+    }
+
+    private void ejecutar(Comando c) {
+        if (c.modifica) {
+            // la version sube antes de tocar el estado: desde aca ninguna consulta guardada vale
+            version++;
+            if (consultas.size() > CONSULTAS_GUARDADAS) consultas.clear();
+        }
+        Object valor;
+        try {
+            valor = c.operacion.aplicar(destino);
+        } catch (Throwable ex) {
+            c.futuro.completeExceptionally(ex);
+            return;
+        }
+        if (c.clave != null) {
+            if (valor instanceof List) valor = Collections.unmodifiableList((List<?>) valor);
+            consultas.put(c.clave, new Resultado(version, valor));
+            valor = entregar(valor);
+        }
+        c.futuro.complete(valor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T entregar(Object valor) {
+        if (valor instanceof Object[]) return (T) ((Object[]) valor).clone();
+        return (T) valor;
+    }
+
+    private static final class Comando {
+        final Operacion<?> operacion;
+        final List<Object> clave; // null si no se guarda
+        final boolean modifica;
+        final CompletableFuture<Object> futuro = new CompletableFuture<>();
+
+        Comando(Operacion<?> operacion, List<Object> clave, boolean modifica) {
+            this.operacion = operacion;
+            this.clave = clave;
+            this.modifica = modifica;
+        }
+    }
+
+    private static final class Resultado {
+        final long version;
+        final Object valor;
+
+        Resultado(long version, Object valor) {
+            this.version = version;
+            this.valor = valor;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parametros de una carga sintetica: tamaño y forma de la poblacion, mezcla de
+ * operaciones y semilla. Con la misma configuracion se genera siempre el mismo escenario.
+ * Los valores por defecto son los de una carga chica; cada setter devuelve this.
+ */
+public class ConfiguracionCarga {
+    private long semilla = 1;
+    private int empleados = 1000;
+    private double fraccionPlanta = 0.2;
+    private int proyectos = 1000;
+    private Distribucion tareasPorProyecto = Distribucion.uniforme(1, 6);
+    private Distribucion duracionTarea = Distribucion.exponencial(0.5, 3);
+    private Distribucion valorHora = Distribucion.uniforme(1000, 5000);
+    private Distribucion valorDia = Distribucion.uniforme(20000, 80000);
+    private Distribucion diasRetraso = Distribucion.exponencial(1, 2);
+    private int operaciones = 100_000;
+    private final Map<TipoOperacion, Double> mezcla = new EnumMap<>(TipoOperacion.class);
+
+    public ConfiguracionCarga() {
+        mezcla.put(TipoOperacion.ASIGNAR, 25.0);
+        mezcla.put(TipoOperacion.ASIGNAR_MENOS_RETRASO, 10.0);
+        mezcla.put(TipoOperacion.REGISTRAR_RETRASO, 10.0);
+        mezcla.put(TipoOperacion.REASIGNAR_MENOS_RETRASO, 5.0);
+        mezcla.put(TipoOperacion.FINALIZAR_TAREA, 20.0);
+        mezcla.put(TipoOperacion.COSTO, 30.0);
+    }
+
+    public ConfiguracionCarga semilla(long semilla) {
+        this.semilla = semilla;
+        return this;
+    }
+
+    public ConfiguracionCarga empleados(int cantidad, double fraccionPlanta) {
+        if (cantidad < 0 || fraccionPlanta < 0 || fraccionPlanta > 1) throw new IllegalArgumentException("Empleados inválidos");
+        this.empleados = cantidad;
+        this.fraccionPlanta = fraccionPlanta;
+        return this;
+    }
+
+    public ConfiguracionCarga proyectos(int cantidad, Distribucion tareasPorProyecto, Distribucion duracionTarea) {
+        if (cantidad <= 0) throw new IllegalArgumentException("Se necesita al menos un proyecto");
+        this.proyectos = cantidad;
+        this.tareasPorProyecto = tareasPorProyecto;
+        this.duracionTarea = duracionTarea;
+        return this;
+    }
+
+    public ConfiguracionCarga valores(Distribucion valorHora, Distribucion valorDia) {
+        this.valorHora = valorHora;
+        this.valorDia = valorDia;
+        return this;
+    }
+
+    public ConfiguracionCarga diasRetraso(Distribucion diasRetraso) {
+        this.diasRetraso = diasRetraso;
+        return this;
+    }
+
+    public ConfiguracionCarga operaciones(int cantidad) {
+        if (cantidad < 0) throw new IllegalArgumentException("Cantidad de operaciones negativa");
+        this.operaciones = cantidad;
+        return this;
+    }
+
+    /** Peso relativo de una operacion en la mezcla (0 para no generarla). */
+    public ConfiguracionCarga peso(TipoOperacion tipo, double peso) {
+        if (peso < 0) throw new IllegalArgumentException("Peso negativo");
+        mezcla.put(tipo, peso);
+        return this;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public int getEmpleados() {
+        return empleados;
+    }
+
+    public double getFraccionPlanta() {
+        return fraccionPlanta;
+    }
+
+    public int getProyectos() {
+        return proyectos;
+    }
+
+    public Distribucion getTareasPorProyecto() {
+        return tareasPorProyecto;
+    }
+
+    public Distribucion getDuracionTarea() {
+        return duracionTarea;
+    }
+
+    public Distribucion getValorHora() {
+        return valorHora;
+    }
+
+    public Distribucion getValorDia() {
+        return valorDia;
+    }
+
+    public Distribucion getDiasRetraso() {
+        return diasRetraso;
+    }
+
+    public int getOperaciones() {
+        return operaciones;
+    }
+
+    public double getPeso(TipoOperacion tipo) {
+        return mezcla.getOrDefault(tipo, 0.0);
+    }
+}
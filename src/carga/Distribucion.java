@@ -0,0 +1,26 @@
+package carga;
+
+import java.util.Random;
+
+/** De donde salen los valores sinteticos (duraciones, valores, cantidades de tareas). */
+@FunctionalInterface
+public interface Distribucion {
+
+    double muestra(Random r);
+
+    static Distribucion constante(double valor) {
+        return r -> valor;
+    }
+
+    /** Uniforme entre minimo (inclusive) y maximo (exclusive). */
+    static Distribucion uniforme(double minimo, double maximo) {
+        if (maximo < minimo) throw new IllegalArgumentException("Maximo menor al minimo");
+        return r -> minimo + r.nextDouble() * (maximo - minimo);
+    }
+
+    /** Exponencial con la media dada, corrida para que empiece en minimo: muchos chicos y pocos grandes. */
+    static Distribucion exponencial(double minimo, double media) {
+        if (media <= minimo) throw new IllegalArgumentException("La media debe superar al minimo");
+        return r -> minimo - (media - minimo) * Math.log(1 - r.nextDouble());
+    }
+}
@@ -0,0 +1,328 @@
+package carga;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import entidades.IHomeSolution;
+
+/**
+ * Una poblacion sintetica (empleados y proyectos con tareas) y una secuencia de
+ * operaciones sobre ella. Se genera a partir de una ConfiguracionCarga y una semilla,
+ * o se lee de un archivo guardado antes, asi que se puede reproducir igual contra
+ * distintas implementaciones de IHomeSolution.
+ *
+ * Para que las operaciones sean validas, al generarlas se lleva la cuenta de que tareas
+ * estan libres, asignadas o finalizadas y de cuantos empleados quedan libres; si la
+ * operacion elegida no tiene sobre que aplicarse se genera una consulta de costo.
+ * Todo queda en arreglos primitivos: unos 13 bytes por operacion.
+ */
+public final class Escenario {
+    private static final int MAGIA = 0x48534353; // "HSCS"
+    private static final int VERSION = 1;
+    private static final String INICIO = "2025-01-01";
+    private static final String FIN = "2025-12-31";
+    private static final String[] CATEGORIAS = {"EXPERTO", "INICIAL"};
+    private static final TipoOperacion[] TIPOS = TipoOperacion.values();
+
+    private final boolean[] planta;       // por empleado
+    private final double[] valor;         // por empleado: por hora o por dia
+    private final int[] primeraTarea;     // por proyecto, y al final el total de tareas
+    private final double[] duracion;      // por tarea
+    private final byte[] operacion;       // por paso: ordinal de TipoOperacion
+    private final int[] proyecto;         // por paso: numero de proyecto (desde 1)
+    private final int[] tarea;            // por paso: indice de la tarea dentro del proyecto
+    private final int[] retraso;          // por paso: dias, solo para REGISTRAR_RETRASO
+    private final String[] titulos;       // "Tarea i", compartidos entre proyectos
+
+    private Escenario(boolean[] planta, double[] valor, int[] primeraTarea, double[] duracion,
+                      byte[] operacion, int[] proyecto, int[] tarea, int[] retraso) {
+        this.planta = planta;
+        this.valor = valor;
+        this.primeraTarea = primeraTarea;
+        this.duracion = duracion;
+        this.operacion = operacion;
+        this.proyecto = proyecto;
+        this.tarea = tarea;
+        this.retraso = retraso;
+        int max = 0;
+        for (int p = 0; p + 1 < primeraTarea.length; p++) max = Math.max(max, primeraTarea[p + 1] - primeraTarea[p]);
+        this.titulos = new String[max];
+        for (int i = 0; i < max; i++) titulos[i] = "Tarea " + i;
+    }
+
+    public static Escenario generar(ConfiguracionCarga c) {
+        Random r = new Random(c.getSemilla());
+        int nEmpleados = c.getEmpleados();
+        boolean[] planta = new boolean[nEmpleados];
+        double[] valor = new double[nEmpleados];
+        for (int i = 0; i < nEmpleados; i++) {
+            planta[i] = r.nextDouble() < c.getFraccionPlanta();
+            valor[i] = Math.round((planta[i] ? c.getValorDia() : c.getValorHora()).muestra(r));
+        }
+
+        int nProyectos = c.getProyectos();
+        int[] primeraTarea = new int[nProyectos + 1];
+        for (int p = 0; p < nProyectos; p++) {
+            int n = Math.max(1, (int) Math.round(c.getTareasPorProyecto().muestra(r)));
+            primeraTarea[p + 1] = primeraTarea[p] + n;
+        }
+        int nTareas = primeraTarea[nProyectos];
+        double[] duracion = new double[nTareas];
+        for (int t = 0; t < nTareas; t++) {
+            // medio dia como minimo y en multiplos de medio dia, como carga la GUI
+            duracion[t] = Math.max(0.5, Math.round(c.getDuracionTarea().muestra(r) * 2) / 2.0);
+        }
+
+        int nPasos = c.getOperaciones();
+        byte[] operacion = new byte[nPasos];
+        int[] proyecto = new int[nPasos];
+        int[] tarea = new int[nPasos];
+        int[] retraso = new int[nPasos];
+        new Simulacion(c, r, primeraTarea, nEmpleados).generar(operacion, proyecto, tarea, retraso);
+        return new Escenario(planta, valor, primeraTarea, duracion, operacion, proyecto, tarea, retraso);
+    }
+
+    public int cantidadEmpleados() {
+        return planta.length;
+    }
+
+    public int cantidadProyectos() {
+        return primeraTarea.length - 1;
+    }
+
+    public int cantidadTareas() {
+        return duracion.length;
+    }
+
+    public int cantidadPasos() {
+        return operacion.length;
+    }
+
+    /**
+     * Registra la poblacion en hs, que tiene que estar vacio: los proyectos
+     * quedan con los numeros 1..cantidadProyectos en el orden del escenario.
+     */
+    public void poblar(IHomeSolution hs) {
+        for (int i = 0; i < planta.length; i++) {
+            if (planta[i]) hs.registrarEmpleado("Empleado " + i, valor[i], CATEGORIAS[i % CATEGORIAS.length]);
+            else hs.registrarEmpleado("Empleado " + i, valor[i]);
+        }
+        for (int p = 0; p < cantidadProyectos(); p++) {
+            int n = primeraTarea[p + 1] - primeraTarea[p];
+            String[] t = new String[n];
+            String[] d = new String[n];
+            double[] dias = new double[n];
+            for (int i = 0; i < n; i++) {
+                t[i] = titulos[i];
+                d[i] = "";
+                dias[i] = duracion[primeraTarea[p] + i];
+            }
+            hs.registrarProyecto(t, d, dias, "Calle " + (p + 1), new String[]{"Cliente " + (p + 1)}, INICIO, FIN);
+        }
+    }
+
+    TipoOperacion operacion(int paso) {
+        return TIPOS[operacion[paso]];
+    }
+
+    int proyecto(int paso) {
+        return proyecto[paso];
+    }
+
+    String titulo(int paso) {
+        return titulos[tarea[paso]];
+    }
+
+    int retraso(int paso) {
+        return retraso[paso];
+    }
+
+    // -------------------------
+    // ARCHIVO
+    // -------------------------
+    public void guardar(Path archivo) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivo), 1 << 16))) {
+            out.writeInt(MAGIA);
+            out.writeInt(VERSION);
+            out.writeInt(planta.length);
+            for (int i = 0; i < planta.length; i++) {
+                out.writeBoolean(planta[i]);
+                out.writeDouble(valor[i]);
+            }
+            out.writeInt(cantidadProyectos());
+            for (int p = 1; p < primeraTarea.length; p++) out.writeInt(primeraTarea[p]);
+            for (double d : duracion) out.writeDouble(d);
+            out.writeInt(operacion.length);
+            for (int i = 0; i < operacion.length; i++) {
+                out.writeByte(operacion[i]);
+                out.writeInt(proyecto[i]);
+                out.writeInt(tarea[i]);
+                out.writeInt(retraso[i]);
+            }
+        }
+    }
+
+    public static Escenario cargar(Path archivo) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo), 1 << 16))) {
+            if (in.readInt() != MAGIA) throw new IOException("No es un archivo de escenario: " + archivo);
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("Version de escenario no soportada: " + version);
+            int nEmpleados = in.readInt();
+            boolean[] planta = new boolean[nEmpleados];
+            double[] valor = new double[nEmpleados];
+            for (int i = 0; i < nEmpleados; i++) {
+                planta[i] = in.readBoolean();
+                valor[i] = in.readDouble();
+            }
+            int nProyectos = in.readInt();
+            int[] primeraTarea = new int[nProyectos + 1];
+            for (int p = 1; p <= nProyectos; p++) primeraTarea[p] = in.readInt();
+            double[] duracion = new double[primeraTarea[nProyectos]];
+            for (int t = 0; t < duracion.length; t++) duracion[t] = in.readDouble();
+            int nPasos = in.readInt();
+            byte[] operacion = new byte[nPasos];
+            int[] proyecto = new int[nPasos];
+            int[] tarea = new int[nPasos];
+            int[] retraso = new int[nPasos];
+            for (int i = 0; i < nPasos; i++) {
+                operacion[i] = in.readByte();
+                proyecto[i] = in.readInt();
+                tarea[i] = in.readInt();
+                retraso[i] = in.readInt();
+            }
+            return new Escenario(planta, valor, primeraTarea, duracion, operacion, proyecto, tarea, retraso);
+        }
+    }
+
+    // -------------------------
+    // GENERACION
+    // -------------------------
+
+    /** Lleva el estado de las tareas mientras se generan los pasos, para elegir solo operaciones validas. */
+    private static final class Simulacion {
+        private final Random r;
+        private final int[] primeraTarea;
+        private final int[] proyectoDe;       // por tarea: indice de proyecto
+        private final int[] pendientes;       // por proyecto: tareas sin finalizar
+        private final Bolsa libres;
+        private final Bolsa asignadas;
+        private final Distribucion diasRetraso;
+        private final TipoOperacion[] tipos = TipoOperacion.values();
+        private final double[] acumulado;     // pesos acumulados de la mezcla
+        private int empleadosLibres;
+
+        Simulacion(ConfiguracionCarga c, Random r, int[] primeraTarea, int empleados) {
+            this.r = r;
+            this.primeraTarea = primeraTarea;
+            int nProyectos = primeraTarea.length - 1;
+            int nTareas = primeraTarea[nProyectos];
+            this.proyectoDe = new int[nTareas];
+            this.pendientes = new int[nProyectos];
+            this.libres = new Bolsa(nTareas);
+            this.asignadas = new Bolsa(nTareas);
+            for (int p = 0; p < nProyectos; p++) {
+                pendientes[p] = primeraTarea[p + 1] - primeraTarea[p];
+                for (int t = primeraTarea[p]; t < primeraTarea[p + 1]; t++) {
+                    proyectoDe[t] = p;
+                    libres.agregar(t);
+                }
+            }
+            this.diasRetraso = c.getDiasRetraso();
+            this.empleadosLibres = empleados;
+            this.acumulado = new double[tipos.length];
+            double suma = 0;
+            for (int i = 0; i < tipos.length; i++) acumulado[i] = suma += c.getPeso(tipos[i]);
+            if (suma <= 0) throw new IllegalArgumentException("La mezcla de operaciones no tiene pesos");
+        }
+
+        void generar(byte[] operacion, int[] proyecto, int[] tarea, int[] retraso) {
+            for (int i = 0; i < operacion.length; i++) {
+                TipoOperacion tipo = elegir();
+                int t = -1;
+                switch (tipo) {
+                    case ASIGNAR:
+                    case ASIGNAR_MENOS_RETRASO:
+                        if (libres.vacia() || empleadosLibres == 0) break;
+                        t = libres.sacarCualquiera(r);
+                        asignadas.agregar(t);
+                        empleadosLibres--;
+                        break;
+                    case REGISTRAR_RETRASO:
+                        if (asignadas.vacia()) break;
+                        t = asignadas.cualquiera(r);
+                        retraso[i] = Math.max(1, (int) Math.ceil(diasRetraso.muestra(r)));
+                        break;
+                    case REASIGNAR_MENOS_RETRASO:
+                        // el nuevo sale del pool y el anterior vuelve: la cantidad de libres no cambia
+                        if (asignadas.vacia() || empleadosLibres == 0) break;
+                        t = asignadas.cualquiera(r);
+                        break;
+                    case FINALIZAR_TAREA:
+                        if (asignadas.vacia()) break;
+                        t = asignadas.sacarCualquiera(r);
+                        empleadosLibres++;
+                        pendientes[proyectoDe[t]]--;
+                        break;
+                    default:
+                        break;
+                }
+                if (t < 0) { // costo, o una operacion sin sobre que aplicarse
+                    tipo = TipoOperacion.COSTO;
+                    int p = r.nextInt(pendientes.length);
+                    t = primeraTarea[p];
+                }
+                operacion[i] = (byte) tipo.ordinal();
+                proyecto[i] = proyectoDe[t] + 1;
+                tarea[i] = t - primeraTarea[proyectoDe[t]];
+            }
+        }
+
+        private TipoOperacion elegir() {
+            double x = r.nextDouble() * acumulado[acumulado.length - 1];
+            for (int i = 0; i < acumulado.length; i++) if (x < acumulado[i]) return tipos[i];
+            return tipos[tipos.length - 1];
+        }
+    }
+
+    /** Conjunto de enteros menores a un maximo con alta, baja y eleccion al azar en O(1). */
+    private static final class Bolsa {
+        private final int[] elementos;
+        private final int[] posicion; // -1 si no esta
+        private int cantidad;
+
+        Bolsa(int maximo) {
+            elementos = new int[maximo];
+            posicion = new int[maximo];
+            Arrays.fill(posicion, -1);
+        }
+
+        boolean vacia() {
+            return cantidad == 0;
+        }
+
+        void agregar(int v) {
+            posicion[v] = cantidad;
+            elementos[cantidad++] = v;
+        }
+
+        int cualquiera(Random r) {
+            return elementos[r.nextInt(cantidad)];
+        }
+
+        int sacarCualquiera(Random r) {
+            int v = cualquiera(r);
+            int ultimo = elementos[--cantidad];
+            elementos[posicion[v]] = ultimo;
+            posicion[ultimo] = posicion[v];
+            posicion[v] = -1;
+            return v;
+        }
+    }
+}
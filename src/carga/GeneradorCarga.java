@@ -0,0 +1,72 @@
+package carga;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import entidades.HomeSolution;
+import entidades.HomeSolutionConcurrente;
+import entidades.IHomeSolution;
+
+/**
+ * Prueba de carga sin GUI. Argumentos clave=valor, todos opcionales:
+ *
+ *   empleados=100000 planta=0.2 proyectos=50000 tareas=5 dias=3 operaciones=1000000
+ *   semilla=1 tasa=0 (ops/s, 0 = lo mas rapido posible) hilos=1
+ *   implementacion=secuencial|concurrente
+ *   guardar=escenario.bin (guarda el escenario generado) cargar=escenario.bin (lo reproduce)
+ *
+ * tareas y dias son las medias: tareas por proyecto uniforme entre 1 y 2*tareas-1,
+ * duracion exponencial desde medio dia.
+ */
+public class GeneradorCarga {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> a = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual < 0) throw new IllegalArgumentException("Se esperaba clave=valor: " + arg);
+            a.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+
+        Escenario escenario;
+        long t0 = System.nanoTime();
+        if (a.containsKey("cargar")) {
+            escenario = Escenario.cargar(Paths.get(a.get("cargar")));
+        } else {
+            double tareas = Double.parseDouble(a.getOrDefault("tareas", "3"));
+            ConfiguracionCarga c = new ConfiguracionCarga()
+                    .semilla(Long.parseLong(a.getOrDefault("semilla", "1")))
+                    .empleados(Integer.parseInt(a.getOrDefault("empleados", "100000")),
+                            Double.parseDouble(a.getOrDefault("planta", "0.2")))
+                    .proyectos(Integer.parseInt(a.getOrDefault("proyectos", "50000")),
+                            Distribucion.uniforme(1, 2 * tareas),
+                            Distribucion.exponencial(0.5, Double.parseDouble(a.getOrDefault("dias", "3"))))
+                    .operaciones(Integer.parseInt(a.getOrDefault("operaciones", "1000000")));
+            escenario = Escenario.generar(c);
+            if (a.containsKey("guardar")) {
+                Path destino = Paths.get(a.get("guardar"));
+                escenario.guardar(destino);
+                System.out.println("Escenario guardado en " + destino);
+            }
+        }
+        System.out.printf("Escenario: %d empleados, %d proyectos, %d tareas, %d operaciones (%.1f s)%n",
+                escenario.cantidadEmpleados(), escenario.cantidadProyectos(), escenario.cantidadTareas(),
+                escenario.cantidadPasos(), (System.nanoTime() - t0) / 1e9);
+
+        String impl = a.getOrDefault("implementacion", "secuencial");
+        IHomeSolution hs;
+        if (impl.equals("secuencial")) hs = new HomeSolution();
+        else if (impl.equals("concurrente")) hs = new HomeSolutionConcurrente();
+        else throw new IllegalArgumentException("Implementacion desconocida: " + impl);
+
+        t0 = System.nanoTime();
+        escenario.poblar(hs);
+        System.out.printf("Poblacion registrada en %.1f s%n", (System.nanoTime() - t0) / 1e9);
+
+        ReporteCarga reporte = new Reproductor(hs).ejecutar(escenario,
+                Double.parseDouble(a.getOrDefault("tasa", "0")), Integer.parseInt(a.getOrDefault("hilos", "1")));
+        System.out.print(reporte);
+    }
+}
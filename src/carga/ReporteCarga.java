@@ -0,0 +1,63 @@
+package carga;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import metricas.Histograma;
+
+/** Resultado de reproducir un escenario: throughput logrado y latencias por operacion. */
+public class ReporteCarga {
+    private final long duracionNanos;
+    private final Map<TipoOperacion, Histograma> latencias;
+    private final Map<TipoOperacion, Long> errores;
+
+    ReporteCarga(long duracionNanos, Map<TipoOperacion, Histograma> latencias, Map<TipoOperacion, Long> errores) {
+        this.duracionNanos = duracionNanos;
+        this.latencias = new EnumMap<>(latencias);
+        this.errores = new EnumMap<>(errores);
+    }
+
+    public long getDuracionNanos() {
+        return duracionNanos;
+    }
+
+    public long getOperaciones() {
+        long n = 0;
+        for (Histograma h : latencias.values()) n += h.cantidad();
+        return n;
+    }
+
+    /** Operaciones por segundo en todo el escenario. */
+    public double getThroughput() {
+        return duracionNanos == 0 ? 0 : getOperaciones() * 1e9 / duracionNanos;
+    }
+
+    /** Latencias en nanosegundos, incluidas las operaciones que fallaron. */
+    public Histograma getLatencias(TipoOperacion tipo) {
+        return latencias.get(tipo);
+    }
+
+    /** Operaciones que terminaron en excepcion (resultados de negocio, como "No hay empleados disponibles"). */
+    public long getErrores(TipoOperacion tipo) {
+        return errores.getOrDefault(tipo, 0L);
+    }
+
+    /** Tabla con cantidad, errores y percentiles en microsegundos por operacion. */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%d operaciones en %.2f s: %.0f ops/s%n",
+                getOperaciones(), duracionNanos / 1e9, getThroughput()));
+        sb.append(String.format(Locale.ROOT, "%-24s %10s %8s %10s %10s %10s %10s %10s%n",
+                "operacion", "cantidad", "errores", "media us", "p50 us", "p99 us", "p999 us", "max us"));
+        for (TipoOperacion tipo : TipoOperacion.values()) {
+            Histograma h = latencias.get(tipo);
+            if (h == null || h.cantidad() == 0) continue;
+            sb.append(String.format(Locale.ROOT, "%-24s %10d %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    tipo, h.cantidad(), getErrores(tipo), h.media() / 1e3, h.percentil(0.5) / 1e3,
+                    h.percentil(0.99) / 1e3, h.percentil(0.999) / 1e3, h.maximo() / 1e3));
+        }
+        return sb.toString();
+    }
+}
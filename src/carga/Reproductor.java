@@ -0,0 +1,109 @@
+package carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import entidades.IHomeSolution;
+import metricas.Histograma;
+
+/**
+ * Ejecuta los pasos de un escenario contra cualquier IHomeSolution y mide cada operacion.
+ *
+ * Con una tasa objetivo, cada paso tiene un momento de inicio previsto y la latencia se
+ * mide desde ese momento: si la implementacion se atrasa, la espera cuenta como latencia
+ * (si se midiera desde que se pudo empezar, un atraso ocultaria justamente los peores casos).
+ * Sin tasa se ejecuta lo mas rapido posible y se mide solo la duracion de cada llamada.
+ *
+ * Con varios hilos, cada uno ejecuta en orden los pasos de los proyectos que le tocan
+ * (numero de proyecto modulo hilos). Los pasos de un mismo proyecto mantienen su orden,
+ * pero el pool de empleados es compartido: algunas asignaciones pueden fallar por falta
+ * de empleados libres, y se cuentan como errores. Para varios hilos la implementacion
+ * tiene que ser segura para uso concurrente (por ejemplo HomeSolutionConcurrente).
+ */
+public class Reproductor {
+    private final IHomeSolution hs;
+
+    public Reproductor(IHomeSolution hs) {
+        this.hs = hs;
+    }
+
+    /**
+     * @param opsPorSegundo tasa objetivo entre todos los hilos, o 0 para ir lo mas rapido posible.
+     */
+    public ReporteCarga ejecutar(Escenario escenario, double opsPorSegundo, int hilos) throws InterruptedException {
+        if (hilos <= 0) throw new IllegalArgumentException("Se necesita al menos un hilo");
+        TipoOperacion[] tipos = TipoOperacion.values();
+        Map<TipoOperacion, Histograma> latencias = new EnumMap<>(TipoOperacion.class);
+        for (TipoOperacion t : tipos) latencias.put(t, new Histograma());
+        AtomicLongArray errores = new AtomicLongArray(tipos.length);
+
+        long inicio = System.nanoTime();
+        Thread[] trabajadores = new Thread[hilos];
+        Throwable[] falla = new Throwable[1];
+        for (int k = 0; k < hilos; k++) {
+            int hilo = k;
+            trabajadores[k] = new Thread(() -> ejecutarParte(escenario, hilo, hilos, opsPorSegundo / hilos,
+                    inicio, latencias, errores), "reproductor-" + k);
+            trabajadores[k].setUncaughtExceptionHandler((t, e) -> falla[0] = e);
+            trabajadores[k].start();
+        }
+        for (Thread t : trabajadores) t.join();
+        long duracion = System.nanoTime() - inicio;
+        if (falla[0] != null) throw new IllegalStateException("Fallo un hilo del reproductor", falla[0]);
+
+        Map<TipoOperacion, Long> totalErrores = new EnumMap<>(TipoOperacion.class);
+        for (TipoOperacion t : tipos) totalErrores.put(t, errores.get(t.ordinal()));
+        return new ReporteCarga(duracion, latencias, totalErrores);
+    }
+
+    private void ejecutarParte(Escenario e, int hilo, int hilos, double tasa, long inicio,
+                               Map<TipoOperacion, Histograma> latencias, AtomicLongArray errores) {
+        Histograma[] porTipo = new Histograma[TipoOperacion.values().length];
+        for (Map.Entry<TipoOperacion, Histograma> x : latencias.entrySet()) porTipo[x.getKey().ordinal()] = x.getValue();
+        double intervalo = tasa > 0 ? 1e9 / tasa : 0;
+        long propios = 0;
+        for (int i = 0; i < e.cantidadPasos(); i++) {
+            if (e.proyecto(i) % hilos != hilo) continue;
+            long previsto = System.nanoTime();
+            if (intervalo > 0) {
+                previsto = inicio + (long) (propios * intervalo);
+                long espera;
+                while ((espera = previsto - System.nanoTime()) > 0) LockSupport.parkNanos(espera);
+            }
+            propios++;
+            TipoOperacion tipo = e.operacion(i);
+            try {
+                aplicar(e, i, tipo);
+            } catch (Exception ex) {
+                errores.getAndIncrement(tipo.ordinal());
+            }
+            porTipo[tipo.ordinal()].registrar(System.nanoTime() - previsto);
+        }
+    }
+
+    private void aplicar(Escenario e, int paso, TipoOperacion tipo) throws Exception {
+        Integer numero = e.proyecto(paso);
+        switch (tipo) {
+            case ASIGNAR:
+                hs.asignarResponsableEnTarea(numero, e.titulo(paso));
+                break;
+            case ASIGNAR_MENOS_RETRASO:
+                hs.asignarResponsableMenosRetraso(numero, e.titulo(paso));
+                break;
+            case REGISTRAR_RETRASO:
+                hs.registrarRetrasoEnTarea(numero, e.titulo(paso), e.retraso(paso));
+                break;
+            case REASIGNAR_MENOS_RETRASO:
+                hs.reasignarEmpleadoConMenosRetraso(numero, e.titulo(paso));
+                break;
+            case FINALIZAR_TAREA:
+                hs.finalizarTarea(numero, e.titulo(paso));
+                break;
+            case COSTO:
+                hs.costoProyecto(numero);
+                break;
+        }
+    }
+}
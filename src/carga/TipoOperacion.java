@@ -0,0 +1,11 @@
+package carga;
+
+/** Operaciones de IHomeSolution que genera y reproduce la carga. */
+public enum TipoOperacion {
+    ASIGNAR,
+    ASIGNAR_MENOS_RETRASO,
+    REGISTRAR_RETRASO,
+    REASIGNAR_MENOS_RETRASO,
+    FINALIZAR_TAREA,
+    COSTO
+}
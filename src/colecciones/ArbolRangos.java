@@ -0,0 +1,355 @@
+package colecciones;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Conjunto ordenado por un comparador que ademas responde por posicion: que lugar ocupa
+ * un elemento (rango), cual esta en el lugar k (seleccion) y cuantos quedan antes de una
+ * clave, todo en O(log n). Es un arbol AVL donde cada nodo guarda el tamaño de su subarbol.
+ *
+ * Los nodos no son objetos: viven en arreglos paralelos indexados por int (el 0 es el nodo
+ * nulo) y los casilleros borrados se reusan. Como en TreeSet, la clave de un elemento no
+ * puede cambiar mientras esta en el arbol: hay que quitarlo, cambiarlo y volver a agregarlo.
+ */
+public class ArbolRangos<E> implements Iterable<E> {
+    private static final int NULO = 0;
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    private final Comparator<? super E> comparador;
+    private Object[] elementos;
+    private int[] izquierdo;
+    private int[] derecho;
+    private int[] tamanio; // nodos del subarbol
+    private byte[] altura;
+    private int raiz = NULO;
+    private int usados = 1;   // casilleros tomados alguna vez, contando el nulo
+    private int libre = NULO; // casilleros liberados, encadenados por izquierdo
+    private int modificaciones;
+    private boolean quitado;
+
+    public ArbolRangos(Comparator<? super E> comparador) {
+        this.comparador = comparador;
+        armarArreglos(CAPACIDAD_MINIMA);
+    }
+
+    public Comparator<? super E> comparator() {
+        return comparador;
+    }
+
+    public int size() {
+        return tamanio[raiz];
+    }
+
+    public boolean isEmpty() {
+        return raiz == NULO;
+    }
+
+    public boolean contains(E e) {
+        return buscar(e) != NULO;
+    }
+
+    /** @return false si ya habia un elemento igual segun el comparador. */
+    public boolean add(E e) {
+        if (libre == NULO && usados == elementos.length) agrandar(); // antes de bajar: los hijos se asignan con los arreglos actuales
+        int antes = size();
+        raiz = insertar(raiz, e);
+        if (size() == antes) return false;
+        modificaciones++;
+        return true;
+    }
+
+    public boolean remove(E e) {
+        quitado = false;
+        raiz = quitar(raiz, e);
+        if (quitado) modificaciones++;
+        return quitado;
+    }
+
+    public void clear() {
+        armarArreglos(CAPACIDAD_MINIMA);
+        raiz = NULO;
+        usados = 1;
+        libre = NULO;
+        modificaciones++;
+    }
+
+    /**
+     * Reemplaza el contenido por los primeros cantidad elementos de ordenados, que tienen
+     * que estar en orden estricto segun el comparador (no se verifica). Arma el arbol
+     * balanceado en O(n), sin comparar.
+     */
+    public void cargarOrdenados(E[] ordenados, int cantidad) {
+        armarArreglos(Math.max(cantidad + 1, CAPACIDAD_MINIMA));
+        for (int i = 0; i < cantidad; i++) elementos[i + 1] = ordenados[i];
+        usados = cantidad + 1;
+        libre = NULO;
+        raiz = armar(1, cantidad);
+        modificaciones++;
+    }
+
+    // -------------------------
+    // CONSULTAS POR POSICION
+    // -------------------------
+
+    /** Cantidad de elementos menores que e (su posicion desde 0), o -1 si e no esta. */
+    public int rango(E e) {
+        int r = 0;
+        int n = raiz;
+        while (n != NULO) {
+            int c = comparador.compare(e, elemento(n));
+            if (c < 0) {
+                n = izquierdo[n];
+            } else if (c > 0) {
+                r += tamanio[izquierdo[n]] + 1;
+                n = derecho[n];
+            } else {
+                return r + tamanio[izquierdo[n]];
+            }
+        }
+        return -1;
+    }
+
+    /** Elemento en la posicion k (desde 0) del orden. */
+    public E seleccionar(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("Posicion " + k + " de " + size());
+        int n = raiz;
+        while (true) {
+            int izq = tamanio[izquierdo[n]];
+            if (k < izq) {
+                n = izquierdo[n];
+            } else if (k > izq) {
+                k -= izq + 1;
+                n = derecho[n];
+            } else {
+                return elemento(n);
+            }
+        }
+    }
+
+    /**
+     * Cantidad de elementos que quedan antes de una clave. posicion compara un elemento
+     * con la clave (negativo si el elemento va antes) y tiene que ser coherente con el orden
+     * del arbol. Sirve para contar por un prefijo de la clave, por ejemplo "con menos de x retrasos".
+     */
+    public int contarAntes(ToIntFunction<? super E> posicion) {
+        int r = 0;
+        int n = raiz;
+        while (n != NULO) {
+            if (posicion.applyAsInt(elemento(n)) < 0) {
+                r += tamanio[izquierdo[n]] + 1;
+                n = derecho[n];
+            } else {
+                n = izquierdo[n];
+            }
+        }
+        return r;
+    }
+
+    // -------------------------
+    // RECORRIDOS
+    // -------------------------
+
+    /** Recorre de menor a mayor. */
+    @Override
+    public Iterator<E> iterator() {
+        return new Recorrido(false);
+    }
+
+    /** Recorrido de mayor a menor. */
+    public Iterable<E> descendente() {
+        return () -> new Recorrido(true);
+    }
+
+    /** Bytes aproximados que ocupan los arreglos internos (sin contar los elementos). */
+    public long bytesEstimados() {
+        long cap = elementos.length;
+        return 5 * 16L + 4 * cap + 3 * 4 * cap + cap;
+    }
+
+    // -------------------------
+    // INTERNOS
+    // -------------------------
+    @SuppressWarnings("unchecked")
+    private E elemento(int n) {
+        return (E) elementos[n];
+    }
+
+    private int buscar(E e) {
+        int n = raiz;
+        while (n != NULO) {
+            int c = comparador.compare(e, elemento(n));
+            if (c == 0) return n;
+            n = c < 0 ? izquierdo[n] : derecho[n];
+        }
+        return NULO;
+    }
+
+    private int insertar(int n, E e) {
+        if (n == NULO) return nuevoNodo(e);
+        int c = comparador.compare(e, elemento(n));
+        if (c < 0) izquierdo[n] = insertar(izquierdo[n], e);
+        else if (c > 0) derecho[n] = insertar(derecho[n], e);
+        else return n;
+        return balancear(n);
+    }
+
+    private int quitar(int n, E e) {
+        if (n == NULO) return NULO;
+        int c = comparador.compare(e, elemento(n));
+        if (c < 0) {
+            izquierdo[n] = quitar(izquierdo[n], e);
+        } else if (c > 0) {
+            derecho[n] = quitar(derecho[n], e);
+        } else {
+            quitado = true;
+            int izq = izquierdo[n];
+            int der = derecho[n];
+            liberarNodo(n);
+            if (izq == NULO) return der;
+            if (der == NULO) return izq;
+            // el sucesor (minimo de la derecha) ocupa el lugar del nodo quitado
+            int m = der;
+            while (izquierdo[m] != NULO) m = izquierdo[m];
+            derecho[m] = quitarMinimo(der);
+            izquierdo[m] = izq;
+            n = m;
+        }
+        return balancear(n);
+    }
+
+    private int quitarMinimo(int n) {
+        if (izquierdo[n] == NULO) return derecho[n];
+        izquierdo[n] = quitarMinimo(izquierdo[n]);
+        return balancear(n);
+    }
+
+    private int balancear(int n) {
+        actualizar(n);
+        int diferencia = altura[izquierdo[n]] - altura[derecho[n]];
+        if (diferencia > 1) {
+            int l = izquierdo[n];
+            if (altura[izquierdo[l]] < altura[derecho[l]]) izquierdo[n] = rotarIzquierda(l);
+            return rotarDerecha(n);
+        }
+        if (diferencia < -1) {
+            int r = derecho[n];
+            if (altura[derecho[r]] < altura[izquierdo[r]]) derecho[n] = rotarDerecha(r);
+            return rotarIzquierda(n);
+        }
+        return n;
+    }
+
+    private int rotarDerecha(int n) {
+        int l = izquierdo[n];
+        izquierdo[n] = derecho[l];
+        derecho[l] = n;
+        actualizar(n);
+        actualizar(l);
+        return l;
+    }
+
+    private int rotarIzquierda(int n) {
+        int r = derecho[n];
+        derecho[n] = izquierdo[r];
+        izquierdo[r] = n;
+        actualizar(n);
+        actualizar(r);
+        return r;
+    }
+
+    private void actualizar(int n) {
+        int l = izquierdo[n];
+        int r = derecho[n];
+        altura[n] = (byte) (Math.max(altura[l], altura[r]) + 1);
+        tamanio[n] = tamanio[l] + tamanio[r] + 1;
+    }
+
+    // arma el subarbol balanceado con los casilleros desde..hasta, que ya tienen los elementos en orden
+    private int armar(int desde, int hasta) {
+        if (desde > hasta) return NULO;
+        int medio = (desde + hasta) >>> 1;
+        izquierdo[medio] = armar(desde, medio - 1);
+        derecho[medio] = armar(medio + 1, hasta);
+        actualizar(medio);
+        return medio;
+    }
+
+    private int nuevoNodo(E e) {
+        int n;
+        if (libre != NULO) {
+            n = libre;
+            libre = izquierdo[n];
+        } else {
+            n = usados++;
+        }
+        elementos[n] = e;
+        izquierdo[n] = NULO;
+        derecho[n] = NULO;
+        altura[n] = 1;
+        tamanio[n] = 1;
+        return n;
+    }
+
+    private void liberarNodo(int n) {
+        elementos[n] = null;
+        derecho[n] = NULO;
+        izquierdo[n] = libre;
+        libre = n;
+    }
+
+    private void armarArreglos(int capacidad) {
+        elementos = new Object[capacidad];
+        izquierdo = new int[capacidad];
+        derecho = new int[capacidad];
+        tamanio = new int[capacidad];
+        altura = new byte[capacidad];
+    }
+
+    private void agrandar() {
+        int capacidad = elementos.length << 1;
+        elementos = Arrays.copyOf(elementos, capacidad);
+        izquierdo = Arrays.copyOf(izquierdo, capacidad);
+        derecho = Arrays.copyOf(derecho, capacidad);
+        tamanio = Arrays.copyOf(tamanio, capacidad);
+        altura = Arrays.copyOf(altura, capacidad);
+    }
+
+    // recorrido en orden con pila propia; la altura de un AVL no pasa de 1.44 log2(n)
+    private class Recorrido implements Iterator<E> {
+        private final boolean descendente;
+        private final int[] pila = new int[64];
+        private int tope;
+        private final int esperadas = modificaciones;
+
+        Recorrido(boolean descendente) {
+            this.descendente = descendente;
+            bajar(raiz);
+        }
+
+        private void bajar(int n) {
+            while (n != NULO) {
+                pila[tope++] = n;
+                n = descendente ? derecho[n] : izquierdo[n];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return tope > 0;
+        }
+
+        @Override
+        public E next() {
+            if (modificaciones != esperadas) throw new ConcurrentModificationException();
+            if (tope == 0) throw new NoSuchElementException();
+            int n = pila[--tope];
+            bajar(descendente ? izquierdo[n] : derecho[n]);
+            return elemento(n);
+        }
+    }
+}
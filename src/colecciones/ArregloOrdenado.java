@@ -0,0 +1,68 @@
+package colecciones;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+/**
+ * Vista de solo lectura de un arreglo ya ordenado y sin repetidos, como SortedSet.
+ * Sirve para cargar un TreeSet vacio en tiempo lineal: TreeSet.addAll de un SortedSet
+ * con el mismo comparador arma el arbol directamente, sin comparar elementos.
+ * No verifica el orden; las vistas parciales (subSet, headSet, tailSet) no se admiten.
+ */
+public class ArregloOrdenado<E> extends AbstractSet<E> implements SortedSet<E> {
+    private final E[] elementos;
+    private final int cantidad;
+    private final Comparator<? super E> comparador;
+
+    public ArregloOrdenado(E[] elementos, int cantidad, Comparator<? super E> comparador) {
+        this.elementos = elementos;
+        this.cantidad = cantidad;
+        this.comparador = comparador;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Arrays.asList(elementos).subList(0, cantidad).iterator();
+    }
+
+    @Override
+    public int size() {
+        return cantidad;
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return comparador;
+    }
+
+    @Override
+    public E first() {
+        if (cantidad == 0) throw new NoSuchElementException();
+        return elementos[0];
+    }
+
+    @Override
+    public E last() {
+        if (cantidad == 0) throw new NoSuchElementException();
+        return elementos[cantidad - 1];
+    }
+
+    @Override
+    public SortedSet<E> subSet(E desde, E hasta) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedSet<E> headSet(E hasta) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SortedSet<E> tailSet(E desde) {
+        throw new UnsupportedOperationException();
+    }
+}
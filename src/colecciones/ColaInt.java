@@ -0,0 +1,164 @@
+package colecciones;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Conjunto de enteros que recuerda el orden de insercion (cola FIFO sin repetidos).
+ * Agregar al final, sacar el primero y quitar un valor cualquiera cuestan O(1).
+ *
+ * Es una tabla con sondeo lineal donde cada casillero guarda, ademas de la clave,
+ * los indices del anterior y el siguiente en la cola. Los borrados dejan lapidas
+ * (mover casilleros romperia los enlaces); la tabla se rearma cuando se acumulan.
+ */
+public class ColaInt {
+    private static final byte VACIO = 0;
+    private static final byte OCUPADO = 1;
+    private static final byte BORRADO = 2;
+
+    private int[] claves;
+    private int[] anterior;
+    private int[] siguiente;
+    private byte[] estado;
+    private int mascara;
+    private int tamanio;
+    private int usados; // ocupados + lapidas
+    private int primero = -1;
+    private int ultimo = -1;
+
+    public ColaInt() {
+        this(16);
+    }
+
+    public ColaInt(int capacidadEsperada) {
+        armarTabla(Hash.capacidadPara(capacidadEsperada, 16));
+    }
+
+    /**
+     * Agrega el valor al final. Si ya estaba conserva su lugar y devuelve false.
+     */
+    public boolean agregarAlFinal(int clave) {
+        int i = Hash.mezclar(clave) & mascara;
+        int lapida = -1;
+        while (estado[i] != VACIO) {
+            if (estado[i] == OCUPADO && claves[i] == clave) return false;
+            if (estado[i] == BORRADO && lapida < 0) lapida = i;
+            i = (i + 1) & mascara;
+        }
+        if (lapida >= 0) {
+            i = lapida;
+        } else {
+            usados++;
+        }
+        claves[i] = clave;
+        estado[i] = OCUPADO;
+        anterior[i] = ultimo;
+        siguiente[i] = -1;
+        if (ultimo >= 0) siguiente[ultimo] = i;
+        else primero = i;
+        ultimo = i;
+        tamanio++;
+        if (usados > claves.length * Hash.CARGA_MAXIMA) {
+            // muchas lapidas: se rearma del mismo tamaño; si esta llena de verdad, se duplica
+            armarTabla(tamanio > (claves.length >> 2) ? claves.length << 1 : claves.length);
+        }
+        return true;
+    }
+
+    /**
+     * Agranda la tabla de una vez para que entren esperados valores sin rearmarla.
+     */
+    public void reservar(int esperados) {
+        int capacidad = Hash.capacidadPara(esperados, 16);
+        if (capacidad > claves.length) armarTabla(capacidad);
+    }
+
+    /**
+     * Saca y devuelve el primer valor de la cola.
+     * @throws NoSuchElementException si esta vacia.
+     */
+    public int sacarPrimero() {
+        if (primero < 0) throw new NoSuchElementException("Cola vacía");
+        int clave = claves[primero];
+        desenlazar(primero);
+        return clave;
+    }
+
+    public int verPrimero() {
+        if (primero < 0) throw new NoSuchElementException("Cola vacía");
+        return claves[primero];
+    }
+
+    public boolean quitar(int clave) {
+        int i = buscar(clave);
+        if (i < 0) return false;
+        desenlazar(i);
+        return true;
+    }
+
+    public boolean contiene(int clave) {
+        return buscar(clave) >= 0;
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    /**
+     * Valores en orden de cola.
+     */
+    public int[] toArray() {
+        int[] out = new int[tamanio];
+        int n = 0;
+        for (int i = primero; i >= 0; i = siguiente[i]) out[n++] = claves[i];
+        return out;
+    }
+
+    public long bytesEstimados() {
+        return 4 * 16L + 13L * claves.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private int buscar(int clave) {
+        int i = Hash.mezclar(clave) & mascara;
+        while (estado[i] != VACIO) {
+            if (estado[i] == OCUPADO && claves[i] == clave) return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private void desenlazar(int i) {
+        int a = anterior[i];
+        int s = siguiente[i];
+        if (a >= 0) siguiente[a] = s;
+        else primero = s;
+        if (s >= 0) anterior[s] = a;
+        else ultimo = a;
+        estado[i] = BORRADO;
+        tamanio--;
+    }
+
+    // rearma la tabla reinsertando en orden de cola, asi se conserva el FIFO
+    private void armarTabla(int capacidad) {
+        int[] enOrden = claves == null ? new int[0] : toArray();
+        claves = new int[capacidad];
+        anterior = new int[capacidad];
+        siguiente = new int[capacidad];
+        estado = new byte[capacidad];
+        mascara = capacidad - 1;
+        tamanio = 0;
+        usados = 0;
+        primero = -1;
+        ultimo = -1;
+        for (int c : enOrden) agregarAlFinal(c);
+    }
+}
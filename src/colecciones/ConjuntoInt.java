@@ -0,0 +1,122 @@
+package colecciones;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de enteros con direccionamiento abierto (sondeo lineal), sin encajonar.
+ * Integer.MIN_VALUE se reserva para marcar casilleros vacios y no puede agregarse.
+ * El orden de iteracion no esta definido.
+ */
+public class ConjuntoInt {
+    private static final int VACIO = Integer.MIN_VALUE;
+
+    private int[] claves;
+    private int mascara;
+    private int tamanio;
+    private int limite;
+
+    public ConjuntoInt() {
+        this(4);
+    }
+
+    public ConjuntoInt(int capacidadEsperada) {
+        armarTabla(Hash.capacidadPara(capacidadEsperada, 8));
+    }
+
+    public boolean add(int clave) {
+        if (clave == VACIO) throw new IllegalArgumentException("Valor reservado: " + clave);
+        int i = indice(clave);
+        while (claves[i] != VACIO) {
+            if (claves[i] == clave) return false;
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        if (++tamanio > limite) armarTabla(claves.length << 1);
+        return true;
+    }
+
+    public boolean contains(int clave) {
+        return clave != VACIO && buscar(clave) >= 0;
+    }
+
+    public boolean remove(int clave) {
+        if (clave == VACIO) return false;
+        int hueco = buscar(clave);
+        if (hueco < 0) return false;
+        // corrimiento hacia atras, igual que en MapaInt
+        int i = hueco;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (claves[i] == VACIO) break;
+            int ideal = indice(claves[i]);
+            if (((i - ideal) & mascara) >= ((i - hueco) & mascara)) {
+                claves[hueco] = claves[i];
+                hueco = i;
+            }
+        }
+        claves[hueco] = VACIO;
+        tamanio--;
+        return true;
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(claves, VACIO);
+        tamanio = 0;
+    }
+
+    public void forEach(IntConsumer accion) {
+        for (int c : claves) {
+            if (c != VACIO) accion.accept(c);
+        }
+    }
+
+    public int[] toArray() {
+        int[] out = new int[tamanio];
+        int n = 0;
+        for (int c : claves) {
+            if (c != VACIO) out[n++] = c;
+        }
+        return out;
+    }
+
+    public long bytesEstimados() {
+        return 16L + 4L * claves.length;
+    }
+
+    private int indice(int clave) {
+        return Hash.mezclar(clave) & mascara;
+    }
+
+    private int buscar(int clave) {
+        int i = indice(clave);
+        while (claves[i] != VACIO) {
+            if (claves[i] == clave) return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private void armarTabla(int capacidad) {
+        int[] viejas = claves;
+        claves = new int[capacidad];
+        Arrays.fill(claves, VACIO);
+        mascara = capacidad - 1;
+        limite = (int) (capacidad * Hash.CARGA_MAXIMA);
+        if (viejas == null) return;
+        for (int c : viejas) {
+            if (c == VACIO) continue;
+            int i = indice(c);
+            while (claves[i] != VACIO) i = (i + 1) & mascara;
+            claves[i] = c;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package colecciones;
+
+/**
+ * Dispersion comun a las tablas de claves int del paquete.
+ */
+final class Hash {
+    static final float CARGA_MAXIMA = 0.6f;
+
+    private Hash() {
+    }
+
+    // legajos e ids son consecutivos: se mezclan los bits para que no se amontonen en la tabla
+    static int mezclar(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // potencia de 2 que deja a los esperados por debajo de la carga maxima
+    static int capacidadPara(int esperados, int minima) {
+        int necesaria = (int) Math.ceil(Math.max(esperados, 1) / CARGA_MAXIMA) + 1;
+        return Math.max(minima, Integer.highestOneBit(necesaria - 1) << 1);
+    }
+}
@@ -0,0 +1,50 @@
+package colecciones;
+
+import java.util.Arrays;
+
+/**
+ * Lista de enteros sobre un arreglo que crece, sin encajonar.
+ */
+public class ListaInt {
+    private int[] datos;
+    private int tamanio;
+
+    public ListaInt() {
+        this(4);
+    }
+
+    public ListaInt(int capacidad) {
+        this.datos = new int[Math.max(capacidad, 1)];
+    }
+
+    public void add(int valor) {
+        if (tamanio == datos.length) datos = Arrays.copyOf(datos, datos.length + (datos.length >> 1) + 1);
+        datos[tamanio++] = valor;
+    }
+
+    public int get(int i) {
+        if (i < 0 || i >= tamanio) throw new IndexOutOfBoundsException("Indice " + i + " tamaño " + tamanio);
+        return datos[i];
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(datos, tamanio);
+    }
+
+    public long bytesEstimados() {
+        return 16L + 4L * datos.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
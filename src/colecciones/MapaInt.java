@@ -0,0 +1,196 @@
+package colecciones;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Mapa de claves int a objetos con direccionamiento abierto (sondeo lineal).
+ * Las claves no se encajonan en Integer: no hay objetos por entrada ni por busqueda.
+ * No admite valores null (un valor null marca un casillero vacio).
+ * El orden de iteracion no esta definido.
+ */
+public class MapaInt<V> {
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    private int[] claves;
+    private Object[] valores;
+    private int mascara;
+    private int tamanio;
+    private int limite; // tamanio a partir del cual se agranda la tabla
+
+    public MapaInt() {
+        this(CAPACIDAD_MINIMA);
+    }
+
+    public MapaInt(int capacidadEsperada) {
+        armarTabla(Hash.capacidadPara(capacidadEsperada, CAPACIDAD_MINIMA));
+    }
+
+    public V get(int clave) {
+        int i = buscar(clave);
+        return i < 0 ? null : valor(i);
+    }
+
+    public V getOrDefault(int clave, V porDefecto) {
+        V v = get(clave);
+        return v != null ? v : porDefecto;
+    }
+
+    /**
+     * Agranda la tabla de una vez para que entren esperados claves sin rearmarla.
+     */
+    public void reservar(int esperados) {
+        int capacidad = Hash.capacidadPara(esperados, CAPACIDAD_MINIMA);
+        if (capacidad > claves.length) armarTabla(capacidad);
+    }
+
+    public boolean containsKey(int clave) {
+        return buscar(clave) >= 0;
+    }
+
+    /**
+     * Asocia el valor a la clave y devuelve el valor anterior (o null).
+     */
+    public V put(int clave, V valor) {
+        if (valor == null) throw new IllegalArgumentException("MapaInt no admite valores null");
+        int i = indice(clave);
+        while (valores[i] != null) {
+            if (claves[i] == clave) {
+                V anterior = valor(i);
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamanio > limite) armarTabla(claves.length << 1);
+        return null;
+    }
+
+    /**
+     * Quita la clave y devuelve su valor (o null si no estaba).
+     */
+    public V remove(int clave) {
+        int i = buscar(clave);
+        if (i < 0) return null;
+        V anterior = valor(i);
+        borrar(i);
+        tamanio--;
+        return anterior;
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(valores, null);
+        tamanio = 0;
+    }
+
+    /**
+     * Recorre los valores sin crear objetos por entrada (salvo el iterador).
+     */
+    public Iterable<V> valores() {
+        return () -> new Iterator<V>() {
+            private int siguiente = avanzar(0);
+
+            private int avanzar(int desde) {
+                while (desde < valores.length && valores[desde] == null) desde++;
+                return desde;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return siguiente < valores.length;
+            }
+
+            @Override
+            public V next() {
+                if (siguiente >= valores.length) throw new NoSuchElementException();
+                V v = valor(siguiente);
+                siguiente = avanzar(siguiente + 1);
+                return v;
+            }
+        };
+    }
+
+    /**
+     * Claves presentes, en orden de tabla.
+     */
+    public int[] claves() {
+        int[] out = new int[tamanio];
+        int n = 0;
+        for (int i = 0; i < valores.length; i++) {
+            if (valores[i] != null) out[n++] = claves[i];
+        }
+        return out;
+    }
+
+    /**
+     * Bytes aproximados que ocupan los arreglos internos (sin contar los valores).
+     */
+    public long bytesEstimados() {
+        return 16L + 4L * claves.length + 16L + 4L * valores.length;
+    }
+
+    // -------------------------
+    // INTERNOS
+    // -------------------------
+    @SuppressWarnings("unchecked")
+    private V valor(int i) {
+        return (V) valores[i];
+    }
+
+    private int indice(int clave) {
+        return Hash.mezclar(clave) & mascara;
+    }
+
+    private int buscar(int clave) {
+        int i = indice(clave);
+        while (valores[i] != null) {
+            if (claves[i] == clave) return i;
+            i = (i + 1) & mascara;
+        }
+        return -1;
+    }
+
+    // borrado con corrimiento hacia atras: no deja lapidas que alarguen las busquedas
+    private void borrar(int hueco) {
+        int i = hueco;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (valores[i] == null) break;
+            int ideal = indice(claves[i]);
+            // se mueve si su posicion ideal no esta entre el hueco (exclusive) e i (inclusive)
+            if (((i - ideal) & mascara) >= ((i - hueco) & mascara)) {
+                claves[hueco] = claves[i];
+                valores[hueco] = valores[i];
+                hueco = i;
+            }
+        }
+        valores[hueco] = null;
+    }
+
+    private void armarTabla(int capacidad) {
+        int[] viejasClaves = claves;
+        Object[] viejosValores = valores;
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+        mascara = capacidad - 1;
+        limite = (int) (capacidad * Hash.CARGA_MAXIMA);
+        if (viejosValores == null) return;
+        for (int j = 0; j < viejosValores.length; j++) {
+            if (viejosValores[j] == null) continue;
+            int i = indice(viejasClaves[j]);
+            while (valores[i] != null) i = (i + 1) & mascara;
+            claves[i] = viejasClaves[j];
+            valores[i] = viejosValores[j];
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package colecciones;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Mapa inmutable de claves int: con(...) y sin(...) devuelven un mapa nuevo y el original
+ * queda igual, compartiendo con el nuevo todo lo que no cambio. Se puede leer y recorrer
+ * desde cualquier hilo sin locks mientras otro hilo arma versiones nuevas.
+ *
+ * Es un HAMT (trie con mapa de bits) que en lugar de un hash usa los bits de la clave, 5 por
+ * nivel empezando por los mas altos: recorrerlo es recorrer las claves en orden. Un cambio
+ * copia el camino de la raiz a la clave, a lo sumo 7 nodos de hasta 32 hijos. Un subarbol con
+ * una sola clave se guarda como hoja en el casillero del padre, sin los niveles de abajo.
+ *
+ * Para muchos cambios seguidos esta el Editor: copia cada nodo la primera vez que lo toca
+ * y despues lo modifica en el lugar, hasta que se pide el mapa con terminar().
+ * No admite valores null.
+ */
+public final class MapaPersistente<V> {
+    private static final int BITS = 5;
+    private static final int MASCARA = (1 << BITS) - 1;
+    private static final int PRIMER_CORRIMIENTO = 30; // el primer nivel usa los 2 bits mas altos
+    private static final int NIVELES = PRIMER_CORRIMIENTO / BITS + 1;
+    private static final MapaPersistente<?> VACIO = new MapaPersistente<>(new Nodo(null, 0, new Object[0]), 0);
+
+    private final Nodo raiz;
+    private final int tamanio;
+
+    private MapaPersistente(Nodo raiz, int tamanio) {
+        this.raiz = raiz;
+        this.tamanio = tamanio;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> MapaPersistente<V> vacio() {
+        return (MapaPersistente<V>) VACIO;
+    }
+
+    public int size() {
+        return tamanio;
+    }
+
+    public boolean isEmpty() {
+        return tamanio == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int clave) {
+        int u = sinSigno(clave);
+        Nodo n = raiz;
+        for (int corrimiento = PRIMER_CORRIMIENTO; ; corrimiento -= BITS) {
+            int bit = 1 << (u >>> corrimiento & MASCARA);
+            if ((n.mapa & bit) == 0) return null;
+            Object h = n.hijos[Integer.bitCount(n.mapa & (bit - 1))];
+            if (h instanceof Hoja) {
+                Hoja hoja = (Hoja) h;
+                return hoja.clave == clave ? (V) hoja.valor : null;
+            }
+            n = (Nodo) h;
+        }
+    }
+
+    public boolean containsKey(int clave) {
+        return get(clave) != null;
+    }
+
+    /** Mapa con la clave asociada al valor; este mismo si ya lo estaba. */
+    public MapaPersistente<V> con(int clave, V valor) {
+        return editar().con(clave, valor).terminar();
+    }
+
+    /** Mapa sin la clave; este mismo si no estaba. */
+    public MapaPersistente<V> sin(int clave) {
+        return editar().sin(clave).terminar();
+    }
+
+    /** Editor que parte de este mapa. Este mapa no cambia aunque se use el editor. */
+    public Editor<V> editar() {
+        return new Editor<>(raiz, tamanio);
+    }
+
+    /** Valores en orden de clave. */
+    public Iterable<V> valores() {
+        return () -> new Recorrido<>(raiz, Integer.MIN_VALUE);
+    }
+
+    /** Valores con clave mayor o igual a desde, en orden de clave; encontrar el primero es O(log n). */
+    public Iterable<V> valoresDesde(int desde) {
+        return () -> new Recorrido<>(raiz, desde);
+    }
+
+    // invierte el bit de signo: el orden sin signo de los bits queda igual al orden de las claves
+    private static int sinSigno(int clave) {
+        return clave ^ Integer.MIN_VALUE;
+    }
+
+    private static int casillero(int clave, int corrimiento) {
+        return sinSigno(clave) >>> corrimiento & MASCARA;
+    }
+
+    /**
+     * Aplica muchos cambios copiando cada nodo una sola vez. No es seguro para varios hilos;
+     * los mapas que devuelve terminar() si, y no cambian aunque se siga usando el editor.
+     */
+    public static final class Editor<V> {
+        private Object dueno = new Object(); // los nodos con este dueno se pueden modificar en el lugar
+        private Nodo raiz;
+        private int tamanio;
+
+        private Editor(Nodo raiz, int tamanio) {
+            this.raiz = raiz;
+            this.tamanio = tamanio;
+        }
+
+        public int size() {
+            return tamanio;
+        }
+
+        public V get(int clave) {
+            return new MapaPersistente<V>(raiz, tamanio).get(clave);
+        }
+
+        public Editor<V> con(int clave, V valor) {
+            if (valor == null) throw new IllegalArgumentException("MapaPersistente no admite valores null");
+            raiz = poner(raiz, PRIMER_CORRIMIENTO, clave, valor);
+            return this;
+        }
+
+        public Editor<V> sin(int clave) {
+            Object r = quitar(raiz, PRIMER_CORRIMIENTO, clave);
+            raiz = r == null ? new Nodo(dueno, 0, new Object[0]) : (Nodo) r;
+            return this;
+        }
+
+        /** El mapa con los cambios hechos hasta ahora. Los nodos pasan a ser compartidos. */
+        public MapaPersistente<V> terminar() {
+            dueno = new Object();
+            return new MapaPersistente<>(raiz, tamanio);
+        }
+
+        private Nodo editable(Nodo n) {
+            return n.dueno == dueno ? n : new Nodo(dueno, n.mapa, n.hijos.clone());
+        }
+
+        private Nodo poner(Nodo n, int corrimiento, int clave, Object valor) {
+            int bit = 1 << casillero(clave, corrimiento);
+            int i = Integer.bitCount(n.mapa & (bit - 1));
+            if ((n.mapa & bit) == 0) {
+                tamanio++;
+                Object[] hijos = new Object[n.hijos.length + 1];
+                System.arraycopy(n.hijos, 0, hijos, 0, i);
+                hijos[i] = new Hoja(clave, valor);
+                System.arraycopy(n.hijos, i, hijos, i + 1, n.hijos.length - i);
+                if (n.dueno != dueno) return new Nodo(dueno, n.mapa | bit, hijos);
+                n.mapa |= bit;
+                n.hijos = hijos;
+                return n;
+            }
+            Object h = n.hijos[i];
+            Object nuevo;
+            if (h instanceof Hoja) {
+                Hoja hoja = (Hoja) h;
+                if (hoja.clave == clave) {
+                    if (hoja.valor == valor) return n;
+                    nuevo = new Hoja(clave, valor);
+                } else {
+                    tamanio++;
+                    nuevo = separar(hoja, new Hoja(clave, valor), corrimiento - BITS);
+                }
+            } else {
+                nuevo = poner((Nodo) h, corrimiento - BITS, clave, valor);
+                if (nuevo == h) return n;
+            }
+            Nodo e = editable(n);
+            e.hijos[i] = nuevo;
+            return e;
+        }
+
+        // nodo con dos hojas que compartian casillero; baja hasta el nivel donde sus claves difieren
+        private Nodo separar(Hoja a, Hoja b, int corrimiento) {
+            int ca = casillero(a.clave, corrimiento);
+            int cb = casillero(b.clave, corrimiento);
+            if (ca == cb) return new Nodo(dueno, 1 << ca, new Object[]{separar(a, b, corrimiento - BITS)});
+            Object[] hijos = ca < cb ? new Object[]{a, b} : new Object[]{b, a};
+            return new Nodo(dueno, 1 << ca | 1 << cb, hijos);
+        }
+
+        // devuelve n si la clave no estaba, null si el nodo quedo vacio o una hoja si quedo una sola
+        private Object quitar(Nodo n, int corrimiento, int clave) {
+            int bit = 1 << casillero(clave, corrimiento);
+            if ((n.mapa & bit) == 0) return n;
+            int i = Integer.bitCount(n.mapa & (bit - 1));
+            Object h = n.hijos[i];
+            Object nuevo;
+            if (h instanceof Hoja) {
+                if (((Hoja) h).clave != clave) return n;
+                tamanio--;
+                nuevo = null;
+            } else {
+                nuevo = quitar((Nodo) h, corrimiento - BITS, clave);
+                if (nuevo == h) return n;
+            }
+            boolean esRaiz = corrimiento == PRIMER_CORRIMIENTO;
+            if (nuevo == null) {
+                if (n.hijos.length == 1) return null;
+                // una sola hoja de hermana: sube al casillero del padre (la raiz siempre es un nodo)
+                if (n.hijos.length == 2 && !esRaiz && n.hijos[1 - i] instanceof Hoja) return n.hijos[1 - i];
+                Object[] hijos = new Object[n.hijos.length - 1];
+                System.arraycopy(n.hijos, 0, hijos, 0, i);
+                System.arraycopy(n.hijos, i + 1, hijos, i, hijos.length - i);
+                if (n.dueno != dueno) return new Nodo(dueno, n.mapa & ~bit, hijos);
+                n.mapa &= ~bit;
+                n.hijos = hijos;
+                return n;
+            }
+            if (nuevo instanceof Hoja && n.hijos.length == 1 && !esRaiz) return nuevo;
+            Nodo e = editable(n);
+            e.hijos[i] = nuevo;
+            return e;
+        }
+    }
+
+    private static final class Nodo {
+        final Object dueno; // editor que puede modificarlo en el lugar
+        int mapa;           // casilleros ocupados
+        Object[] hijos;     // Nodo u Hoja, uno por casillero ocupado y en orden de casillero
+
+        Nodo(Object dueno, int mapa, Object[] hijos) {
+            this.dueno = dueno;
+            this.mapa = mapa;
+            this.hijos = hijos;
+        }
+    }
+
+    private static final class Hoja {
+        final int clave;
+        final Object valor;
+
+        Hoja(int clave, Object valor) {
+            this.clave = clave;
+            this.valor = valor;
+        }
+    }
+
+    // recorrido en orden con una pila de (nodo, proximo hijo); arranca en la primera clave >= desde
+    private static final class Recorrido<V> implements Iterator<V> {
+        private final Nodo[] nodos = new Nodo[NIVELES];
+        private final int[] proximos = new int[NIVELES];
+        private int altura;
+        private Hoja siguiente;
+
+        Recorrido(Nodo raiz, int desde) {
+            Nodo n = raiz;
+            for (int corrimiento = PRIMER_CORRIMIENTO; ; corrimiento -= BITS) {
+                int bit = 1 << casillero(desde, corrimiento);
+                int i = Integer.bitCount(n.mapa & (bit - 1));
+                nodos[altura] = n;
+                altura++;
+                if ((n.mapa & bit) == 0) { // no hay nada en el camino de desde: sigue el proximo casillero
+                    proximos[altura - 1] = i;
+                    break;
+                }
+                Object h = n.hijos[i];
+                if (h instanceof Hoja) {
+                    proximos[altura - 1] = ((Hoja) h).clave >= desde ? i : i + 1;
+                    break;
+                }
+                proximos[altura - 1] = i + 1;
+                n = (Nodo) h;
+            }
+            siguiente = avanzar();
+        }
+
+        private Hoja avanzar() {
+            while (altura > 0) {
+                Nodo n = nodos[altura - 1];
+                int i = proximos[altura - 1];
+                if (i == n.hijos.length) {
+                    altura--;
+                    continue;
+                }
+                proximos[altura - 1] = i + 1;
+                Object h = n.hijos[i];
+                if (h instanceof Hoja) return (Hoja) h;
+                nodos[altura] = (Nodo) h;
+                proximos[altura] = 0;
+                altura++;
+            }
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (siguiente == null) throw new NoSuchElementException();
+            V v = (V) siguiente.valor;
+            siguiente = avanzar();
+            return v;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package colecciones;
+
+import java.util.Arrays;
+
+/**
+ * Suma de doubles sin error acumulado: guarda la suma como parciales que no se solapan
+ * (algoritmo de Shewchuk, el mismo de math.fsum de Python) y getValor() es la suma exacta
+ * de todo lo sumado, redondeada una sola vez.
+ *
+ * Restar un valor que se sumo antes lo cancela exactamente, asi que el resultado depende solo
+ * de los terminos que quedan y no del orden ni de cuantas veces se sumaron y restaron otros.
+ * Sumar cuesta O(parciales), que en la practica son uno o dos.
+ */
+public final class SumaExacta {
+    private double[] parciales = new double[2]; // de menor a mayor magnitud
+    private int cantidad;
+    private double valor;
+
+    public void sumar(double x) {
+        if (!Double.isFinite(x)) throw new IllegalArgumentException("Valor no finito: " + x);
+        int i = 0;
+        for (int j = 0; j < cantidad; j++) {
+            double y = parciales[j];
+            if (Math.abs(x) < Math.abs(y)) {
+                double t = x;
+                x = y;
+                y = t;
+            }
+            double alto = x + y;
+            double bajo = y - (alto - x); // lo que se perdio al redondear x + y
+            if (bajo != 0.0) parciales[i++] = bajo;
+            x = alto;
+        }
+        if (i == parciales.length) parciales = Arrays.copyOf(parciales, i * 2);
+        parciales[i++] = x;
+        cantidad = i;
+        valor = redondear();
+    }
+
+    public void restar(double x) {
+        sumar(-x);
+    }
+
+    /** La suma exacta redondeada al double mas cercano. O(1). */
+    public double getValor() {
+        return valor;
+    }
+
+    public void vaciar() {
+        cantidad = 0;
+        valor = 0.0;
+    }
+
+    // suma los parciales desde el mayor hasta que uno ya no cambia el resultado; si lo que queda
+    // es justo medio ulp, el siguiente parcial decide para que lado redondear
+    private double redondear() {
+        int n = cantidad;
+        if (n == 0) return 0.0;
+        double alto = parciales[--n];
+        double bajo = 0.0;
+        while (n > 0) {
+            double x = alto;
+            double y = parciales[--n];
+            alto = x + y;
+            bajo = y - (alto - x);
+            if (bajo != 0.0) break;
+        }
+        if (n > 0 && (bajo < 0.0 && parciales[n - 1] < 0.0 || bajo > 0.0 && parciales[n - 1] > 0.0)) {
+            double y = bajo * 2.0;
+            double x = alto + y;
+            if (y == x - alto) alto = x;
+        }
+        return alto;
+    }
+}
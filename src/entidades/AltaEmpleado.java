@@ -0,0 +1,68 @@
+package entidades;
+
+import java.util.Set;
+
+/**
+ * Datos de un empleado a registrar, ya validados con las reglas de registrarEmpleado.
+ * Se puede armar en cualquier hilo; el legajo recien se asigna al registrarlo.
+ */
+public final class AltaEmpleado {
+    private static final Set<String> CATEGORIAS_VALIDAS = Set.of("EXPERTO", "INICIAL", "OTRA_CATEGORIA_PERMITIDA");
+
+    private final String nombre;
+    private final double valor;
+    private final String categoria; // null para contratados
+
+    private AltaEmpleado(String nombre, double valor, String categoria) {
+        this.nombre = nombre;
+        this.valor = valor;
+        this.categoria = categoria;
+    }
+
+    /**
+     * @param valor valor por hora.
+     * @throws IllegalArgumentException si el nombre es vacio o el valor negativo.
+     */
+    public static AltaEmpleado contratado(String nombre, double valor) {
+        validarComunes(nombre, valor);
+        return new AltaEmpleado(nombre, valor, null);
+    }
+
+    /**
+     * @param valor valor por dia.
+     * @throws IllegalArgumentException si la categoria no es valida, el nombre es vacio o el valor negativo.
+     */
+    public static AltaEmpleado planta(String nombre, double valor, String categoria) {
+        if (categoria == null || !CATEGORIAS_VALIDAS.contains(categoria.toUpperCase()))
+            throw new IllegalArgumentException("Categoria inválida");
+        validarComunes(nombre, valor);
+        return new AltaEmpleado(nombre, valor, categoria);
+    }
+
+    private static void validarComunes(String nombre, double valor) {
+        if (nombre == null || nombre.trim().isEmpty()) throw new IllegalArgumentException("Nombre inválido");
+        if (valor < 0) throw new IllegalArgumentException("Valor negativo");
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public double getValor() {
+        return valor;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public boolean esPlanta() {
+        return categoria != null;
+    }
+
+    Empleado crear(int legajo) {
+        return esPlanta()
+                ? new EmpleadoPlanta(legajo, nombre, valor, categoria)
+                : new EmpleadoContratado(legajo, nombre, valor);
+    }
+}
@@ -0,0 +1,101 @@
+package entidades;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Datos de un proyecto a registrar, ya validados con las reglas de registrarProyecto.
+ * La validacion no toca el estado del sistema: se puede hacer en paralelo y en cualquier hilo.
+ */
+public final class AltaProyecto {
+    private final String[] titulos;
+    private final String[] descripciones;
+    private final double[] dias;
+    private final String domicilio;
+    private final String[] cliente;
+    private final LocalDate inicio;
+    private final LocalDate fin;
+
+    private AltaProyecto(String[] titulos, String[] descripciones, double[] dias, String domicilio,
+                         String[] cliente, LocalDate inicio, LocalDate fin) {
+        this.titulos = titulos;
+        this.descripciones = descripciones;
+        this.dias = dias;
+        this.domicilio = domicilio;
+        this.cliente = cliente;
+        this.inicio = inicio;
+        this.fin = fin;
+    }
+
+    /**
+     * Mismos parametros y validaciones que IHomeSolution.registrarProyecto.
+     * @throws IllegalArgumentException con el mismo mensaje que daria registrarProyecto.
+     */
+    public static AltaProyecto validar(String[] titulos, String[] descripcion, double[] dias,
+                                       String domicilio, String[] cliente, String inicio, String fin) {
+        if (titulos == null || descripcion == null || dias == null)
+            throw new IllegalArgumentException("Arrays nulos");
+        if (titulos.length != descripcion.length || titulos.length != dias.length)
+            throw new IllegalArgumentException("Arrays de tareas con longitudes inconsistentes");
+        if (domicilio == null || domicilio.trim().isEmpty()) throw new IllegalArgumentException("Domicilio inválido");
+        if (cliente == null || cliente.length == 0) throw new IllegalArgumentException("Cliente inválido");
+        LocalDate inicioDate;
+        LocalDate finDate;
+        try {
+            inicioDate = LocalDate.parse(inicio);
+            finDate = LocalDate.parse(fin);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Fechas mal formateadas. Use YYYY-MM-DD");
+        }
+        if (finDate.isBefore(inicioDate)) throw new IllegalArgumentException("Fecha fin anterior a inicio");
+        for (int i = 0; i < titulos.length; i++) {
+            if (titulos[i] == null || titulos[i].trim().isEmpty()) throw new IllegalArgumentException("Título de tarea inválido");
+            if (dias[i] <= 0) throw new IllegalArgumentException("Duración de tarea inválida");
+        }
+        return new AltaProyecto(titulos.clone(), descripcion.clone(), dias.clone(), domicilio,
+                cliente.clone(), inicioDate, finDate);
+    }
+
+    public int cantidadTareas() {
+        return titulos.length;
+    }
+
+    // los getters devuelven los arreglos internos: no modificarlos
+    public String[] getTitulos() {
+        return titulos;
+    }
+
+    public String[] getDescripciones() {
+        return descripciones;
+    }
+
+    public double[] getDias() {
+        return dias;
+    }
+
+    public String getDomicilio() {
+        return domicilio;
+    }
+
+    public String[] getCliente() {
+        return cliente;
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    public LocalDate getFin() {
+        return fin;
+    }
+
+    // las tareas toman ids consecutivos desde primeraTarea
+    Proyecto crear(int id, int primeraTarea) {
+        Proyecto p = new Proyecto(id, String.join(" | ", cliente), domicilio, inicio, fin);
+        for (int i = 0; i < titulos.length; i++) {
+            p.agregarTarea(new Tarea(primeraTarea + i, titulos[i], descripciones[i], dias[i],
+                    inicio.plusDays((long) Math.ceil(dias[i]))));
+        }
+        return p;
+    }
+}
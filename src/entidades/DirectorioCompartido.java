@@ -0,0 +1,128 @@
+package entidades;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DirectorioEmpleados para varios HomeSolution que corren en hilos distintos, como las
+ * particiones de HomeSolutionParticionado. Cada operacion es una seccion critica de un solo
+ * lock, asi tomar un empleado (elegirlo, sacarlo del pool y marcarlo) no se cruza con otra
+ * particion y los pedidos de todas quedan ordenados en el mismo FIFO.
+ *
+ * Solo se protegen las operaciones que usan los metodos de IHomeSolution, que son las unicas
+ * que las particiones ejecutan; snapshot, instantaneas y ranking quedan para el HomeSolution
+ * de un solo hilo.
+ */
+final class DirectorioCompartido extends DirectorioEmpleados {
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Override
+    Empleado registrar(AltaEmpleado alta) {
+        lock.lock();
+        try {
+            return super.registrar(alta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    Empleado get(int legajo) {
+        lock.lock();
+        try {
+            return super.get(legajo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    Empleado tomar(EstrategiaAsignacion estrategia) {
+        lock.lock();
+        try {
+            return super.tomar(estrategia);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    Empleado ocupar(Integer legajo) throws Exception {
+        lock.lock();
+        try {
+            return super.ocupar(legajo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    void ponerACargo(Empleado nuevo, Proyecto p, Tarea t, Empleado deja) {
+        lock.lock();
+        try {
+            super.ponerACargo(nuevo, p, t, deja);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    Empleado soltar(Proyecto p, Tarea t, int legajo) {
+        lock.lock();
+        try {
+            return super.soltar(p, t, legajo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    Empleado sumarRetraso(int legajo, int dias) {
+        lock.lock();
+        try {
+            return super.sumarRetraso(legajo, dias);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    int retrasos(Integer legajo) {
+        lock.lock();
+        try {
+            return super.retrasos(legajo);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    Object[] libresEnOrden() {
+        lock.lock();
+        try {
+            return super.libresEnOrden();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    List<Tupla<Integer, String>> empleados() {
+        lock.lock();
+        try {
+            return super.empleados();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    List<Tupla<Integer, String>> conNombres(int[] legajos, String sinNombre) {
+        lock.lock();
+        try {
+            return super.conNombres(legajos, sinNombre);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
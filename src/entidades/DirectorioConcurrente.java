@@ -0,0 +1,253 @@
+package entidades;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DirectorioEmpleados sin lock global para las franjas de HomeSolutionConcurrente: dos hilos solo se
+ * esperan si tocan el mismo empleado o la misma punta de una de las listas de libres.
+ *
+ * - Cada empleado libre tiene un turno (>= 0) y tomarlo es un CAS del turno a -1
+ *   (Empleado.tomarSiLibre): de dos hilos que lo eligen a la vez, uno solo lo consigue.
+ * - Los libres estan en dos skip lists concurrentes con entradas inmutables (Turno): la fila,
+ *   por orden de liberacion (FIFO), y porRetrasos, por (retrasos, legajo). Tomar saca la
+ *   primera entrada de una y hace el CAS; si el turno ya no es el de la entrada (otro lo tomo
+ *   por la otra lista) la descarta y sigue. Al tomarlo se sacan sus entradas de las dos.
+ * - Los retrasos son un contador atomico por empleado. Si el empleado esta libre su entrada
+ *   en porRetrasos se cambia por una con el valor nuevo. Los cambios de entradas de un mismo
+ *   empleado (liberar, sumar, sacar al tomarlo) se ordenan con compute sobre su legajo, el
+ *   unico lock que hay, y es por empleado. Sumar incrementa antes de su compute y liberar
+ *   publica el turno antes del suyo: el que corre segundo ve lo del otro, asi el empleado
+ *   libre siempre tiene una entrada con sus retrasos actuales.
+ *
+ * Con un solo hilo el resultado es el mismo que el de DirectorioEmpleados. Con varios, dos
+ * pedidos simultaneos se ordenan en el CAS: cada empleado lo toma uno solo y ninguno libre
+ * queda afuera de las listas.
+ *
+ * Como DirectorioCompartido, solo redefine las operaciones que usan los metodos de
+ * IHomeSolution; snapshot, instantaneas y ranking quedan para el HomeSolution de un solo hilo.
+ */
+final class DirectorioConcurrente extends DirectorioEmpleados {
+    // (retrasos, legajo) y la clave para que dos entradas del mismo empleado no sean iguales
+    private static final Comparator<Turno> POR_RETRASOS = Comparator
+            .comparingInt((Turno t) -> t.retrasos)
+            .thenComparingInt(t -> t.empleado.getLegajo())
+            .thenComparingLong(t -> t.clave);
+
+    private final Map<Integer, Empleado> porLegajo = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Turno> fila = new ConcurrentSkipListMap<>(); // libres en orden FIFO
+    private final ConcurrentSkipListSet<Turno> porRetrasos = new ConcurrentSkipListSet<>(POR_RETRASOS);
+    // legajo libre -> su entrada vigente; compute sobre esta clave ordena los cambios de un mismo empleado
+    private final Map<Integer, Turno> enPorRetrasos = new ConcurrentHashMap<>();
+    private final Map<Integer, Ocupacion> ocupaciones = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> proyectosDePlanta = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLegajo = new AtomicInteger(PRIMER_LEGAJO);
+    private final AtomicLong claves = new AtomicLong(); // orden de liberacion y de las entradas
+
+    // -------------------------
+    // ALTAS
+    // -------------------------
+    @Override
+    Empleado registrar(AltaEmpleado alta) {
+        Empleado e = alta.crear(nextLegajo.getAndIncrement());
+        liberar(e); // antes de publicarlo: nadie lo puede tomar con el turno inicial
+        porLegajo.put(e.getLegajo(), e);
+        return e;
+    }
+
+    @Override
+    int getNextLegajo() {
+        return nextLegajo.get();
+    }
+
+    @Override
+    Empleado get(int legajo) {
+        return porLegajo.get(legajo);
+    }
+
+    // -------------------------
+    // ASIGNACIONES
+    // -------------------------
+    @Override
+    Empleado tomar(EstrategiaAsignacion estrategia) {
+        if (estrategia == EstrategiaAsignacion.MENOS_RETRASO) {
+            for (Turno t; (t = porRetrasos.pollFirst()) != null; ) {
+                Empleado e = t.empleado;
+                // con otro valor de retrasos hay una entrada mas nueva del mismo turno
+                if (t.retrasos == e.retrasosActuales() && e.tomarSiLibre(t.turno)) {
+                    sacarDeLasListas(e);
+                    return e;
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Turno> f; (f = fila.pollFirstEntry()) != null; ) {
+                Turno t = f.getValue();
+                if (t.empleado.tomarSiLibre(t.turno)) {
+                    sacarDeLasListas(t.empleado);
+                    return t.empleado;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    Empleado ocupar(Integer legajo) throws Exception {
+        Empleado e = legajo == null ? null : porLegajo.get(legajo);
+        if (e == null) throw new Exception("Empleado a reasignar no existe");
+        int turno = e.turnoActual();
+        if (turno < 0 || !e.tomarSiLibre(turno)) throw new Exception("Empleado a reasignar ya está asignado");
+        sacarDeLasListas(e);
+        return e;
+    }
+
+    @Override
+    void ponerACargo(Empleado nuevo, Proyecto p, Tarea t, Empleado deja) {
+        ocupaciones.put(nuevo.getLegajo(), new Ocupacion(nuevo, p, t));
+        if (deja instanceof EmpleadoPlanta) {
+            Set<Integer> ids = proyectosDePlanta.get(deja.getLegajo());
+            if (ids != null) ids.remove(p.getId());
+        }
+        if (nuevo instanceof EmpleadoPlanta) agregarProyectoDePlanta(nuevo.getLegajo(), p.getId());
+    }
+
+    @Override
+    Empleado soltar(Proyecto p, Tarea t, int legajo) {
+        Ocupacion o = ocupaciones.get(legajo);
+        if (o == null || o.proyecto != p || (t != null && o.tarea != t)) return null;
+        if (!ocupaciones.remove(legajo, o)) return null;
+        liberar(o.empleado);
+        return o.empleado;
+    }
+
+    @Override
+    Empleado sumarRetraso(int legajo, int dias) {
+        Empleado e = porLegajo.get(legajo);
+        if (e == null) return null;
+        e.sumarRetrasoAtomico(dias);
+        // libre: cambia su entrada en porRetrasos por una con el valor nuevo, conserva su lugar en la fila
+        enPorRetrasos.computeIfPresent(legajo, (k, vieja) -> {
+            int retrasos = e.retrasosActuales();
+            if (vieja.turno != e.turnoActual() || vieja.retrasos == retrasos) return vieja;
+            Turno nueva = new Turno(e, vieja.turno, retrasos, vieja.lugar, claves.getAndIncrement());
+            porRetrasos.add(nueva);
+            porRetrasos.remove(vieja);
+            return nueva;
+        });
+        return e;
+    }
+
+    @Override
+    int[] proyectosACargo(int legajo) {
+        Set<Integer> ids = proyectosDePlanta.get(legajo);
+        if (ids == null) return null;
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    void agregarProyectoDePlanta(int legajo, int proyecto) {
+        proyectosDePlanta.computeIfAbsent(legajo, k -> ConcurrentHashMap.newKeySet()).add(proyecto);
+    }
+
+    // -------------------------
+    // CONSULTAS
+    // -------------------------
+    @Override
+    int retrasos(Integer legajo) {
+        Empleado e = legajo == null ? null : porLegajo.get(legajo);
+        return e == null ? 0 : e.retrasosActuales();
+    }
+
+    @Override
+    Object[] libresEnOrden() {
+        List<Object> out = new ArrayList<>();
+        for (Turno t : fila.values()) {
+            if (t.empleado.turnoActual() == t.turno) out.add(t.empleado.getLegajo());
+        }
+        return out.toArray();
+    }
+
+    @Override
+    List<Tupla<Integer, String>> empleados() {
+        int hasta = nextLegajo.get();
+        List<Tupla<Integer, String>> out = new ArrayList<>(hasta - PRIMER_LEGAJO);
+        for (int leg = PRIMER_LEGAJO; leg < hasta; leg++) { // orden por legajo
+            Empleado e = porLegajo.get(leg);
+            if (e != null) out.add(new Tupla<>(e.getLegajo(), e.getNombre()));
+        }
+        return out;
+    }
+
+    @Override
+    List<Tupla<Integer, String>> conNombres(int[] legajos, String sinNombre) {
+        List<Tupla<Integer, String>> out = new ArrayList<>(legajos.length);
+        for (int leg : legajos) {
+            Empleado e = porLegajo.get(leg);
+            out.add(new Tupla<>(leg, e != null ? e.getNombre() : sinNombre));
+        }
+        return out;
+    }
+
+    // -------------------------
+    // UTILITARIOS
+    // -------------------------
+
+    // turno nuevo al final de la fila; primero se publica el turno y despues se leen los retrasos
+    private void liberar(Empleado e) {
+        long clave = claves.getAndIncrement();
+        int turno = (int) (clave & Integer.MAX_VALUE);
+        e.liberarConTurno(turno);
+        enPorRetrasos.compute(e.getLegajo(), (k, vieja) -> {
+            Turno t = new Turno(e, turno, e.retrasosActuales(), clave, clave);
+            fila.put(clave, t);
+            porRetrasos.add(t);
+            return t;
+        });
+    }
+
+    // ya tomado: saca su lugar en la fila y su entrada vigente en porRetrasos
+    private void sacarDeLasListas(Empleado e) {
+        enPorRetrasos.computeIfPresent(e.getLegajo(), (k, vigente) -> {
+            fila.remove(vigente.lugar);
+            porRetrasos.remove(vigente);
+            return null;
+        });
+    }
+
+    // lugar de un empleado libre en una de las listas; si el turno ya no es el del empleado, no vale
+    private static final class Turno {
+        final Empleado empleado;
+        final int turno;
+        final int retrasos;
+        final long lugar; // clave en la fila (orden de liberacion)
+        final long clave; // desempate en porRetrasos
+
+        Turno(Empleado empleado, int turno, int retrasos, long lugar, long clave) {
+            this.empleado = empleado;
+            this.turno = turno;
+            this.retrasos = retrasos;
+            this.lugar = lugar;
+            this.clave = clave;
+        }
+    }
+
+    private static final class Ocupacion {
+        final Empleado empleado;
+        final Proyecto proyecto;
+        final Tarea tarea;
+
+        Ocupacion(Empleado empleado, Proyecto proyecto, Tarea tarea) {
+            this.empleado = empleado;
+            this.proyecto = proyecto;
+            this.tarea = tarea;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package entidades;
+
+import colecciones.ArbolRangos;
+import colecciones.ArregloOrdenado;
+import colecciones.ConjuntoInt;
+import colecciones.MapaInt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Los empleados de un HomeSolution: legajos, pool de libres, orden por retrasos, proyectos a
+ * cargo de cada empleado de planta y la tarea en curso de cada asignado.
+ *
+ * Un HomeSolution comun tiene el suyo y lo usa desde un solo hilo. Las versiones para varios
+ * hilos reparten los proyectos en varios HomeSolution que comparten un DirectorioCompartido
+ * (un mutex) o un DirectorioConcurrente (sin lock global), asi el orden FIFO y el de menos
+ * retrasos son globales.
+ *
+ * Las operaciones que cambian un empleado lo devuelven, para que HomeSolution lo anote en la
+ * instantanea. Tomar o soltar un empleado es una sola llamada (elegirlo, sacarlo del pool y
+ * marcarlo), asi compartido ningun otro hilo puede tomarlo en el medio.
+ */
+class DirectorioEmpleados {
+    static final int PRIMER_LEGAJO = 100;
+
+    // mapas por clave int sin boxing: con muchos empleados el HashMap<Integer,...> pesa mas que los datos
+    private final MapaInt<Empleado> porLegajo = new MapaInt<>();
+    private final PoolEmpleadosLibres libres = new PoolEmpleadosLibres(); // FIFO y por (nRetrasos, legajo)
+    private final ArbolRangos<Empleado> porRetrasos = new ArbolRangos<>(Empleado.POR_RETRASOS); // con rango en O(log n)
+    private final MapaInt<ConjuntoInt> proyectosDePlanta = new MapaInt<>(); // legajo de planta -> proyectos con tareas a su cargo
+    private final MapaInt<Ocupacion> ocupaciones = new MapaInt<>(); // legajo asignado -> proyecto y tarea en curso
+    private int nextLegajo = PRIMER_LEGAJO;
+    private long caracteres;
+
+    // -------------------------
+    // ALTAS
+    // -------------------------
+    Empleado registrar(AltaEmpleado alta) {
+        Empleado e = alta.crear(nextLegajo++);
+        porLegajo.put(e.getLegajo(), e);
+        libres.liberar(e);
+        porRetrasos.add(e);
+        caracteres += largo(e.getNombre());
+        return e;
+    }
+
+    void reservar(int cantidad) {
+        porLegajo.reservar(porLegajo.size() + cantidad);
+    }
+
+    int getNextLegajo() {
+        return nextLegajo;
+    }
+
+    /** @return null si no existe. */
+    Empleado get(int legajo) {
+        return porLegajo.get(legajo);
+    }
+
+    // -------------------------
+    // ASIGNACIONES
+    // -------------------------
+
+    /** Saca un libre segun la estrategia y lo marca asignado; null si no hay ninguno. */
+    Empleado tomar(EstrategiaAsignacion estrategia) {
+        Empleado e = estrategia == EstrategiaAsignacion.MENOS_RETRASO ? libres.tomarMenosRetrasos() : libres.tomarPrimero();
+        if (e != null) e.marcarAsignado();
+        return e;
+    }
+
+    /** Saca del pool y marca asignado a un empleado elegido a mano. */
+    Empleado ocupar(Integer legajo) throws Exception {
+        Empleado e = legajo == null ? null : porLegajo.get(legajo);
+        if (e == null) throw new Exception("Empleado a reasignar no existe");
+        if (e.isAsignado()) throw new Exception("Empleado a reasignar ya está asignado");
+        e.marcarAsignado();
+        libres.quitar(e.getLegajo());
+        return e;
+    }
+
+    /**
+     * Anota que nuevo (ya tomado) trabaja en la tarea t de p. deja es el empleado de planta que
+     * dejo de tener tareas a cargo en p, o null.
+     */
+    void ponerACargo(Empleado nuevo, Proyecto p, Tarea t, Empleado deja) {
+        ocupaciones.put(nuevo.getLegajo(), new Ocupacion(nuevo, p, t));
+        if (deja instanceof EmpleadoPlanta) {
+            ConjuntoInt ids = proyectosDePlanta.get(deja.getLegajo());
+            if (ids != null) ids.remove(p.getId());
+        }
+        if (nuevo instanceof EmpleadoPlanta) agregarProyectoDePlanta(nuevo.getLegajo(), p.getId());
+    }
+
+    /**
+     * Libera al empleado si su tarea en curso es t (cualquiera de p si t es null) y lo saca de
+     * ocupaciones; si ya esta en otra tarea (t estaba finalizada) no lo toca.
+     * @return el empleado liberado, o null si no se libero a nadie.
+     */
+    Empleado soltar(Proyecto p, Tarea t, int legajo) {
+        Ocupacion o = ocupaciones.get(legajo);
+        if (o == null || o.proyecto != p || (t != null && o.tarea != t)) return null;
+        ocupaciones.remove(legajo);
+        o.empleado.marcarLibre();
+        libres.liberar(o.empleado);
+        return o.empleado;
+    }
+
+    /** @return el empleado, o null si no existe. */
+    Empleado sumarRetraso(int legajo, int dias) {
+        Empleado e = porLegajo.get(legajo);
+        if (e == null) return null;
+        porRetrasos.remove(e);
+        libres.sumarRetraso(e, dias); // reordena si esta libre
+        porRetrasos.add(e);
+        return e;
+    }
+
+    /** Copia de los proyectos donde el empleado de planta tiene tareas a cargo, o null. */
+    int[] proyectosACargo(int legajo) {
+        ConjuntoInt ids = proyectosDePlanta.get(legajo);
+        return ids == null ? null : ids.toArray();
+    }
+
+    // -------------------------
+    // CONSULTAS
+    // -------------------------
+    int retrasos(Integer legajo) {
+        Empleado e = legajo == null ? null : porLegajo.get(legajo);
+        return e == null ? 0 : e.getNRetrasos();
+    }
+
+    Object[] libresEnOrden() {
+        int[] legajos = libres.legajosEnOrden();
+        Object[] out = new Object[legajos.length];
+        for (int i = 0; i < legajos.length; i++) out[i] = legajos[i];
+        return out;
+    }
+
+    List<Tupla<Integer, String>> empleados() {
+        List<Tupla<Integer, String>> out = new ArrayList<>(porLegajo.size());
+        for (int leg = PRIMER_LEGAJO; leg < nextLegajo; leg++) { // orden por legajo
+            Empleado e = porLegajo.get(leg);
+            if (e != null) out.add(new Tupla<>(e.getLegajo(), e.getNombre()));
+        }
+        return out;
+    }
+
+    /** (legajo, nombre) de cada legajo, con sinNombre para los que no existen. */
+    List<Tupla<Integer, String>> conNombres(int[] legajos, String sinNombre) {
+        List<Tupla<Integer, String>> out = new ArrayList<>(legajos.length);
+        for (int leg : legajos) {
+            Empleado e = porLegajo.get(leg);
+            out.add(new Tupla<>(leg, e != null ? e.getNombre() : sinNombre));
+        }
+        return out;
+    }
+
+    Pagina<Tupla<Integer, String>> paginaEmpleados(Integer desde, int tamanio) {
+        if (tamanio <= 0) throw new IllegalArgumentException("Tamaño de página inválido");
+        List<Tupla<Integer, String>> out = new ArrayList<>(Math.min(tamanio, porLegajo.size()));
+        // los legajos se generan consecutivos y nunca se borran: se recorre el rango, no el mapa
+        int leg = desde == null ? PRIMER_LEGAJO : Math.max(desde, PRIMER_LEGAJO);
+        for (; leg < nextLegajo && out.size() < tamanio; leg++) {
+            Empleado e = porLegajo.get(leg);
+            if (e != null) out.add(new Tupla<>(e.getLegajo(), e.getNombre()));
+        }
+        return new Pagina<>(out, leg < nextLegajo ? leg : null);
+    }
+
+    Tupla<Integer, String> tareaActualDe(Integer legajo) {
+        Ocupacion o = legajo == null ? null : ocupaciones.get(legajo);
+        return o == null ? null : new Tupla<>(o.proyecto.getId(), o.tarea.getTitulo());
+    }
+
+    List<Tupla<Integer, Integer>> ocupacionesActuales() {
+        int[] legajos = ocupaciones.claves();
+        Arrays.sort(legajos);
+        List<Tupla<Integer, Integer>> out = new ArrayList<>(legajos.length);
+        for (int leg : legajos) out.add(new Tupla<>(leg, ocupaciones.get(leg).proyecto.getId()));
+        return out;
+    }
+
+    // -------------------------
+    // RANKING DE RETRASOS
+    // -------------------------
+    int posicionPorRetrasos(Integer legajo) {
+        Empleado e = legajo == null ? null : porLegajo.get(legajo);
+        return e == null ? -1 : porRetrasos.rango(e);
+    }
+
+    Tupla<Integer, Integer> empleadoEnPosicionPorRetrasos(int k) {
+        Empleado e = porRetrasos.seleccionar(k);
+        return new Tupla<>(e.getLegajo(), e.getNRetrasos());
+    }
+
+    int cantidadPorRetrasos() {
+        return porRetrasos.size();
+    }
+
+    List<Tupla<Integer, Integer>> masRetrasados(int k) {
+        List<Tupla<Integer, Integer>> out = new ArrayList<>(Math.min(k, porRetrasos.size()));
+        for (Empleado e : porRetrasos.descendente()) {
+            if (out.size() == k) break;
+            out.add(new Tupla<>(e.getLegajo(), e.getNRetrasos()));
+        }
+        return out;
+    }
+
+    int cantidadConRetrasosEntre(int desde, int hasta) {
+        if (desde > hasta) return 0;
+        int hastaIncluido = porRetrasos.contarAntes(e -> e.getNRetrasos() <= hasta ? -1 : 1);
+        int antesDeDesde = porRetrasos.contarAntes(e -> e.getNRetrasos() < desde ? -1 : 1);
+        return hastaIncluido - antesDeDesde;
+    }
+
+    Iterable<Empleado> enOrdenPorRetrasos() {
+        return porRetrasos;
+    }
+
+    // -------------------------
+    // ESTADISTICAS, SNAPSHOT E INSTANTANEAS
+    // -------------------------
+    void completar(EstadisticasIndices e) {
+        e.empleados = porLegajo.size();
+        e.empleadosLibres = libres.cantidad();
+        e.empleadosPorRetrasos = porRetrasos.size();
+        e.empleadosDePlanta = proyectosDePlanta.size();
+        e.ocupaciones = ocupaciones.size();
+        e.nextLegajo = nextLegajo;
+        e.tablaEmpleados = porLegajo.bytesEstimados();
+        e.tablasLibres = libres.bytesTablas();
+        e.tablaPlanta = proyectosDePlanta.bytesEstimados();
+        e.tablaPorRetrasos = porRetrasos.bytesEstimados();
+        e.tablaOcupaciones = ocupaciones.bytesEstimados();
+        e.caracteresEmpleados = caracteres;
+    }
+
+    // en orden de tabla: recorrer la memoria en orden es mucho mas rapido que buscar legajo por legajo
+    Iterable<Empleado> sinOrden() {
+        return porLegajo.valores();
+    }
+
+    Iterable<Empleado> porLegajo() {
+        return () -> HomeSolution.enOrden(porLegajo, PRIMER_LEGAJO, nextLegajo);
+    }
+
+    int renumeracionesLibres() {
+        return libres.getRenumeraciones();
+    }
+
+    int[] legajosLibresEnOrden() {
+        return libres.legajosEnOrden();
+    }
+
+    void restaurarContador(int nextLegajo) {
+        this.nextLegajo = nextLegajo;
+    }
+
+    /**
+     * Carga los empleados (en orden de legajo, con retrasos y estado) y el pool de libres
+     * (en orden FIFO). Los indices por retrasos se arman ya ordenados, sin comparar.
+     */
+    void restaurar(Empleado[] empleados, int[] libresFifo) {
+        porLegajo.reservar(empleados.length);
+        for (Empleado e : empleados) {
+            porLegajo.put(e.getLegajo(), e);
+            caracteres += largo(e.getNombre());
+        }
+        Empleado[] ordenados = ordenarPorRetrasos(empleados);
+        porRetrasos.cargarOrdenados(ordenados, ordenados.length);
+
+        Empleado[] fifo = new Empleado[libresFifo.length];
+        for (int i = 0; i < libresFifo.length; i++) fifo[i] = porLegajo.get(libresFifo[i]);
+        Empleado[] libresOrdenados = new Empleado[libresFifo.length];
+        int n = 0;
+        for (Empleado e : ordenados) {
+            if (e.isAsignado()) continue;
+            if (n == libresFifo.length) throw new IllegalArgumentException("Hay mas empleados libres que en el pool");
+            libresOrdenados[n++] = e;
+        }
+        if (n != libresFifo.length) throw new IllegalArgumentException("Hay menos empleados libres que en el pool");
+        libres.restaurar(fifo, new ArregloOrdenado<>(libresOrdenados, n, Empleado.POR_RETRASOS));
+    }
+
+    // los recibe ordenados por legajo: un conteo estable por nRetrasos deja el orden (nRetrasos, legajo)
+    private static Empleado[] ordenarPorRetrasos(Empleado[] porLegajo) {
+        int max = 0;
+        for (Empleado e : porLegajo) max = Math.max(max, e.getNRetrasos());
+        if (max > 4 * porLegajo.length) { // retrasos muy dispersos: no conviene contar
+            Empleado[] out = porLegajo.clone();
+            Arrays.sort(out, Empleado.POR_RETRASOS);
+            return out;
+        }
+        int[] desde = new int[max + 2];
+        for (Empleado e : porLegajo) desde[e.getNRetrasos() + 1]++;
+        for (int r = 1; r < desde.length; r++) desde[r] += desde[r - 1];
+        Empleado[] out = new Empleado[porLegajo.length];
+        for (Empleado e : porLegajo) out[desde[e.getNRetrasos()]++] = e;
+        return out;
+    }
+
+    /** Al restaurar un proyecto: e trabaja en la tarea t de p. */
+    void restaurarOcupacion(Empleado e, Proyecto p, Tarea t) {
+        ocupaciones.put(e.getLegajo(), new Ocupacion(e, p, t));
+    }
+
+    void agregarProyectoDePlanta(int legajo, int proyecto) {
+        ConjuntoInt ids = proyectosDePlanta.get(legajo);
+        if (ids == null) {
+            ids = new ConjuntoInt();
+            proyectosDePlanta.put(legajo, ids);
+        }
+        ids.add(proyecto);
+    }
+
+    String descripcionPool() {
+        return libres.toString();
+    }
+
+    private static int largo(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    // tarea en curso de un empleado asignado, con el empleado para no volver a buscarlo al liberarlo
+    private static final class Ocupacion {
+        final Empleado empleado;
+        final Proyecto proyecto;
+        final Tarea tarea;
+
+        Ocupacion(Empleado empleado, Proyecto proyecto, Tarea tarea) {
+            this.empleado = empleado;
+            this.proyecto = proyecto;
+            this.tarea = tarea;
+        }
+    }
+}
@@ -1,12 +1,41 @@
 package entidades;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Comparator;
 import java.util.Objects;
 
 public abstract class Empleado {
+
+    /**
+     * Orden por (nRetrasos, legajo) de los indices por retrasos.
+     * Es una unica instancia: TreeSet solo copia en tiempo lineal entre conjuntos con el mismo comparador.
+     */
+    public static final Comparator<Empleado> POR_RETRASOS = (a, b) -> {
+        int c = Integer.compare(a.nRetrasos, b.nRetrasos);
+        return c != 0 ? c : Integer.compare(a.legajo, b.legajo);
+    };
     protected final int legajo;
     protected final String nombre;
     protected int nRetrasos;
     protected boolean estaAsignado;
+    int turnoLibre; // lo numera PoolEmpleadosLibres al liberarlo: orden FIFO de los libres
+
+    // acceso atomico a los mismos campos para DirectorioConcurrente, que los cambia sin lock
+    private static final VarHandle RETRASOS;
+    private static final VarHandle ASIGNADO;
+    private static final VarHandle TURNO;
+
+    static {
+        try {
+            MethodHandles.Lookup l = MethodHandles.lookup();
+            RETRASOS = l.findVarHandle(Empleado.class, "nRetrasos", int.class);
+            ASIGNADO = l.findVarHandle(Empleado.class, "estaAsignado", boolean.class);
+            TURNO = l.findVarHandle(Empleado.class, "turnoLibre", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     public Empleado(int legajo, String nombre) {
         this.legajo = legajo;
@@ -47,8 +76,47 @@ public abstract class Empleado {
         if (dias > 0) this.nRetrasos += dias;
     }
 
+    // -------------------------
+    // ESTADO ATOMICO (DirectorioConcurrente)
+    // -------------------------
+    // libre <=> turnoLibre >= 0; tomarlo es un CAS del turno a -1, asi dos hilos no lo toman a la vez
+
+    /** Lo marca asignado si sigue libre con ese turno. */
+    boolean tomarSiLibre(int turno) {
+        if (!TURNO.compareAndSet(this, turno, -1)) return false;
+        ASIGNADO.setVolatile(this, true);
+        return true;
+    }
+
+    /** Lo marca libre con un turno nuevo (>= 0). */
+    void liberarConTurno(int turno) {
+        ASIGNADO.setVolatile(this, false);
+        TURNO.setVolatile(this, turno);
+    }
+
+    int turnoActual() {
+        return (int) TURNO.getVolatile(this);
+    }
+
+    int retrasosActuales() {
+        return (int) RETRASOS.getVolatile(this);
+    }
+
+    /** Como sumarRetraso, con un solo incremento atomico aunque otro hilo sume a la vez. */
+    void sumarRetrasoAtomico(int dias) {
+        if (dias > 0) RETRASOS.getAndAdd(this, dias);
+    }
+
     public abstract double calcularPago(double unidadesTrabajo);
 
+    /**
+     * Pago por ser responsable de una tarea de la duracion dada (en dias).
+     * Por defecto los dias son la unidad de trabajo; los contratados cobran por hora.
+     */
+    public double calcularPagoTarea(double duracionDias) {
+        return calcularPago(duracionDias);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
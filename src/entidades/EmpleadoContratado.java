@@ -17,6 +17,11 @@ public class EmpleadoContratado extends Empleado {
         return valorHora * horasTrabajadas;
     }
 
+    @Override
+    public double calcularPagoTarea(double duracionDias) {
+        return calcularPago(duracionDias * 8.0); // jornada de 8 horas
+    }
+
     @Override
     public String toString() {
         return "Contratado - " + super.toString() + " - $/h: " + valorHora;
@@ -24,7 +24,8 @@ public class EmpleadoPlanta extends Empleado {
         return sinRetrasosPeriodo;
     }
 
-    public void setSinRetrasosPeriodo(boolean v) {
+    // solo HomeSolution.cambiarSinRetrasosPeriodo, que ajusta el costo de sus proyectos, y Snapshot
+    void setSinRetrasosPeriodo(boolean v) {
         this.sinRetrasosPeriodo = v;
     }
 
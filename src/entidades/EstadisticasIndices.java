@@ -0,0 +1,142 @@
+package entidades;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Foto de los tamaños de los indices de HomeSolution y de la memoria que se estima
+ * que ocupan. Se arma en O(1) con contadores que HomeSolution mantiene en cada
+ * operacion, sin recorrer empleados, proyectos ni tareas.
+ *
+ * Las estimaciones suponen una JVM de 64 bits con referencias comprimidas y
+ * textos Latin-1; sirven para comparar estructuras y ver tendencias, no como medida exacta.
+ */
+public final class EstadisticasIndices {
+    // tamaños aproximados en bytes de los objetos que cuelgan de cada indice
+    static final long BYTES_EMPLEADO = 40;
+    static final long BYTES_PROYECTO = 600; // con sus fechas, mapa de tareas y conjuntos vacios
+    static final long BYTES_TAREA = 128;    // con fecha prevista, entrada en el mapa y enlaces por estado
+    static final long BYTES_TEXTO = 40;     // String y su arreglo, sin los caracteres
+    static final long BYTES_NODO_ARBOL = 40;
+    static final long BYTES_INTEGER = 16;
+    static final long BYTES_CONJUNTO = 120; // ConjuntoInt chico
+    static final long BYTES_OCUPACION = 24;
+
+    int empleados;
+    int proyectos;
+    int empleadosLibres;
+    int empleadosPorRetrasos;
+    int proyectosPendientes;
+    int proyectosActivos;
+    int proyectosFinalizados;
+    int empleadosDePlanta; // con proyectos a cargo
+    int ocupaciones;
+    long tareas;
+    long empleadosActuales;
+    long historial;
+    int nextLegajo;
+    int nextProyectoId;
+    int nextTareaId;
+
+    // bytes de las tablas internas y caracteres de los textos guardados
+    long tablaEmpleados;
+    long tablaProyectos;
+    long tablasLibres;
+    long tablaPlanta;
+    long tablaPorRetrasos;
+    long tablaOcupaciones;
+    long caracteresEmpleados;
+    long caracteresProyectos;
+    long caracteresTareas;
+
+    EstadisticasIndices() {
+    }
+
+    public int getEmpleados() {
+        return empleados;
+    }
+
+    public int getProyectos() {
+        return proyectos;
+    }
+
+    public int getEmpleadosLibres() {
+        return empleadosLibres;
+    }
+
+    public int getEmpleadosPorRetrasos() {
+        return empleadosPorRetrasos;
+    }
+
+    public int getProyectosPendientes() {
+        return proyectosPendientes;
+    }
+
+    public int getProyectosActivos() {
+        return proyectosActivos;
+    }
+
+    public int getProyectosFinalizados() {
+        return proyectosFinalizados;
+    }
+
+    /** Empleados con una tarea en curso en el indice inverso legajo -> tarea. */
+    public int getOcupaciones() {
+        return ocupaciones;
+    }
+
+    /** Tareas de todos los proyectos. */
+    public long getTareas() {
+        return tareas;
+    }
+
+    /** Suma de los empleados actuales de cada proyecto. */
+    public long getEmpleadosActuales() {
+        return empleadosActuales;
+    }
+
+    /** Suma de los historiales de empleados de cada proyecto. */
+    public long getHistorial() {
+        return historial;
+    }
+
+    public int getNextLegajo() {
+        return nextLegajo;
+    }
+
+    public int getNextProyectoId() {
+        return nextProyectoId;
+    }
+
+    public int getNextTareaId() {
+        return nextTareaId;
+    }
+
+    /**
+     * Bytes estimados por estructura, en orden fijo. Los objetos se cuentan una sola vez:
+     * los empleados en empleadosByLegajo, los proyectos en proyectosById y las tareas aparte.
+     */
+    public Map<String, Long> memoriaEstimada() {
+        Map<String, Long> out = new LinkedHashMap<>();
+        out.put("empleadosByLegajo", tablaEmpleados
+                + empleados * (BYTES_EMPLEADO + BYTES_TEXTO) + caracteresEmpleados);
+        out.put("proyectosById", tablaProyectos
+                + proyectos * (BYTES_PROYECTO + 2 * BYTES_TEXTO) + caracteresProyectos);
+        out.put("tareas", tareas * (BYTES_TAREA + 2 * BYTES_TEXTO) + caracteresTareas);
+        out.put("empleadosActuales", empleadosActuales * 8); // conjuntos con carga de 1/2
+        out.put("historialEmpleados", historial * 6);       // listas con 50% de holgura
+        out.put("empleadosLibres", tablasLibres + empleadosLibres * BYTES_NODO_ARBOL);
+        out.put("empleadosPorRetrasos", tablaPorRetrasos); // arbol en arreglos, sin objetos por nodo
+        out.put("proyectosPorEstado", (long) (proyectosPendientes + proyectosActivos + proyectosFinalizados)
+                * (BYTES_NODO_ARBOL + BYTES_INTEGER));
+        out.put("proyectosDePlanta", tablaPlanta + empleadosDePlanta * BYTES_CONJUNTO);
+        out.put("ocupaciones", tablaOcupaciones + ocupaciones * BYTES_OCUPACION);
+        return out;
+    }
+
+    public long memoriaEstimadaTotal() {
+        long total = 0;
+        for (long b : memoriaEstimada().values()) total += b;
+        return total;
+    }
+}
@@ -0,0 +1,11 @@
+package entidades;
+
+/**
+ * Estado de una tarea dentro de su proyecto. Una tarea finalizada queda FINALIZADA
+ * tenga o no responsable.
+ */
+public enum EstadoTarea {
+    SIN_ASIGNAR,
+    EN_CURSO,   // con responsable y sin terminar
+    FINALIZADA
+}
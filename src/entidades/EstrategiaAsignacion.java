@@ -0,0 +1,9 @@
+package entidades;
+
+/**
+ * Criterio para elegir el empleado libre en las asignaciones en lote.
+ */
+public enum EstrategiaAsignacion {
+    FIFO,          // como asignarResponsableEnTarea
+    MENOS_RETRASO  // como asignarResponsableMenosRetraso
+}
@@ -1,27 +1,59 @@
 package entidades;
 
+import colecciones.MapaInt;
+import eventos.EventoAsignacion;
+import eventos.EventoCosto;
+import eventos.EventoFinalizacionProyecto;
+import eventos.EventoFinalizacionTarea;
+import eventos.EventoReasignacion;
+import eventos.EventoRetraso;
+
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class HomeSolution implements IHomeSolution {
 
-    private final Map<Integer, Empleado> empleadosByLegajo;
-    private final Map<Integer, Proyecto> proyectosById;
-    private final Deque<Integer> empleadosLibres;
-    private final NavigableSet<Empleado> empleadosPorRetrasos; // orden por (nRetrasos, legajo)
+    private final DirectorioEmpleados empleados; // legajos, libres, retrasos y tarea en curso de cada uno
+    // mapa por clave int sin boxing: con muchos proyectos el HashMap<Integer,...> pesa mas que los datos
+    private final MapaInt<Proyecto> proyectosById;
+    // indices por estado, ordenados por id: las consultas no recorren el historico de proyectos
+    private final NavigableMap<Integer, Proyecto> proyectosPendientes; // sin fecha real
+    private final NavigableMap<Integer, Proyecto> proyectosActivos;    // sin fecha real y con tareas
+    private final NavigableMap<Integer, Proyecto> proyectosFinalizados;
     private int nextProyectoId = 1;
     private int nextTareaId = 1;
-    private int nextLegajo = 100; // punto de partida para legajos generados
+    // totales que se actualizan en cada operacion para que estadisticas() no recorra nada
+    private long totalTareas;
+    private long totalEmpleadosActuales;
+    private long totalHistorial;
+    private long caracteresProyectos;
+    private long caracteresTareas;
+    private volatile PublicadorInstantaneas instantaneas; // null hasta habilitarInstantaneas
 
     public HomeSolution() {
-        this.empleadosByLegajo = new HashMap<>();
-        this.proyectosById = new HashMap<>();
-        this.empleadosLibres = new ArrayDeque<>();
-        this.empleadosPorRetrasos = new TreeSet<>(
-                Comparator.comparingInt(Empleado::getNRetrasos)
-                        .thenComparingInt(Empleado::getLegajo));
+        this(new DirectorioEmpleados());
+    }
+
+    /**
+     * Con los empleados en un directorio que puede ser compartido con otros HomeSolution,
+     * como las particiones de HomeSolutionParticionado.
+     */
+    HomeSolution(DirectorioEmpleados empleados) {
+        this(empleados, new TreeMap<>(), new TreeMap<>(), new TreeMap<>());
+    }
+
+    /**
+     * Con los indices por estado recibidos. HomeSolutionConcurrente pasa los mismos mapas
+     * concurrentes a todas sus franjas: cada una solo mueve sus proyectos y los listados leen
+     * los mapas sin lock.
+     */
+    HomeSolution(DirectorioEmpleados empleados, NavigableMap<Integer, Proyecto> pendientes,
+                 NavigableMap<Integer, Proyecto> activos, NavigableMap<Integer, Proyecto> finalizados) {
+        this.empleados = empleados;
+        this.proyectosById = new MapaInt<>();
+        this.proyectosPendientes = pendientes;
+        this.proyectosActivos = activos;
+        this.proyectosFinalizados = finalizados;
     }
 
     // -------------------------
@@ -29,30 +61,30 @@ public class HomeSolution implements IHomeSolution {
     // -------------------------
     @Override
     public void registrarEmpleado(String nombre, double valor) throws IllegalArgumentException {
-        if (nombre == null || nombre.trim().isEmpty()) throw new IllegalArgumentException("Nombre inválido");
-        if (valor < 0) throw new IllegalArgumentException("Valor negativo");
-        int legajo = nextLegajo++;
-        Empleado e = new EmpleadoContratado(legajo, nombre, valor);
-        empleadosByLegajo.put(legajo, e);
-        empleadosLibres.addLast(legajo);
-        empleadosPorRetrasos.add(e);
+        registrar(AltaEmpleado.contratado(nombre, valor));
+        publicar();
     }
 
     @Override
     public void registrarEmpleado(String nombre, double valor, String categoria) throws IllegalArgumentException {
-    	Set<String> categoriasValidas = Set.of("EXPERTO", "INICIAL", "OTRA_CATEGORIA_PERMITIDA");
-    	if (!categoriasValidas.contains(categoria.toUpperCase())) {
-    	    throw new IllegalArgumentException("Categoria inválida");
-    	}
+        registrar(AltaEmpleado.planta(nombre, valor, categoria));
+        publicar();
+    }
 
-    	if (nombre == null || nombre.trim().isEmpty()) throw new IllegalArgumentException("Nombre inválido");
-        if (valor < 0) throw new IllegalArgumentException("Valor negativo");
-        if (categoria == null || categoria.trim().isEmpty()) throw new IllegalArgumentException("Categoria inválida");
-        int legajo = nextLegajo++;
-        Empleado e = new EmpleadoPlanta(legajo, nombre, valor, categoria);
-        empleadosByLegajo.put(legajo, e);
-        empleadosLibres.addLast(legajo);
-        empleadosPorRetrasos.add(e);
+    /**
+     * Registra varios empleados ya validados reservando de una vez el rango de legajos.
+     * @return el legajo del primero; los demas son consecutivos en el orden de la lista.
+     */
+    public int registrarEmpleados(List<AltaEmpleado> altas) {
+        int primero = empleados.getNextLegajo();
+        empleados.reservar(altas.size());
+        for (AltaEmpleado alta : altas) registrar(alta);
+        publicar();
+        return primero;
+    }
+
+    private void registrar(AltaEmpleado alta) {
+        tocar(empleados.registrar(alta));
     }
 
     // -------------------------
@@ -62,36 +94,51 @@ public class HomeSolution implements IHomeSolution {
     public void registrarProyecto(String[] titulos, String[] descripcion, double[] dias,
                                   String domicilio, String[] cliente, String inicio, String fin)
             throws IllegalArgumentException {
+        // se validan todas las tareas antes de registrar, para no dejar proyectos a medias en los indices
+        AltaProyecto alta = AltaProyecto.validar(titulos, descripcion, dias, domicilio, cliente, inicio, fin);
+        int id = nextProyectoId++;
+        int primeraTarea = nextTareaId;
+        nextTareaId += alta.cantidadTareas();
+        registrar(alta, id, primeraTarea);
+        publicar();
+    }
 
-        if (titulos == null || descripcion == null || dias == null)
-            throw new IllegalArgumentException("Arrays nulos");
-        if (titulos.length != descripcion.length || titulos.length != dias.length)
-            throw new IllegalArgumentException("Arrays de tareas con longitudes inconsistentes");
-        if (domicilio == null || domicilio.trim().isEmpty()) throw new IllegalArgumentException("Domicilio inválido");
-        if (cliente == null || cliente.length == 0) throw new IllegalArgumentException("Cliente inválido");
-        LocalDate inicioDate;
-        LocalDate finDate;
-        try {
-            inicioDate = LocalDate.parse(inicio);
-            finDate = LocalDate.parse(fin);
-        } catch (DateTimeParseException ex) {
-            throw new IllegalArgumentException("Fechas mal formateadas. Use YYYY-MM-DD");
+    /**
+     * Registra varios proyectos ya validados reservando de una vez los rangos de numeros
+     * de proyecto y de ids de tarea.
+     * @return el numero del primero; los demas son consecutivos en el orden de la lista.
+     */
+    public int registrarProyectos(List<AltaProyecto> altas) {
+        int primero = nextProyectoId;
+        int tarea = nextTareaId;
+        nextProyectoId += altas.size();
+        for (AltaProyecto alta : altas) nextTareaId += alta.cantidadTareas();
+        proyectosById.reservar(proyectosById.size() + altas.size());
+        int id = primero;
+        for (AltaProyecto alta : altas) {
+            registrar(alta, id++, tarea);
+            tarea += alta.cantidadTareas();
         }
-        if (finDate.isBefore(inicioDate)) throw new IllegalArgumentException("Fecha fin anterior a inicio");
+        publicar();
+        return primero;
+    }
 
-        int id = nextProyectoId++;
-        Proyecto p = new Proyecto(id, String.join(" | ", cliente), domicilio, inicioDate, finDate);
-        proyectosById.put(id, p);
+    /**
+     * Registra un proyecto ya validado con numero e ids de tarea elegidos afuera, como hace
+     * HomeSolutionParticionado para que sean unicos entre todas las particiones.
+     */
+    void registrarProyecto(AltaProyecto alta, int id, int primeraTarea) {
+        nextProyectoId = Math.max(nextProyectoId, id + 1);
+        nextTareaId = Math.max(nextTareaId, primeraTarea + alta.cantidadTareas());
+        registrar(alta, id, primeraTarea);
+        publicar();
+    }
 
-        for (int i = 0; i < titulos.length; i++) {
-            String tTitulo = titulos[i];
-            String tDesc = descripcion[i];
-            double tDias = dias[i];
-            if (tTitulo == null || tTitulo.trim().isEmpty()) throw new IllegalArgumentException("Título de tarea inválido");
-            if (tDias <= 0) throw new IllegalArgumentException("Duración de tarea inválida");
-            Tarea t = new Tarea(nextTareaId++, tTitulo, tDesc, tDias, inicioDate.plusDays((long) Math.ceil(tDias)));
-            p.agregarTarea(t);
-        }
+    private void registrar(AltaProyecto alta, int id, int primeraTarea) {
+        Proyecto p = alta.crear(id, primeraTarea);
+        proyectosById.put(id, p);
+        indexarEstado(p);
+        contarProyecto(p);
     }
 
     // -------------------------
@@ -99,95 +146,125 @@ public class HomeSolution implements IHomeSolution {
     // -------------------------
     @Override
     public void asignarResponsableEnTarea(Integer numero, String titulo) throws Exception {
+        EventoAsignacion ev = new EventoAsignacion();
+        ev.begin();
         Proyecto p = proyectoOrError(numero);
         if (p.getFechaReal() != null) throw new Exception("Proyecto finalizado");
         Tarea t = p.obtenerTareaPorTitulo(titulo);
         if (t == null) throw new IllegalArgumentException("Tarea no existe");
-        if (t.getResponsableLegajo() != null) throw new IllegalArgumentException("Tarea ya asignada");
-
-        Integer legElegido = null;
-
-        Object[] libres = empleadosNoAsignados();
-        if (libres != null && libres.length > 0) {
-            legElegido = Integer.parseInt(libres[0].toString());
+        if (t.tieneResponsable()) throw new IllegalArgumentException("Tarea ya asignada");
+
+        // el pool devuelve el primer libre en orden FIFO sin recorrer todos los empleados
+        Empleado elegido = empleados.tomar(EstrategiaAsignacion.FIFO);
+        if (elegido == null) throw new Exception("No hay empleados disponibles");
+
+        ponerResponsable(p, t, elegido);
+        publicar();
+        if (ev.shouldCommit()) {
+            ev.completar(p.getId(), titulo, elegido.getLegajo(), p.cantidadTareas(), 1);
+            ev.estrategia = EstrategiaAsignacion.FIFO.name();
+            ev.commit();
         }
-
-        if (legElegido == null) {
-            for (Empleado e : empleadosByLegajo.values()) {
-                if (!e.isAsignado()) {
-                    legElegido = e.getLegajo();
-                    break;
-                }
-            }
-        }
-
-        if (legElegido == null) throw new Exception("No hay empleados disponibles");
-
-        Empleado elegido = empleadosByLegajo.get(legElegido);
-        if (elegido == null) throw new Exception("Empleado inexistente");
-        empleadosPorRetrasos.remove(elegido);
-        elegido.marcarAsignado(); // método que setea isAsignado = true
-        empleadosPorRetrasos.add(elegido);
-        try {
-            empleadosLibres.remove(Integer.valueOf(elegido.getLegajo()));
-        } catch (Exception ex) {
-
-        }
-
-        p.agregarEmpleadoActual(elegido.getLegajo());
-        t.asignarResponsable(elegido.getLegajo());
     }
 
 
     @Override
     public void asignarResponsableMenosRetraso(Integer numero, String titulo) throws Exception {
+        EventoAsignacion ev = new EventoAsignacion();
+        ev.begin();
         Proyecto p = proyectoOrError(numero);
         if (p.getFechaReal() != null) throw new Exception("Proyecto finalizado");
         Tarea t = p.obtenerTareaPorTitulo(titulo);
         if (t == null) throw new IllegalArgumentException("Tarea no existe");
-        if (t.getResponsableLegajo() != null) throw new IllegalArgumentException("Tarea ya asignada");
-
-        // construir lista de candidatos libres y ordenarla por (nRetrasos, legajo)
-        List<Empleado> candidatos = new ArrayList<>();
-        for (Empleado e : empleadosByLegajo.values()) {
-            if (!e.isAsignado()) candidatos.add(e);
+        if (t.tieneResponsable()) throw new IllegalArgumentException("Tarea ya asignada");
+
+        // el indice del pool solo contiene libres, ordenados por (nRetrasos, legajo)
+        Empleado elegido = empleados.tomar(EstrategiaAsignacion.MENOS_RETRASO);
+        if (elegido == null) throw new Exception("No hay empleados disponibles");
+
+        ponerResponsable(p, t, elegido);
+        publicar();
+        if (ev.shouldCommit()) {
+            ev.completar(p.getId(), titulo, elegido.getLegajo(), p.cantidadTareas(), 1);
+            ev.estrategia = EstrategiaAsignacion.MENOS_RETRASO.name();
+            ev.commit();
         }
-        candidatos.sort(Comparator.comparingInt(Empleado::getNRetrasos).thenComparingInt(Empleado::getLegajo));
-
-        if (candidatos.isEmpty()) throw new Exception("No hay empleados disponibles");
-
-        Empleado elegido = candidatos.get(0);
+    }
 
-        // realizar asignación: marcar asignado, actualizar estructuras y la tarea
-        elegido.marcarAsignado();
-        empleadosLibres.remove(Integer.valueOf(elegido.getLegajo()));
-        empleadosPorRetrasos.remove(elegido);
-        empleadosPorRetrasos.add(elegido);
+    // -------------------------
+    // ASIGNACIÓN EN LOTE
+    // -------------------------
 
-        p.agregarEmpleadoActual(elegido.getLegajo());
-        t.asignarResponsable(elegido.getLegajo());
+    /**
+     * Asigna responsable a todas las tareas sin asignar del proyecto (las mismas que devuelve
+     * tareasProyectoNoAsignadas) en una sola pasada sobre el pool de libres.
+     * No lanza excepcion cuando faltan empleados: esas tareas vuelven con motivo.
+     * @throws IllegalArgumentException si el proyecto no existe o esta finalizado.
+     */
+    public List<ResultadoAsignacion> asignarTareasPendientes(Integer numero, EstrategiaAsignacion estrategia) {
+        Proyecto p = proyectoOrError(numero);
+        if (p.getFechaReal() != null) throw new IllegalArgumentException("Proyecto finalizado");
+        List<ResultadoAsignacion> out = new ArrayList<>();
+        asignarPendientes(p, estrategia, out);
+        publicar();
+        return out;
     }
 
+    /**
+     * Igual que asignarTareasPendientes pero para varios proyectos, en el orden recibido.
+     * Un proyecto inexistente o finalizado aporta un unico resultado con titulo null.
+     */
+    public List<ResultadoAsignacion> asignarTareasPendientes(Collection<Integer> numeros, EstrategiaAsignacion estrategia) {
+        List<ResultadoAsignacion> out = new ArrayList<>();
+        for (Integer numero : numeros) {
+            Proyecto p = numero == null ? null : proyectosById.get(numero);
+            if (p == null) out.add(new ResultadoAsignacion(numero, null, null, "Proyecto no existe"));
+            else if (p.getFechaReal() != null) out.add(new ResultadoAsignacion(numero, null, null, "Proyecto finalizado"));
+            else asignarPendientes(p, estrategia, out);
+        }
+        publicar();
+        return out;
+    }
 
-
+    private void asignarPendientes(Proyecto p, EstrategiaAsignacion estrategia, List<ResultadoAsignacion> out) {
+        boolean quedanLibres = true;
+        for (Tarea t : p.tareasEn(EstadoTarea.SIN_ASIGNAR)) { // copia: asignar saca la tarea de la lista
+            Empleado elegido = null;
+            if (quedanLibres) {
+                elegido = empleados.tomar(estrategia);
+                quedanLibres = elegido != null; // una vez vacio no se vuelve a consultar el pool
+            }
+            if (elegido == null) {
+                out.add(new ResultadoAsignacion(p.getId(), t.getTitulo(), null, "No hay empleados disponibles"));
+                continue;
+            }
+            ponerResponsable(p, t, elegido);
+            out.add(new ResultadoAsignacion(p.getId(), t.getTitulo(), elegido.getLegajo(), null));
+        }
+    }
 
     @Override
     public void registrarRetrasoEnTarea(Integer numero, String titulo, double cantidadDias) {
+        EventoRetraso ev = new EventoRetraso();
+        ev.begin();
         Proyecto p = proyectoOrError(numero);
         if (p.getFechaReal() != null) throw new IllegalArgumentException("Proyecto finalizado");
         Tarea t = p.obtenerTareaPorTitulo(titulo);
         if (t == null) throw new IllegalArgumentException("Tarea no existe");
-        Integer leg = t.getResponsableLegajo();
-        if (leg == null) throw new IllegalArgumentException("Tarea sin responsable");
+        if (!t.tieneResponsable()) throw new IllegalArgumentException("Tarea sin responsable");
+        int leg = t.getLegajoResponsable();
 
         int diasEnteros = (int) Math.ceil(cantidadDias);
         t.agregarRetrasoDias(diasEnteros);
-
-        Empleado empleado = empleadosByLegajo.get(leg);
-        if (empleado != null) {
-            empleadosPorRetrasos.remove(empleado);
-            empleado.sumarRetraso(diasEnteros);
-            empleadosPorRetrasos.add(empleado);
+        tocar(p, t);
+
+        Empleado empleado = empleados.sumarRetraso(leg, diasEnteros);
+        if (empleado != null) tocar(empleado);
+        publicar();
+        if (ev.shouldCommit()) {
+            ev.completar(p.getId(), titulo, leg, p.cantidadTareas(), 0);
+            ev.dias = diasEnteros;
+            ev.commit();
         }
     }
 
@@ -196,6 +273,11 @@ public class HomeSolution implements IHomeSolution {
 
     @Override
     public void agregarTareaEnProyecto(Integer numero, String titulo, String descripcion, double dias) throws IllegalArgumentException {
+        agregarTareaEnProyecto(numero, titulo, descripcion, dias, nextTareaId);
+    }
+
+    /** Como agregarTareaEnProyecto, con el id de la tarea elegido afuera. */
+    void agregarTareaEnProyecto(Integer numero, String titulo, String descripcion, double dias, int idTarea) {
         if (titulo == null || titulo.trim().isEmpty()) throw new IllegalArgumentException("Titulo inválido");
         if (dias <= 0) throw new IllegalArgumentException("Duración inválida");
         Proyecto p = proyectoOrError(numero);
@@ -203,59 +285,82 @@ public class HomeSolution implements IHomeSolution {
         if (p.obtenerTareaPorTitulo(titulo) != null) throw new IllegalArgumentException("Tarea ya existe");
 
         // crear tarea con fecha prevista basada en fechaPrevista del proyecto extendida por dias
-        Tarea t = new Tarea(nextTareaId++, titulo, descripcion, dias, p.getFechaPrevista().plusDays((long) Math.ceil(dias)));
+        Tarea t = new Tarea(idTarea, titulo, descripcion, dias, p.getFechaPrevista().plusDays((long) Math.ceil(dias)));
+        nextTareaId = Math.max(nextTareaId, idTarea + 1);
         p.agregarTarea(t);
+        tocar(p, t);
+        totalTareas++;
+        caracteresTareas += largo(titulo) + largo(descripcion);
         // actualizar fecha prevista del proyecto: extendemos fechaPrevista sumando dias
         p.setFechaReal(null); // proyecto ya no tiene fecha real
+        indexarEstado(p);
+        publicar();
     }
 
     @Override
     public void finalizarTarea(Integer numero, String titulo) throws Exception {
+        finalizarTarea(numero, titulo, LocalDate.now());
+    }
+
+    /**
+     * Igual que finalizarTarea pero con la fecha de finalizacion explicita
+     * (la usa el journal para reproducir la operacion con la fecha original).
+     */
+    public void finalizarTarea(Integer numero, String titulo, LocalDate hoy) throws Exception {
+        EventoFinalizacionTarea ev = new EventoFinalizacionTarea();
+        ev.begin();
         Proyecto p = proyectoOrError(numero);
         if (estaFinalizado(numero)) throw new Exception("Proyecto finalizado");
         Tarea t = tareaOrError(p, titulo);
         if (t.estaFinalizada()) throw new Exception("Tarea ya finalizada");
 
-        LocalDate hoy = LocalDate.now();
-        t.marcarFinalizada(hoy);
-
-        Integer leg = t.getResponsableLegajo();
-        if (leg != null) {
-            Empleado e = empleadosByLegajo.get(leg);
-            if (e != null) {
-                e.marcarLibre();
-                empleadosLibres.addLast(leg);
-                empleadosPorRetrasos.remove(e);
-                empleadosPorRetrasos.add(e);
+        p.finalizarTarea(t, hoy);
+        tocar(p, t);
+
+        int leg = 0;
+        boolean todas;
+        try {
+            if (t.tieneResponsable()) {
+                leg = t.getLegajoResponsable();
+                soltar(p, t, leg);
             }
-            p.removerEmpleadoActual(leg);
-        }
 
-        // si todas finalizadas -> finalizar proyecto con fecha actual
-        boolean todas = p.getTodasLasTareas().stream().allMatch(Tarea::estaFinalizada);
-        if (todas) {
-            // delegar a finalizarProyecto para validaciones mínimas
-            finalizarProyecto(numero, LocalDate.now().toString());
+            // si todas finalizadas -> finalizar proyecto con fecha actual (contador del proyecto, O(1))
+            todas = p.todasFinalizadas();
+            if (todas) {
+                // mismas validaciones que finalizarProyecto
+                finalizar(p, hoy);
+            }
+        } finally {
+            publicar(); // la tarea ya quedo finalizada aunque falle el cierre del proyecto
+        }
+        if (ev.shouldCommit()) {
+            ev.completar(p.getId(), titulo, leg, p.cantidadTareas(), 0);
+            ev.proyectoFinalizado = todas;
+            ev.commit();
         }
     }
 
     @Override
     public void finalizarProyecto(Integer numero, String fin) {
         Proyecto p = proyectoOrError(numero);
-        LocalDate fechaFin = LocalDate.parse(fin);
+        finalizar(p, LocalDate.parse(fin));
+        publicar();
+    }
+
+    private void finalizar(Proyecto p, LocalDate fechaFin) {
+        EventoFinalizacionProyecto ev = new EventoFinalizacionProyecto();
+        ev.begin();
         if (p.getFechaPrevista() != null && fechaFin.isBefore(p.getFechaPrevista()))
             throw new IllegalArgumentException("Fecha final anterior a la fecha prevista del proyecto");
         p.setFechaReal(fechaFin);
+        indexarEstado(p);
 
-        for (Integer leg : new HashSet<>(p.getEmpleadosActuales())) {
-            Empleado e = empleadosByLegajo.get(leg);
-            if (e != null) {
-                e.marcarLibre();
-                empleadosLibres.addLast(leg);                
-                empleadosPorRetrasos.remove(e);
-                empleadosPorRetrasos.add(e);                 
-            }
-            p.removerEmpleadoActual(leg);
+        int[] actuales = p.getEmpleadosActuales(); // copia: se modifica dentro del ciclo
+        for (int leg : actuales) soltar(p, null, leg);
+        if (ev.shouldCommit()) {
+            ev.completar(p.getId(), null, 0, p.cantidadTareas(), actuales.length);
+            ev.commit();
         }
     }
 
@@ -270,29 +375,8 @@ public class HomeSolution implements IHomeSolution {
         Proyecto p = proyectoOrError(numero);
         if (estaFinalizado(numero)) throw new Exception("Proyecto finalizado");
         Tarea t = tareaOrError(p, titulo);
-        Integer actual = t.getResponsableLegajo();
-        if (actual == null) throw new Exception("Tarea no tiene responsable previo");
-        Empleado nuevo = empleadosByLegajo.get(legajo);
-        if (nuevo == null) throw new Exception("Empleado a reasignar no existe");
-        if (nuevo.isAsignado()) throw new Exception("Empleado a reasignar ya está asignado");
-
-        // liberar anterior
-        Empleado anterior = empleadosByLegajo.get(actual);
-        if (anterior != null) {
-            anterior.marcarLibre();
-            empleadosLibres.addLast(anterior.getLegajo());
-            p.removerEmpleadoActual(anterior.getLegajo());
-            empleadosPorRetrasos.remove(anterior);
-            empleadosPorRetrasos.add(anterior);
-        }
-
-        // asignar nuevo
-        t.asignarResponsable(legajo);
-        nuevo.marcarAsignado();
-        empleadosLibres.remove(legajo);
-        empleadosPorRetrasos.remove(nuevo);
-        empleadosPorRetrasos.add(nuevo);
-        p.agregarEmpleadoActual(legajo);
+        if (!t.tieneResponsable()) throw new Exception("Tarea no tiene responsable previo");
+        reasignar(p, t, empleados.ocupar(legajo));
     }
 
     @Override
@@ -300,121 +384,103 @@ public class HomeSolution implements IHomeSolution {
         Proyecto p = proyectoOrError(numero);
         if (estaFinalizado(numero)) throw new Exception("Proyecto finalizado");
         Tarea t = tareaOrError(p, titulo);
-        Integer actual = t.getResponsableLegajo();
-        if (actual == null) throw new Exception("Tarea no tiene responsable previo");
-
-        Optional<Empleado> candidato = empleadosPorRetrasos.stream().filter(e -> !e.isAsignado()).findFirst();
-        if (!candidato.isPresent()) throw new Exception("No hay empleados disponibles");
-
-        Empleado nuevo = candidato.get();
-        reasignarEmpleadoEnProyecto(numero, nuevo.getLegajo(), titulo);
+        if (!t.tieneResponsable()) throw new Exception("Tarea no tiene responsable previo");
+
+        // se toma antes de soltar al actual: el que se libera no puede ser el elegido
+        Empleado nuevo = empleados.tomar(EstrategiaAsignacion.MENOS_RETRASO);
+        if (nuevo == null) throw new Exception("No hay empleados disponibles");
+        reasignar(p, t, nuevo);
+    }
+
+    // t tiene responsable y nuevo ya esta tomado del pool
+    private void reasignar(Proyecto p, Tarea t, Empleado nuevo) {
+        EventoReasignacion ev = new EventoReasignacion();
+        ev.begin();
+        int actual = t.getLegajoResponsable();
+
+        // liberar anterior, si sigue en esta tarea
+        soltar(p, t, actual);
+
+        // asignar nuevo (descuenta al anterior del costo del proyecto)
+        tocar(nuevo);
+        ponerResponsable(p, t, nuevo);
+        publicar();
+        if (ev.shouldCommit()) {
+            ev.completar(p.getId(), t.getTitulo(), nuevo.getLegajo(), p.cantidadTareas(), 1);
+            ev.legajoAnterior = actual;
+            ev.commit();
+        }
     }
 
     // -------------------------
     // CONSULTAS Y REPORTES
     // -------------------------
+    /**
+     * Costo del proyecto en O(1): el costo base se mantiene al asignar, reasignar y cambiar la
+     * bonificacion, y aca solo se aplica el factor por fechas.
+     *
+     * El costo base es la suma exacta de los pagos redondeada una sola vez (SumaExacta). La
+     * version original sumaba tarea por tarea en double, asi que el resultado puede diferir de
+     * aquel en los ultimos digitos; a cambio es el mismo que recalcular todo de cero, sin
+     * importar el orden de las tareas ni cuantas reasignaciones hubo.
+     */
     @Override
     public double costoProyecto(Integer numero) {
+        EventoCosto ev = new EventoCosto();
+        ev.begin();
         Proyecto p = proyectoOrError(numero);
-        double suma = 0.0;
-        for (Tarea t : p.getTodasLasTareas()) {
-            Integer leg = t.getResponsableLegajo();
-            if (leg == null) continue;
-            Empleado e = empleadosByLegajo.get(leg);
-            if (e == null) continue;
-            if (e instanceof EmpleadoContratado) {
-                double horas = t.getDuracionDias() * 8.0;
-                suma += e.calcularPago(horas);
-            } else if (e instanceof EmpleadoPlanta) {
-                double dias = t.getDuracionDias();
-                suma += e.calcularPago(dias); 
-            } else {
-                suma += e.calcularPago(t.getDuracionDias());
-            }
-        }
-
-        LocalDate fechaPrevista = p.getFechaPrevista();
-        LocalDate fechaReal = p.getFechaReal();
-
-        if (fechaPrevista != null) {
-            if (fechaReal == null) {
-                suma *= 1.35;
-            } else {
-                if (fechaReal.isAfter(fechaPrevista)) suma *= 1.25;
-                else if (fechaReal.isBefore(fechaPrevista)) suma *= 0.75;
-            }
+        double costo = p.getCosto();
+        if (ev.shouldCommit()) {
+            ev.completar(p.getId(), null, 0, p.cantidadTareas(), 0);
+            ev.costo = costo;
+            ev.commit();
         }
-
-
-        return suma;
+        return costo;
     }
 
     @Override
     public List<Tupla<Integer, String>> proyectosFinalizados() {
-        return proyectosById.values().stream()
-                .filter(p -> p.getFechaReal() != null)
-                .map(p -> new Tupla<>(p.getId(), p.getDomicilio()))
-                .collect(Collectors.toList());
+        return tuplasDeProyectos(proyectosFinalizados);
     }
 
     @Override
     public List<Tupla<Integer, String>> proyectosPendientes() {
-        return proyectosById.values().stream()
-                .filter(p -> p.getFechaReal() == null)
-                .map(p -> new Tupla<>(p.getId(), p.getDomicilio()))
-                .collect(Collectors.toList());
+        return tuplasDeProyectos(proyectosPendientes);
     }
 
 
 
     @Override
     public List<Tupla<Integer, String>> proyectosActivos() {
-        return proyectosById.values().stream()
-                .filter(p -> p.getFechaReal() == null && !p.getTodasLasTareas().isEmpty())
-                .map(p -> new Tupla<>(p.getId(), p.getDomicilio()))
-                .collect(Collectors.toList());
+        return tuplasDeProyectos(proyectosActivos);
     }
 
     @Override
     public Object[] empleadosNoAsignados() {
-        return empleadosByLegajo.values().stream()
-                .filter(e -> !e.isAsignado())
-                .map(Empleado::getLegajo)
-                .toArray();
+        return empleados.libresEnOrden();
     }
 
     @Override
     public boolean estaFinalizado(Integer numero) {
-        Proyecto p = proyectosById.get(numero);
+        Proyecto p = numero == null ? null : proyectosById.get(numero);
         return p != null && p.getFechaReal() != null;
     }
 
     @Override
     public int consultarCantidadRetrasosEmpleado(Integer legajo) {
-        Empleado e = empleadosByLegajo.get(legajo);
-        if (e == null) return 0;
-        return e.getNRetrasos();
+        return empleados.retrasos(legajo);
     }
 
     @Override
     public List<Tupla<Integer, String>> empleadosAsignadosAProyecto(Integer numero) {
-        Proyecto p = proyectoOrError(numero);
-        return p.getEmpleadosActuales().stream()
-                .map(leg -> {
-                    Empleado e = empleadosByLegajo.get(leg);
-                    String nombre = e != null ? e.getNombre() : "N/A";
-                    return new Tupla<>(leg, nombre);
-                }).collect(Collectors.toList());
+        return empleados.conNombres(proyectoOrError(numero).getEmpleadosActuales(), "N/A");
     }
 
     @Override
     public Object[] tareasProyectoNoAsignadas(Integer numero) {
         Proyecto p = proyectoOrError(numero);
         if (p.getFechaReal() != null) throw new IllegalArgumentException("Proyecto finalizado");
-        return p.getTodasLasTareas().stream()
-                .filter(t -> t.getResponsableLegajo() == null)
-                .map(Tarea::getTitulo)
-                .toArray();
+        return p.titulosEn(EstadoTarea.SIN_ASIGNAR);
     }
 
 
@@ -426,28 +492,24 @@ public class HomeSolution implements IHomeSolution {
 
     @Override
     public String consultarDomicilioProyecto(Integer numero) {
-        Proyecto p = proyectosById.get(numero);
+        Proyecto p = numero == null ? null : proyectosById.get(numero);
         if (p == null) return null;
         return p.getDomicilio();
     }
 
     @Override
     public boolean tieneRestrasos(Integer legajo) {
-        Empleado e = empleadosByLegajo.get(legajo);
-        if (e == null) return false;
-        return e.getNRetrasos() > 0;
+        return empleados.retrasos(legajo) > 0;
     }
 
     @Override
     public List<Tupla<Integer, String>> empleados() {
-        return empleadosByLegajo.values().stream()
-                .map(e -> new Tupla<>(e.getLegajo(), e.getNombre()))
-                .collect(Collectors.toList());
+        return empleados.empleados();
     }
 
     @Override
     public String consultarProyecto(Integer numero) {
-        Proyecto p = proyectosById.get(numero);
+        Proyecto p = numero == null ? null : proyectosById.get(numero);
         if (p == null) return null;
         StringBuilder sb = new StringBuilder();
         sb.append("Proyecto ").append(p.getId()).append(" - ").append(p.getCliente()).append("\n");
@@ -456,13 +518,174 @@ public class HomeSolution implements IHomeSolution {
         sb.append("Tareas:\n");
         for (Tarea t : p.getTodasLasTareas()) {
             sb.append(" - ").append(t.getTitulo())
-                    .append(" [resp: ").append(t.getResponsableLegajo() == null ? "SIN" : t.getResponsableLegajo())
+                    .append(" [resp: ").append(t.tieneResponsable() ? String.valueOf(t.getLegajoResponsable()) : "SIN")
                     .append("] [dur: ").append(t.getDuracionDias())
                     .append("] [finReal: ").append(t.getFechaReal()).append("]\n");
         }
         return sb.toString();
     }
 
+    // -------------------------
+    // RECORRIDOS COMPLETOS
+    // -------------------------
+
+    /**
+     * Recorre los proyectos en orden de numero sin copiarlos, para exportar todo el estado.
+     * Devuelve los objetos internos: quien recorre no debe modificarlos.
+     */
+    public Iterable<Proyecto> proyectosPorNumero() {
+        return () -> enOrden(proyectosById, 1, nextProyectoId);
+    }
+
+    /** Como proyectosPorNumero, para los empleados en orden de legajo. */
+    public Iterable<Empleado> empleadosPorLegajo() {
+        return empleados.porLegajo();
+    }
+
+    // claves consecutivas con huecos: se saltean las que no estan
+    static <V> Iterator<V> enOrden(MapaInt<V> mapa, int desde, int hasta) {
+        return new Iterator<V>() {
+            private int clave = desde;
+            private V siguiente = avanzar();
+
+            private V avanzar() {
+                while (clave < hasta) {
+                    V v = mapa.get(clave++);
+                    if (v != null) return v;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public V next() {
+                if (siguiente == null) throw new NoSuchElementException();
+                V v = siguiente;
+                siguiente = avanzar();
+                return v;
+            }
+        };
+    }
+
+    // -------------------------
+    // INSTANTANEAS
+    // -------------------------
+
+    /**
+     * Empieza a publicar una Instantanea despues de cada operacion que modifica algo. Arma la
+     * primera con todo el estado (O(n)), asi que hay que llamarla desde el hilo que modifica.
+     * Mientras no se llame, las operaciones no pagan nada por las instantaneas.
+     */
+    public void habilitarInstantaneas() {
+        if (instantaneas == null) instantaneas = new PublicadorInstantaneas(this);
+    }
+
+    /**
+     * La ultima Instantanea publicada, en O(1) y desde cualquier hilo.
+     * @throws IllegalStateException si no se llamo a habilitarInstantaneas.
+     */
+    public Instantanea instantanea() {
+        PublicadorInstantaneas pub = instantaneas;
+        if (pub == null) throw new IllegalStateException("Instantáneas no habilitadas");
+        return pub.instantanea();
+    }
+
+    // -------------------------
+    // ESTADISTICAS
+    // -------------------------
+
+    /**
+     * Tamaños de los indices y memoria estimada, en O(1). No toma locks: leida desde otro hilo
+     * mientras se opera, los valores pueden estar desfasados en las ultimas operaciones.
+     */
+    public EstadisticasIndices estadisticas() {
+        EstadisticasIndices e = new EstadisticasIndices();
+        empleados.completar(e);
+        e.proyectos = proyectosById.size();
+        e.proyectosPendientes = proyectosPendientes.size();
+        e.proyectosActivos = proyectosActivos.size();
+        e.proyectosFinalizados = proyectosFinalizados.size();
+        e.tareas = totalTareas;
+        e.empleadosActuales = totalEmpleadosActuales;
+        e.historial = totalHistorial;
+        e.nextProyectoId = nextProyectoId;
+        e.nextTareaId = nextTareaId;
+        e.tablaProyectos = proyectosById.bytesEstimados();
+        e.caracteresProyectos = caracteresProyectos;
+        e.caracteresTareas = caracteresTareas;
+        return e;
+    }
+
+    // -------------------------
+    // RANKING DE RETRASOS
+    // -------------------------
+    // posiciones en el orden (nRetrasos, legajo) de menor a mayor, contando desde 0; todo O(log n)
+
+    /** Posicion del empleado en el orden por retrasos, o -1 si no existe. */
+    public int posicionPorRetrasos(Integer legajo) {
+        return empleados.posicionPorRetrasos(legajo);
+    }
+
+    /**
+     * Empleado en la posicion k del orden por retrasos, como (legajo, nRetrasos).
+     * @throws IndexOutOfBoundsException si k no esta entre 0 y la cantidad de empleados - 1.
+     */
+    public Tupla<Integer, Integer> empleadoEnPosicionPorRetrasos(int k) {
+        return empleados.empleadoEnPosicionPorRetrasos(k);
+    }
+
+    /**
+     * Empleado en el percentil p (entre 0 y 1) de retrasos: el primero tal que al menos
+     * la fraccion p de los empleados tiene su misma cantidad de retrasos o menos.
+     * @return (legajo, nRetrasos), o null si no hay empleados.
+     */
+    public Tupla<Integer, Integer> empleadoEnPercentilDeRetrasos(double p) {
+        if (p < 0 || p > 1) throw new IllegalArgumentException("Percentil inválido: " + p);
+        int n = empleados.cantidadPorRetrasos();
+        if (n == 0) return null;
+        return empleadoEnPosicionPorRetrasos(Math.max(0, (int) Math.ceil(p * n) - 1));
+    }
+
+    /** Los k empleados con mas retrasos, de mayor a menor (a igual cantidad, mayor legajo primero). */
+    public List<Tupla<Integer, Integer>> masRetrasados(int k) {
+        if (k < 0) throw new IllegalArgumentException("Cantidad inválida");
+        return empleados.masRetrasados(k);
+    }
+
+    /** Cantidad de empleados con entre desde y hasta retrasos (ambos incluidos). */
+    public int cantidadConRetrasosEntre(int desde, int hasta) {
+        return empleados.cantidadConRetrasosEntre(desde, hasta);
+    }
+
+    // -------------------------
+    // CONSULTAS PAGINADAS
+    // -------------------------
+
+    /**
+     * Pagina de empleados (legajo, nombre) ordenada por legajo.
+     * @param desde legajo desde el que empieza la pagina (inclusive), null para la primera.
+     * @param tamanio cantidad maxima de elementos de la pagina.
+     */
+    public Pagina<Tupla<Integer, String>> paginaEmpleados(Integer desde, int tamanio) {
+        return empleados.paginaEmpleados(desde, tamanio);
+    }
+
+    public Pagina<Tupla<Integer, String>> paginaProyectosPendientes(Integer desde, int tamanio) {
+        return paginaDeProyectos(proyectosPendientes, desde, tamanio);
+    }
+
+    public Pagina<Tupla<Integer, String>> paginaProyectosActivos(Integer desde, int tamanio) {
+        return paginaDeProyectos(proyectosActivos, desde, tamanio);
+    }
+
+    public Pagina<Tupla<Integer, String>> paginaProyectosFinalizados(Integer desde, int tamanio) {
+        return paginaDeProyectos(proyectosFinalizados, desde, tamanio);
+    }
+
     // -------------------------
     // NUEVOS MÉTODOS SOLICITADOS
     // -------------------------
@@ -476,26 +699,55 @@ public class HomeSolution implements IHomeSolution {
         return t.getResponsableLegajo();
     }
 
+    /**
+     * En que esta trabajando el empleado, en O(1).
+     * @return (numero de proyecto, titulo de la tarea), o null si esta libre o no existe.
+     */
+    public Tupla<Integer, String> tareaActualDe(Integer legajo) {
+        return empleados.tareaActualDe(legajo);
+    }
+
+    /**
+     * Empleados con una tarea en curso, cada uno con su proyecto, ordenados por legajo.
+     */
+    public List<Tupla<Integer, Integer>> ocupacionesActuales() {
+        return empleados.ocupacionesActuales();
+    }
+
+    /**
+     * Cambia la bonificacion del +2% de un empleado de planta y ajusta el costo
+     * de los proyectos donde tiene tareas a su cargo.
+     */
+    public void cambiarSinRetrasosPeriodo(Integer legajo, boolean valor) {
+        Empleado e = legajo == null ? null : empleados.get(legajo);
+        if (!(e instanceof EmpleadoPlanta)) throw new IllegalArgumentException("No es empleado de planta: " + legajo);
+        EmpleadoPlanta ep = (EmpleadoPlanta) e;
+        if (ep.isSinRetrasosPeriodo() == valor) return;
+        int[] ids = empleados.proyectosACargo(legajo);
+        if (ids == null) ids = new int[0];
+        for (int id : ids) proyectosById.get(id).descontarCostoDe(ep);
+        ep.setSinRetrasosPeriodo(valor);
+        for (int id : ids) {
+            Proyecto p = proyectosById.get(id);
+            p.sumarCostoDe(ep);
+            tocar(p);
+        }
+        publicar();
+    }
+
     /**
      * Devuelve el historial de empleados (legajo,nombre) que trabajaron en el proyecto.
      * Usa el historial interno del Proyecto para garantizar orden de asignaciones.
      */
     public List<Tupla<Integer, String>> historialEmpleadosDeProyecto(Integer numero) {
-        Proyecto p = proyectoOrError(numero);
-        List<Integer> hist = p.getHistorialEmpleados();
-        List<Tupla<Integer, String>> out = new ArrayList<>();
-        for (Integer leg : hist) {
-            Empleado e = empleadosByLegajo.get(leg);
-            out.add(new Tupla<>(leg, e != null ? e.getNombre() : "Desconocido"));
-        }
-        return out;
+        return empleados.conNombres(proyectoOrError(numero).getHistorialEmpleados(), "Desconocido");
     }
 
     // -------------------------
     // UTILITARIOS
     // -------------------------
     private Proyecto proyectoOrError(Integer id) {
-        Proyecto p = proyectosById.get(id);
+        Proyecto p = id == null ? null : proyectosById.get(id);
         if (p == null) throw new IllegalArgumentException("Proyecto no existe: " + id);
         return p;
     }
@@ -506,17 +758,188 @@ public class HomeSolution implements IHomeSolution {
         return t;
     }
 
+    // ubica al proyecto en el indice que corresponde a su estado actual
+    private void indexarEstado(Proyecto p) {
+        tocar(p);
+        int id = p.getId();
+        if (p.getFechaReal() != null) {
+            proyectosPendientes.remove(id);
+            proyectosActivos.remove(id);
+            proyectosFinalizados.put(id, p);
+        } else {
+            proyectosFinalizados.remove(id);
+            proyectosPendientes.put(id, p);
+            if (p.cantidadTareas() == 0) proyectosActivos.remove(id);
+            else proyectosActivos.put(id, p);
+        }
+    }
+
+    private Pagina<Tupla<Integer, String>> paginaDeProyectos(NavigableMap<Integer, Proyecto> indice,
+                                                             Integer desde, int tamanio) {
+        if (tamanio <= 0) throw new IllegalArgumentException("Tamaño de página inválido");
+        Map<Integer, Proyecto> resto = desde == null ? indice : indice.tailMap(desde, true);
+        List<Tupla<Integer, String>> out = new ArrayList<>(Math.min(tamanio, 1024)); // size() de un tailMap es O(n)
+        Integer siguiente = null;
+        for (Proyecto p : resto.values()) {
+            if (out.size() == tamanio) {
+                siguiente = p.getId();
+                break;
+            }
+            out.add(new Tupla<>(p.getId(), p.getDomicilio()));
+        }
+        return new Pagina<>(out, siguiente);
+    }
+
+    private List<Tupla<Integer, String>> tuplasDeProyectos(Map<Integer, Proyecto> indice) {
+        List<Tupla<Integer, String>> out = new ArrayList<>(indice.size());
+        for (Proyecto p : indice.values()) out.add(new Tupla<>(p.getId(), p.getDomicilio()));
+        return out;
+    }
+
+    // cambia el responsable de t manteniendo el costo base del proyecto y el indice de planta
+    private void ponerResponsable(Proyecto p, Tarea t, Empleado nuevo) {
+        Empleado anterior = t.tieneResponsable() ? empleados.get(t.getLegajoResponsable()) : null;
+        int actuales = p.cantidadEmpleadosActuales();
+        int historial = p.cantidadHistorial();
+        p.asignarResponsable(t, nuevo, anterior);
+        tocar(p, t);
+        boolean anteriorDeja = anterior instanceof EmpleadoPlanta && !p.tieneTareasACargo(anterior.getLegajo());
+        empleados.ponerACargo(nuevo, p, t, anteriorDeja ? anterior : null);
+        tocar(nuevo);
+        totalEmpleadosActuales += p.cantidadEmpleadosActuales() - actuales;
+        totalHistorial += p.cantidadHistorial() - historial;
+    }
+
+    // suma a los totales un proyecto recien creado o restaurado
+    private void contarProyecto(Proyecto p) {
+        totalTareas += p.cantidadTareas();
+        totalEmpleadosActuales += p.cantidadEmpleadosActuales();
+        totalHistorial += p.cantidadHistorial();
+        caracteresProyectos += largo(p.getCliente()) + largo(p.getDomicilio());
+        for (Tarea t : p.getTodasLasTareas()) caracteresTareas += largo(t.getTitulo()) + largo(t.getDescripcion());
+    }
+
+    private static int largo(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    // anotan lo que cambio la operacion en curso; publicar() arma la instantanea al terminar
+    private void tocar(Empleado e) {
+        PublicadorInstantaneas pub = instantaneas;
+        if (pub != null) pub.tocar(e);
+    }
+
+    private void tocar(Proyecto p) {
+        PublicadorInstantaneas pub = instantaneas;
+        if (pub != null) pub.tocar(p);
+    }
+
+    // cada cambio a una tarea se avisa: la vista nueva del proyecto copia solo esas
+    private void tocar(Proyecto p, Tarea t) {
+        PublicadorInstantaneas pub = instantaneas;
+        if (pub != null) pub.tocar(p, t);
+    }
+
+    private void publicar() {
+        PublicadorInstantaneas pub = instantaneas;
+        if (pub != null) pub.publicar();
+    }
+
+    // libera al empleado si su tarea en curso es t (cualquiera de p si t es null); si ya esta en
+    // otra tarea (t estaba finalizada) no lo toca
+    private void soltar(Proyecto p, Tarea t, int legajo) {
+        Empleado e = empleados.soltar(p, t, legajo);
+        if (e == null) return;
+        tocar(e);
+        if (p.removerEmpleadoActual(legajo)) totalEmpleadosActuales--;
+        tocar(p);
+    }
+
     // getters de apoyo (usados en GUI/tests)
     public Empleado obtenerEmpleado(int legajo) {
-        return empleadosByLegajo.get(legajo);
+        return empleados.get(legajo);
     }
 
     public Proyecto obtenerProyecto(int id) {
         return proyectosById.get(id);
     }
+
+    int cantidadProyectos() {
+        return proyectosById.size();
+    }
+
+    // -------------------------
+    // ACCESO PARA Snapshot
+    // -------------------------
+    int primerLegajo() {
+        return DirectorioEmpleados.PRIMER_LEGAJO;
+    }
+
+    int getNextLegajo() {
+        return empleados.getNextLegajo();
+    }
+
+    int getNextProyectoId() {
+        return nextProyectoId;
+    }
+
+    int getNextTareaId() {
+        return nextTareaId;
+    }
+
+    Iterable<Empleado> empleadosSinOrden() {
+        return empleados.sinOrden();
+    }
+
+    int renumeracionesLibres() {
+        return empleados.renumeracionesLibres();
+    }
+
+    Iterable<Proyecto> proyectosSinOrden() {
+        return proyectosById.valores();
+    }
+
+    int[] legajosLibresEnOrden() {
+        return empleados.legajosLibresEnOrden();
+    }
+
+    void restaurarContadores(int nextLegajo, int nextProyectoId, int nextTareaId) {
+        empleados.restaurarContador(nextLegajo);
+        this.nextProyectoId = nextProyectoId;
+        this.nextTareaId = nextTareaId;
+    }
+
+    /** Carga los empleados (en orden de legajo) y el pool de libres (en orden FIFO). */
+    void restaurarEmpleados(Empleado[] porLegajo, int[] libres) {
+        empleados.restaurar(porLegajo, libres);
+        for (Empleado e : porLegajo) tocar(e);
+        publicar();
+    }
+
+    // los proyectos ya vienen con tareas, responsables y costo, en orden de id; aca se arman los indices
+    void restaurarProyectos(Proyecto[] porId) {
+        proyectosById.reservar(porId.length);
+        for (Proyecto p : porId) {
+            proyectosById.put(p.getId(), p);
+            indexarEstado(p);
+            contarProyecto(p);
+            if (p.getFechaReal() == null) {
+                for (Tarea t : p.tareasEn(EstadoTarea.EN_CURSO)) {
+                    Empleado e = empleados.get(t.getLegajoResponsable());
+                    if (e != null) empleados.restaurarOcupacion(e, p, t);
+                }
+            }
+            for (Tarea t : p.getTodasLasTareas()) {
+                if (!t.tieneResponsable()) continue;
+                Empleado e = empleados.get(t.getLegajoResponsable());
+                if (e instanceof EmpleadoPlanta) empleados.agregarProyectoDePlanta(e.getLegajo(), p.getId());
+            }
+        }
+        publicar();
+    }
     //Utilizados solo para testear 
     public String debugEstadoProyecto(Integer numero) {
-        Proyecto p = proyectosById.get(numero);
+        Proyecto p = numero == null ? null : proyectosById.get(numero);
         if (p == null) return "Proyecto no existe: " + numero;
         StringBuilder sb = new StringBuilder();
         sb.append("Proyecto ").append(p.getId()).append(" - domicilio: ").append(p.getDomicilio()).append("\n");
@@ -528,7 +951,7 @@ public class HomeSolution implements IHomeSolution {
               .append("\n");
         }
         sb.append("Empleados (legajo - nombre - nRetrasos - asignado):\n");
-        for (Empleado e : empleadosByLegajo.values()) {
+        for (Empleado e : empleados.sinOrden()) {
             sb.append(e.getLegajo()).append(" - ").append(e.getNombre())
               .append(" - ").append(e.getNRetrasos())
               .append(" - ").append(e.isAsignado()).append("\n");
@@ -537,26 +960,21 @@ public class HomeSolution implements IHomeSolution {
     }
     public List<Tupla<Integer,String>> empleadosPorRetrasosOrden() {
         List<Tupla<Integer,String>> out = new ArrayList<>();
-        for (Empleado e : empleadosPorRetrasos) {
+        for (Empleado e : empleados.enOrdenPorRetrasos()) {
             out.add(new Tupla<>(e.getLegajo(), e.getNombre()));
         }
         return out;
     }
     public void imprimirEstadoEmpleados() {
         System.out.println("=== Estado empleados ===");
-        System.out.println("empleadosByLegajo keys: " + empleadosByLegajo.keySet());
-        for (Map.Entry<Integer, Empleado> en : empleadosByLegajo.entrySet()) {
-            Empleado e = en.getValue();
+        for (Empleado e : empleados.sinOrden()) {
             System.out.printf("Legajo=%d Nombre=%s Asignado=%s Retrasos=%d%n",
                 e.getLegajo(), e.getNombre(), e.isAsignado(), e.getNRetrasos());
         }
-        System.out.println("empleadosLibres (cola): " + empleadosLibres);
+        System.out.println("empleadosLibres (cola): " + empleados.descripcionPool());
         System.out.println("empleadosPorRetrasos orden (menor->mayor):");
-        for (Empleado e : empleadosPorRetrasos) {
+        for (Empleado e : empleados.enOrdenPorRetrasos()) {
             System.out.printf("  %d(%s) r=%d asignado=%s%n", e.getLegajo(), e.getNombre(), e.getNRetrasos(), e.isAsignado());
         }
         System.out.println("========================");
-    }
-
-
-}
+    }}
@@ -0,0 +1,35 @@
+package entidades;
+
+/**
+ * Version de HomeSolution segura para usar desde varios hilos a la vez.
+ *
+ * Los proyectos se protegen con locks por franja (el numero de proyecto elige la franja),
+ * asi operaciones sobre proyectos distintos corren en paralelo. Cada franja es una particion
+ * de HomeSolutionParticionado: un HomeSolution con su lock.
+ *
+ * A diferencia de HomeSolutionParticionado no hay ningun lock global:
+ * - los empleados estan en un DirectorioConcurrente, donde tomar un libre es un CAS y los
+ *   libres estan en skip lists concurrentes, asi asignar, retrasar y finalizar en franjas
+ *   distintas no se esperan entre si;
+ * - las franjas comparten los indices por estado, que son mapas concurrentes, y los listados
+ *   los leen sin tomar el lock de ninguna franja.
+ * Hay muchas mas franjas que hilos para que dos proyectos casi nunca compartan lock.
+ */
+public class HomeSolutionConcurrente extends HomeSolutionParticionado {
+
+    public HomeSolutionConcurrente() {
+        this(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    /**
+     * @param cantidadFranjas cantidad minima de locks de proyecto (se redondea a potencia de 2).
+     */
+    public HomeSolutionConcurrente(int cantidadFranjas) {
+        super(potenciaDe2(cantidadFranjas), new DirectorioConcurrente(), true);
+    }
+
+    private static int potenciaDe2(int cantidadFranjas) {
+        if (cantidadFranjas <= 0) throw new IllegalArgumentException("Cantidad de franjas inválida");
+        return Math.max(Integer.highestOneBit(cantidadFranjas - 1) << 1, 1);
+    }
+}
@@ -0,0 +1,422 @@
+package entidades;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Version de HomeSolution partida en particiones por numero de proyecto.
+ *
+ * Cada particion es un HomeSolution comun con sus propios mapas e indices por estado, y lo usa
+ * un solo hilo a la vez, el que tiene el lock de la particion. El proyecto n vive en la
+ * particion (n - 1) % N; como los numeros se reparten en orden, las particiones quedan parejas
+ * y dos operaciones sobre proyectos de particiones distintas no comparten nada. Las reglas de
+ * negocio son las de HomeSolution; esta clase solo elige la particion y toma su lock.
+ *
+ * Los empleados no se parten: todas las particiones usan el mismo DirectorioCompartido
+ * (legajos, pool de libres, retrasos y tarea en curso). HomeSolutionConcurrente usa en cambio
+ * un DirectorioConcurrente, sin mutex, y comparte entre particiones los indices por estado.
+ *
+ * Protocolo entre particiones (con DirectorioCompartido):
+ * - El directorio tiene un unico mutex. Cada llamada al directorio es una seccion critica
+ *   corta: tomar (elegir, sacar del pool y marcar), ponerACargo, soltar, sumarRetraso o una
+ *   consulta. Asignar entra dos veces, finalizar una tarea una, registrar un retraso una y
+ *   reasignar cuatro; en ninguna se espera nada con el mutex tomado.
+ * - Como todos los pedidos pasan por ese mutex, el orden FIFO y el de menos retrasos son
+ *   globales, los mismos que en HomeSolution. Tambien es el limite del escalado: las
+ *   operaciones que cambian empleados se ordenan ahi aunque sean de particiones distintas
+ *   (lo mide ParticionesEscrituraBenchmark).
+ * - Orden de adquisicion: particion -> directorio. Nunca dos particiones a la vez y nunca se
+ *   pide el lock de una particion con el directorio tomado, por eso no hay deadlocks.
+ * - Numeros de proyecto e ids de tarea salen de contadores atomicos de esta clase, para que
+ *   sean unicos entre particiones.
+ *
+ * Los listados piden a cada particion su parte ya ordenada por id y las mezclan; con indices
+ * compartidos leen los mapas concurrentes sin tomar ningun lock.
+ */
+public class HomeSolutionParticionado implements IHomeSolution {
+
+    private final Particion[] particiones;
+    private final DirectorioEmpleados directorio;
+    private final boolean indicesCompartidos; // todas las particiones ven los mismos indices por estado
+    private final AtomicInteger nextProyectoId = new AtomicInteger(1);
+    private final AtomicInteger nextTareaId = new AtomicInteger(1);
+
+    public HomeSolutionParticionado() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public HomeSolutionParticionado(int cantidadParticiones) {
+        this(cantidadParticiones, new DirectorioCompartido(), false);
+    }
+
+    /**
+     * @param directorio compartido por todas las particiones; tiene que admitir varios hilos.
+     * @param indicesCompartidos si las particiones comparten indices por estado concurrentes.
+     */
+    HomeSolutionParticionado(int cantidadParticiones, DirectorioEmpleados directorio, boolean indicesCompartidos) {
+        if (cantidadParticiones <= 0) throw new IllegalArgumentException("Cantidad de particiones inválida");
+        this.directorio = directorio;
+        this.indicesCompartidos = indicesCompartidos;
+        this.particiones = new Particion[cantidadParticiones];
+        if (indicesCompartidos) {
+            NavigableMap<Integer, Proyecto> pendientes = new ConcurrentSkipListMap<>();
+            NavigableMap<Integer, Proyecto> activos = new ConcurrentSkipListMap<>();
+            NavigableMap<Integer, Proyecto> finalizados = new ConcurrentSkipListMap<>();
+            for (int i = 0; i < cantidadParticiones; i++) {
+                particiones[i] = new Particion(new HomeSolution(directorio, pendientes, activos, finalizados));
+            }
+        } else {
+            for (int i = 0; i < cantidadParticiones; i++) particiones[i] = new Particion(new HomeSolution(directorio));
+        }
+    }
+
+    public int getCantidadParticiones() {
+        return particiones.length;
+    }
+
+    /** Cantidad de proyectos en cada particion, para ver que el reparto sea parejo. */
+    public int[] proyectosPorParticion() {
+        int[] out = new int[particiones.length];
+        for (int i = 0; i < particiones.length; i++) {
+            Particion s = particiones[i];
+            s.lock.lock();
+            try {
+                out[i] = s.hs.cantidadProyectos();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return out;
+    }
+
+    // -------------------------
+    // REGISTRO DE EMPLEADOS
+    // -------------------------
+    @Override
+    public void registrarEmpleado(String nombre, double valor) throws IllegalArgumentException {
+        directorio.registrar(AltaEmpleado.contratado(nombre, valor));
+    }
+
+    @Override
+    public void registrarEmpleado(String nombre, double valor, String categoria) throws IllegalArgumentException {
+        directorio.registrar(AltaEmpleado.planta(nombre, valor, categoria));
+    }
+
+    // -------------------------
+    // REGISTRO Y GESTIÓN DE PROYECTOS
+    // -------------------------
+    @Override
+    public void registrarProyecto(String[] titulos, String[] descripcion, double[] dias,
+                                  String domicilio, String[] cliente, String inicio, String fin)
+            throws IllegalArgumentException {
+        AltaProyecto alta = AltaProyecto.validar(titulos, descripcion, dias, domicilio, cliente, inicio, fin);
+        int id = nextProyectoId.getAndIncrement();
+        int primeraTarea = nextTareaId.getAndAdd(alta.cantidadTareas());
+        Particion s = particion(id);
+        s.lock.lock();
+        try {
+            s.hs.registrarProyecto(alta, id, primeraTarea);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public void agregarTareaEnProyecto(Integer numero, String titulo, String descripcion, double dias) throws IllegalArgumentException {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.agregarTareaEnProyecto(numero, titulo, descripcion, dias, nextTareaId.getAndIncrement());
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    // -------------------------
+    // ASIGNACIÓN Y GESTIÓN DE TAREAS
+    // -------------------------
+    @Override
+    public void asignarResponsableEnTarea(Integer numero, String titulo) throws Exception {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.asignarResponsableEnTarea(numero, titulo);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public void asignarResponsableMenosRetraso(Integer numero, String titulo) throws Exception {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.asignarResponsableMenosRetraso(numero, titulo);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public void registrarRetrasoEnTarea(Integer numero, String titulo, double cantidadDias) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.registrarRetrasoEnTarea(numero, titulo, cantidadDias);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public void finalizarTarea(Integer numero, String titulo) throws Exception {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.finalizarTarea(numero, titulo);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public void finalizarProyecto(Integer numero, String fin) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.finalizarProyecto(numero, fin);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    // -------------------------
+    // REASIGNACIÓN
+    // -------------------------
+    @Override
+    public void reasignarEmpleadoEnProyecto(Integer numero, Integer legajo, String titulo) throws Exception {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.reasignarEmpleadoEnProyecto(numero, legajo, titulo);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public void reasignarEmpleadoConMenosRetraso(Integer numero, String titulo) throws Exception {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            s.hs.reasignarEmpleadoConMenosRetraso(numero, titulo);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    // -------------------------
+    // CONSULTAS Y REPORTES
+    // -------------------------
+    @Override
+    public double costoProyecto(Integer numero) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            return s.hs.costoProyecto(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosFinalizados() {
+        return listado(HomeSolution::proyectosFinalizados);
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosPendientes() {
+        return listado(HomeSolution::proyectosPendientes);
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosActivos() {
+        return listado(HomeSolution::proyectosActivos);
+    }
+
+    private List<Tupla<Integer, String>> listado(Function<HomeSolution, List<Tupla<Integer, String>>> consulta) {
+        // cualquier particion lee el indice de todas; los proyectos que estan cambiando de estado
+        // aparecen en el estado de antes o en el de despues
+        if (indicesCompartidos) return consulta.apply(particiones[0].hs);
+        List<List<Tupla<Integer, String>>> partes = new ArrayList<>(particiones.length);
+        for (Particion s : particiones) {
+            s.lock.lock();
+            try {
+                partes.add(consulta.apply(s.hs));
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return mezclarPorId(partes);
+    }
+
+    /** Mezcla listas ordenadas por el primer elemento de la tupla en O(n log k). */
+    static List<Tupla<Integer, String>> mezclarPorId(List<List<Tupla<Integer, String>>> partes) {
+        int total = 0;
+        for (List<Tupla<Integer, String>> parte : partes) total += parte.size();
+        List<Tupla<Integer, String>> out = new ArrayList<>(total);
+        int[] posiciones = new int[partes.size()];
+        PriorityQueue<Integer> cabezas = new PriorityQueue<>(Math.max(partes.size(), 1),
+                Comparator.comparingInt(i -> partes.get(i).get(posiciones[i]).getValor1()));
+        for (int i = 0; i < partes.size(); i++) {
+            if (!partes.get(i).isEmpty()) cabezas.add(i);
+        }
+        while (!cabezas.isEmpty()) {
+            int i = cabezas.poll();
+            List<Tupla<Integer, String>> parte = partes.get(i);
+            out.add(parte.get(posiciones[i]++));
+            if (posiciones[i] < parte.size()) cabezas.add(i);
+        }
+        return out;
+    }
+
+    @Override
+    public Object[] empleadosNoAsignados() {
+        return directorio.libresEnOrden();
+    }
+
+    @Override
+    public boolean estaFinalizado(Integer numero) {
+        Particion s = particion(numero);
+        if (s == null) return false;
+        s.lock.lock();
+        try {
+            return s.hs.estaFinalizado(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public int consultarCantidadRetrasosEmpleado(Integer legajo) {
+        return directorio.retrasos(legajo);
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> empleadosAsignadosAProyecto(Integer numero) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            return s.hs.empleadosAsignadosAProyecto(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] tareasProyectoNoAsignadas(Integer numero) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            return s.hs.tareasProyectoNoAsignadas(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] tareasDeUnProyecto(Integer numero) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            return s.hs.tareasDeUnProyecto(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public String consultarDomicilioProyecto(Integer numero) {
+        Particion s = particion(numero);
+        if (s == null) return null;
+        s.lock.lock();
+        try {
+            return s.hs.consultarDomicilioProyecto(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean tieneRestrasos(Integer legajo) {
+        return directorio.retrasos(legajo) > 0;
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> empleados() {
+        return directorio.empleados();
+    }
+
+    @Override
+    public String consultarProyecto(Integer numero) {
+        Particion s = particion(numero);
+        if (s == null) return null;
+        s.lock.lock();
+        try {
+            return s.hs.consultarProyecto(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public Integer responsableDeTarea(Integer numero, String titulo) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            return s.hs.responsableDeTarea(numero, titulo);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> historialEmpleadosDeProyecto(Integer numero) {
+        Particion s = particionOrError(numero);
+        s.lock.lock();
+        try {
+            return s.hs.historialEmpleadosDeProyecto(numero);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    // -------------------------
+    // UTILITARIOS
+    // -------------------------
+
+    // null si el numero no puede ser de ningun proyecto
+    private Particion particion(Integer numero) {
+        if (numero == null || numero < 1) return null;
+        return particiones[(numero - 1) % particiones.length];
+    }
+
+    private Particion particionOrError(Integer numero) {
+        Particion s = particion(numero);
+        if (s == null) throw new IllegalArgumentException("Proyecto no existe: " + numero);
+        return s;
+    }
+
+    // un HomeSolution con sus proyectos; se usa solo con el lock tomado
+    private static final class Particion {
+        final ReentrantLock lock = new ReentrantLock();
+        final HomeSolution hs;
+
+        Particion(HomeSolution hs) {
+            this.hs = hs;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package entidades;
+
+import colecciones.MapaPersistente;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado de un HomeSolution en un momento dado, que ya no cambia: empleados y proyectos
+ * copiados en vistas inmutables e indices por estado, todo en mapas persistentes.
+ *
+ * HomeSolution publica una nueva despues de cada operacion que modifica algo, reusando todo
+ * lo que no cambio de la anterior. Tomarla es leer un campo, y se puede consultar y recorrer
+ * desde cualquier hilo, el tiempo que haga falta, sin frenar a quien modifica: una pantalla o
+ * una exportacion ven siempre el mismo estado de principio a fin.
+ *
+ * Las consultas repiten las de HomeSolution con el mismo resultado que tenian al publicarse.
+ */
+public final class Instantanea {
+    private final long version;
+    private final MapaPersistente<VistaEmpleado> empleados;
+    private final MapaPersistente<VistaProyecto> proyectos;
+    // numeros de proyecto por estado; los datos se buscan en proyectos
+    private final MapaPersistente<Integer> pendientes;
+    private final MapaPersistente<Integer> activos;
+    private final MapaPersistente<Integer> finalizados;
+    private final MapaPersistente<Integer> libres; // turno -> legajo, en el orden en que se toman
+
+    Instantanea(long version, MapaPersistente<VistaEmpleado> empleados, MapaPersistente<VistaProyecto> proyectos,
+                MapaPersistente<Integer> pendientes, MapaPersistente<Integer> activos,
+                MapaPersistente<Integer> finalizados, MapaPersistente<Integer> libres) {
+        this.version = version;
+        this.empleados = empleados;
+        this.proyectos = proyectos;
+        this.pendientes = pendientes;
+        this.activos = activos;
+        this.finalizados = finalizados;
+        this.libres = libres;
+    }
+
+    /** Cuantas veces se publico antes de esta; crece con cada operacion que modifica algo. */
+    public long getVersion() {
+        return version;
+    }
+
+    public int cantidadEmpleados() {
+        return empleados.size();
+    }
+
+    public int cantidadProyectos() {
+        return proyectos.size();
+    }
+
+    /** @return null si no existe. */
+    public VistaProyecto proyecto(Integer numero) {
+        return numero == null ? null : proyectos.get(numero);
+    }
+
+    /** @return null si no existe. */
+    public VistaEmpleado empleado(Integer legajo) {
+        return legajo == null ? null : empleados.get(legajo);
+    }
+
+    public Iterable<VistaProyecto> proyectosPorNumero() {
+        return proyectos.valores();
+    }
+
+    public Iterable<VistaEmpleado> empleadosPorLegajo() {
+        return empleados.valores();
+    }
+
+    // -------------------------
+    // CONSULTAS DE HomeSolution
+    // -------------------------
+    public double costoProyecto(Integer numero) {
+        return proyectoOrError(numero).getCosto();
+    }
+
+    public Object[] empleadosNoAsignados() {
+        Object[] out = new Object[libres.size()];
+        int i = 0;
+        for (Integer legajo : libres.valores()) out[i++] = legajo;
+        return out;
+    }
+
+    public boolean estaFinalizado(Integer numero) {
+        VistaProyecto p = proyecto(numero);
+        return p != null && p.estaFinalizado();
+    }
+
+    public int consultarCantidadRetrasosEmpleado(Integer legajo) {
+        VistaEmpleado e = empleado(legajo);
+        return e == null ? 0 : e.getNRetrasos();
+    }
+
+    public boolean tieneRestrasos(Integer legajo) {
+        return consultarCantidadRetrasosEmpleado(legajo) > 0;
+    }
+
+    public List<Tupla<Integer, String>> empleadosAsignadosAProyecto(Integer numero) {
+        return tuplasDeEmpleados(proyectoOrError(numero).getEmpleadosActuales(), "N/A");
+    }
+
+    public Object[] tareasProyectoNoAsignadas(Integer numero) {
+        VistaProyecto p = proyectoOrError(numero);
+        if (p.estaFinalizado()) throw new IllegalArgumentException("Proyecto finalizado");
+        List<Object> out = new ArrayList<>();
+        for (VistaTarea t : p.getTareas()) if (!t.tieneResponsable() && !t.estaFinalizada()) out.add(t.getTitulo());
+        return out.toArray();
+    }
+
+    public Object[] tareasDeUnProyecto(Integer numero) {
+        List<VistaTarea> tareas = proyectoOrError(numero).getTareas();
+        Object[] out = new Object[tareas.size()];
+        for (int i = 0; i < out.length; i++) out[i] = tareas.get(i).getTitulo();
+        return out;
+    }
+
+    /** @return null si no existe. */
+    public String consultarDomicilioProyecto(Integer numero) {
+        VistaProyecto p = proyecto(numero);
+        return p == null ? null : p.getDomicilio();
+    }
+
+    public Integer responsableDeTarea(Integer numero, String titulo) {
+        VistaTarea t = proyectoOrError(numero).tarea(titulo);
+        if (t == null) throw new IllegalArgumentException("Tarea no existe: " + titulo);
+        return t.getResponsableLegajo();
+    }
+
+    public List<Tupla<Integer, String>> historialEmpleadosDeProyecto(Integer numero) {
+        return tuplasDeEmpleados(proyectoOrError(numero).getHistorialEmpleados(), "Desconocido");
+    }
+
+    public List<Tupla<Integer, String>> proyectosPendientes() {
+        return tuplasDeProyectos(pendientes);
+    }
+
+    public List<Tupla<Integer, String>> proyectosActivos() {
+        return tuplasDeProyectos(activos);
+    }
+
+    public List<Tupla<Integer, String>> proyectosFinalizados() {
+        return tuplasDeProyectos(finalizados);
+    }
+
+    public List<Tupla<Integer, String>> empleados() {
+        List<Tupla<Integer, String>> out = new ArrayList<>(empleados.size());
+        for (VistaEmpleado e : empleados.valores()) out.add(new Tupla<>(e.getLegajo(), e.getNombre()));
+        return out;
+    }
+
+    /** El mismo texto que HomeSolution.consultarProyecto, o null si no existe. */
+    public String consultarProyecto(Integer numero) {
+        VistaProyecto p = proyecto(numero);
+        if (p == null) return null;
+        StringBuilder sb = new StringBuilder();
+        sb.append("Proyecto ").append(p.getId()).append(" - ").append(p.getCliente()).append("\n");
+        sb.append("Domicilio: ").append(p.getDomicilio()).append("\n");
+        sb.append("Inicio: ").append(p.getFechaInicio()).append(" - Prevista: ").append(p.getFechaPrevista()).append("\n");
+        sb.append("Tareas:\n");
+        for (VistaTarea t : p.getTareas()) {
+            sb.append(" - ").append(t.getTitulo())
+                    .append(" [resp: ").append(t.tieneResponsable() ? String.valueOf(t.getLegajoResponsable()) : "SIN")
+                    .append("] [dur: ").append(t.getDuracionDias())
+                    .append("] [finReal: ").append(t.getFechaReal()).append("]\n");
+        }
+        return sb.toString();
+    }
+
+    // -------------------------
+    // CONSULTAS PAGINADAS
+    // -------------------------
+    // todas las paginas pedidas a la misma instantanea son del mismo estado
+
+    public Pagina<Tupla<Integer, String>> paginaEmpleados(Integer desde, int tamanio) {
+        if (tamanio <= 0) throw new IllegalArgumentException("Tamaño de página inválido");
+        List<Tupla<Integer, String>> out = new ArrayList<>(Math.min(tamanio, 1024));
+        Integer siguiente = null;
+        for (VistaEmpleado e : desde == null ? empleados.valores() : empleados.valoresDesde(desde)) {
+            if (out.size() == tamanio) {
+                siguiente = e.getLegajo();
+                break;
+            }
+            out.add(new Tupla<>(e.getLegajo(), e.getNombre()));
+        }
+        return new Pagina<>(out, siguiente);
+    }
+
+    public Pagina<Tupla<Integer, String>> paginaProyectosPendientes(Integer desde, int tamanio) {
+        return paginaDeProyectos(pendientes, desde, tamanio);
+    }
+
+    public Pagina<Tupla<Integer, String>> paginaProyectosActivos(Integer desde, int tamanio) {
+        return paginaDeProyectos(activos, desde, tamanio);
+    }
+
+    public Pagina<Tupla<Integer, String>> paginaProyectosFinalizados(Integer desde, int tamanio) {
+        return paginaDeProyectos(finalizados, desde, tamanio);
+    }
+
+    private Pagina<Tupla<Integer, String>> paginaDeProyectos(MapaPersistente<Integer> indice, Integer desde, int tamanio) {
+        if (tamanio <= 0) throw new IllegalArgumentException("Tamaño de página inválido");
+        List<Tupla<Integer, String>> out = new ArrayList<>(Math.min(tamanio, 1024));
+        Integer siguiente = null;
+        for (Integer id : desde == null ? indice.valores() : indice.valoresDesde(desde)) {
+            if (out.size() == tamanio) {
+                siguiente = id;
+                break;
+            }
+            out.add(new Tupla<>(id, proyectos.get(id).getDomicilio()));
+        }
+        return new Pagina<>(out, siguiente);
+    }
+
+    // los mismos mensajes que HomeSolution
+    private VistaProyecto proyectoOrError(Integer numero) {
+        VistaProyecto p = proyecto(numero);
+        if (p == null) throw new IllegalArgumentException("Proyecto no existe: " + numero);
+        return p;
+    }
+
+    private List<Tupla<Integer, String>> tuplasDeEmpleados(int[] legajos, String sinNombre) {
+        List<Tupla<Integer, String>> out = new ArrayList<>(legajos.length);
+        for (int leg : legajos) {
+            VistaEmpleado e = empleados.get(leg);
+            out.add(new Tupla<>(leg, e != null ? e.getNombre() : sinNombre));
+        }
+        return out;
+    }
+
+    private List<Tupla<Integer, String>> tuplasDeProyectos(MapaPersistente<Integer> indice) {
+        List<Tupla<Integer, String>> out = new ArrayList<>(indice.size());
+        for (Integer id : indice.valores()) out.add(new Tupla<>(id, proyectos.get(id).getDomicilio()));
+        return out;
+    }
+}
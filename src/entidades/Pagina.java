@@ -0,0 +1,32 @@
+package entidades;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Una pagina de una consulta paginada.
+ * siguiente es la clave desde la que se pide la pagina que sigue (null si no hay mas).
+ * Las claves son ids (legajo o numero de proyecto), asi que la pagina siguiente no se corre
+ * aunque se registren datos nuevos entre pedido y pedido.
+ */
+public class Pagina<T> {
+    private final List<T> elementos;
+    private final Integer siguiente;
+
+    public Pagina(List<T> elementos, Integer siguiente) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.siguiente = siguiente;
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    public Integer getSiguiente() {
+        return siguiente;
+    }
+
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+}
@@ -0,0 +1,155 @@
+package entidades;
+
+import colecciones.ColaInt;
+import colecciones.MapaInt;
+
+import java.util.Arrays;
+import java.util.NavigableSet;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Pool de empleados libres con dos ordenes:
+ * FIFO (el primero que se libera es el primero que se toma) y por (nRetrasos, legajo).
+ * Tomar y liberar por FIFO o quitar un legajo cualquiera cuestan O(1) en la cola
+ * y O(log n) en el indice por retrasos; tomar el de menos retrasos cuesta O(log n).
+ * Solo contiene empleados libres, los asignados no se recorren nunca.
+ */
+public class PoolEmpleadosLibres {
+    private final ColaInt cola;                  // legajos en orden FIFO
+    private final MapaInt<Empleado> libres;       // legajo -> empleado libre
+    private final NavigableSet<Empleado> porRetrasos; // orden por (nRetrasos, legajo)
+    private int turnos;        // turno del proximo que se libere
+    private int renumeraciones; // veces que se renumeraron los turnos al llegar al maximo
+
+    public PoolEmpleadosLibres() {
+        this.cola = new ColaInt();
+        this.libres = new MapaInt<>();
+        this.porRetrasos = new TreeSet<>(Empleado.POR_RETRASOS);
+    }
+
+    /**
+     * Agrega el empleado al final de la cola. Si ya estaba libre conserva su lugar.
+     */
+    public boolean liberar(Empleado e) {
+        if (!cola.agregarAlFinal(e.getLegajo())) return false;
+        if (turnos == Integer.MAX_VALUE) renumerar();
+        e.turnoLibre = turnos++;
+        libres.put(e.getLegajo(), e);
+        porRetrasos.add(e);
+        return true;
+    }
+
+    /**
+     * Saca y devuelve el primer empleado libre en orden FIFO, o null si no hay ninguno.
+     */
+    public Empleado tomarPrimero() {
+        if (cola.isEmpty()) return null;
+        Empleado e = libres.remove(cola.sacarPrimero());
+        porRetrasos.remove(e);
+        return e;
+    }
+
+    /**
+     * Saca y devuelve el empleado libre con menos retrasos (desempata por legajo), o null.
+     */
+    public Empleado tomarMenosRetrasos() {
+        Empleado e = porRetrasos.pollFirst();
+        if (e != null) {
+            cola.quitar(e.getLegajo());
+            libres.remove(e.getLegajo());
+        }
+        return e;
+    }
+
+    /**
+     * Devuelve sin sacarlo el empleado libre con menos retrasos, o null.
+     */
+    public Empleado menosRetrasos() {
+        return porRetrasos.isEmpty() ? null : porRetrasos.first();
+    }
+
+    /**
+     * Quita un legajo cualquiera del pool (por ejemplo al reasignarlo a mano).
+     */
+    public boolean quitar(int legajo) {
+        Empleado e = libres.remove(legajo);
+        if (e == null) return false;
+        cola.quitar(legajo);
+        porRetrasos.remove(e);
+        return true;
+    }
+
+    /**
+     * Suma retrasos al empleado manteniendo ordenado el indice si esta libre.
+     * nRetrasos es parte de la clave del TreeSet: hay que sacarlo antes de modificarlo.
+     */
+    public void sumarRetraso(Empleado e, int dias) {
+        boolean libre = porRetrasos.remove(e);
+        e.sumarRetraso(dias);
+        if (libre) porRetrasos.add(e);
+    }
+
+    /**
+     * Carga un pool vacio de una vez.
+     * @param fifo los libres en orden de cola.
+     * @param ordenados los mismos empleados ya ordenados por (nRetrasos, legajo).
+     */
+    void restaurar(Empleado[] fifo, SortedSet<Empleado> ordenados) {
+        if (!cola.isEmpty()) throw new IllegalStateException("El pool ya tiene empleados");
+        cola.reservar(fifo.length);
+        libres.reservar(fifo.length);
+        for (Empleado e : fifo) {
+            cola.agregarAlFinal(e.getLegajo());
+            e.turnoLibre = turnos++;
+            libres.put(e.getLegajo(), e);
+        }
+        porRetrasos.addAll(ordenados); // con el mismo comparador TreeSet lo copia sin comparar
+    }
+
+    /**
+     * Cuantas veces se renumeraron los turnos de los libres. Cambia solo cuando se agotan los
+     * int, y entonces los turnos que se hayan copiado antes dejan de valer.
+     */
+    int getRenumeraciones() {
+        return renumeraciones;
+    }
+
+    // vuelve a numerar desde 0 en el orden de la cola; el ultimo liberado (ya en la cola) recibe
+    // su turno despues
+    private void renumerar() {
+        int[] orden = cola.toArray();
+        turnos = 0;
+        for (int i = 0; i < orden.length - 1; i++) libres.get(orden[i]).turnoLibre = turnos++;
+        renumeraciones++;
+    }
+
+    public boolean contiene(int legajo) {
+        return libres.containsKey(legajo);
+    }
+
+    public int cantidad() {
+        return cola.size();
+    }
+
+    public boolean estaVacio() {
+        return cola.isEmpty();
+    }
+
+    /** Bytes aproximados de la cola y la tabla de libres, sin los nodos del indice por retrasos. */
+    public long bytesTablas() {
+        return cola.bytesEstimados() + libres.bytesEstimados();
+    }
+
+    /**
+     * Legajos libres en el orden en que serian tomados por FIFO.
+     */
+    public int[] legajosEnOrden() {
+        return cola.toArray();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(legajosEnOrden());
+    }
+}
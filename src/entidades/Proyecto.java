@@ -1,9 +1,17 @@
 package entidades;
 
+import colecciones.ConjuntoInt;
+import colecciones.ListaInt;
+import colecciones.MapaInt;
+import colecciones.SumaExacta;
+
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.IntFunction;
 
 public class Proyecto {
+    private static final EstadoTarea[] ESTADOS = EstadoTarea.values();
+
     private final int id;
     private final String cliente; 
     private final String domicilio;
@@ -11,8 +19,16 @@ public class Proyecto {
     private LocalDate fechaPrevista;
     private LocalDate fechaReal;
     private final Map<String, Tarea> tareasByTitulo;
-    private final Set<Integer> empleadosActuales;
-    private final List<Integer> historialEmpleados;
+    private final ConjuntoInt empleadosActuales;
+    private final ListaInt historialEmpleados;
+    private final MapaInt<Responsabilidad> responsables; // legajo -> tareas a su cargo
+    // pago de cada tarea con responsable, sin el factor por fechas; exacta para no arrastrar
+    // error de redondeo de tantas sumas y restas
+    private final SumaExacta costoBase;
+    // tareas de cada estado en listas enlazadas por la propia Tarea, en el orden en que entraron al estado
+    private final Tarea[] primeraEnEstado = new Tarea[ESTADOS.length];
+    private final Tarea[] ultimaEnEstado = new Tarea[ESTADOS.length];
+    private final int[] cantidadEnEstado = new int[ESTADOS.length];
 
     public Proyecto(int id, String cliente, String domicilio, LocalDate fechaInicio, LocalDate fechaPrevista) {
         this.id = id;
@@ -22,8 +38,10 @@ public class Proyecto {
         this.fechaPrevista = fechaPrevista;
         this.fechaReal = null;
         this.tareasByTitulo = new LinkedHashMap<>();
-        this.empleadosActuales = new HashSet<>();
-        this.historialEmpleados = new ArrayList<>();
+        this.empleadosActuales = new ConjuntoInt();
+        this.historialEmpleados = new ListaInt();
+        this.responsables = new MapaInt<>(4);
+        this.costoBase = new SumaExacta();
     }
 
     public int getId() {
@@ -54,8 +72,27 @@ public class Proyecto {
         this.fechaReal = fechaReal;
     }
 
+    /**
+     * Agrega la tarea en el estado que ya tenga (Snapshot las agrega asignadas o finalizadas).
+     */
     public void agregarTarea(Tarea t) {
-        tareasByTitulo.put(t.getTitulo(), t);
+        Tarea anterior = tareasByTitulo.put(t.getTitulo(), t);
+        if (anterior != null) {
+            t.indice = anterior.indice; // reemplaza a la del mismo titulo en su lugar
+            desenlazar(anterior, anterior.getEstado());
+        } else {
+            t.indice = tareasByTitulo.size() - 1;
+        }
+        enlazar(t, t.getEstado());
+    }
+
+    /**
+     * Marca la tarea como finalizada y la pasa al estado FINALIZADA.
+     */
+    public void finalizarTarea(Tarea t, LocalDate fecha) {
+        EstadoTarea antes = t.getEstado();
+        t.marcarFinalizada(fecha);
+        mover(t, antes);
     }
 
     public Tarea obtenerTareaPorTitulo(String titulo) {
@@ -66,25 +103,201 @@ public class Proyecto {
         return tareasByTitulo.values();
     }
 
+    public int cantidadTareas(EstadoTarea estado) {
+        return cantidadEnEstado[estado.ordinal()];
+    }
+
+    /** true si todas las tareas estan finalizadas (tambien si no tiene tareas). */
+    public boolean todasFinalizadas() {
+        return cantidadEnEstado[EstadoTarea.FINALIZADA.ordinal()] == tareasByTitulo.size();
+    }
+
+    /**
+     * Copia de las tareas en el estado pedido, en el orden en que entraron a ese estado
+     * (las SIN_ASIGNAR quedan en orden de alta). Cuesta lo que el resultado.
+     */
+    public Tarea[] tareasEn(EstadoTarea estado) {
+        Tarea[] out = new Tarea[cantidadEnEstado[estado.ordinal()]];
+        int n = 0;
+        for (Tarea t = primeraEnEstado[estado.ordinal()]; t != null; t = t.siguienteEnEstado) out[n++] = t;
+        return out;
+    }
+
+    /** Titulos de las tareas en el estado pedido, en el mismo orden que tareasEn. */
+    public Object[] titulosEn(EstadoTarea estado) {
+        Object[] out = new Object[cantidadEnEstado[estado.ordinal()]];
+        int n = 0;
+        for (Tarea t = primeraEnEstado[estado.ordinal()]; t != null; t = t.siguienteEnEstado) out[n++] = t.getTitulo();
+        return out;
+    }
+
     public void agregarEmpleadoActual(int legajo) {
-        if (!empleadosActuales.contains(legajo)) {
-            empleadosActuales.add(legajo);
+        if (empleadosActuales.add(legajo)) {
             historialEmpleados.add(legajo);
         }
     }
 
-    public void removerEmpleadoActual(int legajo) {
-        empleadosActuales.remove(legajo);
+    /** @return true si legajo era un empleado actual. */
+    public boolean removerEmpleadoActual(int legajo) {
+        return empleadosActuales.remove(legajo);
     }
 
-    public List<Integer> getHistorialEmpleados() {
-        return Collections.unmodifiableList(historialEmpleados);
+    /**
+     * Pone a nuevo como responsable de t y actualiza el costo base del proyecto.
+     * anterior tiene que ser el responsable actual de t, o null si no tenia.
+     */
+    public void asignarResponsable(Tarea t, Empleado nuevo, Empleado anterior) {
+        if (anterior != null) {
+            Responsabilidad r = responsables.get(anterior.getLegajo());
+            if (r != null) {
+                costoBase.restar(anterior.calcularPagoTarea(t.getDuracionDias()));
+                if (--r.tareas == 0) responsables.remove(anterior.getLegajo());
+            }
+        }
+        EstadoTarea antes = t.getEstado();
+        t.asignarResponsable(nuevo.getLegajo());
+        mover(t, antes);
+        contarResponsable(nuevo.getLegajo());
+        costoBase.sumar(nuevo.calcularPagoTarea(t.getDuracionDias()));
+        agregarEmpleadoActual(nuevo.getLegajo());
+    }
+
+    /**
+     * Quita del costo base lo que cobra e por todas sus tareas en el proyecto.
+     * Se usa junto con sumarCostoDe cuando cambia algo que altera el pago de e;
+     * recorre las tareas del proyecto solo si e tiene alguna a cargo.
+     */
+    public void descontarCostoDe(Empleado e) {
+        if (!responsables.containsKey(e.getLegajo())) return;
+        for (Tarea t : tareasByTitulo.values()) {
+            if (t.getLegajoResponsable() == e.getLegajo()) costoBase.restar(e.calcularPagoTarea(t.getDuracionDias()));
+        }
+    }
+
+    public void sumarCostoDe(Empleado e) {
+        if (!responsables.containsKey(e.getLegajo())) return;
+        for (Tarea t : tareasByTitulo.values()) {
+            if (t.getLegajoResponsable() == e.getLegajo()) costoBase.sumar(e.calcularPagoTarea(t.getDuracionDias()));
+        }
     }
 
-    public Set<Integer> getEmpleadosActuales() {
-        return Collections.unmodifiableSet(empleadosActuales);
+    public boolean tieneTareasACargo(int legajo) {
+        return responsables.containsKey(legajo);
     }
 
+    /**
+     * Costo de los responsables actuales de las tareas, sin el recargo/descuento por fechas.
+     */
+    public double getCostoBase() {
+        return costoBase.getValor();
+    }
+
+    /**
+     * Costo total: el costo base con el recargo (sin terminar o terminado tarde)
+     * o el descuento (terminado antes) por fechas.
+     */
+    public double getCosto() {
+        double suma = costoBase.getValor();
+        if (fechaPrevista != null) {
+            if (fechaReal == null) {
+                suma *= 1.35;
+            } else {
+                if (fechaReal.isAfter(fechaPrevista)) suma *= 1.25;
+                else if (fechaReal.isBefore(fechaPrevista)) suma *= 0.75;
+            }
+        }
+        return suma;
+    }
+
+    public int cantidadTareas() {
+        return tareasByTitulo.size();
+    }
+
+    /**
+     * Copia de los legajos que trabajaron en el proyecto, en orden de asignacion.
+     */
+    public int[] getHistorialEmpleados() {
+        return historialEmpleados.toArray();
+    }
+
+    /**
+     * Copia de los legajos asignados actualmente (sin orden definido).
+     */
+    public int[] getEmpleadosActuales() {
+        return empleadosActuales.toArray();
+    }
+
+    public int cantidadEmpleadosActuales() {
+        return empleadosActuales.size();
+    }
+
+    public int cantidadHistorial() {
+        return historialEmpleados.size();
+    }
+
+    /** Legajo en la posicion i del historial. */
+    public int legajoEnHistorial(int i) {
+        return historialEmpleados.get(i);
+    }
+
+    /**
+     * Carga el estado guardado por Snapshot: las tareas ya se agregaron con su responsable.
+     * El costo base se recalcula con los empleados de empleadoPorLegajo; como la suma es exacta
+     * da lo mismo que tenia al guardarse.
+     */
+    void restaurar(int[] historial, int[] actuales, IntFunction<Empleado> empleadoPorLegajo) {
+        for (int leg : historial) historialEmpleados.add(leg);
+        for (int leg : actuales) empleadosActuales.add(leg);
+        for (Tarea t : tareasByTitulo.values()) {
+            if (!t.tieneResponsable()) continue;
+            contarResponsable(t.getLegajoResponsable());
+            Empleado e = empleadoPorLegajo.apply(t.getLegajoResponsable());
+            if (e != null) costoBase.sumar(e.calcularPagoTarea(t.getDuracionDias()));
+        }
+    }
+
+    private void contarResponsable(int legajo) {
+        Responsabilidad r = responsables.get(legajo);
+        if (r == null) {
+            r = new Responsabilidad();
+            responsables.put(legajo, r);
+        }
+        r.tareas++;
+    }
+
+
+    private void mover(Tarea t, EstadoTarea antes) {
+        EstadoTarea ahora = t.getEstado();
+        if (ahora == antes) return;
+        desenlazar(t, antes);
+        enlazar(t, ahora);
+    }
+
+    private void enlazar(Tarea t, EstadoTarea estado) {
+        int i = estado.ordinal();
+        t.siguienteEnEstado = null;
+        t.anteriorEnEstado = ultimaEnEstado[i];
+        if (ultimaEnEstado[i] == null) primeraEnEstado[i] = t;
+        else ultimaEnEstado[i].siguienteEnEstado = t;
+        ultimaEnEstado[i] = t;
+        cantidadEnEstado[i]++;
+    }
+
+    private void desenlazar(Tarea t, EstadoTarea estado) {
+        int i = estado.ordinal();
+        if (t.anteriorEnEstado == null) primeraEnEstado[i] = t.siguienteEnEstado;
+        else t.anteriorEnEstado.siguienteEnEstado = t.siguienteEnEstado;
+        if (t.siguienteEnEstado == null) ultimaEnEstado[i] = t.anteriorEnEstado;
+        else t.siguienteEnEstado.anteriorEnEstado = t.anteriorEnEstado;
+        t.anteriorEnEstado = null;
+        t.siguienteEnEstado = null;
+        cantidadEnEstado[i]--;
+    }
+
+    // cantidad de tareas de las que un empleado es responsable en este proyecto
+    private static class Responsabilidad {
+        int tareas;
+    }
 
     @Override
     public String toString() {
@@ -0,0 +1,119 @@
+package entidades;
+
+import colecciones.MapaInt;
+import colecciones.MapaPersistente;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mantiene la Instantanea de un HomeSolution. HomeSolution avisa que empleados y proyectos
+ * toco durante una operacion (y de cada proyecto, que tareas) y al terminarla pide publicar:
+ * se copian solo esos, se cambian en los mapas persistentes (O(log n) cada uno) y la
+ * instantanea nueva reemplaza a la anterior en un campo volatile. Todo menos instantanea() corre en el hilo que modifica.
+ */
+final class PublicadorInstantaneas {
+    private static final int TOCADOS_GRANDE = 64; // mas que esto no se vacia: se cambia por un mapa chico
+
+    private MapaInt<Empleado> empleadosTocados = new MapaInt<>();
+    private MapaInt<Proyecto> proyectosTocados = new MapaInt<>();
+    private MapaInt<List<Tarea>> tareasTocadas = new MapaInt<>(); // id de proyecto -> tareas que cambiaron
+    // los editores se reusan entre publicaciones; terminar() deja compartido lo ya publicado
+    private final MapaPersistente.Editor<VistaEmpleado> empleados = MapaPersistente.<VistaEmpleado>vacio().editar();
+    private final MapaPersistente.Editor<VistaProyecto> proyectos = MapaPersistente.<VistaProyecto>vacio().editar();
+    // los indices por estado guardan solo el numero: se copian cuando un proyecto cambia de estado, no en cada cambio
+    private final MapaPersistente.Editor<Integer> pendientes = MapaPersistente.<Integer>vacio().editar();
+    private final MapaPersistente.Editor<Integer> activos = MapaPersistente.<Integer>vacio().editar();
+    private final MapaPersistente.Editor<Integer> finalizados = MapaPersistente.<Integer>vacio().editar();
+    // turno -> legajo de los libres: recorrerlo en orden es recorrer la cola FIFO
+    private MapaPersistente.Editor<Integer> libres = MapaPersistente.<Integer>vacio().editar();
+    private final HomeSolution hs;
+    private int renumeraciones;
+    private long version;
+    private volatile Instantanea publicada;
+
+    /** Arranca con todo el estado actual de hs: O(n), una sola vez. */
+    PublicadorInstantaneas(HomeSolution hs) {
+        this.hs = hs;
+        this.renumeraciones = hs.renumeracionesLibres();
+        for (Empleado e : hs.empleadosSinOrden()) tocar(e);
+        for (Proyecto p : hs.proyectosSinOrden()) tocar(p);
+        publicar();
+    }
+
+    Instantanea instantanea() {
+        return publicada;
+    }
+
+    void tocar(Empleado e) {
+        empleadosTocados.put(e.getLegajo(), e);
+    }
+
+    void tocar(Proyecto p) {
+        proyectosTocados.put(p.getId(), p);
+    }
+
+    /** Cambio la tarea t de p (o se agrego). Si no se avisa, la vista nueva de p reusa la de antes. */
+    void tocar(Proyecto p, Tarea t) {
+        tocar(p);
+        List<Tarea> ts = tareasTocadas.get(p.getId());
+        if (ts == null) {
+            ts = new ArrayList<>(2);
+            tareasTocadas.put(p.getId(), ts);
+        }
+        ts.add(t);
+    }
+
+    void publicar() {
+        if (publicada != null && empleadosTocados.isEmpty() && proyectosTocados.isEmpty()) return;
+        // si el pool renumero los turnos, los publicados ya no sirven: se rearma la cola con todos
+        boolean renumerado = hs.renumeracionesLibres() != renumeraciones;
+        if (renumerado) {
+            renumeraciones = hs.renumeracionesLibres();
+            libres = MapaPersistente.<Integer>vacio().editar();
+            for (Empleado e : hs.empleadosSinOrden()) tocar(e);
+        }
+        for (Empleado e : empleadosTocados.valores()) {
+            VistaEmpleado v = VistaEmpleado.de(e);
+            VistaEmpleado previa = renumerado ? null : empleados.get(v.getLegajo());
+            int antes = previa == null ? -1 : previa.turnoLibre;
+            if (antes != v.turnoLibre) {
+                if (antes >= 0) libres.sin(antes);
+                if (v.turnoLibre >= 0) libres.con(v.turnoLibre, v.getLegajo());
+            }
+            empleados.con(v.getLegajo(), v);
+        }
+        for (Proyecto p : proyectosTocados.valores()) {
+            List<Tarea> cambiadas = tareasTocadas.get(p.getId());
+            VistaProyecto v = VistaProyecto.de(p, proyectos.get(p.getId()),
+                    cambiadas == null ? Collections.emptyList() : cambiadas);
+            int id = v.getId();
+            proyectos.con(id, v);
+            if (v.estaFinalizado()) {
+                pendientes.sin(id);
+                activos.sin(id);
+                agregar(finalizados, id);
+            } else {
+                finalizados.sin(id);
+                agregar(pendientes, id);
+                if (v.estaActivo()) agregar(activos, id);
+                else activos.sin(id);
+            }
+        }
+        // clear() recorre toda la tabla: despues de una carga grande sale mas barato una nueva
+        if (empleadosTocados.size() > TOCADOS_GRANDE) empleadosTocados = new MapaInt<>();
+        else empleadosTocados.clear();
+        if (proyectosTocados.size() > TOCADOS_GRANDE) proyectosTocados = new MapaInt<>();
+        else proyectosTocados.clear();
+        if (tareasTocadas.size() > TOCADOS_GRANDE) tareasTocadas = new MapaInt<>();
+        else tareasTocadas.clear();
+        publicada = new Instantanea(version++, empleados.terminar(), proyectos.terminar(),
+                pendientes.terminar(), activos.terminar(), finalizados.terminar(), libres.terminar());
+    }
+
+    // sin() de una clave que no esta no copia nada; con() siempre copia el camino, por eso se pregunta antes
+    private static void agregar(MapaPersistente.Editor<Integer> indice, int id) {
+        if (indice.get(id) == null) indice.con(id, id);
+    }
+}
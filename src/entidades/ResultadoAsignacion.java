@@ -0,0 +1,46 @@
+package entidades;
+
+/**
+ * Resultado de asignar una tarea dentro de una asignacion en lote.
+ * Si no se pudo asignar, legajo es null y motivo explica por que.
+ * Si el que falla es el proyecto entero, titulo es null.
+ */
+public class ResultadoAsignacion {
+    private final Integer numeroProyecto;
+    private final String titulo;
+    private final Integer legajo;
+    private final String motivo;
+
+    public ResultadoAsignacion(Integer numeroProyecto, String titulo, Integer legajo, String motivo) {
+        this.numeroProyecto = numeroProyecto;
+        this.titulo = titulo;
+        this.legajo = legajo;
+        this.motivo = motivo;
+    }
+
+    public Integer getNumeroProyecto() {
+        return numeroProyecto;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public Integer getLegajo() {
+        return legajo;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    public boolean fueAsignada() {
+        return legajo != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Proyecto " + numeroProyecto + " - " + titulo + " -> "
+                + (legajo != null ? legajo : "SIN ASIGNAR (" + motivo + ")");
+    }
+}
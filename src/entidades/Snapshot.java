@@ -0,0 +1,332 @@
+package entidades;
+
+import colecciones.MapaInt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.CRC32;
+
+/**
+ * Foto binaria del estado completo de un HomeSolution: empleados con sus datos
+ * segun el tipo, proyectos con tareas, fechas e historial, orden del pool de libres
+ * y contadores de id. Los indices no se guardan, se reconstruyen al cargar.
+ *
+ * Formato (version 1, big endian):
+ *   cabecera: MAGIA, VERSION, marca long, nextLegajo, nextProyectoId, nextTareaId,
+ *             cantidad de empleados, de libres y de proyectos
+ *   empleados, legajos libres en orden FIFO, proyectos con sus tareas
+ *   (empleados y proyectos en cualquier orden: al cargar van a la posicion de su legajo/id)
+ *   crc32 de todo lo anterior
+ * Textos: largo int + UTF-8. Fechas: dia epoch, SIN_FECHA si es null.
+ *
+ * Tomar la foto tiene dos pasos para no frenar a quien modifica el estado:
+ * capturar copia el estado a un buffer en memoria (con el estado quieto) y
+ * escribir lo baja a disco despues, sin bloquear a nadie.
+ */
+public final class Snapshot {
+
+    static final int MAGIA = 0x48534E50; // "HSNP"
+    static final int VERSION = 1;
+    private static final long SIN_FECHA = Long.MIN_VALUE;
+    private static final byte CONTRATADO = 0;
+    private static final byte PLANTA = 1;
+
+    private Snapshot() {
+    }
+
+    /**
+     * Copia el estado de hs a un buffer listo para escribir. Mientras dura nadie debe modificar hs.
+     * @param marca dato opaco que vuelve al cargar (por ejemplo la posicion del journal).
+     */
+    public static ByteBuffer capturar(HomeSolution hs, long marca) {
+        int empleados = hs.getNextLegajo() - hs.primerLegajo();
+        int proyectos = hs.getNextProyectoId() - 1;
+        Salida out = new Salida(64L * empleados + 512L * proyectos); // estimado para no agrandar el buffer
+        int[] libres = hs.legajosLibresEnOrden();
+        out.entero(MAGIA).entero(VERSION).largo(marca)
+                .entero(hs.getNextLegajo()).entero(hs.getNextProyectoId()).entero(hs.getNextTareaId())
+                .entero(empleados).entero(libres.length).entero(proyectos);
+
+        // se escriben en orden de tabla; legajos e ids son consecutivos y al cargar van a su posicion
+        for (Empleado e : hs.empleadosSinOrden()) {
+            int leg = e.getLegajo();
+            if (e instanceof EmpleadoPlanta) {
+                EmpleadoPlanta ep = (EmpleadoPlanta) e;
+                out.byte_(PLANTA).entero(leg).texto(e.getNombre()).entero(e.getNRetrasos()).logico(e.isAsignado())
+                        .real(ep.getValorDia()).texto(ep.getCategoria()).logico(ep.isSinRetrasosPeriodo());
+            } else {
+                EmpleadoContratado ec = (EmpleadoContratado) e;
+                out.byte_(CONTRATADO).entero(leg).texto(e.getNombre()).entero(e.getNRetrasos()).logico(e.isAsignado())
+                        .real(ec.getValorHora());
+            }
+        }
+        out.enteros(libres);
+
+        for (Proyecto p : hs.proyectosSinOrden()) {
+            out.entero(p.getId()).texto(p.getCliente()).texto(p.getDomicilio())
+                    .fecha(p.getFechaInicio()).fecha(p.getFechaPrevista()).fecha(p.getFechaReal())
+                    .real(p.getCostoBase())
+                    .enteros(p.getHistorialEmpleados()).enteros(p.getEmpleadosActuales())
+                    .entero(p.getTodasLasTareas().size());
+            for (Tarea t : p.getTodasLasTareas()) {
+                out.entero(t.getId()).texto(t.getTitulo()).texto(t.getDescripcion()).real(t.getDuracionDias())
+                        .fecha(t.getFechaPrevista()).fecha(t.getFechaReal()).entero(t.getLegajoResponsable());
+            }
+        }
+        return out.cerrar();
+    }
+
+    /**
+     * Escribe los datos de capturar en archivo. Se escribe a un temporal que reemplaza
+     * al archivo con un rename atomico: un corte deja la foto anterior intacta.
+     */
+    public static void escribir(ByteBuffer datos, Path archivo) throws IOException {
+        Path tmp = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer b = datos.duplicate();
+            while (b.hasRemaining()) canal.write(b);
+            canal.force(true);
+        }
+        Files.move(tmp, archivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // el rename recien es durable con el fsync de la carpeta (Windows no deja abrirlas)
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        if (carpeta != null && !System.getProperty("os.name").startsWith("Windows")) {
+            try (FileChannel c = FileChannel.open(carpeta, StandardOpenOption.READ)) {
+                c.force(true);
+            }
+        }
+    }
+
+    public static void guardar(HomeSolution hs, Path archivo) throws IOException {
+        escribir(capturar(hs, 0), archivo);
+    }
+
+    /**
+     * Carga la foto en destino, que tiene que estar recien creado.
+     * Mapea el archivo y arma objetos e indices en una sola pasada.
+     * @return la marca guardada al capturar.
+     * @throws IOException si el archivo no es una foto valida de esta version.
+     */
+    public static long cargar(Path archivo, HomeSolution destino) throws IOException {
+        if (destino.getNextLegajo() != destino.primerLegajo() || destino.getNextProyectoId() != 1)
+            throw new IllegalArgumentException("El destino ya tiene datos");
+        MappedByteBuffer b;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) throw new IOException("Snapshot demasiado grande");
+            b = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+        if (b.limit() < 4 || b.getInt(0) != MAGIA) throw new IOException("No es un snapshot: " + archivo);
+        verificarCrc(b, archivo);
+        b.position(4);
+        int version = b.getInt();
+        if (version != VERSION) throw new IOException("Version de snapshot no soportada: " + version);
+
+        long marca = b.getLong();
+        int nextLegajo = b.getInt();
+        int nextProyectoId = b.getInt();
+        int nextTareaId = b.getInt();
+        int empleados = b.getInt();
+        int libres = b.getInt();
+        int proyectos = b.getInt();
+        Entrada in = new Entrada(b);
+
+        int primero = destino.primerLegajo();
+        Empleado[] porLegajo = new Empleado[empleados];
+        for (int i = 0; i < empleados; i++) {
+            byte tipo = b.get();
+            int legajo = b.getInt();
+            String nombre = in.texto();
+            int retrasos = b.getInt();
+            boolean asignado = b.get() != 0;
+            Empleado e;
+            if (tipo == PLANTA) {
+                double valor = b.getDouble();
+                EmpleadoPlanta ep = new EmpleadoPlanta(legajo, nombre, valor, in.texto());
+                ep.setSinRetrasosPeriodo(b.get() != 0);
+                e = ep;
+            } else {
+                e = new EmpleadoContratado(legajo, nombre, b.getDouble());
+            }
+            e.sumarRetraso(retrasos);
+            if (asignado) e.marcarAsignado();
+            int pos = legajo - primero;
+            if (pos < 0 || pos >= empleados || porLegajo[pos] != null)
+                throw new IOException("Snapshot inconsistente: legajo " + legajo);
+            porLegajo[pos] = e;
+        }
+        int[] fifo = in.enteros();
+        if (fifo.length != libres) throw new IOException("Snapshot inconsistente: libres");
+        try {
+            destino.restaurarEmpleados(porLegajo, fifo);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Snapshot inconsistente: " + e.getMessage(), e);
+        }
+
+        Proyecto[] porId = new Proyecto[proyectos];
+        for (int i = 0; i < proyectos; i++) {
+            int id = b.getInt();
+            String cliente = in.texto();
+            String domicilio = in.texto();
+            LocalDate inicio = in.fecha();
+            LocalDate prevista = in.fecha();
+            Proyecto p = new Proyecto(id, cliente, domicilio, inicio, prevista);
+            p.setFechaReal(in.fecha());
+            b.getDouble(); // costo base: se recalcula en restaurar, queda en el formato por compatibilidad
+            int[] historial = in.enteros();
+            int[] actuales = in.enteros();
+            int tareas = b.getInt();
+            for (int j = 0; j < tareas; j++) {
+                int tid = b.getInt();
+                String titulo = in.texto();
+                String descripcion = in.texto();
+                double duracion = b.getDouble();
+                Tarea t = new Tarea(tid, titulo, descripcion, duracion, in.fecha());
+                LocalDate fin = in.fecha();
+                if (fin != null) t.marcarFinalizada(fin);
+                int responsable = b.getInt();
+                if (responsable != Tarea.SIN_RESPONSABLE) t.asignarResponsable(responsable);
+                p.agregarTarea(t);
+            }
+            p.restaurar(historial, actuales, leg -> {
+                int pos = leg - primero;
+                return pos >= 0 && pos < empleados ? porLegajo[pos] : null;
+            });
+            if (id < 1 || id > proyectos || porId[id - 1] != null)
+                throw new IOException("Snapshot inconsistente: proyecto " + id);
+            porId[id - 1] = p;
+        }
+        destino.restaurarProyectos(porId);
+        destino.restaurarContadores(nextLegajo, nextProyectoId, nextTareaId);
+        return marca;
+    }
+
+    private static void verificarCrc(ByteBuffer b, Path archivo) throws IOException {
+        if (b.limit() < 8) throw new IOException("Snapshot incompleto: " + archivo);
+        ByteBuffer datos = b.duplicate();
+        datos.position(0).limit(b.limit() - 4);
+        CRC32 crc = new CRC32();
+        crc.update(datos);
+        if ((int) crc.getValue() != b.getInt(b.limit() - 4))
+            throw new IOException("Snapshot danado (crc): " + archivo);
+    }
+
+    // buffer en memoria que crece al doble
+    private static final class Salida {
+        private ByteBuffer b;
+
+        Salida(long estimado) {
+            b = ByteBuffer.allocate((int) Math.min(Math.max(estimado, 1 << 16), Integer.MAX_VALUE - 8));
+        }
+
+        Salida byte_(byte v) {
+            lugar(1).put(v);
+            return this;
+        }
+
+        Salida entero(int v) {
+            lugar(4).putInt(v);
+            return this;
+        }
+
+        Salida largo(long v) {
+            lugar(8).putLong(v);
+            return this;
+        }
+
+        Salida real(double v) {
+            lugar(8).putDouble(v);
+            return this;
+        }
+
+        Salida logico(boolean v) {
+            return byte_((byte) (v ? 1 : 0));
+        }
+
+        Salida fecha(LocalDate d) {
+            return largo(d == null ? SIN_FECHA : d.toEpochDay());
+        }
+
+        Salida texto(String s) {
+            if (s == null) return entero(-1);
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            lugar(4 + bytes.length).putInt(bytes.length).put(bytes);
+            return this;
+        }
+
+        Salida enteros(int[] v) {
+            lugar(4 + 4 * v.length).putInt(v.length);
+            for (int x : v) b.putInt(x);
+            return this;
+        }
+
+        ByteBuffer cerrar() {
+            ByteBuffer datos = b.duplicate();
+            datos.flip();
+            CRC32 crc = new CRC32();
+            crc.update(datos);
+            entero((int) crc.getValue());
+            b.flip();
+            return b;
+        }
+
+        private ByteBuffer lugar(int bytes) {
+            if (b.remaining() < bytes) {
+                int capacidad = b.capacity();
+                while (capacidad - b.position() < bytes) capacidad *= 2;
+                ByteBuffer nuevo = ByteBuffer.allocate(capacidad);
+                b.flip();
+                nuevo.put(b);
+                b = nuevo;
+            }
+            return b;
+        }
+    }
+
+    // lectura de textos, fechas y arreglos; reusa el arreglo de bytes para decodificar
+    private static final class Entrada {
+        private final ByteBuffer b;
+        private byte[] bytes = new byte[256];
+        // hay pocas fechas distintas: se comparte una instancia por dia (LocalDate es inmutable)
+        private final MapaInt<LocalDate> fechas = new MapaInt<>();
+
+        Entrada(ByteBuffer b) {
+            this.b = b;
+        }
+
+        String texto() {
+            int n = b.getInt();
+            if (n < 0) return null;
+            if (n == 0) return "";
+            if (n > bytes.length) bytes = new byte[Math.max(n, bytes.length * 2)];
+            b.get(bytes, 0, n);
+            return new String(bytes, 0, n, StandardCharsets.UTF_8);
+        }
+
+        LocalDate fecha() {
+            long dia = b.getLong();
+            if (dia == SIN_FECHA) return null;
+            if (dia != (int) dia) return LocalDate.ofEpochDay(dia);
+            LocalDate d = fechas.get((int) dia);
+            if (d == null) {
+                d = LocalDate.ofEpochDay(dia);
+                fechas.put((int) dia, d);
+            }
+            return d;
+        }
+
+        int[] enteros() {
+            int[] v = new int[b.getInt()];
+            for (int i = 0; i < v.length; i++) v[i] = b.getInt();
+            return v;
+        }
+    }
+}
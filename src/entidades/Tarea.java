@@ -4,13 +4,19 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 public class Tarea {
+    public static final int SIN_RESPONSABLE = -1;
+
     private final String titulo;
     private final String descripcion;
     private final double duracionDias; // duración planificada en días (puede ser double)
-    private Integer responsableLegajo; // null si sin responsable
+    private int responsableLegajo; // SIN_RESPONSABLE si no tiene
     private LocalDate fechaPrevista;
     private LocalDate fechaReal; // null si no finalizada
     private final int id; // id único si hace falta
+    // enlaces en la lista del proyecto con las tareas del mismo estado (los maneja Proyecto)
+    Tarea anteriorEnEstado;
+    Tarea siguienteEnEstado;
+    int indice; // posicion en el proyecto, en orden de alta (la pone Proyecto)
 
     public Tarea(int id, String titulo, String descripcion, double duracionDias, LocalDate fechaPrevista) {
         this.id = id;
@@ -19,7 +25,7 @@ public class Tarea {
         this.duracionDias = duracionDias;
         this.fechaPrevista = fechaPrevista;
         this.fechaReal = null;
-        this.responsableLegajo = null;
+        this.responsableLegajo = SIN_RESPONSABLE;
     }
 
     public int getId() {
@@ -38,16 +44,32 @@ public class Tarea {
         return duracionDias;
     }
 
+    /**
+     * Legajo del responsable, o null si no tiene. Para uso interno conviene
+     * getLegajoResponsable/tieneResponsable, que no encajonan.
+     */
     public Integer getResponsableLegajo() {
+        return responsableLegajo == SIN_RESPONSABLE ? null : responsableLegajo;
+    }
+
+    public int getLegajoResponsable() {
         return responsableLegajo;
     }
 
-    public void asignarResponsable(Integer legajo) {
+    public boolean tieneResponsable() {
+        return responsableLegajo != SIN_RESPONSABLE;
+    }
+
+    /**
+     * Para una tarea que ya esta en un proyecto usar Proyecto.asignarResponsable,
+     * que ademas la mueve de estado.
+     */
+    public void asignarResponsable(int legajo) {
         this.responsableLegajo = legajo;
     }
 
     public void desasignarResponsable() {
-        this.responsableLegajo = null;
+        this.responsableLegajo = SIN_RESPONSABLE;
     }
 
     public LocalDate getFechaPrevista() {
@@ -58,6 +80,10 @@ public class Tarea {
         return fechaReal;
     }
 
+    /**
+     * Para una tarea que ya esta en un proyecto usar Proyecto.finalizarTarea,
+     * que ademas la mueve de estado.
+     */
     public void marcarFinalizada(LocalDate fechaReal) {
         this.fechaReal = fechaReal;
     }
@@ -66,6 +92,11 @@ public class Tarea {
         return fechaReal != null;
     }
 
+    public EstadoTarea getEstado() {
+        if (fechaReal != null) return EstadoTarea.FINALIZADA;
+        return responsableLegajo == SIN_RESPONSABLE ? EstadoTarea.SIN_ASIGNAR : EstadoTarea.EN_CURSO;
+    }
+
     public void agregarRetrasoDias(int dias) {
         if (fechaReal != null) {
             fechaReal = fechaReal.plusDays(dias);
@@ -0,0 +1,64 @@
+package entidades;
+
+/**
+ * Copia inmutable de un empleado, tal como estaba al publicarse una Instantanea.
+ */
+public final class VistaEmpleado {
+    private final int legajo;
+    private final String nombre;
+    private final boolean planta;
+    private final String categoria; // null si es contratado
+    private final double valor;     // por dia si es de planta, por hora si es contratado
+    private final int nRetrasos;
+    private final boolean asignado;
+    final int turnoLibre;           // lugar en la cola de libres, -1 si esta asignado
+
+    private VistaEmpleado(Empleado e) {
+        this.legajo = e.getLegajo();
+        this.nombre = e.getNombre();
+        this.nRetrasos = e.getNRetrasos();
+        this.asignado = e.isAsignado();
+        this.turnoLibre = asignado ? -1 : e.turnoLibre;
+        this.planta = e instanceof EmpleadoPlanta;
+        if (planta) {
+            EmpleadoPlanta ep = (EmpleadoPlanta) e;
+            this.categoria = ep.getCategoria();
+            this.valor = ep.getValorDia();
+        } else {
+            this.categoria = null;
+            this.valor = ((EmpleadoContratado) e).getValorHora();
+        }
+    }
+
+    public static VistaEmpleado de(Empleado e) {
+        return new VistaEmpleado(e);
+    }
+
+    public int getLegajo() {
+        return legajo;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public boolean esDePlanta() {
+        return planta;
+    }
+
+    public String getCategoria() {
+        return categoria;
+    }
+
+    public double getValor() {
+        return valor;
+    }
+
+    public int getNRetrasos() {
+        return nRetrasos;
+    }
+
+    public boolean isAsignado() {
+        return asignado;
+    }
+}
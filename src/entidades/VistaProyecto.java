@@ -0,0 +1,172 @@
+package entidades;
+
+import colecciones.MapaPersistente;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Copia inmutable de un proyecto con sus tareas, tal como estaba al publicarse una Instantanea.
+ * El costo queda calculado al copiar.
+ *
+ * Las tareas (por posicion) y el historial (por orden de asignacion) van en mapas persistentes:
+ * la vista nueva de un proyecto comparte con la anterior todo lo que no cambio, y publicar un
+ * cambio cuesta las tareas tocadas y los legajos nuevos del historial, no el proyecto entero.
+ */
+public final class VistaProyecto {
+    private final int id;
+    private final String cliente;
+    private final String domicilio;
+    private final LocalDate fechaInicio;
+    private final LocalDate fechaPrevista;
+    private final LocalDate fechaReal;
+    private final double costoBase;
+    private final double costo;
+    private final Tareas tareas; // en el orden en que se agregaron
+    private final MapaPersistente<Integer> historialEmpleados; // posicion -> legajo
+    private final int[] empleadosActuales;
+
+    private VistaProyecto(Proyecto p, VistaProyecto anterior, Iterable<Tarea> tareasCambiadas) {
+        this.id = p.getId();
+        this.cliente = p.getCliente();
+        this.domicilio = p.getDomicilio();
+        this.fechaInicio = p.getFechaInicio();
+        this.fechaPrevista = p.getFechaPrevista();
+        this.fechaReal = p.getFechaReal();
+        this.costoBase = p.getCostoBase();
+        this.costo = p.getCosto();
+        this.tareas = new Tareas(tareas(p, anterior, tareasCambiadas));
+        // el historial solo crece: se agregan los legajos que no estaban en la vista anterior
+        MapaPersistente.Editor<Integer> historial = anterior == null
+                ? MapaPersistente.<Integer>vacio().editar() : anterior.historialEmpleados.editar();
+        for (int i = historial.size(); i < p.cantidadHistorial(); i++) historial.con(i, p.legajoEnHistorial(i));
+        this.historialEmpleados = historial.terminar();
+        this.empleadosActuales = p.getEmpleadosActuales(); // ya es copia
+    }
+
+    private static MapaPersistente<VistaTarea> tareas(Proyecto p, VistaProyecto anterior, Iterable<Tarea> cambiadas) {
+        if (anterior != null && cambiadas != null) {
+            MapaPersistente.Editor<VistaTarea> ts = anterior.tareas.mapa.editar();
+            for (Tarea t : cambiadas) ts.con(t.indice, VistaTarea.de(t, ts.get(t.indice)));
+            if (ts.size() == p.cantidadTareas()) return ts.terminar();
+            // falto avisar una tarea nueva: se arma de nuevo con todas
+        }
+        MapaPersistente.Editor<VistaTarea> ts = MapaPersistente.<VistaTarea>vacio().editar();
+        for (Tarea t : p.getTodasLasTareas()) {
+            VistaTarea previa = anterior == null ? null : anterior.tareas.mapa.get(t.indice);
+            ts.con(t.indice, VistaTarea.de(t, previa));
+        }
+        return ts.terminar();
+    }
+
+    public static VistaProyecto de(Proyecto p) {
+        return new VistaProyecto(p, null, null);
+    }
+
+    /**
+     * Como de(p), pero parte de anterior: copia solo las tareas cambiadas (con null las
+     * compara todas) y los legajos nuevos del historial.
+     */
+    static VistaProyecto de(Proyecto p, VistaProyecto anterior, Iterable<Tarea> tareasCambiadas) {
+        return new VistaProyecto(p, anterior, tareasCambiadas);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getCliente() {
+        return cliente;
+    }
+
+    public String getDomicilio() {
+        return domicilio;
+    }
+
+    public LocalDate getFechaInicio() {
+        return fechaInicio;
+    }
+
+    public LocalDate getFechaPrevista() {
+        return fechaPrevista;
+    }
+
+    public LocalDate getFechaReal() {
+        return fechaReal;
+    }
+
+    public boolean estaFinalizado() {
+        return fechaReal != null;
+    }
+
+    /** Sin finalizar y con tareas, igual que HomeSolution.proyectosActivos. */
+    public boolean estaActivo() {
+        return fechaReal == null && !tareas.isEmpty();
+    }
+
+    public double getCostoBase() {
+        return costoBase;
+    }
+
+    public double getCosto() {
+        return costo;
+    }
+
+    public List<VistaTarea> getTareas() {
+        return tareas;
+    }
+
+    public int cantidadTareas() {
+        return tareas.size();
+    }
+
+    /** @return null si el proyecto no tiene una tarea con ese titulo. */
+    public VistaTarea tarea(String titulo) {
+        for (VistaTarea t : tareas) if (t.getTitulo().equals(titulo)) return t;
+        return null;
+    }
+
+    /** Copia de los legajos que trabajaron en el proyecto, en orden de asignacion. */
+    public int[] getHistorialEmpleados() {
+        int[] out = new int[historialEmpleados.size()];
+        int i = 0;
+        for (int leg : historialEmpleados.valores()) out[i++] = leg;
+        return out;
+    }
+
+    /** Copia de los legajos asignados al publicarse (sin orden definido). */
+    public int[] getEmpleadosActuales() {
+        return empleadosActuales.clone();
+    }
+
+    public int cantidadEmpleadosActuales() {
+        return empleadosActuales.length;
+    }
+
+    // lista de solo lectura sobre el mapa posicion -> tarea
+    private static final class Tareas extends AbstractList<VistaTarea> {
+        final MapaPersistente<VistaTarea> mapa;
+
+        Tareas(MapaPersistente<VistaTarea> mapa) {
+            this.mapa = mapa;
+        }
+
+        @Override
+        public VistaTarea get(int i) {
+            if (i < 0 || i >= mapa.size()) throw new IndexOutOfBoundsException("Indice: " + i);
+            return mapa.get(i);
+        }
+
+        @Override
+        public int size() {
+            return mapa.size();
+        }
+
+        @Override
+        public Iterator<VistaTarea> iterator() {
+            return mapa.valores().iterator();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package entidades;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Copia inmutable de una tarea, tal como estaba al publicarse una Instantanea.
+ */
+public final class VistaTarea {
+    private final int id;
+    private final String titulo;
+    private final String descripcion;
+    private final double duracionDias;
+    private final int legajoResponsable; // Tarea.SIN_RESPONSABLE si no tiene
+    private final LocalDate fechaPrevista;
+    private final LocalDate fechaReal;
+
+    private VistaTarea(Tarea t) {
+        this.id = t.getId();
+        this.titulo = t.getTitulo();
+        this.descripcion = t.getDescripcion();
+        this.duracionDias = t.getDuracionDias();
+        this.legajoResponsable = t.getLegajoResponsable();
+        this.fechaPrevista = t.getFechaPrevista();
+        this.fechaReal = t.getFechaReal();
+    }
+
+    public static VistaTarea de(Tarea t) {
+        return new VistaTarea(t);
+    }
+
+    /** anterior si sigue igual a t; si no, una copia nueva. */
+    static VistaTarea de(Tarea t, VistaTarea anterior) {
+        return anterior != null && anterior.igualA(t) ? anterior : new VistaTarea(t);
+    }
+
+    private boolean igualA(Tarea t) {
+        return id == t.getId() && legajoResponsable == t.getLegajoResponsable()
+                && duracionDias == t.getDuracionDias()
+                && Objects.equals(titulo, t.getTitulo()) && Objects.equals(descripcion, t.getDescripcion())
+                && Objects.equals(fechaPrevista, t.getFechaPrevista()) && Objects.equals(fechaReal, t.getFechaReal());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getTitulo() {
+        return titulo;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public double getDuracionDias() {
+        return duracionDias;
+    }
+
+    public boolean tieneResponsable() {
+        return legajoResponsable != Tarea.SIN_RESPONSABLE;
+    }
+
+    /** Legajo del responsable, o null si no tiene. */
+    public Integer getResponsableLegajo() {
+        return tieneResponsable() ? legajoResponsable : null;
+    }
+
+    public int getLegajoResponsable() {
+        return legajoResponsable;
+    }
+
+    public LocalDate getFechaPrevista() {
+        return fechaPrevista;
+    }
+
+    public LocalDate getFechaReal() {
+        return fechaReal;
+    }
+
+    public boolean estaFinalizada() {
+        return fechaReal != null;
+    }
+}
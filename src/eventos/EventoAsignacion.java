@@ -0,0 +1,13 @@
+package eventos;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Asignacion de responsable a una tarea sin responsable. */
+@Name("homesolution.Asignacion")
+@Label("Asignacion")
+public final class EventoAsignacion extends EventoOperacion {
+
+    @Label("Estrategia")
+    public String estrategia;
+}
@@ -0,0 +1,13 @@
+package eventos;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Calculo del costo de un proyecto. */
+@Name("homesolution.Costo")
+@Label("Costo de proyecto")
+public final class EventoCosto extends EventoOperacion {
+
+    @Label("Costo")
+    public double costo;
+}
@@ -0,0 +1,10 @@
+package eventos;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Proyecto finalizado (a mano o por su ultima tarea); recorridos son los empleados liberados. */
+@Name("homesolution.FinalizacionProyecto")
+@Label("Finalizacion de proyecto")
+public final class EventoFinalizacionProyecto extends EventoOperacion {
+}
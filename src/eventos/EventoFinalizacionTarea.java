@@ -0,0 +1,13 @@
+package eventos;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Tarea finalizada; recorridos es 0 porque el proyecto lleva la cuenta de sus tareas finalizadas. */
+@Name("homesolution.FinalizacionTarea")
+@Label("Finalizacion de tarea")
+public final class EventoFinalizacionTarea extends EventoOperacion {
+
+    @Label("Finalizo el proyecto")
+    public boolean proyectoFinalizado;
+}
@@ -0,0 +1,50 @@
+package eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Base de los eventos de Flight Recorder que emite HomeSolution. Uso:
+ * crear el evento y llamar begin() al entrar, y al salir completar y commit()
+ * solo si shouldCommit(). Sin grabacion activa shouldCommit() es false y el
+ * JIT elimina la creacion del evento, asi que pueden quedar siempre compilados.
+ *
+ * Por defecto solo se graban las operaciones de mas de 1 ms; homesolution.jfc
+ * (en la raiz del proyecto) baja el umbral a 0 para verlas todas.
+ */
+@Category("HomeSolution")
+@StackTrace(false)
+@Threshold("1 ms")
+public abstract class EventoOperacion extends Event {
+
+    @Label("Proyecto")
+    int proyecto;
+
+    @Label("Tarea")
+    String tarea;
+
+    @Label("Legajo")
+    @Description("Empleado involucrado; 0 si no hay")
+    int legajo;
+
+    @Label("Tareas del proyecto")
+    int tareas;
+
+    @Label("Elementos recorridos")
+    @Description("Tareas o empleados que la operacion tuvo que visitar")
+    int recorridos;
+
+    /** Carga los datos comunes; devuelve el mismo evento para encadenar. */
+    public EventoOperacion completar(int proyecto, String tarea, int legajo, int tareas, int recorridos) {
+        this.proyecto = proyecto;
+        this.tarea = tarea;
+        this.legajo = legajo;
+        this.tareas = tareas;
+        this.recorridos = recorridos;
+        return this;
+    }
+}
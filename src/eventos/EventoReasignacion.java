@@ -0,0 +1,13 @@
+package eventos;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Cambio de responsable de una tarea; legajo es el nuevo responsable. */
+@Name("homesolution.Reasignacion")
+@Label("Reasignacion")
+public final class EventoReasignacion extends EventoOperacion {
+
+    @Label("Legajo anterior")
+    public int legajoAnterior;
+}
@@ -0,0 +1,13 @@
+package eventos;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Retraso registrado en una tarea; legajo es el responsable que lo acumula. */
+@Name("homesolution.Retraso")
+@Label("Registro de retraso")
+public final class EventoRetraso extends EventoOperacion {
+
+    @Label("Dias")
+    public int dias;
+}
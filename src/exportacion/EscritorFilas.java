@@ -0,0 +1,212 @@
+package exportacion;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Escribe filas de una tabla de columnas fijas en CSV o JSON Lines.
+ * Los valores se pasan en el orden de las columnas, entre abrirFila y cerrarFila;
+ * los nombres de columna se codifican una sola vez.
+ */
+abstract class EscritorFilas {
+    protected final SalidaCanal salida;
+    protected int columna;
+
+    private EscritorFilas(SalidaCanal salida) {
+        this.salida = salida;
+    }
+
+    static EscritorFilas de(Exportador.Formato formato, SalidaCanal salida, String... columnas) {
+        return formato == Exportador.Formato.CSV ? new Csv(salida, columnas) : new JsonLines(salida, columnas);
+    }
+
+    /** Lo que va antes de la primera fila (el encabezado en CSV). */
+    abstract void comenzar() throws IOException;
+
+    abstract void abrirFila() throws IOException;
+
+    abstract void cerrarFila() throws IOException;
+
+    /** Antes de cada valor: separador y, en JSON, la clave. */
+    protected abstract void campo() throws IOException;
+
+    abstract void texto(String v) throws IOException;
+
+    abstract void nulo() throws IOException;
+
+    void entero(long v) throws IOException {
+        campo();
+        salida.entero(v);
+    }
+
+    void real(double v) throws IOException {
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            nulo();
+            return;
+        }
+        campo();
+        salida.real(v);
+    }
+
+    void logico(boolean v) throws IOException {
+        campo();
+        salida.bytes(v ? VERDADERO : FALSO);
+    }
+
+    void fecha(LocalDate v) throws IOException {
+        if (v == null) {
+            nulo();
+            return;
+        }
+        campo();
+        salida.fecha(v);
+    }
+
+    private static final byte[] VERDADERO = ascii("true");
+    private static final byte[] FALSO = ascii("false");
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // RFC 4180: solo se ponen comillas si el valor tiene coma, comillas o salto de linea
+    private static final class Csv extends EscritorFilas {
+        private final String[] columnas;
+
+        Csv(SalidaCanal salida, String[] columnas) {
+            super(salida);
+            this.columnas = columnas;
+        }
+
+        @Override
+        void comenzar() throws IOException {
+            abrirFila();
+            for (String c : columnas) texto(c);
+            cerrarFila();
+        }
+
+        @Override
+        void abrirFila() {
+            columna = 0;
+        }
+
+        @Override
+        void cerrarFila() throws IOException {
+            salida.ascii('\n');
+        }
+
+        @Override
+        protected void campo() throws IOException {
+            if (columna++ > 0) salida.ascii(',');
+        }
+
+        @Override
+        void texto(String v) throws IOException {
+            if (v == null) {
+                nulo();
+                return;
+            }
+            campo();
+            boolean comillas = false;
+            for (int i = 0; i < v.length() && !comillas; i++) {
+                char c = v.charAt(i);
+                comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (comillas) salida.ascii('"');
+            for (int i = 0; i < v.length(); ) {
+                if (v.charAt(i) == '"') salida.ascii('"');
+                i = salida.caracter(v, i);
+            }
+            if (comillas) salida.ascii('"');
+        }
+
+        @Override
+        void nulo() throws IOException {
+            campo(); // campo vacio
+        }
+    }
+
+    private static final class JsonLines extends EscritorFilas {
+        private final byte[][] claves; // "clave": ya codificada, con la coma previa salvo la primera
+
+        JsonLines(SalidaCanal salida, String[] columnas) {
+            super(salida);
+            claves = new byte[columnas.length][];
+            for (int i = 0; i < columnas.length; i++) claves[i] = ascii((i == 0 ? "\"" : ",\"") + columnas[i] + "\":");
+        }
+
+        @Override
+        void comenzar() {
+        }
+
+        @Override
+        void abrirFila() throws IOException {
+            columna = 0;
+            salida.ascii('{');
+        }
+
+        @Override
+        void cerrarFila() throws IOException {
+            salida.ascii('}').ascii('\n');
+        }
+
+        @Override
+        protected void campo() throws IOException {
+            salida.bytes(claves[columna++]);
+        }
+
+        @Override
+        void texto(String v) throws IOException {
+            if (v == null) {
+                nulo();
+                return;
+            }
+            campo();
+            salida.ascii('"');
+            for (int i = 0; i < v.length(); ) {
+                char c = v.charAt(i);
+                if (c == '"' || c == '\\') {
+                    salida.ascii('\\').ascii(c);
+                    i++;
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                    i++;
+                } else {
+                    i = salida.caracter(v, i);
+                }
+            }
+            salida.ascii('"');
+        }
+
+        private void escapeControl(char c) throws IOException {
+            salida.ascii('\\');
+            switch (c) {
+                case '\n': salida.ascii('n'); break;
+                case '\r': salida.ascii('r'); break;
+                case '\t': salida.ascii('t'); break;
+                default:
+                    salida.ascii('u').ascii('0').ascii('0')
+                            .ascii(Character.forDigit(c >> 4, 16)).ascii(Character.forDigit(c & 0xF, 16));
+            }
+        }
+
+        @Override
+        void fecha(LocalDate v) throws IOException {
+            if (v == null) {
+                nulo();
+                return;
+            }
+            campo();
+            salida.ascii('"').fecha(v).ascii('"');
+        }
+
+        @Override
+        void nulo() throws IOException {
+            campo();
+            salida.bytes(NULO);
+        }
+
+        private static final byte[] NULO = ascii("null");
+    }
+}
@@ -0,0 +1,198 @@
+package exportacion;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.function.Function;
+
+import entidades.HomeSolution;
+import entidades.Instantanea;
+import entidades.VistaEmpleado;
+import entidades.VistaProyecto;
+import entidades.VistaTarea;
+
+/**
+ * Exporta todo el estado de un HomeSolution en CSV o JSON Lines, en tres tablas:
+ * proyectos (con costos), tareas (con su responsable) y empleados (con sus retrasos).
+ *
+ * Las filas se escriben a medida que se recorren los proyectos y empleados, sobre un
+ * unico buffer que se vacia en el canal cuando se llena: la memoria usada no depende
+ * del tamaño del estado. Mientras se exporta no se debe modificar el HomeSolution.
+ *
+ * Para exportar sin frenar a quien modifica se exporta una Instantanea: todas las tablas
+ * salen del mismo estado aunque el HomeSolution siga cambiando.
+ */
+public class Exportador {
+    public enum Formato {
+        CSV(".csv"), JSONL(".jsonl");
+
+        private final String extension;
+
+        Formato(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    public static final int BUFFER_POR_DEFECTO = 64 * 1024;
+
+    private static final String[] COLUMNAS_PROYECTOS = {"numero", "cliente", "domicilio", "inicio", "prevista",
+            "real", "finalizado", "tareas", "empleados_actuales", "costo_base", "costo"};
+    private static final String[] COLUMNAS_TAREAS = {"proyecto", "id", "titulo", "descripcion", "dias",
+            "responsable", "prevista", "real"};
+    private static final String[] COLUMNAS_EMPLEADOS = {"legajo", "nombre", "tipo", "categoria", "valor",
+            "retrasos", "asignado"};
+
+    private final HomeSolution origen; // null si se exporta una instantanea
+    private final Instantanea foto;
+    private final Formato formato;
+    private final int tamanioBuffer;
+
+    public Exportador(HomeSolution origen, Formato formato) {
+        this(origen, formato, BUFFER_POR_DEFECTO);
+    }
+
+    public Exportador(HomeSolution origen, Formato formato, int tamanioBuffer) {
+        this(origen, null, formato, tamanioBuffer);
+    }
+
+    public Exportador(Instantanea foto, Formato formato) {
+        this(null, foto, formato, BUFFER_POR_DEFECTO);
+    }
+
+    private Exportador(HomeSolution origen, Instantanea foto, Formato formato, int tamanioBuffer) {
+        if (tamanioBuffer < SalidaCanal.MINIMO)
+            throw new IllegalArgumentException("Buffer menor a " + SalidaCanal.MINIMO + " bytes");
+        this.origen = origen;
+        this.foto = foto;
+        this.formato = formato;
+        this.tamanioBuffer = tamanioBuffer;
+    }
+
+    /**
+     * Escribe proyectos, tareas y empleados en tres archivos de la carpeta
+     * (proyectos.csv, tareas.csv, empleados.csv o con extension .jsonl).
+     */
+    public void exportarTodo(Path carpeta) throws IOException {
+        Files.createDirectories(carpeta);
+        try (FileChannel c = abrir(carpeta.resolve("proyectos" + formato.getExtension()))) {
+            exportarProyectos(c);
+        }
+        try (FileChannel c = abrir(carpeta.resolve("tareas" + formato.getExtension()))) {
+            exportarTareas(c);
+        }
+        try (FileChannel c = abrir(carpeta.resolve("empleados" + formato.getExtension()))) {
+            exportarEmpleados(c);
+        }
+    }
+
+    private static FileChannel abrir(Path archivo) throws IOException {
+        return FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /** Una fila por proyecto, en orden de numero. No cierra el canal. @return bytes escritos. */
+    public long exportarProyectos(WritableByteChannel canal) throws IOException {
+        SalidaCanal salida = new SalidaCanal(canal, tamanioBuffer);
+        EscritorFilas f = EscritorFilas.de(formato, salida, COLUMNAS_PROYECTOS);
+        f.comenzar();
+        for (VistaProyecto p : proyectos()) {
+            f.abrirFila();
+            f.entero(p.getId());
+            f.texto(p.getCliente());
+            f.texto(p.getDomicilio());
+            f.fecha(p.getFechaInicio());
+            f.fecha(p.getFechaPrevista());
+            f.fecha(p.getFechaReal());
+            f.logico(p.getFechaReal() != null);
+            f.entero(p.cantidadTareas());
+            f.entero(p.cantidadEmpleadosActuales());
+            f.real(p.getCostoBase());
+            f.real(p.getCosto());
+            f.cerrarFila();
+        }
+        salida.vaciar();
+        return salida.getEscritos();
+    }
+
+    /** Una fila por tarea, agrupadas por proyecto en orden de numero. No cierra el canal. @return bytes escritos. */
+    public long exportarTareas(WritableByteChannel canal) throws IOException {
+        SalidaCanal salida = new SalidaCanal(canal, tamanioBuffer);
+        EscritorFilas f = EscritorFilas.de(formato, salida, COLUMNAS_TAREAS);
+        f.comenzar();
+        for (VistaProyecto p : proyectos()) {
+            for (VistaTarea t : p.getTareas()) {
+                f.abrirFila();
+                f.entero(p.getId());
+                f.entero(t.getId());
+                f.texto(t.getTitulo());
+                f.texto(t.getDescripcion());
+                f.real(t.getDuracionDias());
+                if (t.tieneResponsable()) f.entero(t.getLegajoResponsable());
+                else f.nulo();
+                f.fecha(t.getFechaPrevista());
+                f.fecha(t.getFechaReal());
+                f.cerrarFila();
+            }
+        }
+        salida.vaciar();
+        return salida.getEscritos();
+    }
+
+    /** Una fila por empleado, en orden de legajo. No cierra el canal. @return bytes escritos. */
+    public long exportarEmpleados(WritableByteChannel canal) throws IOException {
+        SalidaCanal salida = new SalidaCanal(canal, tamanioBuffer);
+        EscritorFilas f = EscritorFilas.de(formato, salida, COLUMNAS_EMPLEADOS);
+        f.comenzar();
+        for (VistaEmpleado e : empleados()) {
+            f.abrirFila();
+            f.entero(e.getLegajo());
+            f.texto(e.getNombre());
+            if (e.esDePlanta()) {
+                f.texto("PLANTA");
+                f.texto(e.getCategoria());
+            } else {
+                f.texto("CONTRATADO");
+                f.nulo();
+            }
+            f.real(e.getValor());
+            f.entero(e.getNRetrasos());
+            f.logico(e.isAsignado());
+            f.cerrarFila();
+        }
+        salida.vaciar();
+        return salida.getEscritos();
+    }
+
+    // del HomeSolution se copia cada proyecto o empleado al llegar a el: no se arma todo el estado
+    private Iterable<VistaProyecto> proyectos() {
+        return foto != null ? foto.proyectosPorNumero() : copiando(origen.proyectosPorNumero(), VistaProyecto::de);
+    }
+
+    private Iterable<VistaEmpleado> empleados() {
+        return foto != null ? foto.empleadosPorLegajo() : copiando(origen.empleadosPorLegajo(), VistaEmpleado::de);
+    }
+
+    private static <A, B> Iterable<B> copiando(Iterable<A> origen, Function<A, B> copia) {
+        return () -> new Iterator<B>() {
+            private final Iterator<A> it = origen.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public B next() {
+                return copia.apply(it.next());
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package exportacion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Escribe texto en UTF-8 sobre un canal a traves de un unico buffer reutilizable.
+ * Numeros y fechas se pasan a digitos directamente en el buffer, sin armar Strings.
+ */
+final class SalidaCanal {
+    static final int MINIMO = 32; // lo mas largo que se escribe de una vez es un long o un real
+
+    private static final byte[] MENOR_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel canal;
+    private final ByteBuffer buffer;
+    private final byte[] digitos = new byte[20];
+    private long escritos;
+
+    SalidaCanal(WritableByteChannel canal, int capacidad) {
+        if (capacidad < MINIMO) throw new IllegalArgumentException("Buffer menor a " + MINIMO + " bytes");
+        this.canal = canal;
+        this.buffer = ByteBuffer.allocateDirect(capacidad);
+    }
+
+    SalidaCanal ascii(char c) throws IOException {
+        lugar(1).put((byte) c);
+        return this;
+    }
+
+    SalidaCanal bytes(byte[] b) throws IOException {
+        int i = 0;
+        while (i < b.length) {
+            if (!buffer.hasRemaining()) vaciar();
+            int n = Math.min(buffer.remaining(), b.length - i);
+            buffer.put(b, i, n);
+            i += n;
+        }
+        return this;
+    }
+
+    /** Un caracter, o un par sustituto si c es el primero de un par y el segundo viene en s[i+1]. */
+    int caracter(CharSequence s, int i) throws IOException {
+        char c = s.charAt(i);
+        if (c < 0x80) {
+            lugar(1).put((byte) c);
+        } else if (c < 0x800) {
+            lugar(2).put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(i + 1));
+            lugar(4).put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                    .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            return i + 2;
+        } else if (Character.isSurrogate(c)) {
+            lugar(1).put((byte) '?'); // sustituto suelto: no tiene codificacion valida
+        } else {
+            lugar(3).put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+        return i + 1;
+    }
+
+    SalidaCanal entero(long v) throws IOException {
+        if (v == Long.MIN_VALUE) return bytes(MENOR_LONG); // -v no entra en un long
+        ByteBuffer b = lugar(20);
+        if (v < 0) {
+            b.put((byte) '-');
+            v = -v;
+        }
+        int n = digitos.length;
+        do {
+            digitos[--n] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        b.put(digitos, n, digitos.length - n);
+        return this;
+    }
+
+    /**
+     * Real con hasta 6 decimales, sin ceros de mas (2.5, 1017750).
+     * Valores enormes o no finitos van con Double.toString; quien llama decide que hacer con NaN.
+     */
+    SalidaCanal real(double v) throws IOException {
+        double abs = Math.abs(v);
+        if (!(abs < 1e12)) {
+            String s = Double.toString(v);
+            for (int i = 0; i < s.length(); i++) ascii(s.charAt(i));
+            return this;
+        }
+        long entera = (long) abs;
+        long fraccion = Math.round((abs - entera) * 1_000_000);
+        if (fraccion == 1_000_000) {
+            entera++;
+            fraccion = 0;
+        }
+        if (v < 0 && (entera != 0 || fraccion != 0)) ascii('-');
+        entero(entera);
+        if (fraccion != 0) {
+            int decimales = 6;
+            while (fraccion % 10 == 0) {
+                fraccion /= 10;
+                decimales--;
+            }
+            ByteBuffer b = lugar(7).put((byte) '.');
+            for (int i = decimales - 1; i >= 0; i--) {
+                digitos[i] = (byte) ('0' + fraccion % 10);
+                fraccion /= 10;
+            }
+            b.put(digitos, 0, decimales);
+        }
+        return this;
+    }
+
+    /** Fecha ISO (YYYY-MM-DD), igual que LocalDate.toString para los años 0 a 9999. */
+    SalidaCanal fecha(LocalDate f) throws IOException {
+        int anio = f.getYear();
+        if (anio < 0 || anio > 9999) {
+            String s = f.toString();
+            for (int i = 0; i < s.length(); i++) ascii(s.charAt(i));
+            return this;
+        }
+        int mes = f.getMonthValue();
+        int dia = f.getDayOfMonth();
+        lugar(10).put((byte) ('0' + anio / 1000)).put((byte) ('0' + anio / 100 % 10))
+                .put((byte) ('0' + anio / 10 % 10)).put((byte) ('0' + anio % 10)).put((byte) '-')
+                .put((byte) ('0' + mes / 10)).put((byte) ('0' + mes % 10)).put((byte) '-')
+                .put((byte) ('0' + dia / 10)).put((byte) ('0' + dia % 10));
+        return this;
+    }
+
+    /** Escribe lo pendiente en el canal. */
+    void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) escritos += canal.write(buffer);
+        buffer.clear();
+    }
+
+    /** Bytes que ya llegaron al canal. */
+    long getEscritos() {
+        return escritos;
+    }
+
+    private ByteBuffer lugar(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) vaciar();
+        return buffer;
+    }
+}
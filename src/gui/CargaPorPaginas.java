@@ -0,0 +1,67 @@
+package gui;
+
+import entidades.Pagina;
+import entidades.Tupla;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.util.function.Function;
+
+/**
+ * Llena una tabla de a una pagina por vez usando un Timer de Swing, asi la
+ * ventana sigue respondiendo mientras se cargan listados grandes.
+ * Corre todo en el hilo de eventos: HomeSolution no se toca desde otros hilos.
+ */
+public class CargaPorPaginas {
+    private static final int TAMANIO_PAGINA = 500;
+
+    private final Function<Integer, Pagina<Tupla<Integer, String>>> consulta;
+    private final DefaultTableModel tableModel;
+    private final Timer timer;
+    private Integer siguiente;
+    private Runnable alTerminar;
+
+    /**
+     * @param consulta recibe la clave desde la que pedir (null la primera vez) y devuelve la pagina.
+     */
+    public CargaPorPaginas(Function<Integer, Pagina<Tupla<Integer, String>>> consulta, DefaultTableModel tableModel) {
+        this.consulta = consulta;
+        this.tableModel = tableModel;
+        this.timer = new Timer(0, e -> cargarPagina());
+        this.timer.setRepeats(true);
+    }
+
+    public static int tamanioPagina() {
+        return TAMANIO_PAGINA;
+    }
+
+    /**
+     * Vacia la tabla y empieza a cargar desde la primera pagina.
+     * alTerminar se ejecuta cuando llega la ultima pagina (puede ser null).
+     */
+    public void iniciar(Runnable alTerminar) {
+        timer.stop();
+        this.alTerminar = alTerminar;
+        tableModel.setRowCount(0);
+        siguiente = null;
+        cargarPagina();
+        if (siguiente != null) timer.start();
+    }
+
+    public void detener() {
+        timer.stop();
+    }
+
+    private void cargarPagina() {
+        Pagina<Tupla<Integer, String>> pagina = consulta.apply(siguiente);
+        for (Tupla<Integer, String> t : pagina.getElementos()) {
+            Object[] nuevaFila = {t.getValor1(), t.getValor2()};
+            tableModel.addRow(nuevaFila);
+        }
+        siguiente = pagina.getSiguiente();
+        if (siguiente == null) {
+            timer.stop();
+            if (alTerminar != null) alTerminar.run();
+        }
+    }
+}
@@ -1,15 +1,13 @@
 package gui;
 
 import entidades.Estado;
-import entidades.Tupla;
+import entidades.Instantanea;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.List;
 
 public class GestionEmpleados extends JPanel{
     private PanelManager panelManager;
@@ -88,13 +86,10 @@ public class GestionEmpleados extends JPanel{
         gestionEmpleados.add(volverPrincipal, gbc);
     }
     private void cargarTabla(DefaultTableModel tableModel){
-        List<Tupla<Integer,String>> empleados;
-        empleados = panelManager.sistema().empleados();
-        tableModel.setRowCount(0);
-        if(empleados!=null)
-            for(Tupla<Integer,String> t:empleados) {
-                Object[] nuevaFila = {t.getValor1(), t.getValor2()};
-                tableModel.addRow(nuevaFila);
-            }
+        int tamanio = CargaPorPaginas.tamanioPagina();
+        Instantanea foto = panelManager.sistema().instantanea();
+        // de a una pagina por vez, la tabla se va llenando sin congelar la ventana
+        new CargaPorPaginas(desde -> foto.paginaEmpleados(desde, tamanio), tableModel)
+                .iniciar(null);
     }
 }
\ No newline at end of file
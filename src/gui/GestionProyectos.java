@@ -1,6 +1,8 @@
 package gui;
 
+import entidades.EstrategiaAsignacion;
 import entidades.HomeSolution;
+import entidades.ResultadoAsignacion;
 import entidades.Tupla;
 
 import javax.swing.*;
@@ -25,6 +27,7 @@ public class GestionProyectos extends  JPanel{
     private JComboBox<String> tareas;
     private JButton asignarEmpleado;
     private JButton asignarEmpleadoEficiente;
+    private JButton asignarTodas;
     private JButton registrarRetrasoEnTarea;
     private JButton establecerComoFinalizada;
     private JButton agregarTarea;
@@ -86,6 +89,23 @@ public class GestionProyectos extends  JPanel{
                 }
             }
         });
+        asignarTodas.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                try {
+                    List<ResultadoAsignacion> resultados = panelManager.sistema()
+                            .asignarTareasPendientes(panelManager.consultarSeleccionado(), EstrategiaAsignacion.FIFO);
+                    int sinAsignar = 0;
+                    for (ResultadoAsignacion r : resultados) {
+                        if (!r.fueAsignada()) sinAsignar++;
+                    }
+                    if (sinAsignar > 0)
+                        JOptionPane.showMessageDialog(null, sinAsignar + " tareas quedaron sin asignar, no hay empleados disponibles");
+                } catch (IllegalArgumentException exception) {
+                    JOptionPane.showMessageDialog(null, "El proyecto esta finalizado");
+                }
+            }
+        });
         reasignarEmpleado.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent actionEvent) {
@@ -246,7 +266,7 @@ public class GestionProyectos extends  JPanel{
             @Override
             public void actionPerformed(ActionEvent actionEvent) {
                 Integer numero=panelManager.consultarSeleccionado();
-                String infoProyecto=panelManager.sistema().consultarProyecto(numero);
+                String infoProyecto=panelManager.sistema().instantanea().consultarProyecto(numero);
                 InformacionProyecto informacionProyecto=new InformacionProyecto(null,numero,infoProyecto);
                 informacionProyecto.setVisible(true);
             }
@@ -272,6 +292,7 @@ public class GestionProyectos extends  JPanel{
 
         asignarEmpleado=new JButton("Asignar empleado");
         asignarEmpleadoEficiente=new JButton("Asignar empleado con menos retrasos");
+        asignarTodas=new JButton("Asignar todas las tareas");
         registrarRetrasoEnTarea=new JButton("Regristrar retraso en tarea");
         establecerComoFinalizada=new JButton("Establecer tarea como finalizada");
         reasignarEmpleado=new JButton("Cambiar empleado reponsable");
@@ -303,6 +324,8 @@ public class GestionProyectos extends  JPanel{
         gestionProyecto.add(asignarEmpleado, gbc);
         gbc.gridx = 2;
         gestionProyecto.add(asignarEmpleadoEficiente, gbc);
+        gbc.gridx = 3;
+        gestionProyecto.add(asignarTodas, gbc);
         gbc.gridx = 1;
         gbc.gridy = 4;
         gestionProyecto.add(reasignarEmpleado, gbc);
@@ -346,6 +369,7 @@ public class GestionProyectos extends  JPanel{
         if(panelManager.sistema().estaFinalizado(panelManager.consultarSeleccionado())){
             registrarRetrasoEnTarea.setEnabled(false);
             proyectoFinalizado.setEnabled(false);
+            asignarTodas.setEnabled(false);
             reasignarEmpleado.setEnabled(false);
             reasignarEmpleadoEficiente.setEnabled(false);
             establecerComoFinalizada.setEnabled(false);
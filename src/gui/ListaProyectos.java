@@ -1,7 +1,8 @@
 package gui;
 
 import entidades.Estado;
-import entidades.HomeSolution;
+import entidades.Instantanea;
+import entidades.Pagina;
 import entidades.Proyecto;
 import entidades.Tupla;
 
@@ -12,8 +13,7 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
-import java.util.ArrayList;
+import java.util.function.Function;
 
 public class ListaProyectos extends JPanel{
     private PanelManager panelManager;
@@ -26,6 +26,7 @@ public class ListaProyectos extends JPanel{
     private JTable proyectos;
     private JButton mostrar;
     private JButton gestion;
+    private CargaPorPaginas carga;
 
 
     public ListaProyectos(PanelManager panelManager) {
@@ -45,8 +46,6 @@ public class ListaProyectos extends JPanel{
                     cargarTabla(Estado.activo,modelTabla);
                 if(finalizado.isSelected())
                      cargarTabla(Estado.finalizado,modelTabla);
-                if (modelTabla.getRowCount()==0)
-                    JOptionPane.showMessageDialog(null, "No hay proyectos");
             }
         });
         gestion.addActionListener(new ActionListener() {
@@ -122,26 +121,30 @@ public class ListaProyectos extends JPanel{
 
     }
     private void cargarTabla(String opcion,DefaultTableModel tableModel){
-        List <Tupla<Integer,String>> proyectos=new ArrayList<>();
+        Instantanea foto = panelManager.sistema().instantanea();
+        int tamanio = CargaPorPaginas.tamanioPagina();
+        Function<Integer, Pagina<Tupla<Integer,String>>> consulta = null;
 
         switch(opcion)
         {
             case Estado.pendiente:
-                proyectos = panelManager.sistema().proyectosPendientes();
+                consulta = desde -> foto.paginaProyectosPendientes(desde, tamanio);
                 break;
             case Estado.activo:
-                proyectos = panelManager.sistema().proyectosActivos();
+                consulta = desde -> foto.paginaProyectosActivos(desde, tamanio);
             break;
             case Estado.finalizado:
-                proyectos = panelManager.sistema().proyectosFinalizados();
+                consulta = desde -> foto.paginaProyectosFinalizados(desde, tamanio);
                 break;
         }
-        tableModel.setRowCount(0);
-
-        for(Tupla<Integer,String> t:proyectos) {
-            Object[] nuevaFila = {t.getValor1(), t.getValor2()};
-            tableModel.addRow(nuevaFila);
-        }
+        if (carga != null)
+            carga.detener();
+        // se carga de a una pagina por vez para no congelar la ventana con listados grandes
+        carga = new CargaPorPaginas(consulta, tableModel);
+        carga.iniciar(() -> {
+            if (tableModel.getRowCount()==0)
+                JOptionPane.showMessageDialog(null, "No hay proyectos");
+        });
     }
 
 }
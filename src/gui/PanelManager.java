@@ -23,6 +23,8 @@ public class PanelManager {
         jFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         principal=new PanelPrincipal(this);
         this.homeSolution=h;
+        // las pantallas de listados leen instantaneas: todas las paginas salen del mismo estado
+        homeSolution.habilitarInstantaneas();
         mostrar(principal);
     }
     public void mostrar(JPanel panel)
@@ -0,0 +1,54 @@
+package importacion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Separa una linea CSV en campos (RFC 4180): coma como separador, comillas dobles
+ * para campos con comas y "" para una comilla dentro de un campo entre comillas.
+ * Cada registro ocupa una sola linea; no se admiten saltos de linea dentro de un campo.
+ */
+final class Csv {
+    private Csv() {
+    }
+
+    /** @throws IllegalArgumentException si hay comillas sin cerrar o texto despues de cerrarlas. */
+    static List<String> campos(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        int i = 0;
+        int n = linea.length();
+        while (true) {
+            if (i < n && linea.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= n) throw new IllegalArgumentException("Comillas sin cerrar");
+                    char c = linea.charAt(i++);
+                    if (c != '"') {
+                        actual.append(c);
+                    } else if (i < n && linea.charAt(i) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < n && linea.charAt(i) != ',') throw new IllegalArgumentException("Texto despues de comillas");
+            } else {
+                int coma = linea.indexOf(',', i);
+                int fin = coma < 0 ? n : coma;
+                actual.append(linea, i, fin);
+                i = fin;
+            }
+            campos.add(actual.toString());
+            actual.setLength(0);
+            if (i >= n) return campos;
+            i++; // la coma
+        }
+    }
+
+    /** Separa un campo en partes por '|'; un campo vacio es una sola parte vacia. */
+    static String[] partes(String campo) {
+        return campo.split("\\|", -1);
+    }
+}
@@ -0,0 +1,25 @@
+package importacion;
+
+/** Fila del archivo que no se importo: numero de linea (desde 1) y motivo. */
+public class FilaRechazada {
+    private final long linea;
+    private final String motivo;
+
+    public FilaRechazada(long linea, String motivo) {
+        this.linea = linea;
+        this.motivo = motivo;
+    }
+
+    public long getLinea() {
+        return linea;
+    }
+
+    public String getMotivo() {
+        return motivo;
+    }
+
+    @Override
+    public String toString() {
+        return "linea " + linea + ": " + motivo;
+    }
+}
@@ -0,0 +1,235 @@
+package importacion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import entidades.AltaEmpleado;
+import entidades.AltaProyecto;
+import entidades.HomeSolution;
+
+/**
+ * Importa empleados y proyectos desde archivos CSV grandes.
+ *
+ * El archivo se lee de a lotes de lineas; cada lote se separa en campos y se valida
+ * en un hilo del pool, con las mismas reglas que registrarEmpleado / registrarProyecto.
+ * Las filas validas se registran en el hilo que llamo, lote por lote y en el orden del
+ * archivo, con registrarEmpleados / registrarProyectos (que reservan los rangos de ids).
+ * Como mucho hay 2 lotes por hilo en memoria a la vez, sin importar el tamaño del archivo.
+ *
+ * Una fila invalida se informa con su numero de linea y no corta la importacion.
+ * Las lineas vacias se ignoran, y la primera linea se toma como encabezado si su primer
+ * campo es el nombre de la primera columna.
+ *
+ * Formatos (una fila por linea):
+ *   empleados: nombre,valor[,categoria]    (sin categoria es contratado)
+ *   proyectos: domicilio,cliente,inicio,fin,titulos,descripciones,dias
+ * En proyectos, cliente, titulos, descripciones y dias separan sus partes con '|';
+ * una tarea con descripcion vacia se escribe con el campo de descripciones vacio.
+ */
+public class ImportadorCsv {
+    public static final int LOTE_POR_DEFECTO = 4096;
+
+    private final HomeSolution destino;
+    private final int tamanioLote;
+    private final int hilos;
+
+    public ImportadorCsv(HomeSolution destino) {
+        this(destino, LOTE_POR_DEFECTO, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ImportadorCsv(HomeSolution destino, int tamanioLote, int hilos) {
+        if (tamanioLote <= 0 || hilos <= 0) throw new IllegalArgumentException("Lote y cantidad de hilos deben ser positivos");
+        this.destino = destino;
+        this.tamanioLote = tamanioLote;
+        this.hilos = hilos;
+    }
+
+    // -------------------------
+    // EMPLEADOS
+    // -------------------------
+    public ResultadoImportacion importarEmpleados(Path archivo) throws IOException {
+        try (Reader in = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return importarEmpleados(in);
+        }
+    }
+
+    /** Junta las filas rechazadas en el resultado. */
+    public ResultadoImportacion importarEmpleados(Reader in) throws IOException {
+        List<FilaRechazada> rechazadas = new ArrayList<>();
+        ResultadoImportacion r = importarEmpleados(in, rechazadas::add);
+        return new ResultadoImportacion(r.getAceptadas(), r.getCantidadRechazadas(), rechazadas);
+    }
+
+    /** Informa cada fila rechazada a medida que aparece, sin guardarla. */
+    public ResultadoImportacion importarEmpleados(Reader in, Consumer<FilaRechazada> alRechazar) throws IOException {
+        return importar(in, "nombre", ImportadorCsv::empleado, destino::registrarEmpleados, alRechazar);
+    }
+
+    static AltaEmpleado empleado(List<String> c) {
+        if (c.size() < 2 || c.size() > 3) throw new IllegalArgumentException("Se esperaban 2 o 3 campos y hay " + c.size());
+        double valor = numero(c.get(1), "Valor inválido");
+        if (c.size() == 2 || c.get(2).isEmpty()) return AltaEmpleado.contratado(c.get(0), valor);
+        return AltaEmpleado.planta(c.get(0), valor, c.get(2));
+    }
+
+    // -------------------------
+    // PROYECTOS
+    // -------------------------
+    public ResultadoImportacion importarProyectos(Path archivo) throws IOException {
+        try (Reader in = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return importarProyectos(in);
+        }
+    }
+
+    /** Junta las filas rechazadas en el resultado. */
+    public ResultadoImportacion importarProyectos(Reader in) throws IOException {
+        List<FilaRechazada> rechazadas = new ArrayList<>();
+        ResultadoImportacion r = importarProyectos(in, rechazadas::add);
+        return new ResultadoImportacion(r.getAceptadas(), r.getCantidadRechazadas(), rechazadas);
+    }
+
+    /** Informa cada fila rechazada a medida que aparece, sin guardarla. */
+    public ResultadoImportacion importarProyectos(Reader in, Consumer<FilaRechazada> alRechazar) throws IOException {
+        return importar(in, "domicilio", ImportadorCsv::proyecto, destino::registrarProyectos, alRechazar);
+    }
+
+    static AltaProyecto proyecto(List<String> c) {
+        if (c.size() != 7) throw new IllegalArgumentException("Se esperaban 7 campos y hay " + c.size());
+        String[] partesDias = Csv.partes(c.get(6));
+        double[] dias = new double[partesDias.length];
+        for (int i = 0; i < dias.length; i++) dias[i] = numero(partesDias[i], "Duración de tarea inválida");
+        return AltaProyecto.validar(Csv.partes(c.get(4)), Csv.partes(c.get(5)), dias,
+                c.get(0), Csv.partes(c.get(1)), c.get(2), c.get(3));
+    }
+
+    private static double numero(String s, String mensaje) {
+        try {
+            return Double.parseDouble(s.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(mensaje + ": " + s);
+        }
+    }
+
+    // -------------------------
+    // LECTURA POR LOTES
+    // -------------------------
+    private static class Lote {
+        final long primeraLinea;
+        final List<String> lineas;
+
+        Lote(long primeraLinea, List<String> lineas) {
+            this.primeraLinea = primeraLinea;
+            this.lineas = lineas;
+        }
+    }
+
+    private static class LoteValidado<T> {
+        final List<T> altas = new ArrayList<>();
+        final List<FilaRechazada> rechazadas = new ArrayList<>();
+    }
+
+    private <T> ResultadoImportacion importar(Reader in, String primeraColumna, Function<List<String>, T> convertir,
+                                              ToIntFunction<List<T>> registrar, Consumer<FilaRechazada> alRechazar)
+            throws IOException {
+        BufferedReader lector = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        ExecutorService pool = Executors.newFixedThreadPool(hilos, hilosDemonio());
+        ArrayDeque<Future<LoteValidado<T>>> enCurso = new ArrayDeque<>();
+        long aceptadas = 0;
+        long rechazadas = 0;
+        try {
+            long numeroLinea = 0;
+            boolean primera = true;
+            while (true) {
+                List<String> lineas = new ArrayList<>(tamanioLote);
+                long primeraDelLote = numeroLinea + 1;
+                String linea = null;
+                while (lineas.size() < tamanioLote && (linea = lector.readLine()) != null) {
+                    numeroLinea++;
+                    if (primera && esEncabezado(linea, primeraColumna)) {
+                        linea = ""; // se cuenta la linea pero no se importa
+                    }
+                    primera = false;
+                    lineas.add(linea);
+                }
+                if (!lineas.isEmpty()) {
+                    Lote lote = new Lote(primeraDelLote, lineas);
+                    enCurso.add(pool.submit(() -> validar(lote, convertir)));
+                }
+                // se registra en orden; solo se lee mas cuando hay lugar
+                while (!enCurso.isEmpty() && (enCurso.size() >= 2 * hilos || linea == null)) {
+                    LoteValidado<T> v = esperar(enCurso.poll());
+                    if (!v.altas.isEmpty()) registrar.applyAsInt(v.altas);
+                    aceptadas += v.altas.size();
+                    rechazadas += v.rechazadas.size();
+                    v.rechazadas.forEach(alRechazar);
+                }
+                if (linea == null) break;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new ResultadoImportacion(aceptadas, rechazadas, new ArrayList<>());
+    }
+
+    private static <T> LoteValidado<T> validar(Lote lote, Function<List<String>, T> convertir) {
+        LoteValidado<T> v = new LoteValidado<>();
+        long numero = lote.primeraLinea;
+        for (String linea : lote.lineas) {
+            if (!linea.trim().isEmpty()) {
+                try {
+                    v.altas.add(convertir.apply(Csv.campos(linea)));
+                } catch (IllegalArgumentException e) {
+                    v.rechazadas.add(new FilaRechazada(numero, e.getMessage()));
+                }
+            }
+            numero++;
+        }
+        return v;
+    }
+
+    private static boolean esEncabezado(String linea, String primeraColumna) {
+        int coma = linea.indexOf(',');
+        String primerCampo = (coma < 0 ? linea : linea.substring(0, coma)).trim();
+        if (primerCampo.startsWith("\uFEFF")) primerCampo = primerCampo.substring(1); // BOM de UTF-8
+        return primerCampo.equalsIgnoreCase(primeraColumna);
+    }
+
+    private static <T> T esperar(Future<T> f) throws IOException {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importacion interrumpida", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) throw (RuntimeException) causa;
+            if (causa instanceof Error) throw (Error) causa;
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    private static ThreadFactory hilosDemonio() {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "importador-csv-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package importacion;
+
+import java.util.Collections;
+import java.util.List;
+
+/** Resumen de una importacion. */
+public class ResultadoImportacion {
+    private final long aceptadas;
+    private final long cantidadRechazadas;
+    private final List<FilaRechazada> rechazadas;
+
+    ResultadoImportacion(long aceptadas, long cantidadRechazadas, List<FilaRechazada> rechazadas) {
+        this.aceptadas = aceptadas;
+        this.cantidadRechazadas = cantidadRechazadas;
+        this.rechazadas = Collections.unmodifiableList(rechazadas);
+    }
+
+    public long getAceptadas() {
+        return aceptadas;
+    }
+
+    public long getCantidadRechazadas() {
+        return cantidadRechazadas;
+    }
+
+    /** Filas rechazadas en orden de linea; vacia si se informaron a un consumidor propio. */
+    public List<FilaRechazada> getRechazadas() {
+        return rechazadas;
+    }
+}
@@ -0,0 +1,109 @@
+package metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias en nanosegundos con error relativo acotado (~3%):
+ * cada potencia de dos se divide en 32 intervalos iguales, asi que ocupa
+ * unos 15 KB sin importar cuantos valores se registren.
+ *
+ * registrar no toma locks (solo incrementos atomicos) y se puede llamar desde
+ * varios hilos a la vez; cantidad y suma son LongAdder para que los hilos no
+ * compitan por el mismo contador. Las consultas leen los contadores sin frenar
+ * a quien registra; para percentiles coherentes entre si conviene consultar una copia.
+ */
+public class Histograma {
+    private static final int BITS_SUB = 5;
+    private static final int SUB = 1 << BITS_SUB;
+    private static final int INTERVALOS = (64 - BITS_SUB) * SUB;
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(INTERVALOS);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /** Registra un valor; los negativos cuentan como 0. */
+    public void registrar(long nanos) {
+        long v = Math.max(nanos, 0);
+        cuentas.getAndIncrement(intervalo(v));
+        cantidad.increment();
+        suma.add(v);
+        long m = maximo.get();
+        while (v > m && !maximo.compareAndSet(m, v)) m = maximo.get();
+    }
+
+    public long cantidad() {
+        return cantidad.sum();
+    }
+
+    public long maximo() {
+        return maximo.get();
+    }
+
+    public double media() {
+        long n = cantidad.sum();
+        return n == 0 ? 0 : (double) suma.sum() / n;
+    }
+
+    /**
+     * Valor por debajo del cual queda la fraccion p de los registros (p entre 0 y 1),
+     * redondeado al limite superior de su intervalo. 0 si no hay registros.
+     */
+    public long percentil(double p) {
+        long total = 0;
+        for (int i = 0; i < INTERVALOS; i++) total += cuentas.get(i);
+        if (total == 0) return 0;
+        long objetivo = Math.max(1, (long) Math.ceil(p * total));
+        long acumulado = 0;
+        for (int i = 0; i < INTERVALOS; i++) {
+            acumulado += cuentas.get(i);
+            if (acumulado >= objetivo) return Math.min(limiteSuperior(i), maximo.get());
+        }
+        return maximo.get();
+    }
+
+    /** Copia de los contadores en este momento. */
+    public Histograma copiar() {
+        Histograma h = new Histograma();
+        h.sumar(this);
+        return h;
+    }
+
+    /** Suma a este histograma los registros de otro. */
+    public void sumar(Histograma otro) {
+        for (int i = 0; i < INTERVALOS; i++) {
+            long c = otro.cuentas.get(i);
+            if (c != 0) cuentas.getAndAdd(i, c);
+        }
+        cantidad.add(otro.cantidad.sum());
+        suma.add(otro.suma.sum());
+        long v = otro.maximo.get();
+        long m = maximo.get();
+        while (v > m && !maximo.compareAndSet(m, v)) m = maximo.get();
+    }
+
+    /** Vuelve a cero. Lo que se registre mientras tanto puede quedar o no. */
+    public void reiniciar() {
+        for (int i = 0; i < INTERVALOS; i++) cuentas.set(i, 0);
+        cantidad.reset();
+        suma.reset();
+        maximo.set(0);
+    }
+
+    // los valores menores a SUB tienen intervalo propio; despues, SUB intervalos por potencia de dos
+    static int intervalo(long v) {
+        if (v < SUB) return (int) v;
+        int desplazamiento = 63 - Long.numberOfLeadingZeros(v) - BITS_SUB;
+        return (desplazamiento + 1) * SUB + (int) ((v >>> desplazamiento) - SUB);
+    }
+
+    static long limiteSuperior(int intervalo) {
+        if (intervalo < SUB) return intervalo;
+        int desplazamiento = intervalo / SUB - 1;
+        long sub = intervalo % SUB + SUB;
+        long limite = ((sub + 1) << desplazamiento) - 1;
+        return limite < 0 ? Long.MAX_VALUE : limite;
+    }
+}
@@ -0,0 +1,457 @@
+package metricas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import entidades.IHomeSolution;
+import entidades.Tupla;
+
+/**
+ * Decorador que mide cada metodo de otro IHomeSolution: cantidad de llamadas,
+ * cantidad de errores (las excepciones de negocio tambien cuentan) e histograma
+ * de latencias. No agrega sincronizacion: es tan seguro para varios hilos como
+ * la implementacion que envuelve, y registrar una llamada no toma locks.
+ */
+public class HomeSolutionInstrumentado implements IHomeSolution {
+
+    /** Los metodos medidos; las sobrecargas de registrarEmpleado se miden por separado. */
+    public enum Metodo {
+        REGISTRAR_EMPLEADO("registrarEmpleado"),
+        REGISTRAR_EMPLEADO_PLANTA("registrarEmpleado(categoria)"),
+        REGISTRAR_PROYECTO("registrarProyecto"),
+        ASIGNAR_RESPONSABLE("asignarResponsableEnTarea"),
+        ASIGNAR_MENOS_RETRASO("asignarResponsableMenosRetraso"),
+        REGISTRAR_RETRASO("registrarRetrasoEnTarea"),
+        AGREGAR_TAREA("agregarTareaEnProyecto"),
+        FINALIZAR_TAREA("finalizarTarea"),
+        FINALIZAR_PROYECTO("finalizarProyecto"),
+        REASIGNAR("reasignarEmpleadoEnProyecto"),
+        REASIGNAR_MENOS_RETRASO("reasignarEmpleadoConMenosRetraso"),
+        COSTO_PROYECTO("costoProyecto"),
+        PROYECTOS_FINALIZADOS("proyectosFinalizados"),
+        PROYECTOS_PENDIENTES("proyectosPendientes"),
+        PROYECTOS_ACTIVOS("proyectosActivos"),
+        EMPLEADOS_NO_ASIGNADOS("empleadosNoAsignados"),
+        ESTA_FINALIZADO("estaFinalizado"),
+        CANTIDAD_RETRASOS("consultarCantidadRetrasosEmpleado"),
+        EMPLEADOS_ASIGNADOS("empleadosAsignadosAProyecto"),
+        TAREAS_NO_ASIGNADAS("tareasProyectoNoAsignadas"),
+        TAREAS_DE_PROYECTO("tareasDeUnProyecto"),
+        DOMICILIO_PROYECTO("consultarDomicilioProyecto"),
+        TIENE_RETRASOS("tieneRestrasos"),
+        EMPLEADOS("empleados"),
+        CONSULTAR_PROYECTO("consultarProyecto"),
+        RESPONSABLE_DE_TAREA("responsableDeTarea"),
+        HISTORIAL_EMPLEADOS("historialEmpleadosDeProyecto");
+
+        private final String nombre;
+
+        Metodo(String nombre) {
+            this.nombre = nombre;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+    }
+
+    private static final Metodo[] METODOS = Metodo.values();
+
+    private final IHomeSolution destino;
+    private final Histograma[] latencias = new Histograma[METODOS.length];
+    private final LongAdder[] errores = new LongAdder[METODOS.length];
+
+    public HomeSolutionInstrumentado(IHomeSolution destino) {
+        this.destino = destino;
+        for (int i = 0; i < METODOS.length; i++) {
+            latencias[i] = new Histograma();
+            errores[i] = new LongAdder();
+        }
+    }
+
+    public IHomeSolution getDestino() {
+        return destino;
+    }
+
+    // -------------------------
+    // CONSULTA DE METRICAS
+    // -------------------------
+
+    /** Metricas de todos los metodos llamados al menos una vez desde el ultimo reinicio. */
+    public List<ResumenOperacion> instantanea() {
+        List<ResumenOperacion> out = new ArrayList<>();
+        for (Metodo m : METODOS) {
+            ResumenOperacion r = resumen(m);
+            if (r.getLlamadas() > 0) out.add(r);
+        }
+        return out;
+    }
+
+    /** Percentiles calculados sobre una copia del histograma, coherentes entre si. */
+    public ResumenOperacion resumen(Metodo m) {
+        return new ResumenOperacion(m.getNombre(), latencias[m.ordinal()].copiar(), errores[m.ordinal()].sum());
+    }
+
+    /** Histograma vivo del metodo, para sumarlo o exportarlo. */
+    public Histograma getLatencias(Metodo m) {
+        return latencias[m.ordinal()];
+    }
+
+    /** Vuelve todo a cero; lo que se registre mientras tanto puede quedar o no. */
+    public void reiniciar() {
+        for (int i = 0; i < METODOS.length; i++) {
+            latencias[i].reiniciar();
+            errores[i].reset();
+        }
+    }
+
+    private void registrar(Metodo m, long inicio, boolean ok) {
+        latencias[m.ordinal()].registrar(System.nanoTime() - inicio);
+        if (!ok) errores[m.ordinal()].increment();
+    }
+
+    // -------------------------
+    // METODOS MEDIDOS
+    // -------------------------
+    @Override
+    public void registrarEmpleado(String nombre, double valor) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.registrarEmpleado(nombre, valor);
+            ok = true;
+        } finally {
+            registrar(Metodo.REGISTRAR_EMPLEADO, inicio, ok);
+        }
+    }
+
+    @Override
+    public void registrarEmpleado(String nombre, double valor, String categoria) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.registrarEmpleado(nombre, valor, categoria);
+            ok = true;
+        } finally {
+            registrar(Metodo.REGISTRAR_EMPLEADO_PLANTA, inicio, ok);
+        }
+    }
+
+    @Override
+    public void registrarProyecto(String[] titulos, String[] descripcion, double[] dias,
+                                  String domicilio, String[] cliente, String inicioProyecto, String fin) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.registrarProyecto(titulos, descripcion, dias, domicilio, cliente, inicioProyecto, fin);
+            ok = true;
+        } finally {
+            registrar(Metodo.REGISTRAR_PROYECTO, inicio, ok);
+        }
+    }
+
+    @Override
+    public void asignarResponsableEnTarea(Integer numero, String titulo) throws Exception {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.asignarResponsableEnTarea(numero, titulo);
+            ok = true;
+        } finally {
+            registrar(Metodo.ASIGNAR_RESPONSABLE, inicio, ok);
+        }
+    }
+
+    @Override
+    public void asignarResponsableMenosRetraso(Integer numero, String titulo) throws Exception {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.asignarResponsableMenosRetraso(numero, titulo);
+            ok = true;
+        } finally {
+            registrar(Metodo.ASIGNAR_MENOS_RETRASO, inicio, ok);
+        }
+    }
+
+    @Override
+    public void registrarRetrasoEnTarea(Integer numero, String titulo, double cantidadDias) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.registrarRetrasoEnTarea(numero, titulo, cantidadDias);
+            ok = true;
+        } finally {
+            registrar(Metodo.REGISTRAR_RETRASO, inicio, ok);
+        }
+    }
+
+    @Override
+    public void agregarTareaEnProyecto(Integer numero, String titulo, String descripcion, double dias) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.agregarTareaEnProyecto(numero, titulo, descripcion, dias);
+            ok = true;
+        } finally {
+            registrar(Metodo.AGREGAR_TAREA, inicio, ok);
+        }
+    }
+
+    @Override
+    public void finalizarTarea(Integer numero, String titulo) throws Exception {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.finalizarTarea(numero, titulo);
+            ok = true;
+        } finally {
+            registrar(Metodo.FINALIZAR_TAREA, inicio, ok);
+        }
+    }
+
+    @Override
+    public void finalizarProyecto(Integer numero, String fin) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.finalizarProyecto(numero, fin);
+            ok = true;
+        } finally {
+            registrar(Metodo.FINALIZAR_PROYECTO, inicio, ok);
+        }
+    }
+
+    @Override
+    public void reasignarEmpleadoEnProyecto(Integer numero, Integer legajo, String titulo) throws Exception {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.reasignarEmpleadoEnProyecto(numero, legajo, titulo);
+            ok = true;
+        } finally {
+            registrar(Metodo.REASIGNAR, inicio, ok);
+        }
+    }
+
+    @Override
+    public void reasignarEmpleadoConMenosRetraso(Integer numero, String titulo) throws Exception {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            destino.reasignarEmpleadoConMenosRetraso(numero, titulo);
+            ok = true;
+        } finally {
+            registrar(Metodo.REASIGNAR_MENOS_RETRASO, inicio, ok);
+        }
+    }
+
+    @Override
+    public double costoProyecto(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            double r = destino.costoProyecto(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.COSTO_PROYECTO, inicio, ok);
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosFinalizados() {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            List<Tupla<Integer, String>> r = destino.proyectosFinalizados();
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.PROYECTOS_FINALIZADOS, inicio, ok);
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosPendientes() {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            List<Tupla<Integer, String>> r = destino.proyectosPendientes();
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.PROYECTOS_PENDIENTES, inicio, ok);
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosActivos() {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            List<Tupla<Integer, String>> r = destino.proyectosActivos();
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.PROYECTOS_ACTIVOS, inicio, ok);
+        }
+    }
+
+    @Override
+    public Object[] empleadosNoAsignados() {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            Object[] r = destino.empleadosNoAsignados();
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.EMPLEADOS_NO_ASIGNADOS, inicio, ok);
+        }
+    }
+
+    @Override
+    public boolean estaFinalizado(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            boolean r = destino.estaFinalizado(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.ESTA_FINALIZADO, inicio, ok);
+        }
+    }
+
+    @Override
+    public int consultarCantidadRetrasosEmpleado(Integer legajo) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            int r = destino.consultarCantidadRetrasosEmpleado(legajo);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.CANTIDAD_RETRASOS, inicio, ok);
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> empleadosAsignadosAProyecto(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            List<Tupla<Integer, String>> r = destino.empleadosAsignadosAProyecto(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.EMPLEADOS_ASIGNADOS, inicio, ok);
+        }
+    }
+
+    @Override
+    public Object[] tareasProyectoNoAsignadas(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            Object[] r = destino.tareasProyectoNoAsignadas(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.TAREAS_NO_ASIGNADAS, inicio, ok);
+        }
+    }
+
+    @Override
+    public Object[] tareasDeUnProyecto(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            Object[] r = destino.tareasDeUnProyecto(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.TAREAS_DE_PROYECTO, inicio, ok);
+        }
+    }
+
+    @Override
+    public String consultarDomicilioProyecto(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            String r = destino.consultarDomicilioProyecto(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.DOMICILIO_PROYECTO, inicio, ok);
+        }
+    }
+
+    @Override
+    public boolean tieneRestrasos(Integer legajo) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            boolean r = destino.tieneRestrasos(legajo);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.TIENE_RETRASOS, inicio, ok);
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> empleados() {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            List<Tupla<Integer, String>> r = destino.empleados();
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.EMPLEADOS, inicio, ok);
+        }
+    }
+
+    @Override
+    public String consultarProyecto(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            String r = destino.consultarProyecto(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.CONSULTAR_PROYECTO, inicio, ok);
+        }
+    }
+
+    @Override
+    public Integer responsableDeTarea(Integer numero, String titulo) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            Integer r = destino.responsableDeTarea(numero, titulo);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.RESPONSABLE_DE_TAREA, inicio, ok);
+        }
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> historialEmpleadosDeProyecto(Integer numero) {
+        long inicio = System.nanoTime();
+        boolean ok = false;
+        try {
+            List<Tupla<Integer, String>> r = destino.historialEmpleadosDeProyecto(numero);
+            ok = true;
+            return r;
+        } finally {
+            registrar(Metodo.HISTORIAL_EMPLEADOS, inicio, ok);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import entidades.HomeSolution;
+
+/**
+ * MXBean con los tamaños de los indices de un HomeSolution y su memoria estimada.
+ * Se registra en el servidor de la plataforma, asi lo ve JConsole sin configurar nada
+ * tanto con la interfaz grafica como en un despliegue sin pantalla.
+ */
+public class MonitorIndices implements MonitorIndicesMXBean {
+
+    public static final String NOMBRE = "homesolution:type=Indices";
+
+    private final HomeSolution hs;
+
+    public MonitorIndices(HomeSolution hs) {
+        this.hs = hs;
+    }
+
+    /**
+     * Registra un monitor de hs con el nombre {@link #NOMBRE} (reemplaza al que hubiera).
+     * @return el nombre con el que quedo registrado.
+     */
+    public static ObjectName registrar(HomeSolution hs) throws JMException {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        ObjectName nombre = new ObjectName(NOMBRE);
+        if (servidor.isRegistered(nombre)) servidor.unregisterMBean(nombre);
+        servidor.registerMBean(new MonitorIndices(hs), nombre);
+        return nombre;
+    }
+
+    @Override
+    public int getEmpleados() {
+        return hs.estadisticas().getEmpleados();
+    }
+
+    @Override
+    public int getProyectos() {
+        return hs.estadisticas().getProyectos();
+    }
+
+    @Override
+    public int getEmpleadosLibres() {
+        return hs.estadisticas().getEmpleadosLibres();
+    }
+
+    @Override
+    public int getEmpleadosPorRetrasos() {
+        return hs.estadisticas().getEmpleadosPorRetrasos();
+    }
+
+    @Override
+    public int getProyectosPendientes() {
+        return hs.estadisticas().getProyectosPendientes();
+    }
+
+    @Override
+    public int getProyectosActivos() {
+        return hs.estadisticas().getProyectosActivos();
+    }
+
+    @Override
+    public int getProyectosFinalizados() {
+        return hs.estadisticas().getProyectosFinalizados();
+    }
+
+    @Override
+    public int getOcupaciones() {
+        return hs.estadisticas().getOcupaciones();
+    }
+
+    @Override
+    public long getTareas() {
+        return hs.estadisticas().getTareas();
+    }
+
+    @Override
+    public long getEmpleadosActuales() {
+        return hs.estadisticas().getEmpleadosActuales();
+    }
+
+    @Override
+    public long getHistorialEmpleados() {
+        return hs.estadisticas().getHistorial();
+    }
+
+    @Override
+    public int getNextLegajo() {
+        return hs.estadisticas().getNextLegajo();
+    }
+
+    @Override
+    public int getNextProyectoId() {
+        return hs.estadisticas().getNextProyectoId();
+    }
+
+    @Override
+    public int getNextTareaId() {
+        return hs.estadisticas().getNextTareaId();
+    }
+
+    @Override
+    public Map<String, Long> getMemoriaEstimada() {
+        return hs.estadisticas().memoriaEstimada();
+    }
+
+    @Override
+    public long getMemoriaEstimadaTotal() {
+        return hs.estadisticas().memoriaEstimadaTotal();
+    }
+}
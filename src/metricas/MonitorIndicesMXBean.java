@@ -0,0 +1,43 @@
+package metricas;
+
+import java.util.Map;
+
+/**
+ * Atributos que HomeSolution publica por JMX (JConsole, VisualVM o cualquier cliente).
+ * Cada lectura es O(1): sale de contadores que se mantienen en cada operacion.
+ */
+public interface MonitorIndicesMXBean {
+
+    int getEmpleados();
+
+    int getProyectos();
+
+    int getEmpleadosLibres();
+
+    int getEmpleadosPorRetrasos();
+
+    int getProyectosPendientes();
+
+    int getProyectosActivos();
+
+    int getProyectosFinalizados();
+
+    int getOcupaciones();
+
+    long getTareas();
+
+    long getEmpleadosActuales();
+
+    long getHistorialEmpleados();
+
+    int getNextLegajo();
+
+    int getNextProyectoId();
+
+    int getNextTareaId();
+
+    /** Bytes estimados por estructura. */
+    Map<String, Long> getMemoriaEstimada();
+
+    long getMemoriaEstimadaTotal();
+}
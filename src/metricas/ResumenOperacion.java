@@ -0,0 +1,65 @@
+package metricas;
+
+import java.util.Locale;
+
+/** Foto de las metricas de un metodo: llamadas, errores y latencias en nanosegundos. */
+public final class ResumenOperacion {
+    private final String nombre;
+    private final long llamadas;
+    private final long errores;
+    private final double media;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long maximo;
+
+    ResumenOperacion(String nombre, Histograma h, long errores) {
+        this.nombre = nombre;
+        this.llamadas = h.cantidad();
+        this.errores = errores;
+        this.media = h.media();
+        this.p50 = h.percentil(0.5);
+        this.p99 = h.percentil(0.99);
+        this.p999 = h.percentil(0.999);
+        this.maximo = h.maximo();
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public long getLlamadas() {
+        return llamadas;
+    }
+
+    /** Llamadas que terminaron en excepcion. */
+    public long getErrores() {
+        return errores;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s llamadas=%d errores=%d media=%.0fns p50=%dns p99=%dns p999=%dns max=%dns",
+                nombre, llamadas, errores, media, p50, p99, p999, maximo);
+    }
+}
@@ -0,0 +1,125 @@
+package persistencia;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Arma los datos de un registro y los vuelve a leer.
+ * Textos y arreglos llevan el largo adelante; -1 representa null.
+ */
+class Codificador {
+    private ByteBuffer buffer = ByteBuffer.allocate(128);
+
+    /** Datos escritos hasta ahora, listos para leer. */
+    ByteBuffer datos() {
+        ByteBuffer out = buffer.duplicate();
+        out.flip();
+        return out;
+    }
+
+    Codificador entero(int v) {
+        lugar(4).putInt(v);
+        return this;
+    }
+
+    Codificador enteroONulo(Integer v) {
+        lugar(5).put((byte) (v == null ? 0 : 1)).putInt(v == null ? 0 : v);
+        return this;
+    }
+
+    Codificador largo(long v) {
+        lugar(8).putLong(v);
+        return this;
+    }
+
+    Codificador real(double v) {
+        lugar(8).putDouble(v);
+        return this;
+    }
+
+    Codificador logico(boolean v) {
+        lugar(1).put((byte) (v ? 1 : 0));
+        return this;
+    }
+
+    Codificador texto(String s) {
+        if (s == null) return entero(-1);
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        lugar(4 + b.length).putInt(b.length).put(b);
+        return this;
+    }
+
+    Codificador textos(String[] v) {
+        if (v == null) return entero(-1);
+        entero(v.length);
+        for (String s : v) texto(s);
+        return this;
+    }
+
+    Codificador reales(double[] v) {
+        if (v == null) return entero(-1);
+        lugar(4 + 8 * v.length).putInt(v.length);
+        for (double d : v) buffer.putDouble(d);
+        return this;
+    }
+
+    Codificador enteros(int[] v) {
+        lugar(4 + 4 * v.length).putInt(v.length);
+        for (int i : v) buffer.putInt(i);
+        return this;
+    }
+
+    private ByteBuffer lugar(int bytes) {
+        if (buffer.remaining() < bytes) {
+            int capacidad = buffer.capacity();
+            while (capacidad - buffer.position() < bytes) capacidad *= 2;
+            ByteBuffer nuevo = ByteBuffer.allocate(capacidad);
+            buffer.flip();
+            nuevo.put(buffer);
+            buffer = nuevo;
+        }
+        return buffer;
+    }
+
+    // ---- lectura ----
+
+    static Integer leerEnteroONulo(ByteBuffer b) {
+        boolean presente = b.get() != 0;
+        int v = b.getInt();
+        return presente ? v : null;
+    }
+
+    static boolean leerLogico(ByteBuffer b) {
+        return b.get() != 0;
+    }
+
+    static String leerTexto(ByteBuffer b) {
+        int n = b.getInt();
+        if (n < 0) return null;
+        byte[] bytes = new byte[n];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static String[] leerTextos(ByteBuffer b) {
+        int n = b.getInt();
+        if (n < 0) return null;
+        String[] v = new String[n];
+        for (int i = 0; i < n; i++) v[i] = leerTexto(b);
+        return v;
+    }
+
+    static double[] leerReales(ByteBuffer b) {
+        int n = b.getInt();
+        if (n < 0) return null;
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = b.getDouble();
+        return v;
+    }
+
+    static int[] leerEnteros(ByteBuffer b) {
+        int[] v = new int[b.getInt()];
+        for (int i = 0; i < v.length; i++) v[i] = b.getInt();
+        return v;
+    }
+}
@@ -0,0 +1,496 @@
+package persistencia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import entidades.AltaEmpleado;
+import entidades.AltaProyecto;
+import entidades.EstrategiaAsignacion;
+import entidades.HomeSolution;
+import entidades.ResultadoAsignacion;
+import entidades.Snapshot;
+
+/**
+ * HomeSolution que registra cada operacion que modifica el estado en un journal
+ * antes de aplicarla, y al abrirse reconstruye el estado reproduciendo el journal.
+ *
+ * Se registra la llamada, no su resultado: una operacion que falla tambien queda
+ * en el journal y al reproducirla vuelve a fallar igual, asi que el estado
+ * (contadores de id, pool de libres, orden por retrasos) queda identico.
+ * La unica entrada no deterministica es la fecha de finalizarTarea, que se guarda.
+ *
+ * Las modificaciones se serializan entre si; la espera del fsync se hace fuera
+ * de ese lock para que varios hilos compartan un mismo fsync.
+ * Las consultas no se sincronizan, igual que en HomeSolution.
+ */
+public class HomeSolutionPersistente extends HomeSolution implements Closeable {
+
+    static final byte REGISTRAR_EMPLEADO = 1;
+    static final byte REGISTRAR_EMPLEADO_PLANTA = 2;
+    static final byte REGISTRAR_PROYECTO = 3;
+    static final byte ASIGNAR = 4;
+    static final byte ASIGNAR_MENOS_RETRASO = 5;
+    static final byte REGISTRAR_RETRASO = 6;
+    static final byte AGREGAR_TAREA = 7;
+    static final byte FINALIZAR_TAREA = 8;
+    static final byte FINALIZAR_PROYECTO = 9;
+    static final byte REASIGNAR = 10;
+    static final byte REASIGNAR_MENOS_RETRASO = 11;
+    static final byte ASIGNAR_PENDIENTES = 12;
+    static final byte ASIGNAR_PENDIENTES_VARIOS = 13;
+    static final byte CAMBIAR_SIN_RETRASOS = 14;
+    static final byte REGISTRAR_EMPLEADOS = 15;
+    static final byte REGISTRAR_PROYECTOS = 16;
+
+    private final Journal journal;
+    private final Path snapshot; // null si no se usan snapshots
+    private int reproducidas;
+
+    public HomeSolutionPersistente(Path archivo) throws IOException {
+        this(archivo, null, Journal.Durabilidad.INMEDIATA, 0);
+    }
+
+    public HomeSolutionPersistente(Path archivo, Journal.Durabilidad durabilidad, long intervaloMs) throws IOException {
+        this(archivo, null, durabilidad, intervaloMs);
+    }
+
+    /**
+     * Si existe el snapshot se carga y del journal solo se reproduce lo posterior a el.
+     * @param snapshot archivo para tomarSnapshot, o null para reproducir siempre todo el journal.
+     * @param intervaloMs cada cuanto sincroniza el hilo de fondo con Durabilidad.DIFERIDA.
+     */
+    public HomeSolutionPersistente(Path archivo, Path snapshot, Journal.Durabilidad durabilidad,
+                                   long intervaloMs) throws IOException {
+        super();
+        this.snapshot = snapshot;
+        long desde = 0;
+        if (snapshot != null && Files.exists(snapshot)) desde = Snapshot.cargar(snapshot, this);
+        try {
+            this.journal = Journal.abrir(archivo, desde, durabilidad, intervaloMs, this::reproducir);
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // un registro que no se pudo leer
+        }
+    }
+
+    /**
+     * Guarda una foto del estado para no tener que reproducir todo el journal al arrancar,
+     * y despues saca del journal los registros que la foto ya incluye.
+     * Las modificaciones solo se frenan mientras se copia el estado a memoria y mientras
+     * el journal copia a un archivo nuevo lo que se agrego despues de la foto.
+     */
+    public void tomarSnapshot() throws IOException {
+        if (snapshot == null) throw new IllegalStateException("Sin archivo de snapshot");
+        ByteBuffer datos;
+        long marca;
+        synchronized (this) {
+            marca = journal.tamanio();
+            datos = Snapshot.capturar(this, marca);
+        }
+        // la foto no puede quedar en disco antes que los registros que ya incluye
+        journal.sincronizar();
+        Snapshot.escribir(datos, snapshot);
+        journal.descartarHasta(marca);
+    }
+
+    /** Cantidad de operaciones reproducidas al abrir el journal. */
+    public int getOperacionesReproducidas() {
+        return reproducidas;
+    }
+
+    /** true si el journal estaba vacio al abrirlo y no se registro nada todavia. */
+    public boolean estaVacio() {
+        return journal.tamanio() == 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    // -------------------------
+    // OPERACIONES REGISTRADAS
+    // -------------------------
+    @Override
+    public void registrarEmpleado(String nombre, double valor) {
+        sinControlar(REGISTRAR_EMPLEADO, new Codificador().texto(nombre).real(valor), () -> {
+            super.registrarEmpleado(nombre, valor);
+            return null;
+        });
+    }
+
+    @Override
+    public void registrarEmpleado(String nombre, double valor, String categoria) {
+        sinControlar(REGISTRAR_EMPLEADO_PLANTA, new Codificador().texto(nombre).real(valor).texto(categoria), () -> {
+            super.registrarEmpleado(nombre, valor, categoria);
+            return null;
+        });
+    }
+
+    @Override
+    public void registrarProyecto(String[] titulos, String[] descripcion, double[] dias,
+                                  String domicilio, String[] cliente, String inicio, String fin) {
+        Codificador datos = new Codificador().textos(titulos).textos(descripcion).reales(dias)
+                .texto(domicilio).textos(cliente).texto(inicio).texto(fin);
+        sinControlar(REGISTRAR_PROYECTO, datos, () -> {
+            super.registrarProyecto(titulos, descripcion, dias, domicilio, cliente, inicio, fin);
+            return null;
+        });
+    }
+
+    // un lote es un solo registro: al reproducirlo toma los mismos rangos de ids
+    @Override
+    public int registrarEmpleados(List<AltaEmpleado> altas) {
+        Codificador datos = new Codificador().entero(altas.size());
+        for (AltaEmpleado a : altas) datos.texto(a.getNombre()).real(a.getValor()).texto(a.getCategoria());
+        return sinControlar(REGISTRAR_EMPLEADOS, datos, () -> super.registrarEmpleados(altas));
+    }
+
+    @Override
+    public int registrarProyectos(List<AltaProyecto> altas) {
+        Codificador datos = new Codificador().entero(altas.size());
+        for (AltaProyecto a : altas) {
+            datos.textos(a.getTitulos()).textos(a.getDescripciones()).reales(a.getDias())
+                    .texto(a.getDomicilio()).textos(a.getCliente())
+                    .largo(a.getInicio().toEpochDay()).largo(a.getFin().toEpochDay());
+        }
+        return sinControlar(REGISTRAR_PROYECTOS, datos, () -> super.registrarProyectos(altas));
+    }
+
+    @Override
+    public void asignarResponsableEnTarea(Integer numero, String titulo) throws Exception {
+        ejecutar(ASIGNAR, new Codificador().enteroONulo(numero).texto(titulo), () -> {
+            super.asignarResponsableEnTarea(numero, titulo);
+            return null;
+        });
+    }
+
+    @Override
+    public void asignarResponsableMenosRetraso(Integer numero, String titulo) throws Exception {
+        ejecutar(ASIGNAR_MENOS_RETRASO, new Codificador().enteroONulo(numero).texto(titulo), () -> {
+            super.asignarResponsableMenosRetraso(numero, titulo);
+            return null;
+        });
+    }
+
+    @Override
+    public void registrarRetrasoEnTarea(Integer numero, String titulo, double cantidadDias) {
+        sinControlar(REGISTRAR_RETRASO, new Codificador().enteroONulo(numero).texto(titulo).real(cantidadDias), () -> {
+            super.registrarRetrasoEnTarea(numero, titulo, cantidadDias);
+            return null;
+        });
+    }
+
+    @Override
+    public void agregarTareaEnProyecto(Integer numero, String titulo, String descripcion, double dias) {
+        Codificador datos = new Codificador().enteroONulo(numero).texto(titulo).texto(descripcion).real(dias);
+        sinControlar(AGREGAR_TAREA, datos, () -> {
+            super.agregarTareaEnProyecto(numero, titulo, descripcion, dias);
+            return null;
+        });
+    }
+
+    // finalizarTarea(numero, titulo) delega en esta con la fecha de hoy
+    @Override
+    public void finalizarTarea(Integer numero, String titulo, LocalDate hoy) throws Exception {
+        ejecutar(FINALIZAR_TAREA, new Codificador().enteroONulo(numero).texto(titulo).largo(hoy.toEpochDay()), () -> {
+            super.finalizarTarea(numero, titulo, hoy);
+            return null;
+        });
+    }
+
+    @Override
+    public void finalizarProyecto(Integer numero, String fin) {
+        sinControlar(FINALIZAR_PROYECTO, new Codificador().enteroONulo(numero).texto(fin), () -> {
+            super.finalizarProyecto(numero, fin);
+            return null;
+        });
+    }
+
+    @Override
+    public void reasignarEmpleadoEnProyecto(Integer numero, Integer legajo, String titulo) throws Exception {
+        ejecutar(REASIGNAR, new Codificador().enteroONulo(numero).enteroONulo(legajo).texto(titulo), () -> {
+            super.reasignarEmpleadoEnProyecto(numero, legajo, titulo);
+            return null;
+        });
+    }
+
+    @Override
+    public void reasignarEmpleadoConMenosRetraso(Integer numero, String titulo) throws Exception {
+        ejecutar(REASIGNAR_MENOS_RETRASO, new Codificador().enteroONulo(numero).texto(titulo), () -> {
+            super.reasignarEmpleadoConMenosRetraso(numero, titulo);
+            return null;
+        });
+    }
+
+    @Override
+    public List<ResultadoAsignacion> asignarTareasPendientes(Integer numero, EstrategiaAsignacion estrategia) {
+        Codificador datos = new Codificador().enteroONulo(numero).entero(estrategia.ordinal());
+        return sinControlar(ASIGNAR_PENDIENTES, datos, () -> super.asignarTareasPendientes(numero, estrategia));
+    }
+
+    @Override
+    public List<ResultadoAsignacion> asignarTareasPendientes(Collection<Integer> numeros, EstrategiaAsignacion estrategia) {
+        Codificador datos = new Codificador().entero(numeros.size());
+        for (Integer n : numeros) datos.enteroONulo(n);
+        datos.entero(estrategia.ordinal());
+        return sinControlar(ASIGNAR_PENDIENTES_VARIOS, datos, () -> super.asignarTareasPendientes(numeros, estrategia));
+    }
+
+    @Override
+    public void cambiarSinRetrasosPeriodo(Integer legajo, boolean valor) {
+        sinControlar(CAMBIAR_SIN_RETRASOS, new Codificador().enteroONulo(legajo).logico(valor), () -> {
+            super.cambiarSinRetrasosPeriodo(legajo, valor);
+            return null;
+        });
+    }
+
+    // -------------------------
+    // JOURNAL
+    // -------------------------
+    private interface Operacion<T> {
+        T aplicar() throws Exception;
+    }
+
+    /**
+     * Registra y aplica la operacion bajo el lock, y espera el fsync fuera de el.
+     * Tambien se espera si la operacion falla: pudo haber modificado el estado antes de fallar.
+     */
+    private <T> T ejecutar(byte tipo, Codificador datos, Operacion<T> op) throws Exception {
+        long pos = -1;
+        try {
+            synchronized (this) {
+                pos = registrar(tipo, datos);
+                return op.aplicar();
+            }
+        } finally {
+            if (pos >= 0) esperar(pos);
+        }
+    }
+
+    // para las operaciones que solo lanzan excepciones no controladas
+    private <T> T sinControlar(byte tipo, Codificador datos, Operacion<T> op) {
+        try {
+            return ejecutar(tipo, datos, op);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e); // no pasa: op no lanza excepciones controladas
+        }
+    }
+
+    private long registrar(byte tipo, Codificador datos) {
+        try {
+            return journal.agregar(tipo, datos.datos());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void esperar(long pos) {
+        try {
+            journal.esperar(pos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // aplica un registro sin volver a registrarlo. Los errores de la operacion se repiten igual
+    // que la primera vez y se ignoran; un registro que no se puede leer hace fallar la apertura
+    private void reproducir(Journal.Registro r) {
+        Operacion<?> op;
+        try {
+            op = leer(r.getTipo(), r.getDatos());
+        } catch (RuntimeException e) {
+            throw new UncheckedIOException(new IOException("Registro invalido en el journal (tipo " + r.getTipo() + ")", e));
+        }
+        reproducidas++;
+        try {
+            op.aplicar();
+        } catch (Exception e) {
+            // la operacion fallo tambien cuando se registro
+        }
+    }
+
+    // decodifica todo el registro antes de aplicar nada
+    private Operacion<?> leer(byte tipo, ByteBuffer b) {
+        Operacion<?> op;
+        switch (tipo) {
+            case REGISTRAR_EMPLEADO: {
+                String nombre = Codificador.leerTexto(b);
+                double valor = b.getDouble();
+                op = () -> {
+                    super.registrarEmpleado(nombre, valor);
+                    return null;
+                };
+                break;
+            }
+            case REGISTRAR_EMPLEADO_PLANTA: {
+                String nombre = Codificador.leerTexto(b);
+                double valor = b.getDouble();
+                String categoria = Codificador.leerTexto(b);
+                op = () -> {
+                    super.registrarEmpleado(nombre, valor, categoria);
+                    return null;
+                };
+                break;
+            }
+            case REGISTRAR_PROYECTO: {
+                String[] titulos = Codificador.leerTextos(b);
+                String[] descripciones = Codificador.leerTextos(b);
+                double[] dias = Codificador.leerReales(b);
+                String domicilio = Codificador.leerTexto(b);
+                String[] cliente = Codificador.leerTextos(b);
+                String inicio = Codificador.leerTexto(b);
+                String fin = Codificador.leerTexto(b);
+                op = () -> {
+                    super.registrarProyecto(titulos, descripciones, dias, domicilio, cliente, inicio, fin);
+                    return null;
+                };
+                break;
+            }
+            case ASIGNAR: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                String titulo = Codificador.leerTexto(b);
+                op = () -> {
+                    super.asignarResponsableEnTarea(numero, titulo);
+                    return null;
+                };
+                break;
+            }
+            case ASIGNAR_MENOS_RETRASO: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                String titulo = Codificador.leerTexto(b);
+                op = () -> {
+                    super.asignarResponsableMenosRetraso(numero, titulo);
+                    return null;
+                };
+                break;
+            }
+            case REGISTRAR_RETRASO: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                String titulo = Codificador.leerTexto(b);
+                double dias = b.getDouble();
+                op = () -> {
+                    super.registrarRetrasoEnTarea(numero, titulo, dias);
+                    return null;
+                };
+                break;
+            }
+            case AGREGAR_TAREA: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                String titulo = Codificador.leerTexto(b);
+                String descripcion = Codificador.leerTexto(b);
+                double dias = b.getDouble();
+                op = () -> {
+                    super.agregarTareaEnProyecto(numero, titulo, descripcion, dias);
+                    return null;
+                };
+                break;
+            }
+            case FINALIZAR_TAREA: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                String titulo = Codificador.leerTexto(b);
+                LocalDate hoy = LocalDate.ofEpochDay(b.getLong());
+                op = () -> {
+                    super.finalizarTarea(numero, titulo, hoy);
+                    return null;
+                };
+                break;
+            }
+            case FINALIZAR_PROYECTO: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                String fin = Codificador.leerTexto(b);
+                op = () -> {
+                    super.finalizarProyecto(numero, fin);
+                    return null;
+                };
+                break;
+            }
+            case REASIGNAR: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                Integer legajo = Codificador.leerEnteroONulo(b);
+                String titulo = Codificador.leerTexto(b);
+                op = () -> {
+                    super.reasignarEmpleadoEnProyecto(numero, legajo, titulo);
+                    return null;
+                };
+                break;
+            }
+            case REASIGNAR_MENOS_RETRASO: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                String titulo = Codificador.leerTexto(b);
+                op = () -> {
+                    super.reasignarEmpleadoConMenosRetraso(numero, titulo);
+                    return null;
+                };
+                break;
+            }
+            case ASIGNAR_PENDIENTES: {
+                Integer numero = Codificador.leerEnteroONulo(b);
+                EstrategiaAsignacion estrategia = leerEstrategia(b);
+                op = () -> super.asignarTareasPendientes(numero, estrategia);
+                break;
+            }
+            case ASIGNAR_PENDIENTES_VARIOS: {
+                int n = b.getInt();
+                List<Integer> numeros = new ArrayList<>(Math.min(n, b.remaining()));
+                for (int i = 0; i < n; i++) numeros.add(Codificador.leerEnteroONulo(b));
+                EstrategiaAsignacion estrategia = leerEstrategia(b);
+                op = () -> super.asignarTareasPendientes(numeros, estrategia);
+                break;
+            }
+            case CAMBIAR_SIN_RETRASOS: {
+                Integer legajo = Codificador.leerEnteroONulo(b);
+                boolean valor = Codificador.leerLogico(b);
+                op = () -> {
+                    super.cambiarSinRetrasosPeriodo(legajo, valor);
+                    return null;
+                };
+                break;
+            }
+            case REGISTRAR_EMPLEADOS: {
+                int n = b.getInt();
+                List<AltaEmpleado> altas = new ArrayList<>(Math.min(n, b.remaining()));
+                for (int i = 0; i < n; i++) {
+                    String nombre = Codificador.leerTexto(b);
+                    double valor = b.getDouble();
+                    String categoria = Codificador.leerTexto(b);
+                    altas.add(categoria == null ? AltaEmpleado.contratado(nombre, valor)
+                            : AltaEmpleado.planta(nombre, valor, categoria));
+                }
+                op = () -> super.registrarEmpleados(altas);
+                break;
+            }
+            case REGISTRAR_PROYECTOS: {
+                int n = b.getInt();
+                List<AltaProyecto> altas = new ArrayList<>(Math.min(n, b.remaining()));
+                for (int i = 0; i < n; i++) {
+                    altas.add(AltaProyecto.validar(Codificador.leerTextos(b), Codificador.leerTextos(b),
+                            Codificador.leerReales(b), Codificador.leerTexto(b), Codificador.leerTextos(b),
+                            LocalDate.ofEpochDay(b.getLong()).toString(), LocalDate.ofEpochDay(b.getLong()).toString()));
+                }
+                op = () -> super.registrarProyectos(altas);
+                break;
+            }
+            default:
+                throw new IllegalStateException("Tipo de registro desconocido: " + tipo);
+        }
+        if (b.hasRemaining()) throw new IllegalStateException("Sobran " + b.remaining() + " bytes al final del registro");
+        return op;
+    }
+
+    private static EstrategiaAsignacion leerEstrategia(ByteBuffer b) {
+        int i = b.getInt();
+        EstrategiaAsignacion[] todas = EstrategiaAsignacion.values();
+        if (i < 0 || i >= todas.length) throw new IllegalStateException("Estrategia desconocida: " + i);
+        return todas[i];
+    }
+}
@@ -0,0 +1,453 @@
+package persistencia;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Archivo de solo agregado con registros binarios:
+ * [largo int][crc32 int][tipo byte][datos largo-1 bytes], el crc cubre tipo y datos.
+ * Las posiciones son logicas: cuentan desde el primer registro que se escribio, aunque
+ * descartarHasta haya sacado del archivo los registros ya cubiertos por un snapshot. Para eso
+ * el archivo empieza con [MAGIA_ARCHIVO int][posicion del primer registro long]; un archivo
+ * sin esa cabecera es de antes y empieza en la posicion 0.
+ *
+ * Los registros se acumulan en memoria y se bajan a disco con un unico fsync
+ * para todos los que esten pendientes (group commit): con varios hilos esperando,
+ * uno hace el fsync y los demas se despiertan cubiertos por el mismo.
+ * Con Durabilidad.DIFERIDA nadie espera y un hilo de fondo sincroniza cada intervalo.
+ */
+public class Journal implements Closeable {
+
+    public enum Durabilidad {
+        /** agregar/esperar no vuelve hasta que el registro esta en disco. */
+        INMEDIATA,
+        /** un hilo de fondo hace fsync cada intervalo; se pueden perder los ultimos registros. */
+        DIFERIDA
+    }
+
+    static final int CABECERA = 8; // largo + crc
+    static final int MAGIA_ARCHIVO = 0x8A4A524E; // negativo: no se confunde con el largo de un registro
+    static final int CABECERA_ARCHIVO = 12;
+    private static final int BUFFER_INICIAL = 64 * 1024;
+    private static final int VENTANA = 1 << 20; // al reproducir se lee de a 1 MiB
+
+    private final Path archivo;
+    private FileChannel canal; // cambia en descartarHasta, con el lock tomado y sin fsync en curso
+    private long base;         // posicion logica del primer registro del archivo
+    private long inicio;       // byte del archivo donde esta ese registro
+    private final Durabilidad durabilidad;
+    private final Object lock = new Object();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer pendientes = ByteBuffer.allocate(BUFFER_INICIAL); // registros sin escribir
+    private ByteBuffer enVuelo = ByteBuffer.allocate(BUFFER_INICIAL);    // los que esta escribiendo el lider
+    private long agregado; // bytes agregados (posicion logica del final del archivo)
+    private long durable;  // bytes que ya pasaron por fsync
+    private boolean sincronizando;
+    private IOException falla; // un fsync fallido invalida el journal
+    private boolean cerrado;
+    private final Thread sincronizador;
+
+    private Journal(Path archivo, FileChannel canal, long base, long inicio, long largoValido,
+                    Durabilidad durabilidad, long intervaloMs) {
+        this.archivo = archivo;
+        this.canal = canal;
+        this.base = base;
+        this.inicio = inicio;
+        this.durabilidad = durabilidad;
+        this.agregado = largoValido;
+        this.durable = largoValido;
+        if (durabilidad == Durabilidad.DIFERIDA) {
+            sincronizador = new Thread(() -> sincronizarCada(intervaloMs), "journal-fsync");
+            sincronizador.setDaemon(true);
+            sincronizador.start();
+        } else {
+            sincronizador = null;
+        }
+    }
+
+    public static Journal abrir(Path archivo, Durabilidad durabilidad, long intervaloMs,
+                                Consumer<Registro> lector) throws IOException {
+        return abrir(archivo, 0, durabilidad, intervaloMs, lector);
+    }
+
+    /**
+     * Abre (o crea) el journal y entrega cada registro valido a lector, en orden.
+     * Un ultimo registro incompleto o con crc invalido (escritura cortada) se descarta
+     * y el archivo se trunca ahi; un registro invalido seguido de otros es corrupcion.
+     * Como el crc no cubre el largo, un largo invalido solo se toma como corte si despues
+     * no hay ningun registro valido.
+     * @param desde posicion del primer registro a entregar (la marca de un snapshot).
+     * @param lector recibe el tipo y los datos de cada registro (buffer de solo lectura,
+     *               valido solo durante la llamada).
+     */
+    public static Journal abrir(Path archivo, long desde, Durabilidad durabilidad, long intervaloMs,
+                                Consumer<Registro> lector) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long base = 0;
+            long inicio = 0;
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_ARCHIVO);
+            while (cabecera.hasRemaining()) {
+                if (canal.read(cabecera, cabecera.position()) < 0) break;
+            }
+            // menos de 4 bytes no alcanzan ni para el largo de un registro: se toma como archivo nuevo
+            if (cabecera.position() < 4 || cabecera.getInt(0) == MAGIA_ARCHIVO) {
+                if (cabecera.position() < CABECERA_ARCHIVO) { // archivo nuevo, o cortado al crearlo
+                    canal.truncate(0);
+                    escribirCabecera(canal, 0);
+                    canal.force(true);
+                    sincronizarCarpeta(archivo);
+                } else {
+                    base = cabecera.getLong(4);
+                }
+                inicio = CABECERA_ARCHIVO;
+            }
+            if (desde < base)
+                throw new IOException("El journal empieza en " + base + ", despues de la marca del snapshot " + desde);
+            long primero = inicio + desde - base;
+            if (canal.size() < primero)
+                throw new IOException("El journal termina antes de la marca del snapshot: "
+                        + (base + canal.size() - inicio) + " < " + desde);
+            long valido = reproducir(canal, primero, lector);
+            if (valido < canal.size()) {
+                canal.truncate(valido);
+                canal.force(true);
+            }
+            canal.position(valido);
+            return new Journal(archivo, canal, base, inicio, base + valido - inicio, durabilidad, intervaloMs);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    private static long reproducir(FileChannel canal, long desde, Consumer<Registro> lector) throws IOException {
+        long tamanio = canal.size();
+        Ventana v = new Ventana(canal, tamanio);
+        CRC32 crc = new CRC32();
+        long pos = desde;
+        while (tamanio - pos >= CABECERA) {
+            int i = v.traer(pos, CABECERA);
+            int largo = v.buffer.getInt(i);
+            int esperado = v.buffer.getInt(i + 4);
+            if (largo <= 0 || largo > tamanio - pos - CABECERA) {
+                // cabecera o cuerpo cortados; si despues hay un registro bueno lo que se rompio es el largo
+                if (hayRegistroValido(v, pos + 1, crc))
+                    throw new IOException("Journal corrupto en la posicion " + pos + ": largo invalido " + largo);
+                return pos;
+            }
+            if (!crcValido(v, pos, largo, esperado, crc)) {
+                if (pos + CABECERA + largo < tamanio)
+                    throw new IOException("Journal corrupto en la posicion " + pos);
+                return pos;
+            }
+            ByteBuffer cuerpo = v.buffer.duplicate();
+            cuerpo.limit(v.indice(pos) + CABECERA + largo).position(v.indice(pos) + CABECERA);
+            byte tipo = cuerpo.get();
+            lector.accept(new Registro(tipo, cuerpo.slice().asReadOnlyBuffer()));
+            pos += CABECERA + largo;
+        }
+        return pos; // lo que queda no llega a una cabecera: escritura cortada
+    }
+
+    private static boolean crcValido(Ventana v, long pos, int largo, int esperado, CRC32 crc) throws IOException {
+        int i = v.traer(pos, CABECERA + largo);
+        ByteBuffer cuerpo = v.buffer.duplicate();
+        cuerpo.limit(i + CABECERA + largo).position(i + CABECERA);
+        crc.reset();
+        crc.update(cuerpo);
+        return (int) crc.getValue() == esperado;
+    }
+
+    // busca un registro completo con crc valido que empiece en desde o despues; solo se usa
+    // despues de una cabecera invalida, asi que recorrer byte por byte no es un problema
+    private static boolean hayRegistroValido(Ventana v, long desde, CRC32 crc) throws IOException {
+        for (long pos = desde; v.tamanio - pos > CABECERA; pos++) {
+            int i = v.traer(pos, CABECERA);
+            int largo = v.buffer.getInt(i);
+            if (largo <= 0 || largo > v.tamanio - pos - CABECERA) continue;
+            if (crcValido(v, pos, largo, v.buffer.getInt(i + 4), crc)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Agrega un registro y devuelve la posicion de su final, para pasarla a esperar.
+     * No escribe en disco: eso lo hace esperar (o el hilo de fondo).
+     */
+    public long agregar(byte tipo, ByteBuffer datos) throws IOException {
+        synchronized (lock) {
+            if (falla != null) throw new IOException("Journal invalido por un fsync fallido", falla);
+            if (cerrado) throw new IOException("Journal cerrado");
+            int largo = 1 + datos.remaining();
+            asegurarLugar(CABECERA + largo);
+            crc.reset();
+            crc.update(tipo);
+            crc.update(datos.duplicate());
+            pendientes.putInt(largo).putInt((int) crc.getValue()).put(tipo).put(datos);
+            agregado += CABECERA + largo;
+            return agregado;
+        }
+    }
+
+    /**
+     * Bloquea hasta que todo lo agregado hasta posicion este en disco.
+     * Si otro hilo ya esta haciendo fsync se espera a que termine y, si hace falta,
+     * el siguiente fsync lo hace este hilo llevandose todo lo pendiente.
+     * Con Durabilidad.DIFERIDA no espera.
+     */
+    public void esperar(long posicion) throws IOException {
+        if (durabilidad == Durabilidad.DIFERIDA) return;
+        sincronizarHasta(posicion);
+    }
+
+    /** Fuerza a disco todo lo agregado hasta ahora. */
+    public void sincronizar() throws IOException {
+        long hasta;
+        synchronized (lock) {
+            hasta = agregado;
+        }
+        sincronizarHasta(hasta);
+    }
+
+    private void sincronizarHasta(long posicion) throws IOException {
+        ByteBuffer lote;
+        long objetivo;
+        FileChannel c;
+        synchronized (lock) {
+            while (true) {
+                if (falla != null) throw new IOException("Journal invalido por un fsync fallido", falla);
+                if (durable >= posicion) return;
+                if (!sincronizando) break;
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrumpido esperando el fsync", e);
+                }
+            }
+            // este hilo es el lider: se lleva todo lo pendiente, no solo lo suyo
+            sincronizando = true;
+            lote = pendientes;
+            pendientes = enVuelo;
+            enVuelo = lote;
+            objetivo = agregado;
+            c = canal;
+        }
+        IOException error = null;
+        try {
+            lote.flip();
+            while (lote.hasRemaining()) c.write(lote);
+            c.force(false);
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            lote.clear();
+            synchronized (lock) {
+                sincronizando = false;
+                if (error != null) falla = error;
+                else durable = objetivo;
+                lock.notifyAll();
+            }
+        }
+        if (error != null) throw error;
+    }
+
+    /**
+     * Saca del archivo los registros anteriores a la posicion hasta, que ya tiene que estar en
+     * disco (la marca de un snapshot ya escrito). Lo que sigue se copia a un archivo nuevo que
+     * reemplaza al actual con un rename atomico: un corte en el medio deja uno u otro completo.
+     * Mientras copia, agregar espera; lo que todavia no estaba en disco va directo al nuevo.
+     */
+    public void descartarHasta(long hasta) throws IOException {
+        synchronized (lock) {
+            while (sincronizando) { // el lider esta escribiendo en el canal actual
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrumpido esperando el fsync", e);
+                }
+            }
+            if (falla != null) throw new IOException("Journal invalido por un fsync fallido", falla);
+            if (cerrado) throw new IOException("Journal cerrado");
+            if (hasta <= base) return;
+            if (hasta > durable) throw new IllegalArgumentException("Posicion todavia no sincronizada: " + hasta);
+            Path tmp = archivo.resolveSibling(archivo.getFileName() + ".nuevo");
+            FileChannel nuevo = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                escribirCabecera(nuevo, hasta);
+                long desde = inicio + hasta - base;
+                long fin = inicio + durable - base;
+                while (desde < fin) desde += canal.transferTo(desde, fin - desde, nuevo);
+                nuevo.force(true);
+                Files.move(tmp, archivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                nuevo.close();
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            // el nombre ya es del archivo nuevo: desde aca se escribe ahi aunque falle lo que sigue
+            FileChannel viejo = canal;
+            canal = nuevo;
+            base = hasta;
+            inicio = CABECERA_ARCHIVO;
+            try {
+                viejo.close();
+            } finally {
+                sincronizarCarpeta(archivo);
+            }
+        }
+    }
+
+    /** Posicion logica del primer registro que queda en el archivo. */
+    public long getBase() {
+        synchronized (lock) {
+            return base;
+        }
+    }
+
+    private static void escribirCabecera(FileChannel canal, long base) throws IOException {
+        ByteBuffer b = ByteBuffer.allocate(CABECERA_ARCHIVO).putInt(MAGIA_ARCHIVO).putLong(base);
+        b.flip();
+        while (b.hasRemaining()) canal.write(b, CABECERA_ARCHIVO - b.remaining());
+        canal.position(CABECERA_ARCHIVO);
+    }
+
+    // un rename o un archivo nuevo no es durable hasta el fsync de la carpeta; Windows no deja abrirlas
+    static void sincronizarCarpeta(Path archivo) throws IOException {
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        if (carpeta == null || System.getProperty("os.name").startsWith("Windows")) return;
+        try (FileChannel c = FileChannel.open(carpeta, StandardOpenOption.READ)) {
+            c.force(true);
+        }
+    }
+
+    // sin interrupt: interrumpir un hilo que escribe en un FileChannel cierra el canal
+    private void sincronizarCada(long intervaloMs) {
+        while (true) {
+            synchronized (lock) {
+                long limite = System.currentTimeMillis() + intervaloMs;
+                long resta;
+                while (!cerrado && falla == null && (resta = limite - System.currentTimeMillis()) > 0) {
+                    try {
+                        lock.wait(resta);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (cerrado || falla != null) return;
+            }
+            try {
+                sincronizar();
+            } catch (IOException e) {
+                return; // falla queda registrada y la ve el proximo agregar
+            }
+        }
+    }
+
+    // requiere lock; el buffer en vuelo no se toca porque lo esta escribiendo el lider
+    private void asegurarLugar(int bytes) {
+        if (pendientes.remaining() >= bytes) return;
+        int capacidad = pendientes.capacity();
+        while (capacidad - pendientes.position() < bytes) capacidad *= 2;
+        ByteBuffer nuevo = ByteBuffer.allocate(capacidad);
+        pendientes.flip();
+        nuevo.put(pendientes);
+        pendientes = nuevo;
+    }
+
+    /** Posicion logica del final, incluidos los registros que todavia no estan en disco. */
+    public long tamanio() {
+        synchronized (lock) {
+            return agregado;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        boolean fallado;
+        synchronized (lock) {
+            if (cerrado) return;
+            cerrado = true; // desde aca agregar falla, pero se baja lo pendiente
+            fallado = falla != null;
+            lock.notifyAll();
+        }
+        try {
+            if (!fallado) sincronizar();
+        } finally {
+            if (sincronizador != null) {
+                try {
+                    sincronizador.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            canal.close();
+        }
+    }
+
+    // lee el archivo de a bloques con lecturas posicionales; a diferencia de un mapeo
+    // entero no tiene el limite de 2 GiB de un ByteBuffer
+    private static final class Ventana {
+        private final FileChannel canal;
+        private final long tamanio;
+        private ByteBuffer buffer = ByteBuffer.allocate(VENTANA);
+        private long base; // posicion en el archivo del byte 0 de buffer
+
+        Ventana(FileChannel canal, long tamanio) {
+            this.canal = canal;
+            this.tamanio = tamanio;
+            buffer.limit(0);
+        }
+
+        int indice(long pos) {
+            return (int) (pos - base);
+        }
+
+        /** Deja en buffer los bytes [pos, pos + n) del archivo y devuelve el indice de pos. */
+        int traer(long pos, int n) throws IOException {
+            if (pos >= base && pos + n <= base + buffer.limit()) return indice(pos);
+            if (buffer.capacity() < n) buffer = ByteBuffer.allocate(n);
+            base = pos;
+            buffer.clear().limit((int) Math.min(buffer.capacity(), tamanio - pos));
+            while (buffer.hasRemaining()) {
+                if (canal.read(buffer, base + buffer.position()) < 0)
+                    throw new EOFException("El journal se acorto mientras se leia");
+            }
+            buffer.flip();
+            return 0;
+        }
+    }
+
+    /** Registro leido del journal. */
+    public static final class Registro {
+        private final byte tipo;
+        private final ByteBuffer datos;
+
+        Registro(byte tipo, ByteBuffer datos) {
+            this.tipo = tipo;
+            this.datos = datos;
+        }
+
+        public byte getTipo() {
+            return tipo;
+        }
+
+        /** Valido solo mientras se procesa el registro: el buffer se reusa para los siguientes. */
+        public ByteBuffer getDatos() {
+            return datos;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package protocolo;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import entidades.IHomeSolution;
+import entidades.Tupla;
+
+/**
+ * Cliente del protocolo binario. Implementa IHomeSolution, asi que se usa igual que un
+ * HomeSolution local; cada metodo manda su pedido y espera la respuesta.
+ *
+ * Para no esperar de a una, pedir(...) devuelve un CompletableFuture y se pueden tener muchos
+ * pedidos en vuelo por la misma conexion: un hilo lector empareja cada respuesta con su pedido
+ * por el id de correlacion. Es seguro usarlo desde varios hilos.
+ *
+ * Los errores del servidor vuelven como la excepcion original: IllegalArgumentException si no
+ * existe o es invalido, Exception si la operacion se rechazo por una regla de negocio.
+ */
+public class ClienteBinario implements IHomeSolution, AutoCloseable {
+    private static final int BUFFER_INICIAL = 64 * 1024;
+
+    private final SocketChannel canal;
+    private final Thread lector;
+    private final Map<Integer, Pendiente> pendientes = new ConcurrentHashMap<>();
+    private final AtomicInteger ids = new AtomicInteger();
+    private final Object lockEnvio = new Object();
+    private ByteBuffer salida = ByteBuffer.allocateDirect(BUFFER_INICIAL); // guardado por lockEnvio
+    private volatile IOException cierre; // por que se corto la conexion
+
+    private ClienteBinario(SocketChannel canal) {
+        this.canal = canal;
+        this.lector = new Thread(this::leer, "cliente-binario-lector");
+        lector.setDaemon(true);
+        lector.start();
+    }
+
+    public static ClienteBinario conectar(InetSocketAddress direccion) throws IOException {
+        SocketChannel canal = SocketChannel.open(direccion);
+        canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new ClienteBinario(canal);
+    }
+
+    /** Pedidos mandados que todavia no tienen respuesta. */
+    public int getEnVuelo() {
+        return pendientes.size();
+    }
+
+    /**
+     * Manda un pedido sin esperar la respuesta. Los parametros van en el orden y con los
+     * tipos de Operacion.getParametros(); el futuro se completa con el resultado ya decodificado
+     * (Double, Boolean, Integer, String, List de Tupla u Object[]), o null si no tiene.
+     */
+    public CompletableFuture<Object> pedir(Operacion op, Object... parametros) {
+        Pendiente p = new Pendiente(op);
+        int id = ids.incrementAndGet();
+        pendientes.put(id, p);
+        try {
+            synchronized (lockEnvio) {
+                try {
+                    codificar(id, op, parametros);
+                    salida.flip();
+                    while (salida.hasRemaining()) canal.write(salida);
+                } finally {
+                    salida.clear(); // con un parametro mal puesto no queda media trama en el buffer
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            pendientes.remove(id);
+            p.futuro.completeExceptionally(e);
+            return p.futuro;
+        }
+        // si el lector ya termino nadie va a completar el pedido
+        if (cierre != null && pendientes.remove(id) != null) p.futuro.completeExceptionally(cierre);
+        return p.futuro;
+    }
+
+    /** Cierra la conexion y espera al lector; si se interrumpe la espera, vuelve con el flag puesto. */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+        try {
+            lector.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // -------------------------
+    // IHomeSolution
+    // -------------------------
+    @Override
+    public void registrarEmpleado(String nombre, double valor) {
+        consultar(Operacion.REGISTRAR_EMPLEADO, nombre, valor);
+    }
+
+    @Override
+    public void registrarEmpleado(String nombre, double valor, String categoria) {
+        consultar(Operacion.REGISTRAR_EMPLEADO_PLANTA, nombre, valor, categoria);
+    }
+
+    @Override
+    public void registrarProyecto(String[] titulos, String[] descripcion, double[] dias,
+                                  String domicilio, String[] cliente, String inicio, String fin) {
+        consultar(Operacion.REGISTRAR_PROYECTO, titulos, descripcion, dias, domicilio, cliente, inicio, fin);
+    }
+
+    @Override
+    public void asignarResponsableEnTarea(Integer numero, String titulo) throws Exception {
+        esperar(Operacion.ASIGNAR_RESPONSABLE, numero, titulo);
+    }
+
+    @Override
+    public void asignarResponsableMenosRetraso(Integer numero, String titulo) throws Exception {
+        esperar(Operacion.ASIGNAR_MENOS_RETRASO, numero, titulo);
+    }
+
+    @Override
+    public void registrarRetrasoEnTarea(Integer numero, String titulo, double cantidadDias) {
+        consultar(Operacion.REGISTRAR_RETRASO, numero, titulo, cantidadDias);
+    }
+
+    @Override
+    public void agregarTareaEnProyecto(Integer numero, String titulo, String descripcion, double dias) {
+        consultar(Operacion.AGREGAR_TAREA, numero, titulo, descripcion, dias);
+    }
+
+    @Override
+    public void finalizarTarea(Integer numero, String titulo) throws Exception {
+        esperar(Operacion.FINALIZAR_TAREA, numero, titulo);
+    }
+
+    @Override
+    public void finalizarProyecto(Integer numero, String fin) {
+        consultar(Operacion.FINALIZAR_PROYECTO, numero, fin);
+    }
+
+    @Override
+    public void reasignarEmpleadoEnProyecto(Integer numero, Integer legajo, String titulo) throws Exception {
+        esperar(Operacion.REASIGNAR, numero, legajo, titulo);
+    }
+
+    @Override
+    public void reasignarEmpleadoConMenosRetraso(Integer numero, String titulo) throws Exception {
+        esperar(Operacion.REASIGNAR_MENOS_RETRASO, numero, titulo);
+    }
+
+    @Override
+    public double costoProyecto(Integer numero) {
+        return (Double) consultar(Operacion.COSTO_PROYECTO, numero);
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosFinalizados() {
+        return tuplas(consultar(Operacion.PROYECTOS_FINALIZADOS));
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosPendientes() {
+        return tuplas(consultar(Operacion.PROYECTOS_PENDIENTES));
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> proyectosActivos() {
+        return tuplas(consultar(Operacion.PROYECTOS_ACTIVOS));
+    }
+
+    @Override
+    public Object[] empleadosNoAsignados() {
+        return (Object[]) consultar(Operacion.EMPLEADOS_NO_ASIGNADOS);
+    }
+
+    @Override
+    public boolean estaFinalizado(Integer numero) {
+        return (Boolean) consultar(Operacion.ESTA_FINALIZADO, numero);
+    }
+
+    @Override
+    public int consultarCantidadRetrasosEmpleado(Integer legajo) {
+        return (Integer) consultar(Operacion.CANTIDAD_RETRASOS, legajo);
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> empleadosAsignadosAProyecto(Integer numero) {
+        return tuplas(consultar(Operacion.EMPLEADOS_ASIGNADOS, numero));
+    }
+
+    @Override
+    public Object[] tareasProyectoNoAsignadas(Integer numero) {
+        return (Object[]) consultar(Operacion.TAREAS_NO_ASIGNADAS, numero);
+    }
+
+    @Override
+    public Object[] tareasDeUnProyecto(Integer numero) {
+        return (Object[]) consultar(Operacion.TAREAS_DE_PROYECTO, numero);
+    }
+
+    @Override
+    public String consultarDomicilioProyecto(Integer numero) {
+        return (String) consultar(Operacion.DOMICILIO_PROYECTO, numero);
+    }
+
+    @Override
+    public boolean tieneRestrasos(Integer legajo) {
+        return (Boolean) consultar(Operacion.TIENE_RETRASOS, legajo);
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> empleados() {
+        return tuplas(consultar(Operacion.EMPLEADOS));
+    }
+
+    @Override
+    public String consultarProyecto(Integer numero) {
+        return (String) consultar(Operacion.CONSULTAR_PROYECTO, numero);
+    }
+
+    @Override
+    public Integer responsableDeTarea(Integer numero, String titulo) {
+        return (Integer) consultar(Operacion.RESPONSABLE_DE_TAREA, numero, titulo);
+    }
+
+    @Override
+    public List<Tupla<Integer, String>> historialEmpleadosDeProyecto(Integer numero) {
+        return tuplas(consultar(Operacion.HISTORIAL_EMPLEADOS, numero));
+    }
+
+    // -------------------------
+    // INTERNOS
+    // -------------------------
+
+    // requiere lockEnvio
+    private void codificar(int id, Operacion op, Object[] parametros) {
+        while (true) {
+            int inicio = salida.position();
+            try {
+                salida.putInt(0).putInt(id).put(op.getCodigo());
+                Protocolo.ponerParametros(salida, op, parametros);
+                salida.putInt(inicio, salida.position() - inicio - 4);
+                return;
+            } catch (BufferOverflowException e) {
+                salida.position(inicio);
+                salida = Protocolo.agrandar(salida, 0);
+            }
+        }
+    }
+
+    private Object esperar(Operacion op, Object... parametros) throws Exception {
+        try {
+            return pedir(op, parametros).get();
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof Exception) throw (Exception) causa;
+            throw new IllegalStateException(causa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la respuesta", e);
+        }
+    }
+
+    // para los metodos que no declaran Exception: un rechazo llega como IllegalStateException
+    private Object consultar(Operacion op, Object... parametros) {
+        try {
+            return esperar(op, parametros);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Tupla<Integer, String>> tuplas(Object v) {
+        return (List<Tupla<Integer, String>>) v;
+    }
+
+    private void leer() {
+        ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_INICIAL);
+        try {
+            while (true) {
+                if (canal.read(in) < 0) throw new EOFException("El servidor cerró la conexión");
+                in.flip();
+                while (in.remaining() >= 4) {
+                    int largo = in.getInt(in.position());
+                    if (largo < Protocolo.CABECERA - 4 || largo > Protocolo.TRAMA_MAXIMA - 4)
+                        throw new IOException("Largo de trama invalido: " + largo);
+                    if (in.remaining() < 4 + largo) {
+                        if (in.capacity() < 4 + largo) {
+                            ByteBuffer nuevo = ByteBuffer.allocateDirect(Math.max(in.capacity() * 2, 4 + largo));
+                            nuevo.put(in).flip();
+                            in = nuevo;
+                        }
+                        break;
+                    }
+                    int fin = in.position() + 4 + largo;
+                    int limite = in.limit();
+                    in.position(in.position() + 4);
+                    int id = in.getInt();
+                    byte estado = in.get();
+                    in.limit(fin);
+                    completar(pendientes.remove(id), estado, in);
+                    in.limit(limite).position(fin);
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            cierre = e;
+        } finally {
+            if (cierre == null) cierre = new IOException("Conexión cerrada");
+            for (Integer id : pendientes.keySet()) {
+                Pendiente p = pendientes.remove(id);
+                if (p != null) p.futuro.completeExceptionally(cierre);
+            }
+        }
+    }
+
+    private static void completar(Pendiente p, byte estado, ByteBuffer datos) {
+        if (p == null) return; // id desconocido: se ignora
+        try {
+            if (estado == Protocolo.OK) {
+                p.futuro.complete(Protocolo.leerResultado(datos, p.op));
+                return;
+            }
+            String mensaje = Protocolo.leerTexto(datos);
+            Exception ex;
+            switch (estado) {
+                case Protocolo.NO_EXISTE:
+                case Protocolo.INVALIDO:
+                    ex = new IllegalArgumentException(mensaje);
+                    break;
+                case Protocolo.RECHAZADO:
+                    ex = new Exception(mensaje);
+                    break;
+                default:
+                    ex = new IllegalStateException(mensaje);
+            }
+            p.futuro.completeExceptionally(ex);
+        } catch (RuntimeException e) {
+            p.futuro.completeExceptionally(new IOException("Respuesta mal armada para " + p.op, e));
+        }
+    }
+
+    private static final class Pendiente {
+        final Operacion op;
+        final CompletableFuture<Object> futuro = new CompletableFuture<>();
+
+        Pendiente(Operacion op) {
+            this.op = op;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package protocolo;
+
+/**
+ * Los comandos y consultas de IHomeSolution en el protocolo binario. Cada uno tiene un codigo
+ * de un byte, la lista de tipos de sus parametros y el tipo de su resultado.
+ *
+ * Tipos de parametro: T texto, D real, I entero que puede ser null, S arreglo de textos,
+ * R arreglo de reales.
+ */
+public enum Operacion {
+    REGISTRAR_EMPLEADO(1, "TD", Resultado.NADA),
+    REGISTRAR_EMPLEADO_PLANTA(2, "TDT", Resultado.NADA),
+    REGISTRAR_PROYECTO(3, "SSRTSTT", Resultado.NADA),
+    ASIGNAR_RESPONSABLE(4, "IT", Resultado.NADA),
+    ASIGNAR_MENOS_RETRASO(5, "IT", Resultado.NADA),
+    REGISTRAR_RETRASO(6, "ITD", Resultado.NADA),
+    AGREGAR_TAREA(7, "ITTD", Resultado.NADA),
+    FINALIZAR_TAREA(8, "IT", Resultado.NADA),
+    FINALIZAR_PROYECTO(9, "IT", Resultado.NADA),
+    REASIGNAR(10, "IIT", Resultado.NADA),
+    REASIGNAR_MENOS_RETRASO(11, "IT", Resultado.NADA),
+    COSTO_PROYECTO(12, "I", Resultado.REAL),
+    PROYECTOS_FINALIZADOS(13, "", Resultado.TUPLAS),
+    PROYECTOS_PENDIENTES(14, "", Resultado.TUPLAS),
+    PROYECTOS_ACTIVOS(15, "", Resultado.TUPLAS),
+    EMPLEADOS_NO_ASIGNADOS(16, "", Resultado.ENTEROS),
+    ESTA_FINALIZADO(17, "I", Resultado.LOGICO),
+    CANTIDAD_RETRASOS(18, "I", Resultado.ENTERO),
+    EMPLEADOS_ASIGNADOS(19, "I", Resultado.TUPLAS),
+    TAREAS_NO_ASIGNADAS(20, "I", Resultado.TEXTOS),
+    TAREAS_DE_PROYECTO(21, "I", Resultado.TEXTOS),
+    DOMICILIO_PROYECTO(22, "I", Resultado.TEXTO),
+    TIENE_RETRASOS(23, "I", Resultado.LOGICO),
+    EMPLEADOS(24, "", Resultado.TUPLAS),
+    CONSULTAR_PROYECTO(25, "I", Resultado.TEXTO),
+    RESPONSABLE_DE_TAREA(26, "IT", Resultado.ENTERO_O_NULO),
+    HISTORIAL_EMPLEADOS(27, "I", Resultado.TUPLAS);
+
+    /** Como se codifica la respuesta de una operacion. */
+    public enum Resultado {
+        NADA, REAL, LOGICO, ENTERO, ENTERO_O_NULO, TEXTO,
+        TUPLAS,  // List<Tupla<Integer, String>>
+        ENTEROS, // Object[] de Integer
+        TEXTOS   // Object[] de String
+    }
+
+    private static final Operacion[] POR_CODIGO = new Operacion[128];
+
+    static {
+        for (Operacion o : values()) POR_CODIGO[o.codigo] = o;
+    }
+
+    private final byte codigo;
+    private final String parametros;
+    private final Resultado resultado;
+
+    Operacion(int codigo, String parametros, Resultado resultado) {
+        this.codigo = (byte) codigo;
+        this.parametros = parametros;
+        this.resultado = resultado;
+    }
+
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    public String getParametros() {
+        return parametros;
+    }
+
+    public Resultado getResultado() {
+        return resultado;
+    }
+
+    /** @return null si el codigo no es de ninguna operacion. */
+    public static Operacion deCodigo(byte codigo) {
+        return codigo > 0 ? POR_CODIGO[codigo] : null;
+    }
+}
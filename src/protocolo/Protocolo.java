@@ -0,0 +1,263 @@
+package protocolo;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import entidades.Tupla;
+
+/**
+ * Formato de las tramas del protocolo binario y su codificacion.
+ *
+ * Cada trama lleva adelante su largo (int, sin contarse a si mismo) y un id de correlacion
+ * que elige el cliente y el servidor devuelve tal cual; asi un cliente puede mandar muchos
+ * pedidos seguidos por la misma conexion sin esperar cada respuesta.
+ *
+ *   pedido:    largo:int  id:int  operacion:byte  parametros...
+ *   respuesta: largo:int  id:int  estado:byte     resultado... | mensaje:texto
+ *
+ * Enteros y reales en big endian. Textos con el largo en bytes UTF-8 adelante (-1 es null);
+ * arreglos y listas con la cantidad adelante (-1 es null); un entero que puede ser null lleva
+ * un byte 0/1 y el valor. Las tuplas van como legajo o numero y texto, una tras otra.
+ *
+ * La codificacion escribe directo en el ByteBuffer que se va a mandar, sin armar arreglos
+ * intermedios; si no hay lugar tira BufferOverflowException y quien llama agranda y reintenta.
+ */
+public final class Protocolo {
+    public static final int CABECERA = 9;              // largo, id y operacion o estado
+    public static final int TRAMA_MAXIMA = 16 << 20;   // largo maximo aceptado, con cabecera
+
+    // estados de una respuesta
+    public static final byte OK = 0;
+    public static final byte NO_EXISTE = 1;  // IllegalArgumentException por proyecto, tarea o empleado inexistente
+    public static final byte INVALIDO = 2;   // IllegalArgumentException por datos invalidos o trama mal armada
+    public static final byte RECHAZADO = 3;  // excepcion de negocio (proyecto finalizado, sin empleados libres)
+    public static final byte ERROR = 4;      // cualquier otra falla del servidor
+
+    private Protocolo() {
+    }
+
+    // -------------------------
+    // PARAMETROS Y RESULTADOS
+    // -------------------------
+    static void ponerParametros(ByteBuffer b, Operacion op, Object[] valores) {
+        String tipos = op.getParametros();
+        if (valores.length != tipos.length())
+            throw new IllegalArgumentException(op + " espera " + tipos.length() + " parametros");
+        for (int i = 0; i < tipos.length(); i++) {
+            Object v = valores[i];
+            switch (tipos.charAt(i)) {
+                case 'T': ponerTexto(b, (String) v); break;
+                case 'D': b.putDouble((Double) v); break;
+                case 'I': ponerEnteroONulo(b, (Integer) v); break;
+                case 'S': ponerTextos(b, (String[]) v); break;
+                case 'R': ponerReales(b, (double[]) v); break;
+                default: throw new IllegalStateException("Tipo desconocido en " + op);
+            }
+        }
+    }
+
+    static Object[] leerParametros(ByteBuffer b, Operacion op) {
+        String tipos = op.getParametros();
+        Object[] out = new Object[tipos.length()];
+        for (int i = 0; i < out.length; i++) {
+            switch (tipos.charAt(i)) {
+                case 'T': out[i] = leerTexto(b); break;
+                case 'D': out[i] = b.getDouble(); break;
+                case 'I': out[i] = leerEnteroONulo(b); break;
+                case 'S': out[i] = leerTextos(b); break;
+                case 'R': out[i] = leerReales(b); break;
+                default: throw new IllegalStateException("Tipo desconocido en " + op);
+            }
+        }
+        return out;
+    }
+
+    @SuppressWarnings("unchecked")
+    static void ponerResultado(ByteBuffer b, Operacion op, Object v) {
+        switch (op.getResultado()) {
+            case NADA:
+                break;
+            case REAL:
+                b.putDouble((Double) v);
+                break;
+            case LOGICO:
+                b.put((byte) ((Boolean) v ? 1 : 0));
+                break;
+            case ENTERO:
+                b.putInt((Integer) v);
+                break;
+            case ENTERO_O_NULO:
+                ponerEnteroONulo(b, (Integer) v);
+                break;
+            case TEXTO:
+                ponerTexto(b, (String) v);
+                break;
+            case TUPLAS: {
+                List<Tupla<Integer, String>> lista = (List<Tupla<Integer, String>>) v;
+                if (lista == null) {
+                    b.putInt(-1);
+                    break;
+                }
+                b.putInt(lista.size());
+                for (Tupla<Integer, String> t : lista) {
+                    b.putInt(t.getValor1());
+                    ponerTexto(b, t.getValor2());
+                }
+                break;
+            }
+            case ENTEROS: {
+                Object[] a = (Object[]) v;
+                b.putInt(a == null ? -1 : a.length);
+                if (a != null) for (Object o : a) b.putInt((Integer) o);
+                break;
+            }
+            case TEXTOS: {
+                Object[] a = (Object[]) v;
+                b.putInt(a == null ? -1 : a.length);
+                if (a != null) for (Object o : a) ponerTexto(b, (String) o);
+                break;
+            }
+        }
+    }
+
+    static Object leerResultado(ByteBuffer b, Operacion op) {
+        switch (op.getResultado()) {
+            case REAL:
+                return b.getDouble();
+            case LOGICO:
+                return b.get() != 0;
+            case ENTERO:
+                return b.getInt();
+            case ENTERO_O_NULO:
+                return leerEnteroONulo(b);
+            case TEXTO:
+                return leerTexto(b);
+            case TUPLAS: {
+                int n = cantidad(b);
+                if (n < 0) return null;
+                List<Tupla<Integer, String>> out = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    int clave = b.getInt();
+                    out.add(new Tupla<>(clave, leerTexto(b)));
+                }
+                return out;
+            }
+            case ENTEROS: {
+                int n = cantidad(b);
+                if (n < 0) return null;
+                Object[] out = new Object[n];
+                for (int i = 0; i < n; i++) out[i] = b.getInt();
+                return out;
+            }
+            case TEXTOS: {
+                int n = cantidad(b);
+                if (n < 0) return null;
+                Object[] out = new Object[n];
+                for (int i = 0; i < n; i++) out[i] = leerTexto(b);
+                return out;
+            }
+            default:
+                return null;
+        }
+    }
+
+    // -------------------------
+    // TIPOS BASICOS
+    // -------------------------
+
+    /** Texto en UTF-8 escrito caracter a caracter en el buffer, con el largo adelante. */
+    static void ponerTexto(ByteBuffer b, String s) {
+        if (s == null) {
+            b.putInt(-1);
+            return;
+        }
+        int inicio = b.position();
+        b.putInt(0);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                b.put((byte) c);
+            } else if (c < 0x800) {
+                b.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                        .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b.put((byte) '?'); // sustituto suelto: no tiene codificacion valida
+            } else {
+                b.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+        b.putInt(inicio, b.position() - inicio - 4);
+    }
+
+    static String leerTexto(ByteBuffer b) {
+        int n = b.getInt();
+        if (n < 0) return null;
+        if (n > b.remaining()) throw new BufferUnderflowException();
+        if (b.hasArray()) {
+            String s = new String(b.array(), b.arrayOffset() + b.position(), n, StandardCharsets.UTF_8);
+            b.position(b.position() + n);
+            return s;
+        }
+        byte[] datos = new byte[n];
+        b.get(datos);
+        return new String(datos, StandardCharsets.UTF_8);
+    }
+
+    static void ponerEnteroONulo(ByteBuffer b, Integer v) {
+        b.put((byte) (v == null ? 0 : 1)).putInt(v == null ? 0 : v);
+    }
+
+    static Integer leerEnteroONulo(ByteBuffer b) {
+        boolean hay = b.get() != 0;
+        int v = b.getInt();
+        return hay ? v : null;
+    }
+
+    private static void ponerTextos(ByteBuffer b, String[] v) {
+        b.putInt(v == null ? -1 : v.length);
+        if (v != null) for (String s : v) ponerTexto(b, s);
+    }
+
+    private static String[] leerTextos(ByteBuffer b) {
+        int n = cantidad(b);
+        if (n < 0) return null;
+        String[] out = new String[n];
+        for (int i = 0; i < n; i++) out[i] = leerTexto(b);
+        return out;
+    }
+
+    private static void ponerReales(ByteBuffer b, double[] v) {
+        b.putInt(v == null ? -1 : v.length);
+        if (v != null) for (double d : v) b.putDouble(d);
+    }
+
+    private static double[] leerReales(ByteBuffer b) {
+        int n = cantidad(b);
+        if (n < 0) return null;
+        double[] out = new double[n];
+        for (int i = 0; i < n; i++) out[i] = b.getDouble();
+        return out;
+    }
+
+    // cantidad de elementos; se acota por lo que queda en la trama para no reservar de mas
+    private static int cantidad(ByteBuffer b) {
+        int n = b.getInt();
+        if (n > b.remaining()) throw new BufferUnderflowException();
+        return n;
+    }
+
+    /** Copia el contenido de b en un buffer directo el doble de grande (o mas, si hace falta). */
+    static ByteBuffer agrandar(ByteBuffer b, int minimo) {
+        int capacidad = Math.max(b.capacity() * 2, minimo);
+        ByteBuffer nuevo = ByteBuffer.allocateDirect(capacidad);
+        b.flip();
+        nuevo.put(b);
+        return nuevo;
+    }
+}
@@ -0,0 +1,328 @@
+package protocolo;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.DateTimeException;
+import java.util.Iterator;
+
+import entidades.IHomeSolution;
+
+/**
+ * Servidor del protocolo binario (ver Protocolo) sobre NIO, con un unico hilo y un Selector.
+ *
+ * El mismo hilo lee los pedidos, los ejecuta sobre el sistema y escribe las respuestas, asi
+ * que el sistema no necesita ser seguro para varios hilos. Un cliente puede mandar muchos
+ * pedidos sin esperar: se procesan todos los que llegaron completos en cada lectura y sus
+ * respuestas salen juntas en una sola escritura, en el orden en que llegaron.
+ *
+ * Cada conexion tiene un buffer directo de entrada y otro de salida que se reusan (crecen si
+ * llega o sale una trama mas grande). Las respuestas se codifican directo en el de salida y
+ * ese mismo buffer se entrega al socket. Mientras a una conexion le queda salida pendiente no
+ * se leen mas pedidos suyos: si el cliente no lee, el servidor no acumula respuestas.
+ */
+public class ServidorBinario implements AutoCloseable {
+    private static final int BUFFER_INICIAL = 64 * 1024;
+    private static final int COLA_CONEXIONES = 1024;
+
+    private final IHomeSolution sistema;
+    private final Selector selector;
+    private final ServerSocketChannel canal;
+    private final Thread hilo;
+    private volatile boolean abierto = true;
+    private volatile long pedidos; // solo lo escribe el hilo del servidor
+    private volatile IOException falla; // por que se corto el selector, si no fue por close
+
+    /** Abre el puerto sin empezar a atender; con puerto 0 el sistema elige uno libre. */
+    public ServidorBinario(IHomeSolution sistema, InetSocketAddress direccion) throws IOException {
+        this.sistema = sistema;
+        this.selector = Selector.open();
+        this.canal = ServerSocketChannel.open();
+        canal.bind(direccion, COLA_CONEXIONES);
+        canal.configureBlocking(false);
+        canal.register(selector, SelectionKey.OP_ACCEPT);
+        this.hilo = new Thread(this::atender, "servidor-binario");
+    }
+
+    public void iniciar() {
+        hilo.start();
+    }
+
+    public int getPuerto() throws IOException {
+        return ((InetSocketAddress) canal.getLocalAddress()).getPort();
+    }
+
+    /** Pedidos atendidos desde que arranco. */
+    public long getPedidos() {
+        return pedidos;
+    }
+
+    /** false despues de close o si el servidor se corto solo (ver getFalla). */
+    public boolean estaAbierto() {
+        return abierto;
+    }
+
+    /** El error del selector que corto el servidor, o null si sigue andando o se cerro con close. */
+    public IOException getFalla() {
+        return falla;
+    }
+
+    /**
+     * Corta todas las conexiones y espera que termine el hilo del servidor.
+     * Si se interrumpe la espera, vuelve con el flag de interrupcion puesto.
+     * @throws IOException si el servidor ya se habia cortado por un error del selector.
+     */
+    @Override
+    public void close() throws IOException {
+        abierto = false;
+        selector.wakeup();
+        try {
+            if (hilo.isAlive()) hilo.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (falla != null) throw falla;
+    }
+
+    // -------------------------
+    // CICLO DEL SELECTOR
+    // -------------------------
+    private void atender() {
+        try {
+            while (abierto) {
+                selector.select();
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey k = it.next();
+                    it.remove();
+                    try {
+                        if (!k.isValid()) continue;
+                        if (k.isAcceptable()) {
+                            aceptar();
+                            continue;
+                        }
+                        Conexion c = (Conexion) k.attachment();
+                        if (k.isWritable()) escribir(c);
+                        if (k.isValid() && k.isReadable()) leer(c);
+                    } catch (IOException e) {
+                        cerrar(k); // el cliente se fue o mando una trama invalida
+                    }
+                }
+            }
+        } catch (IOException e) {
+            falla = e; // antes de marcarlo cerrado: quien vea abierto en false ya ve la falla
+            abierto = false;
+        } finally {
+            for (SelectionKey k : selector.keys()) cerrar(k);
+            try {
+                selector.close();
+                canal.close();
+            } catch (IOException e) {
+                // cerrando igual
+            }
+        }
+    }
+
+    private void aceptar() throws IOException {
+        SocketChannel s = canal.accept();
+        if (s == null) return;
+        s.configureBlocking(false);
+        s.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Conexion c = new Conexion(s);
+        c.clave = s.register(selector, SelectionKey.OP_READ, c);
+    }
+
+    private static void cerrar(SelectionKey k) {
+        k.cancel();
+        try {
+            k.channel().close();
+        } catch (IOException e) {
+            // ya estaba cerrado
+        }
+    }
+
+    private void leer(Conexion c) throws IOException {
+        if (c.canal.read(c.entrada) < 0) throw new IOException("Conexion cerrada por el cliente");
+        c.entrada.flip();
+        procesar(c);
+        c.entrada.compact();
+        escribir(c);
+    }
+
+    // atiende todas las tramas completas; la que quedo por la mitad espera la proxima lectura
+    private void procesar(Conexion c) throws IOException {
+        ByteBuffer in = c.entrada;
+        while (in.remaining() >= 4) {
+            int largo = in.getInt(in.position());
+            if (largo < Protocolo.CABECERA - 4 || largo > Protocolo.TRAMA_MAXIMA - 4)
+                throw new IOException("Largo de trama invalido: " + largo);
+            if (in.remaining() < 4 + largo) {
+                if (in.capacity() < 4 + largo) { // no entra: se pasa a un buffer mas grande
+                    ByteBuffer nuevo = ByteBuffer.allocateDirect(Math.max(in.capacity() * 2, 4 + largo));
+                    nuevo.put(in).flip();
+                    c.entrada = nuevo;
+                }
+                return;
+            }
+            int fin = in.position() + 4 + largo;
+            int limite = in.limit();
+            in.position(in.position() + 4);
+            int id = in.getInt();
+            byte codigo = in.get();
+            in.limit(fin);
+            responder(c, id, codigo, in);
+            in.limit(limite).position(fin);
+        }
+    }
+
+    private void escribir(Conexion c) throws IOException {
+        ByteBuffer out = c.salida;
+        if (out.position() > 0) {
+            out.flip();
+            c.canal.write(out);
+            out.compact();
+        }
+        // con salida pendiente se espera al socket y no se leen mas pedidos
+        int interes = out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        if (c.clave.interestOps() != interes) c.clave.interestOps(interes);
+    }
+
+    // -------------------------
+    // EJECUCION
+    // -------------------------
+    private void responder(Conexion c, int id, byte codigo, ByteBuffer parametros) {
+        Operacion op = Operacion.deCodigo(codigo);
+        Object resultado = null;
+        byte estado = Protocolo.OK;
+        String mensaje = null;
+        if (op == null) {
+            estado = Protocolo.INVALIDO;
+            mensaje = "Operación desconocida: " + codigo;
+        } else {
+            try {
+                resultado = ejecutar(op, Protocolo.leerParametros(parametros, op));
+            } catch (BufferUnderflowException e) {
+                estado = Protocolo.INVALIDO;
+                mensaje = "Trama mal armada para " + op;
+            } catch (IllegalArgumentException | DateTimeException e) {
+                mensaje = e.getMessage();
+                estado = mensaje != null && mensaje.contains("no existe") ? Protocolo.NO_EXISTE : Protocolo.INVALIDO;
+            } catch (IllegalStateException e) {
+                estado = Protocolo.RECHAZADO;
+                mensaje = e.getMessage();
+            } catch (RuntimeException e) {
+                estado = Protocolo.ERROR;
+                mensaje = String.valueOf(e);
+            } catch (Exception e) {
+                estado = Protocolo.RECHAZADO; // reglas de negocio: proyecto finalizado, sin empleados libres...
+                mensaje = e.getMessage();
+            }
+        }
+        pedidos++;
+        while (true) {
+            ByteBuffer out = c.salida;
+            int inicio = out.position();
+            try {
+                out.putInt(0).putInt(id).put(estado);
+                if (estado == Protocolo.OK) Protocolo.ponerResultado(out, op, resultado);
+                else Protocolo.ponerTexto(out, mensaje);
+                out.putInt(inicio, out.position() - inicio - 4);
+                return;
+            } catch (BufferOverflowException e) {
+                out.position(inicio); // se descarta lo escrito de esta respuesta y se reintenta con mas lugar
+                c.salida = Protocolo.agrandar(out, 0);
+            }
+        }
+    }
+
+    private Object ejecutar(Operacion op, Object[] p) throws Exception {
+        switch (op) {
+            case REGISTRAR_EMPLEADO:
+                sistema.registrarEmpleado((String) p[0], (Double) p[1]);
+                return null;
+            case REGISTRAR_EMPLEADO_PLANTA:
+                sistema.registrarEmpleado((String) p[0], (Double) p[1], (String) p[2]);
+                return null;
+            case REGISTRAR_PROYECTO:
+                sistema.registrarProyecto((String[]) p[0], (String[]) p[1], (double[]) p[2], (String) p[3],
+                        (String[]) p[4], (String) p[5], (String) p[6]);
+                return null;
+            case ASIGNAR_RESPONSABLE:
+                sistema.asignarResponsableEnTarea((Integer) p[0], (String) p[1]);
+                return null;
+            case ASIGNAR_MENOS_RETRASO:
+                sistema.asignarResponsableMenosRetraso((Integer) p[0], (String) p[1]);
+                return null;
+            case REGISTRAR_RETRASO:
+                sistema.registrarRetrasoEnTarea((Integer) p[0], (String) p[1], (Double) p[2]);
+                return null;
+            case AGREGAR_TAREA:
+                sistema.agregarTareaEnProyecto((Integer) p[0], (String) p[1], (String) p[2], (Double) p[3]);
+                return null;
+            case FINALIZAR_TAREA:
+                sistema.finalizarTarea((Integer) p[0], (String) p[1]);
+                return null;
+            case FINALIZAR_PROYECTO:
+                sistema.finalizarProyecto((Integer) p[0], (String) p[1]);
+                return null;
+            case REASIGNAR:
+                sistema.reasignarEmpleadoEnProyecto((Integer) p[0], (Integer) p[1], (String) p[2]);
+                return null;
+            case REASIGNAR_MENOS_RETRASO:
+                sistema.reasignarEmpleadoConMenosRetraso((Integer) p[0], (String) p[1]);
+                return null;
+            case COSTO_PROYECTO:
+                return sistema.costoProyecto((Integer) p[0]);
+            case PROYECTOS_FINALIZADOS:
+                return sistema.proyectosFinalizados();
+            case PROYECTOS_PENDIENTES:
+                return sistema.proyectosPendientes();
+            case PROYECTOS_ACTIVOS:
+                return sistema.proyectosActivos();
+            case EMPLEADOS_NO_ASIGNADOS:
+                return sistema.empleadosNoAsignados();
+            case ESTA_FINALIZADO:
+                return sistema.estaFinalizado((Integer) p[0]);
+            case CANTIDAD_RETRASOS:
+                return sistema.consultarCantidadRetrasosEmpleado((Integer) p[0]);
+            case EMPLEADOS_ASIGNADOS:
+                return sistema.empleadosAsignadosAProyecto((Integer) p[0]);
+            case TAREAS_NO_ASIGNADAS:
+                return sistema.tareasProyectoNoAsignadas((Integer) p[0]);
+            case TAREAS_DE_PROYECTO:
+                return sistema.tareasDeUnProyecto((Integer) p[0]);
+            case DOMICILIO_PROYECTO:
+                return sistema.consultarDomicilioProyecto((Integer) p[0]);
+            case TIENE_RETRASOS:
+                return sistema.tieneRestrasos((Integer) p[0]);
+            case EMPLEADOS:
+                return sistema.empleados();
+            case CONSULTAR_PROYECTO:
+                return sistema.consultarProyecto((Integer) p[0]);
+            case RESPONSABLE_DE_TAREA:
+                return sistema.responsableDeTarea((Integer) p[0], (String) p[1]);
+            case HISTORIAL_EMPLEADOS:
+                return sistema.historialEmpleadosDeProyecto((Integer) p[0]);
+            default:
+                throw new IllegalStateException("Operación sin implementar: " + op);
+        }
+    }
+
+    private static final class Conexion {
+        final SocketChannel canal;
+        SelectionKey clave;
+        ByteBuffer entrada = ByteBuffer.allocateDirect(BUFFER_INICIAL); // en modo escritura entre lecturas
+        ByteBuffer salida = ByteBuffer.allocateDirect(BUFFER_INICIAL);  // idem, con lo que falta mandar
+
+        Conexion(SocketChannel canal) {
+            this.canal = canal;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package servidor;
+
+/** Error del pedido que se responde con un codigo HTTP fijo (ruta, metodo o cuerpo invalidos). */
+final class ErrorHttp extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    final int codigo;
+
+    ErrorHttp(int codigo, String mensaje) {
+        super(mensaje, null, false, false); // sin stack: es un resultado esperado
+        this.codigo = codigo;
+    }
+}
@@ -0,0 +1,306 @@
+package servidor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Escribe la respuesta JSON de un pedido a medida que se arma, sin pasar por Strings ni por
+ * un arbol de objetos. Todo se codifica en UTF-8 en un unico buffer: si la respuesta entra
+ * entera se manda con Content-Length; si se llena, se envian los encabezados y el resto va
+ * en chunks a medida que se vacia.
+ *
+ * Las comas las pone el escritor: se abre un objeto o arreglo, se escriben claves y valores
+ * en orden y se cierra.
+ */
+final class EscritorJson {
+    static final int CAPACIDAD = 8 * 1024;
+    private static final int NIVELES = 63;
+    private static final byte[] VERDADERO = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSO = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULO = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MENOR_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpExchange intercambio;
+    private final byte[] buffer;
+    private final byte[] digitos = new byte[20];
+    private int usados;
+    private OutputStream cuerpo; // null mientras no se mandaron los encabezados
+    private int codigo = 200;
+    private long conElementos; // bit i: el nivel i ya tiene algun elemento
+    private int nivel;
+    private boolean despuesDeClave;
+
+    EscritorJson(HttpExchange intercambio) {
+        this(intercambio, CAPACIDAD);
+    }
+
+    EscritorJson(HttpExchange intercambio, int capacidad) {
+        this.intercambio = intercambio;
+        this.buffer = new byte[capacidad];
+    }
+
+    /** Codigo de estado; solo tiene efecto antes de que se envien los encabezados. */
+    EscritorJson codigo(int codigo) {
+        this.codigo = codigo;
+        return this;
+    }
+
+    boolean encabezadosEnviados() {
+        return cuerpo != null;
+    }
+
+    /** Descarta lo escrito que todavia no se envio, para responder otra cosa (un error). */
+    void descartar() {
+        usados = 0;
+        nivel = 0;
+        conElementos = 0;
+        despuesDeClave = false;
+    }
+
+    // -------------------------
+    // ESTRUCTURA
+    // -------------------------
+    EscritorJson objeto() throws IOException {
+        return abrir('{');
+    }
+
+    EscritorJson finObjeto() throws IOException {
+        return cerrar('}');
+    }
+
+    EscritorJson arreglo() throws IOException {
+        return abrir('[');
+    }
+
+    EscritorJson finArreglo() throws IOException {
+        return cerrar(']');
+    }
+
+    /** Clave de un objeto; las claves son identificadores ASCII y no se escapan. */
+    EscritorJson clave(String clave) throws IOException {
+        separar();
+        lugar(clave.length() + 3);
+        buffer[usados++] = '"';
+        for (int i = 0; i < clave.length(); i++) buffer[usados++] = (byte) clave.charAt(i);
+        buffer[usados++] = '"';
+        buffer[usados++] = ':';
+        despuesDeClave = true;
+        return this;
+    }
+
+    // -------------------------
+    // VALORES
+    // -------------------------
+    EscritorJson texto(String v) throws IOException {
+        if (v == null) return nulo();
+        separar();
+        ascii('"');
+        for (int i = 0; i < v.length(); ) {
+            char c = v.charAt(i);
+            if (c == '"' || c == '\\') {
+                ascii('\\');
+                ascii(c);
+                i++;
+            } else if (c < 0x20) {
+                control(c);
+                i++;
+            } else {
+                i = caracter(v, i);
+            }
+        }
+        ascii('"');
+        return this;
+    }
+
+    EscritorJson entero(long v) throws IOException {
+        separar();
+        numero(v);
+        return this;
+    }
+
+    /** Real con hasta 6 decimales y sin ceros de mas, como en la exportacion; NaN e infinitos van como null. */
+    EscritorJson real(double v) throws IOException {
+        if (Double.isNaN(v) || Double.isInfinite(v)) return nulo();
+        separar();
+        double abs = Math.abs(v);
+        if (!(abs < 1e12)) {
+            String s = Double.toString(v);
+            for (int i = 0; i < s.length(); i++) ascii(s.charAt(i));
+            return this;
+        }
+        long entera = (long) abs;
+        long fraccion = Math.round((abs - entera) * 1_000_000);
+        if (fraccion == 1_000_000) {
+            entera++;
+            fraccion = 0;
+        }
+        if (v < 0 && (entera != 0 || fraccion != 0)) ascii('-');
+        numero(entera);
+        if (fraccion != 0) {
+            int decimales = 6;
+            while (fraccion % 10 == 0) {
+                fraccion /= 10;
+                decimales--;
+            }
+            lugar(7);
+            buffer[usados++] = '.';
+            for (int i = decimales - 1; i >= 0; i--) {
+                digitos[i] = (byte) ('0' + fraccion % 10);
+                fraccion /= 10;
+            }
+            System.arraycopy(digitos, 0, buffer, usados, decimales);
+            usados += decimales;
+        }
+        return this;
+    }
+
+    EscritorJson logico(boolean v) throws IOException {
+        separar();
+        return bytes(v ? VERDADERO : FALSO);
+    }
+
+    EscritorJson nulo() throws IOException {
+        separar();
+        return bytes(NULO);
+    }
+
+    // -------------------------
+    // ENVIO
+    // -------------------------
+
+    /** Envia lo que falta y cierra la respuesta. */
+    void terminar() throws IOException {
+        if (cuerpo == null) {
+            intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            intercambio.sendResponseHeaders(codigo, usados == 0 ? -1 : usados);
+            cuerpo = intercambio.getResponseBody();
+        }
+        if (usados > 0) cuerpo.write(buffer, 0, usados);
+        usados = 0;
+        cuerpo.close();
+    }
+
+    // -------------------------
+    // INTERNOS
+    // -------------------------
+    private EscritorJson abrir(char c) throws IOException {
+        separar();
+        if (nivel == NIVELES) throw new IllegalStateException("JSON demasiado anidado");
+        nivel++;
+        conElementos &= ~(1L << nivel);
+        ascii(c);
+        return this;
+    }
+
+    private EscritorJson cerrar(char c) throws IOException {
+        nivel--;
+        ascii(c);
+        return this;
+    }
+
+    // coma antes de cada elemento salvo el primero del nivel; despues de una clave no va
+    private void separar() throws IOException {
+        if (despuesDeClave) {
+            despuesDeClave = false;
+            return;
+        }
+        if (nivel == 0) return;
+        long bit = 1L << nivel;
+        if ((conElementos & bit) != 0) ascii(',');
+        else conElementos |= bit;
+    }
+
+    private void control(char c) throws IOException {
+        ascii('\\');
+        switch (c) {
+            case '\n': ascii('n'); break;
+            case '\r': ascii('r'); break;
+            case '\t': ascii('t'); break;
+            default:
+                ascii('u');
+                ascii('0');
+                ascii('0');
+                ascii(Character.forDigit(c >> 4, 16));
+                ascii(Character.forDigit(c & 0xF, 16));
+        }
+    }
+
+    // un caracter en UTF-8, o un par sustituto completo
+    private int caracter(String s, int i) throws IOException {
+        char c = s.charAt(i);
+        if (c < 0x80) {
+            ascii(c);
+        } else if (c < 0x800) {
+            lugar(2);
+            buffer[usados++] = (byte) (0xC0 | c >> 6);
+            buffer[usados++] = (byte) (0x80 | c & 0x3F);
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(i + 1));
+            lugar(4);
+            buffer[usados++] = (byte) (0xF0 | cp >> 18);
+            buffer[usados++] = (byte) (0x80 | cp >> 12 & 0x3F);
+            buffer[usados++] = (byte) (0x80 | cp >> 6 & 0x3F);
+            buffer[usados++] = (byte) (0x80 | cp & 0x3F);
+            return i + 2;
+        } else if (Character.isSurrogate(c)) {
+            ascii('?'); // sustituto suelto: no tiene codificacion valida
+        } else {
+            lugar(3);
+            buffer[usados++] = (byte) (0xE0 | c >> 12);
+            buffer[usados++] = (byte) (0x80 | c >> 6 & 0x3F);
+            buffer[usados++] = (byte) (0x80 | c & 0x3F);
+        }
+        return i + 1;
+    }
+
+    private void numero(long v) throws IOException {
+        if (v == Long.MIN_VALUE) { // -v no entra en un long
+            bytes(MENOR_LONG);
+            return;
+        }
+        lugar(20);
+        if (v < 0) {
+            buffer[usados++] = '-';
+            v = -v;
+        }
+        int n = digitos.length;
+        do {
+            digitos[--n] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        System.arraycopy(digitos, n, buffer, usados, digitos.length - n);
+        usados += digitos.length - n;
+    }
+
+    private void ascii(char c) throws IOException {
+        lugar(1);
+        buffer[usados++] = (byte) c;
+    }
+
+    private EscritorJson bytes(byte[] b) throws IOException {
+        lugar(b.length);
+        System.arraycopy(b, 0, buffer, usados, b.length);
+        usados += b.length;
+        return this;
+    }
+
+    private void lugar(int bytes) throws IOException {
+        if (buffer.length - usados >= bytes) return;
+        vaciar();
+        if (buffer.length < bytes) throw new IllegalStateException("Buffer menor a " + bytes + " bytes");
+    }
+
+    // la respuesta no entra en el buffer: se pasa a chunks
+    private void vaciar() throws IOException {
+        if (cuerpo == null) {
+            intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            intercambio.sendResponseHeaders(codigo, 0);
+            cuerpo = intercambio.getResponseBody();
+        }
+        cuerpo.write(buffer, 0, usados);
+        usados = 0;
+    }
+}
@@ -0,0 +1,227 @@
+package servidor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lee el cuerpo JSON de un pedido: un objeto cuyos valores son textos, numeros, logicos,
+ * null, arreglos u objetos. Los cuerpos son chicos (los limita el servidor), asi que se
+ * arma un Map con Double, String, Boolean, List y Map en vez de leer en streaming.
+ */
+final class LectorJson {
+    private final String texto;
+    private int pos;
+
+    private LectorJson(String texto) {
+        this.texto = texto;
+    }
+
+    /** @throws ErrorHttp 400 si el texto no es un objeto JSON valido. */
+    static Map<String, Object> leerObjeto(String texto) {
+        LectorJson l = new LectorJson(texto);
+        l.espacios();
+        if (l.pos == texto.length()) return new HashMap<>(); // cuerpo vacio: sin campos
+        if (l.actual() != '{') throw l.error("Se esperaba un objeto");
+        Map<String, Object> out = l.objeto();
+        l.espacios();
+        if (l.pos != texto.length()) throw l.error("Sobran caracteres");
+        return out;
+    }
+
+    // -------------------------
+    // CAMPOS
+    // -------------------------
+    static String texto(Map<String, Object> campos, String clave) {
+        Object v = campos.get(clave);
+        if (v == null) return null;
+        if (!(v instanceof String)) throw new ErrorHttp(400, "El campo " + clave + " tiene que ser texto");
+        return (String) v;
+    }
+
+    static double numero(Map<String, Object> campos, String clave) {
+        Object v = campos.get(clave);
+        if (!(v instanceof Double)) throw new ErrorHttp(400, "Falta el campo numerico " + clave);
+        return (Double) v;
+    }
+
+    static String[] textos(Map<String, Object> campos, String clave) {
+        List<?> lista = lista(campos, clave);
+        if (lista == null) return null;
+        String[] out = new String[lista.size()];
+        for (int i = 0; i < out.length; i++) {
+            Object v = lista.get(i);
+            if (v != null && !(v instanceof String)) throw new ErrorHttp(400, "El campo " + clave + " tiene que tener textos");
+            out[i] = (String) v;
+        }
+        return out;
+    }
+
+    static double[] numeros(Map<String, Object> campos, String clave) {
+        List<?> lista = lista(campos, clave);
+        if (lista == null) return null;
+        double[] out = new double[lista.size()];
+        for (int i = 0; i < out.length; i++) {
+            Object v = lista.get(i);
+            if (!(v instanceof Double)) throw new ErrorHttp(400, "El campo " + clave + " tiene que tener numeros");
+            out[i] = (Double) v;
+        }
+        return out;
+    }
+
+    private static List<?> lista(Map<String, Object> campos, String clave) {
+        Object v = campos.get(clave);
+        if (v == null) return null;
+        if (!(v instanceof List)) throw new ErrorHttp(400, "El campo " + clave + " tiene que ser un arreglo");
+        return (List<?>) v;
+    }
+
+    // -------------------------
+    // INTERNOS
+    // -------------------------
+    private Object valor() {
+        espacios();
+        if (pos == texto.length()) throw error("Falta un valor");
+        char c = actual();
+        switch (c) {
+            case '{':
+                return objeto();
+            case '[':
+                return arreglo();
+            case '"':
+                return cadena();
+            case 't':
+                return palabra("true", Boolean.TRUE);
+            case 'f':
+                return palabra("false", Boolean.FALSE);
+            case 'n':
+                return palabra("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return numero();
+                throw error("Valor inesperado");
+        }
+    }
+
+    private Map<String, Object> objeto() {
+        pos++; // {
+        Map<String, Object> out = new HashMap<>();
+        espacios();
+        if (pos < texto.length() && actual() == '}') {
+            pos++;
+            return out;
+        }
+        while (true) {
+            espacios();
+            if (pos == texto.length() || actual() != '"') throw error("Se esperaba una clave");
+            String clave = cadena();
+            espacios();
+            esperar(':');
+            out.put(clave, valor());
+            espacios();
+            if (pos == texto.length()) throw error("Objeto sin cerrar");
+            char c = texto.charAt(pos++);
+            if (c == '}') return out;
+            if (c != ',') throw error("Se esperaba , o }");
+        }
+    }
+
+    private List<Object> arreglo() {
+        pos++; // [
+        List<Object> out = new ArrayList<>();
+        espacios();
+        if (pos < texto.length() && actual() == ']') {
+            pos++;
+            return out;
+        }
+        while (true) {
+            out.add(valor());
+            espacios();
+            if (pos == texto.length()) throw error("Arreglo sin cerrar");
+            char c = texto.charAt(pos++);
+            if (c == ']') return out;
+            if (c != ',') throw error("Se esperaba , o ]");
+        }
+    }
+
+    private String cadena() {
+        pos++; // "
+        StringBuilder sb = null; // solo si hay escapes
+        int desde = pos;
+        while (pos < texto.length()) {
+            char c = texto.charAt(pos);
+            if (c == '"') {
+                String s = sb == null ? texto.substring(desde, pos) : sb.append(texto, desde, pos).toString();
+                pos++;
+                return s;
+            }
+            if (c == '\\') {
+                if (sb == null) sb = new StringBuilder();
+                sb.append(texto, desde, pos);
+                if (++pos == texto.length()) break;
+                char e = texto.charAt(pos++);
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > texto.length()) throw error("Escape \\u incompleto");
+                        try {
+                            sb.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("Escape \\u invalido");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        throw error("Escape invalido");
+                }
+                desde = pos;
+            } else {
+                if (c < 0x20) throw error("Caracter de control en un texto");
+                pos++;
+            }
+        }
+        throw error("Texto sin cerrar");
+    }
+
+    private Double numero() {
+        int desde = pos;
+        while (pos < texto.length() && "+-0123456789.eE".indexOf(texto.charAt(pos)) >= 0) pos++;
+        try {
+            return Double.valueOf(texto.substring(desde, pos));
+        } catch (NumberFormatException ex) {
+            throw error("Numero invalido");
+        }
+    }
+
+    private Object palabra(String palabra, Object valor) {
+        if (!texto.startsWith(palabra, pos)) throw error("Valor inesperado");
+        pos += palabra.length();
+        return valor;
+    }
+
+    private void esperar(char c) {
+        if (pos == texto.length() || texto.charAt(pos) != c) throw error("Se esperaba " + c);
+        pos++;
+    }
+
+    private void espacios() {
+        while (pos < texto.length()) {
+            char c = texto.charAt(pos);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return;
+            pos++;
+        }
+    }
+
+    private char actual() {
+        return texto.charAt(pos);
+    }
+
+    private ErrorHttp error(String mensaje) {
+        return new ErrorHttp(400, "JSON invalido en la posicion " + pos + ": " + mensaje);
+    }
+}
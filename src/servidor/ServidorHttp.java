@@ -0,0 +1,392 @@
+package servidor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import entidades.IHomeSolution;
+import entidades.Tupla;
+
+/**
+ * API HTTP/JSON sobre un IHomeSolution, con el servidor que trae el JDK.
+ *
+ * Cada pedido corre en su propio hilo virtual si la JVM los tiene (Java 21 en adelante); en
+ * Java 17 se usa un pool fijo de hilos. Como los pedidos corren a la vez, el sistema tiene que
+ * ser seguro para varios hilos (HomeSolutionConcurrente, HomeSolutionParticionado).
+ *
+ * Rutas (los cuerpos de los POST son objetos JSON):
+ *   GET  /empleados                          [{legajo, nombre}]
+ *   POST /empleados                          {nombre, valor, categoria?}
+ *   GET  /empleados/libres                   [legajo] en orden de cola
+ *   GET  /empleados/{legajo}                 {legajo, retrasos, tieneRetrasos}
+ *   GET  /proyectos?estado=pendientes|activos|finalizados   [{numero, domicilio}]
+ *   POST /proyectos                          {titulos, descripciones, dias, domicilio, cliente, inicio, fin}
+ *   GET  /proyectos/{n}                      {numero, domicilio, finalizado, costo, detalle}
+ *   GET  /proyectos/{n}/costo                {numero, costo}
+ *   GET  /proyectos/{n}/empleados            [{legajo, nombre}] asignados ahora
+ *   GET  /proyectos/{n}/historial            [{legajo, nombre}] todos los que pasaron
+ *   POST /proyectos/{n}/finalizar            {fecha}
+ *   GET  /proyectos/{n}/tareas[?sinAsignar=true]   [titulo]
+ *   POST /proyectos/{n}/tareas               {titulo, descripcion, dias}
+ *   GET  /proyectos/{n}/tareas/{titulo}      {titulo, responsable}
+ *   POST /proyectos/{n}/tareas/{titulo}/asignar     {menosRetraso?}
+ *   POST /proyectos/{n}/tareas/{titulo}/reasignar   {legajo} o {menosRetraso: true}
+ *   POST /proyectos/{n}/tareas/{titulo}/retraso     {dias}
+ *   POST /proyectos/{n}/tareas/{titulo}/finalizar
+ *
+ * Los errores vuelven como {error}: 404 si no existe el proyecto, la tarea o la ruta, 400 si
+ * el pedido es invalido y 409 si la operacion no se puede hacer en el estado actual.
+ */
+public class ServidorHttp implements AutoCloseable {
+    public static final int CUERPO_MAXIMO = 64 * 1024;
+    private static final int COLA_CONEXIONES = 1024;
+
+    static {
+        // el servidor del JDK escribe encabezados y cuerpo por separado: con Nagle cada respuesta
+        // chica espera el ACK demorado del cliente (unos 40 ms por pedido en conexiones keep-alive).
+        // Se lee una sola vez, al crear el primer HttpServer de la JVM.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final IHomeSolution sistema;
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    private final boolean hilosVirtuales;
+
+    /** Crea el servidor sin arrancarlo; con puerto 0 el sistema elige uno libre. */
+    public ServidorHttp(IHomeSolution sistema, InetSocketAddress direccion) throws IOException {
+        this.sistema = sistema;
+        ExecutorService virtual = ejecutorVirtual();
+        this.hilosVirtuales = virtual != null;
+        this.ejecutor = virtual != null ? virtual
+                : Executors.newFixedThreadPool(Math.max(8, 4 * Runtime.getRuntime().availableProcessors()));
+        this.servidor = HttpServer.create(direccion, COLA_CONEXIONES);
+        servidor.createContext("/", this::atender);
+        servidor.setExecutor(ejecutor);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    public boolean usaHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    /**
+     * Deja de aceptar conexiones y espera hasta un segundo a los pedidos en curso.
+     * Si se interrumpe la espera, vuelve con el flag de interrupcion puesto.
+     */
+    @Override
+    public void close() {
+        servidor.stop(0);
+        ejecutor.shutdown();
+        try {
+            ejecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor existe desde Java 21; se busca por reflexion
+    // para compilar con release 17. null si no esta.
+    static ExecutorService ejecutorVirtual() {
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+            return null; // Java 17, o 19/20 sin --enable-preview
+        }
+    }
+
+    // -------------------------
+    // ATENCION DE PEDIDOS
+    // -------------------------
+    private void atender(HttpExchange ex) {
+        EscritorJson out = new EscritorJson(ex);
+        try {
+            rutear(ex, segmentos(ex.getRequestURI().getRawPath()), out);
+            out.terminar();
+        } catch (ErrorHttp e) {
+            error(out, e.codigo, e.getMessage());
+        } catch (IllegalArgumentException | DateTimeException e) {
+            String msg = e.getMessage();
+            error(out, msg != null && msg.contains("no existe") ? 404 : 400, msg);
+        } catch (IOException e) {
+            // la conexion se corto: no hay a quien responder
+        } catch (RuntimeException e) {
+            error(out, e instanceof IllegalStateException ? 409 : 500, String.valueOf(e.getMessage()));
+        } catch (Exception e) {
+            error(out, 409, e.getMessage()); // reglas de negocio: proyecto finalizado, sin empleados libres...
+        } finally {
+            ex.close();
+        }
+    }
+
+    private static void error(EscritorJson out, int codigo, String mensaje) {
+        if (out.encabezadosEnviados()) return; // la respuesta ya salio a medias: solo queda cortarla
+        try {
+            out.descartar();
+            out.codigo(codigo).objeto().clave("error").texto(mensaje).finObjeto().terminar();
+        } catch (IOException e) {
+            // la conexion se corto
+        }
+    }
+
+    private void rutear(HttpExchange ex, String[] s, EscritorJson out) throws Exception {
+        if (s.length == 0) throw new ErrorHttp(404, "Ruta inexistente");
+        switch (s[0]) {
+            case "empleados":
+                empleados(ex, s, out);
+                return;
+            case "proyectos":
+                if (s.length == 1) proyectos(ex, out);
+                else if (s.length <= 3) proyecto(ex, entero(s[1]), s.length == 3 ? s[2] : null, out);
+                else if (s[2].equals("tareas")) tarea(ex, entero(s[1]), s[3], s.length == 5 ? s[4] : null, s.length > 5, out);
+                else throw new ErrorHttp(404, "Ruta inexistente");
+                return;
+            default:
+                throw new ErrorHttp(404, "Ruta inexistente");
+        }
+    }
+
+    // /empleados, /empleados/libres, /empleados/{legajo}
+    private void empleados(HttpExchange ex, String[] s, EscritorJson out) throws IOException {
+        if (s.length == 1) {
+            if (esPost(ex)) {
+                Map<String, Object> c = cuerpo(ex);
+                String categoria = LectorJson.texto(c, "categoria");
+                double valor = LectorJson.numero(c, "valor");
+                if (categoria == null) sistema.registrarEmpleado(LectorJson.texto(c, "nombre"), valor);
+                else sistema.registrarEmpleado(LectorJson.texto(c, "nombre"), valor, categoria);
+                creado(out);
+            } else {
+                exigirGet(ex);
+                personas(sistema.empleados(), out);
+            }
+        } else if (s.length == 2 && s[1].equals("libres")) {
+            exigirGet(ex);
+            out.arreglo();
+            for (Object leg : sistema.empleadosNoAsignados()) out.entero((Integer) leg);
+            out.finArreglo();
+        } else if (s.length == 2) {
+            exigirGet(ex);
+            int legajo = entero(s[1]);
+            int retrasos = sistema.consultarCantidadRetrasosEmpleado(legajo);
+            out.objeto().clave("legajo").entero(legajo).clave("retrasos").entero(retrasos)
+                    .clave("tieneRetrasos").logico(retrasos > 0).finObjeto();
+        } else {
+            throw new ErrorHttp(404, "Ruta inexistente");
+        }
+    }
+
+    // /proyectos
+    private void proyectos(HttpExchange ex, EscritorJson out) throws IOException {
+        if (esPost(ex)) {
+            Map<String, Object> c = cuerpo(ex);
+            sistema.registrarProyecto(LectorJson.textos(c, "titulos"), LectorJson.textos(c, "descripciones"),
+                    LectorJson.numeros(c, "dias"), LectorJson.texto(c, "domicilio"), LectorJson.textos(c, "cliente"),
+                    LectorJson.texto(c, "inicio"), LectorJson.texto(c, "fin"));
+            creado(out);
+            return;
+        }
+        exigirGet(ex);
+        String estado = parametro(ex, "estado");
+        List<Tupla<Integer, String>> lista;
+        if (estado == null || estado.equals("pendientes")) lista = sistema.proyectosPendientes();
+        else if (estado.equals("activos")) lista = sistema.proyectosActivos();
+        else if (estado.equals("finalizados")) lista = sistema.proyectosFinalizados();
+        else throw new ErrorHttp(400, "Estado inválido: " + estado);
+        out.arreglo();
+        for (Tupla<Integer, String> t : lista) {
+            out.objeto().clave("numero").entero(t.getValor1()).clave("domicilio").texto(t.getValor2()).finObjeto();
+        }
+        out.finArreglo();
+    }
+
+    // /proyectos/{n} y /proyectos/{n}/{accion}
+    private void proyecto(HttpExchange ex, int numero, String accion, EscritorJson out) throws Exception {
+        if (accion == null) {
+            exigirGet(ex);
+            String domicilio = sistema.consultarDomicilioProyecto(numero);
+            if (domicilio == null) throw new ErrorHttp(404, "Proyecto no existe: " + numero);
+            out.objeto().clave("numero").entero(numero).clave("domicilio").texto(domicilio)
+                    .clave("finalizado").logico(sistema.estaFinalizado(numero))
+                    .clave("costo").real(sistema.costoProyecto(numero))
+                    .clave("detalle").texto(sistema.consultarProyecto(numero)).finObjeto();
+            return;
+        }
+        switch (accion) {
+            case "costo":
+                exigirGet(ex);
+                out.objeto().clave("numero").entero(numero).clave("costo").real(sistema.costoProyecto(numero)).finObjeto();
+                return;
+            case "empleados":
+                exigirGet(ex);
+                personas(sistema.empleadosAsignadosAProyecto(numero), out);
+                return;
+            case "historial":
+                exigirGet(ex);
+                personas(sistema.historialEmpleadosDeProyecto(numero), out);
+                return;
+            case "finalizar":
+                exigirPost(ex);
+                String fecha = LectorJson.texto(cuerpo(ex), "fecha");
+                if (fecha == null) throw new ErrorHttp(400, "Falta el campo fecha");
+                sistema.finalizarProyecto(numero, fecha);
+                ok(out);
+                return;
+            case "tareas":
+                if (esPost(ex)) {
+                    Map<String, Object> c = cuerpo(ex);
+                    sistema.agregarTareaEnProyecto(numero, LectorJson.texto(c, "titulo"),
+                            LectorJson.texto(c, "descripcion"), LectorJson.numero(c, "dias"));
+                    creado(out);
+                    return;
+                }
+                exigirGet(ex);
+                Object[] titulos = "true".equals(parametro(ex, "sinAsignar"))
+                        ? sistema.tareasProyectoNoAsignadas(numero) : sistema.tareasDeUnProyecto(numero);
+                out.arreglo();
+                for (Object t : titulos) out.texto((String) t);
+                out.finArreglo();
+                return;
+            default:
+                throw new ErrorHttp(404, "Ruta inexistente");
+        }
+    }
+
+    // /proyectos/{n}/tareas/{titulo} y /proyectos/{n}/tareas/{titulo}/{accion}
+    private void tarea(HttpExchange ex, int numero, String titulo, String accion, boolean sobra, EscritorJson out)
+            throws Exception {
+        if (sobra) throw new ErrorHttp(404, "Ruta inexistente");
+        if (accion == null) {
+            exigirGet(ex);
+            Integer responsable = sistema.responsableDeTarea(numero, titulo);
+            out.objeto().clave("titulo").texto(titulo).clave("responsable");
+            if (responsable == null) out.nulo();
+            else out.entero(responsable);
+            out.finObjeto();
+            return;
+        }
+        exigirPost(ex);
+        Map<String, Object> c = cuerpo(ex);
+        boolean menosRetraso = Boolean.TRUE.equals(c.get("menosRetraso"));
+        switch (accion) {
+            case "asignar":
+                if (menosRetraso) sistema.asignarResponsableMenosRetraso(numero, titulo);
+                else sistema.asignarResponsableEnTarea(numero, titulo);
+                break;
+            case "reasignar":
+                if (menosRetraso) sistema.reasignarEmpleadoConMenosRetraso(numero, titulo);
+                else sistema.reasignarEmpleadoEnProyecto(numero, (int) LectorJson.numero(c, "legajo"), titulo);
+                break;
+            case "retraso":
+                sistema.registrarRetrasoEnTarea(numero, titulo, LectorJson.numero(c, "dias"));
+                break;
+            case "finalizar":
+                sistema.finalizarTarea(numero, titulo);
+                break;
+            default:
+                throw new ErrorHttp(404, "Ruta inexistente");
+        }
+        ok(out);
+    }
+
+    // -------------------------
+    // UTILITARIOS
+    // -------------------------
+    private static void personas(List<Tupla<Integer, String>> lista, EscritorJson out) throws IOException {
+        out.arreglo();
+        for (Tupla<Integer, String> t : lista) {
+            out.objeto().clave("legajo").entero(t.getValor1()).clave("nombre").texto(t.getValor2()).finObjeto();
+        }
+        out.finArreglo();
+    }
+
+    private static void ok(EscritorJson out) throws IOException {
+        out.objeto().clave("ok").logico(true).finObjeto();
+    }
+
+    private static void creado(EscritorJson out) throws IOException {
+        out.codigo(201);
+        ok(out);
+    }
+
+    private static boolean esPost(HttpExchange ex) {
+        return ex.getRequestMethod().equals("POST");
+    }
+
+    private static void exigirGet(HttpExchange ex) {
+        if (!ex.getRequestMethod().equals("GET")) throw new ErrorHttp(405, "Método no permitido");
+    }
+
+    private static void exigirPost(HttpExchange ex) {
+        if (!esPost(ex)) throw new ErrorHttp(405, "Método no permitido");
+    }
+
+    private static Map<String, Object> cuerpo(HttpExchange ex) throws IOException {
+        byte[] datos;
+        try (InputStream in = ex.getRequestBody()) {
+            datos = in.readNBytes(CUERPO_MAXIMO + 1);
+        }
+        if (datos.length > CUERPO_MAXIMO) throw new ErrorHttp(413, "Cuerpo mayor a " + CUERPO_MAXIMO + " bytes");
+        return LectorJson.leerObjeto(new String(datos, StandardCharsets.UTF_8));
+    }
+
+    // segmentos no vacios del camino, decodificados ("+" queda como esta: no es un formulario)
+    static String[] segmentos(String camino) {
+        List<String> out = new ArrayList<>();
+        int desde = 0;
+        while (desde <= camino.length()) {
+            int hasta = camino.indexOf('/', desde);
+            if (hasta < 0) hasta = camino.length();
+            if (hasta > desde) out.add(decodificar(camino.substring(desde, hasta)));
+            desde = hasta + 1;
+        }
+        return out.toArray(new String[0]);
+    }
+
+    private static String parametro(HttpExchange ex, String nombre) {
+        String q = ex.getRequestURI().getRawQuery();
+        if (q == null) return null;
+        for (String par : q.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            if (clave.equals(nombre)) return igual < 0 ? "" : URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private static String decodificar(String s) {
+        if (s.indexOf('%') < 0) return s;
+        return URLDecoder.decode(s.replace("+", "%2B"), StandardCharsets.UTF_8);
+    }
+
+    private static int entero(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new ErrorHttp(400, "Número inválido: " + s);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import carga.ConfiguracionCarga;
+import carga.Escenario;
+import carga.ReporteCarga;
+import carga.Reproductor;
+import carga.TipoOperacion;
+import entidades.HomeSolution;
+import metricas.Histograma;
+
+public class CargaTests {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private static ConfiguracionCarga configuracion() {
+        return new ConfiguracionCarga().semilla(7).empleados(200, 0.3).operaciones(5000);
+    }
+
+    @Test
+    public void escenario_reproducidoEnOrdenNoTieneErrores() throws Exception {
+        HomeSolution hs = new HomeSolution();
+        Escenario e = Escenario.generar(configuracion());
+        e.poblar(hs);
+        ReporteCarga r = new Reproductor(hs).ejecutar(e, 0, 1);
+
+        assertEquals(5000, r.getOperaciones());
+        for (TipoOperacion t : TipoOperacion.values()) assertEquals(t.name(), 0, r.getErrores(t));
+        assertTrue(r.getLatencias(TipoOperacion.ASIGNAR).cantidad() > 0);
+    }
+
+    @Test
+    public void escenario_mismaSemillaYArchivoDanElMismoEstado() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("escenario.bin");
+        Escenario.generar(configuracion()).guardar(archivo);
+
+        HomeSolution a = new HomeSolution();
+        Escenario generado = Escenario.generar(configuracion());
+        generado.poblar(a);
+        new Reproductor(a).ejecutar(generado, 0, 1);
+
+        HomeSolution b = new HomeSolution();
+        Escenario leido = Escenario.cargar(archivo);
+        leido.poblar(b);
+        new Reproductor(b).ejecutar(leido, 0, 1);
+
+        for (int n = 1; n <= generado.cantidadProyectos(); n++) {
+            assertEquals(a.costoProyecto(n), b.costoProyecto(n), 0);
+            assertEquals(a.consultarProyecto(n), b.consultarProyecto(n));
+        }
+    }
+
+    @Test
+    public void histograma_percentilesConErrorAcotado() {
+        Histograma h = new Histograma();
+        for (int i = 1; i <= 100_000; i++) h.registrar(i * 10L);
+        assertEquals(100_000, h.cantidad());
+        assertEquals(1_000_000, h.maximo());
+        assertEquals(500_000, h.percentil(0.5), 500_000 * 0.04);
+        assertEquals(990_000, h.percentil(0.99), 990_000 * 0.04);
+        assertEquals(1_000_000, h.percentil(1));
+        h.reiniciar();
+        assertEquals(0, h.percentil(0.5));
+    }
+}
@@ -0,0 +1,194 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import colecciones.ArbolRangos;
+import colecciones.ColaInt;
+import colecciones.ConjuntoInt;
+import colecciones.MapaInt;
+import colecciones.MapaPersistente;
+import colecciones.SumaExacta;
+
+public class ColeccionesIntTests {
+
+    @Test
+    public void mapaInt_mismoResultadoQueHashMap() {
+        MapaInt<String> mapa = new MapaInt<>();
+        Map<Integer, String> esperado = new HashMap<>();
+        Random r = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int k = r.nextInt(3000) - 1500;
+            if (r.nextInt(3) == 0) {
+                assertEquals(esperado.remove(k), mapa.remove(k));
+            } else {
+                String v = "v" + i;
+                assertEquals(esperado.put(k, v), mapa.put(k, v));
+            }
+        }
+        assertEquals(esperado.size(), mapa.size());
+        for (int k = -1500; k < 1500; k++) assertEquals(esperado.get(k), mapa.get(k));
+    }
+
+    @Test
+    public void conjuntoInt_agregarQuitar() {
+        ConjuntoInt c = new ConjuntoInt();
+        for (int i = 0; i < 1000; i++) assertTrue(c.add(i * 31));
+        assertFalse(c.add(0));
+        for (int i = 0; i < 1000; i += 2) assertTrue(c.remove(i * 31));
+        assertEquals(500, c.size());
+        for (int i = 0; i < 1000; i++) assertEquals(i % 2 == 1, c.contains(i * 31));
+    }
+
+    @Test
+    public void colaInt_respetaOrdenFifoAlQuitarDelMedio() {
+        ColaInt cola = new ColaInt();
+        for (int i = 100; i < 200; i++) cola.agregarAlFinal(i);
+        for (int i = 101; i < 200; i += 2) assertTrue(cola.quitar(i));
+        assertFalse(cola.agregarAlFinal(100)); // ya estaba: conserva su lugar
+        cola.agregarAlFinal(101);
+        assertEquals(51, cola.size());
+        assertEquals(100, cola.sacarPrimero());
+        assertEquals(102, cola.verPrimero());
+        int[] resto = cola.toArray();
+        assertEquals(101, resto[resto.length - 1]);
+    }
+
+    @Test
+    public void arbolRangos_mismoOrdenQueTreeSetYRangosCorrectos() {
+        ArbolRangos<Integer> arbol = new ArbolRangos<>(Integer::compare);
+        TreeSet<Integer> esperado = new TreeSet<>();
+        Random r = new Random(11);
+        for (int i = 0; i < 30000; i++) {
+            int k = r.nextInt(5000);
+            if (r.nextInt(3) == 0) assertEquals(esperado.remove(k), arbol.remove(k));
+            else assertEquals(esperado.add(k), arbol.add(k));
+        }
+        assertEquals(esperado.size(), arbol.size());
+        List<Integer> enOrden = new ArrayList<>();
+        arbol.forEach(enOrden::add);
+        assertEquals(new ArrayList<>(esperado), enOrden);
+
+        int posicion = 0;
+        for (int k : esperado) {
+            assertEquals(posicion, arbol.rango(k));
+            assertEquals(k, arbol.seleccionar(posicion).intValue());
+            posicion++;
+        }
+        assertEquals(-1, arbol.rango(5001));
+        assertEquals(esperado.headSet(2500).size(), arbol.contarAntes(x -> x < 2500 ? -1 : 1));
+        Iterator<Integer> bajando = arbol.descendente().iterator();
+        assertEquals(esperado.last(), bajando.next());
+        assertEquals(esperado.lower(esperado.last()), bajando.next());
+    }
+
+    @Test
+    public void arbolRangos_cargaOrdenadaYSigueBalanceado() {
+        Integer[] ordenados = new Integer[1000];
+        for (int i = 0; i < ordenados.length; i++) ordenados[i] = i * 2;
+        ArbolRangos<Integer> arbol = new ArbolRangos<>(Integer::compare);
+        arbol.cargarOrdenados(ordenados, ordenados.length);
+        assertEquals(1000, arbol.size());
+        assertEquals(250, arbol.rango(500));
+        assertTrue(arbol.add(501));
+        assertTrue(arbol.remove(0));
+        assertEquals(250, arbol.rango(501));
+        assertEquals(Integer.valueOf(1998), arbol.seleccionar(999));
+    }
+
+    @Test
+    public void mapaPersistente_mismoResultadoQueTreeMapYVersionesViejasIntactas() {
+        MapaPersistente<String> mapa = MapaPersistente.vacio();
+        TreeMap<Integer, String> esperado = new TreeMap<>();
+        List<MapaPersistente<String>> versiones = new ArrayList<>();
+        List<TreeMap<Integer, String>> esperadas = new ArrayList<>();
+        Random r = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            // claves negativas, extremas y cercanas entre si para cubrir todos los niveles
+            int k = r.nextInt(10) == 0 ? r.nextInt() : r.nextInt(3000) - 1500;
+            if (r.nextInt(3) == 0) {
+                esperado.remove(k);
+                mapa = mapa.sin(k);
+            } else {
+                esperado.put(k, "v" + i);
+                mapa = mapa.con(k, "v" + i);
+            }
+            if (i % 2000 == 0) {
+                versiones.add(mapa);
+                esperadas.add(new TreeMap<>(esperado));
+            }
+        }
+        versiones.add(mapa);
+        esperadas.add(esperado);
+        for (int v = 0; v < versiones.size(); v++) {
+            MapaPersistente<String> m = versiones.get(v);
+            TreeMap<Integer, String> e = esperadas.get(v);
+            assertEquals(e.size(), m.size());
+            List<String> enOrden = new ArrayList<>();
+            for (String s : m.valores()) enOrden.add(s);
+            assertEquals(new ArrayList<>(e.values()), enOrden);
+            for (int k = -1500; k < 1500; k++) assertEquals(e.get(k), m.get(k));
+        }
+        List<String> desde = new ArrayList<>();
+        for (String s : mapa.valoresDesde(-7)) desde.add(s);
+        assertEquals(new ArrayList<>(esperado.tailMap(-7, true).values()), desde);
+    }
+
+    @Test
+    public void mapaPersistente_editorNoTocaLoYaTerminado() {
+        MapaPersistente.Editor<Integer> editor = MapaPersistente.<Integer>vacio().editar();
+        for (int i = 1; i <= 1000; i++) editor.con(i, i);
+        MapaPersistente<Integer> antes = editor.terminar();
+        for (int i = 1; i <= 1000; i += 2) editor.sin(i);
+        editor.con(5000, 5000);
+        MapaPersistente<Integer> despues = editor.terminar();
+
+        assertEquals(1000, antes.size());
+        assertEquals(Integer.valueOf(1), antes.get(1));
+        assertNull(antes.get(5000));
+        assertEquals(501, despues.size());
+        assertNull(despues.get(1));
+        assertEquals(Integer.valueOf(2), despues.get(2));
+        int previo = 0;
+        for (int v : despues.valores()) {
+            assertTrue(v > previo);
+            previo = v;
+        }
+        while (despues.size() > 0) despues = despues.sin(despues.valores().iterator().next());
+        assertFalse(despues.valores().iterator().hasNext());
+        assertEquals(1000, antes.size());
+    }
+
+    @Test
+    public void sumaExacta_redondeaUnaSolaVezYCancelaLoQueSeResta() {
+        Random r = new Random(7);
+        SumaExacta suma = new SumaExacta();
+        List<Double> quedan = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            double x = (r.nextDouble() - 0.3) * Math.pow(10, r.nextInt(12) - 4);
+            suma.sumar(x);
+            quedan.add(x);
+            if (r.nextInt(3) == 0) suma.restar(quedan.remove(r.nextInt(quedan.size())));
+        }
+        BigDecimal exacta = BigDecimal.ZERO;
+        for (double x : quedan) exacta = exacta.add(new BigDecimal(x));
+        assertEquals(exacta.doubleValue(), suma.getValor(), 0.0);
+
+        for (double x : quedan) suma.restar(x);
+        assertEquals(0.0, suma.getValor(), 0.0);
+        suma.sumar(0.1);
+        suma.sumar(0.2);
+        assertEquals(new BigDecimal(0.1).add(new BigDecimal(0.2)).doubleValue(), suma.getValor(), 0.0);
+    }
+}
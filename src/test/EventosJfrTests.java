@@ -0,0 +1,75 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import entidades.HomeSolution;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class EventosJfrTests {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @Test
+    public void operaciones_emitenUnEventoCadaUnaConSusDatos() throws Exception {
+        HomeSolution hs = new HomeSolution();
+        hs.registrarEmpleado("Ana", 1000);   // legajo 100
+        hs.registrarEmpleado("Beto", 1000);  // legajo 101
+        hs.registrarProyecto(new String[]{"T1", "T2"}, new String[]{"", ""}, new double[]{1, 2},
+                "Calle 1", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+
+        Path archivo = carpeta.getRoot().toPath().resolve("eventos.jfr");
+        double costo;
+        try (Recording r = new Recording()) {
+            for (String nombre : new String[]{"Asignacion", "Reasignacion", "Retraso",
+                    "FinalizacionTarea", "FinalizacionProyecto", "Costo"}) {
+                r.enable("homesolution." + nombre).withThreshold(Duration.ZERO);
+            }
+            r.start();
+            hs.asignarResponsableEnTarea(1, "T1");
+            hs.registrarRetrasoEnTarea(1, "T1", 1.5);
+            hs.reasignarEmpleadoEnProyecto(1, 101, "T1");
+            costo = hs.costoProyecto(1);
+            hs.finalizarTarea(1, "T1");
+            hs.finalizarTarea(1, "T2");
+            r.stop();
+            r.dump(archivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(archivo);
+        Map<String, RecordedEvent> porTipo = new HashMap<>();
+        Map<String, Integer> cantidad = new HashMap<>();
+        for (RecordedEvent e : eventos) {
+            String tipo = e.getEventType().getName();
+            porTipo.putIfAbsent(tipo, e);
+            cantidad.merge(tipo, 1, Integer::sum);
+        }
+        assertEquals(Integer.valueOf(2), cantidad.get("homesolution.FinalizacionTarea"));
+        assertEquals(Integer.valueOf(1), cantidad.get("homesolution.FinalizacionProyecto"));
+
+        RecordedEvent asignacion = porTipo.get("homesolution.Asignacion");
+        assertEquals(1, asignacion.getInt("proyecto"));
+        assertEquals("T1", asignacion.getString("tarea"));
+        assertEquals(100, asignacion.getInt("legajo"));
+        assertEquals(2, asignacion.getInt("tareas"));
+        assertEquals("FIFO", asignacion.getString("estrategia"));
+
+        assertEquals(2, porTipo.get("homesolution.Retraso").getInt("dias"));
+        RecordedEvent reasignacion = porTipo.get("homesolution.Reasignacion");
+        assertEquals(101, reasignacion.getInt("legajo"));
+        assertEquals(100, reasignacion.getInt("legajoAnterior"));
+        assertEquals(costo, porTipo.get("homesolution.Costo").getDouble("costo"), 0);
+    }
+}
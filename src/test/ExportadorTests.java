@@ -0,0 +1,76 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import entidades.HomeSolution;
+import exportacion.Exportador;
+
+public class ExportadorTests {
+    private HomeSolution hs;
+
+    @Before
+    public void setUp() throws Exception {
+        hs = new HomeSolution();
+        hs.registrarEmpleado("Ana", 1000);                  // 100
+        hs.registrarEmpleado("Beto \"B\", hijo", 50000, "EXPERTO"); // 101
+        hs.registrarProyecto(new String[]{"Pintar", "Techo"}, new String[]{"dos manos", "línea\nnueva"},
+                new double[]{1, 2.5}, "Calle 1", new String[]{"Cli", "mail"}, "2025-01-01", "2025-01-05");
+        hs.asignarResponsableEnTarea(1, "Pintar");
+    }
+
+    private static String exportar(Exportador ex, String tabla) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long bytes;
+        switch (tabla) {
+            case "proyectos": bytes = ex.exportarProyectos(Channels.newChannel(out)); break;
+            case "tareas": bytes = ex.exportarTareas(Channels.newChannel(out)); break;
+            default: bytes = ex.exportarEmpleados(Channels.newChannel(out));
+        }
+        assertEquals(out.size(), bytes);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void csv_escapaYFormateaComoRfc4180() throws Exception {
+        // buffer minimo: obliga a vaciar en medio de textos y numeros
+        Exportador ex = new Exportador(hs, Exportador.Formato.CSV, 32);
+        assertEquals("numero,cliente,domicilio,inicio,prevista,real,finalizado,tareas,empleados_actuales,costo_base,costo\n"
+                + "1,Cli | mail,Calle 1,2025-01-01,2025-01-05,,false,2,1,8000,10800\n", exportar(ex, "proyectos"));
+        assertEquals("proyecto,id,titulo,descripcion,dias,responsable,prevista,real\n"
+                + "1,1,Pintar,dos manos,1,100,2025-01-02,\n"
+                + "1,2,Techo,\"línea\nnueva\",2.5,,2025-01-04,\n", exportar(ex, "tareas"));
+        assertEquals("legajo,nombre,tipo,categoria,valor,retrasos,asignado\n"
+                + "100,Ana,CONTRATADO,,1000,0,true\n"
+                + "101,\"Beto \"\"B\"\", hijo\",PLANTA,EXPERTO,50000,0,false\n", exportar(ex, "empleados"));
+    }
+
+    @Test
+    public void jsonLines_unObjetoPorLinea() throws Exception {
+        Exportador ex = new Exportador(hs, Exportador.Formato.JSONL);
+        assertEquals("{\"proyecto\":1,\"id\":1,\"titulo\":\"Pintar\",\"descripcion\":\"dos manos\",\"dias\":1,"
+                + "\"responsable\":100,\"prevista\":\"2025-01-02\",\"real\":null}\n"
+                + "{\"proyecto\":1,\"id\":2,\"titulo\":\"Techo\",\"descripcion\":\"línea\\nnueva\",\"dias\":2.5,"
+                + "\"responsable\":null,\"prevista\":\"2025-01-04\",\"real\":null}\n", exportar(ex, "tareas"));
+        String empleados = exportar(ex, "empleados");
+        assertTrue(empleados.contains("\"nombre\":\"Beto \\\"B\\\", hijo\",\"tipo\":\"PLANTA\""));
+    }
+
+    @Test
+    public void instantanea_exportaLoMismoAunqueElSistemaSigaCambiando() throws Exception {
+        hs.habilitarInstantaneas();
+        String antes = exportar(new Exportador(hs, Exportador.Formato.CSV), "tareas");
+        Exportador ex = new Exportador(hs.instantanea(), Exportador.Formato.CSV);
+        hs.finalizarTarea(1, "Pintar");
+        hs.agregarTareaEnProyecto(1, "Puerta", "", 1);
+        assertEquals(antes, exportar(ex, "tareas"));
+        assertEquals(exportar(new Exportador(hs, Exportador.Formato.CSV), "tareas"),
+                exportar(new Exportador(hs.instantanea(), Exportador.Formato.CSV), "tareas"));
+    }
+}
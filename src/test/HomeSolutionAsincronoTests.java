@@ -0,0 +1,128 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import asincrono.HomeSolutionAsincrono;
+import entidades.HomeSolution;
+import entidades.Tupla;
+
+public class HomeSolutionAsincronoTests {
+
+    private HomeSolutionAsincrono hs;
+
+    @Before
+    public void setUp() {
+        hs = new HomeSolutionAsincrono(new HomeSolution(), 64);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        hs.close();
+    }
+
+    @Test
+    public void devuelveResultadosYExcepcionesEnElFuturo() throws Exception {
+        hs.registrarEmpleado("Ana", 1000);
+        hs.registrarProyecto(new String[]{"T1"}, new String[]{""}, new double[]{1},
+                "Calle 1", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.asignarResponsableEnTarea(1, "T1").get(5, TimeUnit.SECONDS);
+        assertEquals(100, hs.responsableDeTarea(1, "T1").get().intValue());
+
+        CompletableFuture<Void> repetida = hs.asignarResponsableEnTarea(1, "T1");
+        try {
+            repetida.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        }
+        assertEquals("Calle 1", hs.consultarDomicilioProyecto(1).get());
+    }
+
+    @Test
+    public void consultaRepetidaSinCambiosNoPasaPorLaCola() throws Exception {
+        hs.registrarEmpleado("Ana", 1000).get();
+        List<Tupla<Integer, String>> primera = hs.empleados().get();
+        long comandos = hs.getComandos();
+        CompletableFuture<List<Tupla<Integer, String>>> segunda = hs.empleados();
+        assertTrue(segunda.isDone()); // resuelta con el estado publicado
+        assertSame(primera, segunda.get());
+        assertEquals(comandos, hs.getComandos());
+
+        hs.registrarEmpleado("Beto", 1000).get();
+        assertEquals(2, hs.empleados().get().size()); // la modificacion invalida lo guardado
+        Object[] libres = hs.empleadosNoAsignados().get();
+        libres[0] = null; // el arreglo guardado no se comparte
+        assertEquals(100, hs.empleadosNoAsignados().get()[0]);
+    }
+
+    @Test
+    public void consultaNuevaNoEsperaAlEscritor() throws Exception {
+        hs.registrarEmpleado("Ana", 1000).get();
+        CountDownLatch adentro = new CountDownLatch(1);
+        CountDownLatch seguir = new CountDownLatch(1);
+        CompletableFuture<Void> lenta = hs.modificar(d -> {
+            adentro.countDown();
+            seguir.await();
+            d.registrarEmpleado("Beto", 1000);
+            return null;
+        });
+        adentro.await();
+        try {
+            CompletableFuture<List<Tupla<Integer, String>>> empleados = hs.empleados();
+            assertTrue(empleados.isDone()); // no quedo en la cola detras de la modificacion
+            assertEquals(1, empleados.get().size());
+            assertArrayEquals(new Object[]{100}, hs.empleadosNoAsignados().get());
+        } finally {
+            seguir.countDown();
+        }
+        lenta.get(5, TimeUnit.SECONDS);
+        assertEquals(2, hs.empleados().get().size());
+        assertArrayEquals(new Object[]{100, 101}, hs.empleadosNoAsignados().get());
+    }
+
+    @Test
+    public void variosProductoresPasanPorUnSoloEscritor() throws Exception {
+        int hilos = 4;
+        int porHilo = 500;
+        List<Thread> productores = new ArrayList<>();
+        List<CompletableFuture<Void>> futuros = java.util.Collections.synchronizedList(new ArrayList<>());
+        for (int h = 0; h < hilos; h++) {
+            final int id = h;
+            productores.add(new Thread(() -> {
+                for (int i = 0; i < porHilo; i++) futuros.add(hs.registrarEmpleado("E" + id + "-" + i, 1000));
+            }));
+        }
+        for (Thread t : productores) t.start();
+        for (Thread t : productores) t.join();
+        CompletableFuture.allOf(futuros.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        assertEquals(hilos * porHilo, hs.empleados().get().size());
+        assertEquals(hilos * porHilo, hs.getVersion());
+        assertTrue(hs.getLotes() <= hs.getComandos());
+    }
+
+    @Test
+    public void alCerrarTerminaLoEncoladoYRechazaLoNuevo() throws Exception {
+        CompletableFuture<Void> antes = hs.registrarEmpleado("Ana", 1000);
+        hs.close();
+        assertTrue(antes.isDone() && !antes.isCompletedExceptionally());
+        try {
+            hs.registrarEmpleado("Beto", 1000).get();
+            fail();
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        }
+    }
+}
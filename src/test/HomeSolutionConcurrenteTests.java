@@ -0,0 +1,155 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import entidades.HomeSolutionConcurrente;
+import entidades.Tupla;
+
+public class HomeSolutionConcurrenteTests {
+
+    private HomeSolutionConcurrente hs;
+
+    @Before
+    public void setUp() {
+        hs = new HomeSolutionConcurrente(8);
+    }
+
+    @Test
+    public void secuencial_mismoComportamientoQueHomeSolution() throws Exception {
+        hs.registrarEmpleado("Ana", 1000);  // 100
+        hs.registrarEmpleado("Beto", 1200); // 101
+        hs.registrarProyecto(new String[]{"T1", "T2"}, new String[]{"x", "y"}, new double[]{1, 1},
+                "D", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        hs.asignarResponsableEnTarea(1, "T1");
+        hs.registrarRetrasoEnTarea(1, "T1", 2);
+        hs.asignarResponsableMenosRetraso(1, "T2");
+        assertEquals(100, hs.responsableDeTarea(1, "T1").intValue());
+        assertEquals(101, hs.responsableDeTarea(1, "T2").intValue());
+        assertEquals(0, hs.empleadosNoAsignados().length);
+        hs.finalizarTarea(1, "T1");
+        hs.finalizarTarea(1, "T2");
+        assertTrue(hs.estaFinalizado(1));
+        assertEquals(2, hs.empleadosNoAsignados().length);
+        assertEquals(2, hs.consultarCantidadRetrasosEmpleado(100));
+    }
+
+    // DirectorioConcurrente: retrasos de empleados libres (cambian su lugar en el orden por
+    // retrasos) y reasignaciones por legajo compiten con las tomas del pool
+    @Test
+    public void variosHilos_retrasosDeLibresYReasignaciones_dejanElPoolOrdenado() throws Exception {
+        int hilos = 8;
+        int tareas = 9;
+        int empleados = 100;
+        for (int i = 0; i < empleados; i++) hs.registrarEmpleado("E" + i, 1000);
+        String[] titulos = new String[tareas];
+        String[] desc = new String[tareas];
+        double[] dias = new double[tareas];
+        for (int i = 0; i < tareas; i++) {
+            titulos[i] = "T" + i;
+            desc[i] = "";
+            dias[i] = 1;
+        }
+        for (int i = 0; i < hilos; i++) {
+            hs.registrarProyecto(titulos, desc, dias, "Calle " + i, new String[]{"C"}, "2025-01-01", "2025-01-02");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int i = 1; i <= hilos; i++) {
+            final int numero = i;
+            futuros.add(pool.submit(() -> {
+                Random r = new Random(numero);
+                for (int k = 0; k < 2000; k++) {
+                    String titulo = titulos[r.nextInt(tareas - 1)]; // la ultima queda abierta: el proyecto no se cierra
+                    try {
+                        switch (r.nextInt(5)) {
+                            case 0: hs.asignarResponsableEnTarea(numero, titulo); break;
+                            case 1: hs.asignarResponsableMenosRetraso(numero, titulo); break;
+                            case 2: hs.registrarRetrasoEnTarea(numero, titulo, 1); break; // si esta finalizada, el responsable puede estar libre
+                            case 3: hs.finalizarTarea(numero, titulo); break;
+                            default: hs.reasignarEmpleadoEnProyecto(numero, 100 + r.nextInt(empleados), titulo);
+                        }
+                    } catch (Exception rechazada) {
+                        // tarea ya asignada o finalizada, sin libres, empleado ya asignado...
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futuros) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        Object[] libres = hs.empleadosNoAsignados();
+        Set<Object> distintos = new HashSet<>(List.of(libres));
+        assertEquals(libres.length, distintos.size());
+        Set<Integer> asignados = new HashSet<>();
+        for (int numero = 1; numero <= hilos; numero++) {
+            for (Tupla<Integer, String> e : hs.empleadosAsignadosAProyecto(numero)) {
+                assertTrue("asignado dos veces: " + e.getValor1(), asignados.add(e.getValor1()));
+                assertFalse("libre y asignado: " + e.getValor1(), distintos.contains(e.getValor1()));
+            }
+        }
+        assertEquals(empleados, asignados.size() + libres.length);
+
+        // tomados de a uno por menos retrasos salen todos, en orden (retrasos, legajo)
+        String[] resto = new String[libres.length];
+        for (int i = 0; i < resto.length; i++) resto[i] = "R" + i;
+        double[] unDia = new double[resto.length];
+        Arrays.fill(unDia, 1);
+        hs.registrarProyecto(resto, resto, unDia, "Resto", new String[]{"C"}, "2025-01-01", "2025-01-02");
+        int anteriorRetrasos = -1;
+        int anteriorLegajo = -1;
+        for (String titulo : resto) {
+            hs.asignarResponsableMenosRetraso(hilos + 1, titulo);
+            int legajo = hs.responsableDeTarea(hilos + 1, titulo);
+            int retrasos = hs.consultarCantidadRetrasosEmpleado(legajo);
+            assertTrue(retrasos > anteriorRetrasos || (retrasos == anteriorRetrasos && legajo > anteriorLegajo));
+            anteriorRetrasos = retrasos;
+            anteriorLegajo = legajo;
+        }
+        assertEquals(0, hs.empleadosNoAsignados().length);
+    }
+
+    @Test
+    public void proyectoFinalizadoApenasRegistrado_noQuedaEnLosIndicesDeAbiertos() throws Exception {
+        int proyectos = 2000;
+        Thread finalizador = new Thread(() -> {
+            for (int numero = 1; numero <= proyectos; numero++) {
+                // lo finaliza en cuanto aparece, mientras el otro hilo puede estar terminando de registrarlo
+                while (true) {
+                    try {
+                        hs.finalizarProyecto(numero, "2030-01-01");
+                        break;
+                    } catch (IllegalArgumentException todaviaNoExiste) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }
+        });
+        finalizador.start();
+        for (int i = 0; i < proyectos; i++) {
+            hs.registrarProyecto(new String[]{"T1"}, new String[]{""}, new double[]{1},
+                    "Calle " + i, new String[]{"C"}, "2025-01-01", "2025-01-02");
+        }
+        finalizador.join(30_000);
+        assertFalse(finalizador.isAlive());
+
+        assertEquals(proyectos, hs.proyectosFinalizados().size());
+        assertTrue(hs.proyectosPendientes().isEmpty());
+        assertTrue(hs.proyectosActivos().isEmpty());
+    }
+}
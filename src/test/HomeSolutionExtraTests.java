@@ -2,6 +2,7 @@ package test;
 
 import org.junit.Before;
 import org.junit.Test;
+import colecciones.SumaExacta;
 import entidades.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -34,6 +35,23 @@ public class HomeSolutionExtraTests {
         assertEquals(101, ((Number) noAsigs[0]).intValue());
     }
 
+    @Test
+    public void empleadosLiberados_vuelvenAlFinalDeLaCola() throws Exception {
+        hs.registrarEmpleado("Ana", 1000);  // 100
+        hs.registrarEmpleado("Beto", 1200); // 101
+        hs.registrarEmpleado("Cami", 1100); // 102
+        String[] tit = {"T1", "T2", "T3"};
+        String[] desc = {"x", "y", "z"};
+        double[] dias = {1.0, 1.0, 1.0};
+        hs.registrarProyecto(tit, desc, dias, "D", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        hs.asignarResponsableEnTarea(1, "T1"); // Ana
+        hs.finalizarTarea(1, "T1");            // Ana vuelve al final: [101, 102, 100]
+        assertArrayEquals(new Object[]{101, 102, 100}, hs.empleadosNoAsignados());
+        hs.asignarResponsableEnTarea(1, "T2");
+        assertEquals(101, hs.responsableDeTarea(1, "T2").intValue());
+        assertArrayEquals(new Object[]{102, 100}, hs.empleadosNoAsignados());
+    }
+
     @Test
     public void asignarMenosRetraso_priorizaCorrectamente() throws Exception {
         hs.registrarEmpleado("Ana", 1000); //100
@@ -63,6 +81,46 @@ public class HomeSolutionExtraTests {
     }
 
 
+    @Test
+    public void reasignarMenosRetraso_ignoraOcupadosYRetrasosPosteriores() throws Exception {
+        hs.registrarEmpleado("Ana", 1000);  // 100
+        hs.registrarEmpleado("Beto", 1200); // 101
+        hs.registrarEmpleado("Cami", 1100); // 102
+        String[] tit = {"T1", "T2"};
+        String[] desc = {"x", "y"};
+        double[] dias = {1.0, 1.0};
+        hs.registrarProyecto(tit, desc, dias, "D", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        hs.asignarResponsableEnTarea(1, "T1"); // Ana
+        hs.finalizarTarea(1, "T1");            // Ana libre con 0 retrasos
+        hs.registrarRetrasoEnTarea(1, "T1", 2); // retraso sobre una tarea ya cerrada: Ana pasa a 2
+        hs.asignarResponsableEnTarea(1, "T2"); // Beto
+        hs.reasignarEmpleadoConMenosRetraso(1, "T2");
+        assertEquals(102, hs.responsableDeTarea(1, "T2").intValue());
+        assertFalse(hs.obtenerEmpleado(101).isAsignado());
+    }
+
+    @Test
+    public void asignacionEnLote_informaTareasSinEmpleado() throws Exception {
+        hs.registrarEmpleado("Ana", 1000);  // 100
+        hs.registrarEmpleado("Beto", 1200); // 101
+        String[] tit = {"T1", "T2", "T3"};
+        String[] desc = {"x", "y", "z"};
+        double[] dias = {1.0, 1.0, 1.0};
+        hs.registrarProyecto(tit, desc, dias, "D", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        hs.registrarProyecto(tit, desc, dias, "E", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        hs.finalizarProyecto(2, "2025-01-10");
+
+        List<ResultadoAsignacion> res = hs.asignarTareasPendientes(List.of(1, 2, 9), EstrategiaAsignacion.FIFO);
+        assertEquals(5, res.size());
+        assertEquals(100, res.get(0).getLegajo().intValue());
+        assertEquals(101, res.get(1).getLegajo().intValue());
+        assertFalse(res.get(2).fueAsignada());
+        assertEquals("T3", res.get(2).getTitulo());
+        assertNull(res.get(3).getTitulo()); // proyecto 2 finalizado
+        assertNull(res.get(4).getTitulo()); // proyecto 9 no existe
+        assertArrayEquals(new Object[]{"T3"}, hs.tareasProyectoNoAsignadas(1));
+    }
+
     @Test
     public void reasignacion_liberaYasignaCorrectamente() throws Exception {
         hs.registrarEmpleado("Ana", 1000);
@@ -110,6 +168,134 @@ public class HomeSolutionExtraTests {
         assertNotNull(tarea.getFechaPrevista());
     }
 
+    @Test
+    public void costoProyecto_seMantieneAlReasignarYCambiarBonificacion() throws Exception {
+        hs.registrarEmpleado("Luis", 1000, "EXPERTO"); // 100, planta
+        hs.registrarEmpleado("Ana", 10);               // 101, contratado
+        String[] t = {"T1", "T2"};
+        String[] d = {"x", "y"};
+        double[] dias = {2.0, 1.0};
+        hs.registrarProyecto(t, d, dias, "D", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        hs.asignarResponsableEnTarea(1, "T1"); // Luis
+        hs.asignarResponsableEnTarea(1, "T2"); // Ana
+        assertEquals((2 * 1000 * 1.02 + 8 * 10) * 1.35, hs.costoProyecto(1), 0.001);
+
+        hs.cambiarSinRetrasosPeriodo(100, false);
+        assertEquals((2 * 1000 + 8 * 10) * 1.35, hs.costoProyecto(1), 0.001);
+
+        hs.registrarEmpleado("Cami", 20); // 102
+        hs.reasignarEmpleadoEnProyecto(1, 102, "T1");
+        hs.cambiarSinRetrasosPeriodo(100, true); // Luis ya no tiene tareas en el proyecto
+        assertEquals((2 * 8 * 20 + 8 * 10) * 1.35, hs.costoProyecto(1), 0.001);
+
+        hs.agregarTareaEnProyecto(1, "T3", "z", 1.0); // sin responsable no cambia el costo
+        hs.finalizarProyecto(1, "2025-01-20");
+        assertEquals((2 * 8 * 20 + 8 * 10) * 1.25, hs.costoProyecto(1), 0.001);
+    }
+
+    @Test
+    public void costoProyecto_noArrastraRedondeoDeReasignaciones() throws Exception {
+        HomeSolution otro = new HomeSolution();
+        for (HomeSolution h : new HomeSolution[]{hs, otro}) {
+            h.registrarEmpleado("Luis", 1234.567, "EXPERTO"); // 100
+            h.registrarEmpleado("Ana", 98.7654);              // 101
+            h.registrarEmpleado("Beto", 3.3);                 // 102
+            h.registrarProyecto(new String[]{"T1", "T2", "T3"}, new String[]{"", "", ""}, new double[]{0.1, 0.7, 1.3},
+                    "D", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+            h.asignarResponsableEnTarea(1, "T1"); // 100
+            h.asignarResponsableEnTarea(1, "T2"); // 101
+        }
+        // mismo estado final en hs despues de muchas vueltas
+        for (int i = 0; i < 1000; i++) {
+            hs.reasignarEmpleadoEnProyecto(1, 102, "T1");
+            hs.cambiarSinRetrasosPeriodo(100, i % 2 == 0);
+            hs.reasignarEmpleadoEnProyecto(1, 100, "T1");
+        }
+        hs.cambiarSinRetrasosPeriodo(100, true);
+        assertEquals(otro.costoProyecto(1), hs.costoProyecto(1), 0.0);
+        assertEquals(0.1 * 1234.567 * 1.02 + 0.7 * 8 * 98.7654, hs.obtenerProyecto(1).getCostoBase(), 1e-9);
+    }
+
+    @Test
+    public void costoProyecto_igualAlRecalcularDeCero() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            if (i % 2 == 0) hs.registrarEmpleado("P" + i, 1000 + i * 0.37, "EXPERTO"); // 100, 102, 104
+            else hs.registrarEmpleado("C" + i, 10 + i * 0.91);                      // 101, 103, 105
+        }
+        String[] t = {"T1", "T2", "T3", "T4"};
+        hs.registrarProyecto(t, new String[]{"", "", "", ""}, new double[]{0.1, 0.7, 1.3, 2.9},
+                "D", new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        for (String titulo : t) hs.asignarResponsableEnTarea(1, titulo); // 100..103
+        for (int i = 0; i < 200; i++) {
+            String titulo = t[i % t.length];
+            int libre = (Integer) hs.empleadosNoAsignados()[0];
+            hs.reasignarEmpleadoEnProyecto(1, libre, titulo);
+            hs.cambiarSinRetrasosPeriodo(100 + 2 * (i % 3), i % 5 < 2);
+        }
+
+        SumaExacta base = new SumaExacta();
+        for (Tarea tarea : hs.obtenerProyecto(1).getTodasLasTareas()) {
+            Empleado e = hs.obtenerEmpleado(tarea.getLegajoResponsable());
+            base.sumar(e.calcularPagoTarea(tarea.getDuracionDias()));
+        }
+        assertEquals(base.getValor() * 1.35, hs.costoProyecto(1), 0.0);
+    }
+
+    @Test
+    public void consultasPorEstado_ordenadasPorNumero() throws Exception {
+        String[] t = {"T1"};
+        String[] d = {"x"};
+        double[] dias = {1.0};
+        for (int i = 0; i < 20; i++) {
+            hs.registrarProyecto(t, d, dias, "Calle " + i, new String[]{"Cli"}, "2025-01-01", "2025-01-02");
+        }
+        hs.registrarProyecto(new String[0], new String[0], new double[0], "Vacio", new String[]{"Cli"}, "2025-01-01", "2025-01-02");
+        hs.finalizarProyecto(3, "2025-01-02");
+        hs.finalizarProyecto(17, "2025-01-02");
+
+        List<Tupla<Integer, String>> pendientes = hs.proyectosPendientes();
+        assertEquals(19, pendientes.size());
+        for (int i = 1; i < pendientes.size(); i++) {
+            assertTrue(pendientes.get(i - 1).getValor1() < pendientes.get(i).getValor1());
+        }
+        assertEquals(18, hs.proyectosActivos().size()); // el 21 no tiene tareas
+        List<Tupla<Integer, String>> finalizados = hs.proyectosFinalizados();
+        assertEquals(3, finalizados.get(0).getValor1().intValue());
+        assertEquals(17, finalizados.get(1).getValor1().intValue());
+
+        hs.agregarTareaEnProyecto(21, "T1", "x", 1.0);
+        assertEquals(19, hs.proyectosActivos().size());
+    }
+
+    @Test
+    public void consultasPaginadas_recorrenTodoEnOrden() throws Exception {
+        for (int i = 0; i < 7; i++) hs.registrarEmpleado("E" + i, 1000); // 100..106
+        String[] t = {"T1"};
+        String[] d = {"x"};
+        double[] dias = {1.0};
+        for (int i = 0; i < 5; i++) {
+            hs.registrarProyecto(t, d, dias, "Calle " + i, new String[]{"Cli"}, "2025-01-01", "2025-01-02");
+        }
+        hs.finalizarProyecto(2, "2025-01-02");
+
+        Pagina<Tupla<Integer, String>> pag = hs.paginaEmpleados(null, 3);
+        assertEquals(3, pag.getElementos().size());
+        assertEquals(103, pag.getSiguiente().intValue());
+        pag = hs.paginaEmpleados(pag.getSiguiente(), 3);
+        assertEquals(103, pag.getElementos().get(0).getValor1().intValue());
+        pag = hs.paginaEmpleados(pag.getSiguiente(), 3);
+        assertEquals(1, pag.getElementos().size());
+        assertFalse(pag.hayMas());
+
+        Pagina<Tupla<Integer, String>> pend = hs.paginaProyectosPendientes(null, 2);
+        assertEquals(1, pend.getElementos().get(0).getValor1().intValue());
+        assertEquals(3, pend.getElementos().get(1).getValor1().intValue());
+        pend = hs.paginaProyectosPendientes(pend.getSiguiente(), 2);
+        assertEquals(4, pend.getElementos().get(0).getValor1().intValue());
+        assertEquals(5, pend.getElementos().get(1).getValor1().intValue());
+        assertFalse(pend.hayMas());
+    }
+
     @Test
     public void costoProyecto_aplicaFactoresSegunFechas() throws Exception {
         hs.registrarEmpleado("Ana", 1000); // 100
@@ -122,4 +308,116 @@ public class HomeSolutionExtraTests {
         double costo = hs.costoProyecto(1);
         assertTrue(costo > 0);
     }
+
+    @Test
+    public void tareasPorEstado_seMuevenAlAsignarYFinalizar() throws Exception {
+        hs.registrarEmpleado("Ana", 1000);  // 100
+        hs.registrarEmpleado("Beto", 1000); // 101
+        hs.registrarEmpleado("Caro", 1000); // 102
+        hs.registrarProyecto(new String[]{"T1", "T2", "T3", "T4"}, new String[]{"", "", "", ""},
+                new double[]{1, 1, 1, 1}, "D", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        Proyecto p = hs.obtenerProyecto(1);
+        hs.asignarResponsableEnTarea(1, "T3");
+        hs.asignarResponsableEnTarea(1, "T1");
+        hs.finalizarTarea(1, "T2"); // sin responsable: pasa directo a finalizada
+
+        assertArrayEquals(new Object[]{"T4"}, hs.tareasProyectoNoAsignadas(1));
+        assertArrayEquals(new Object[]{"T3", "T1"}, p.titulosEn(EstadoTarea.EN_CURSO));
+        assertEquals(1, p.cantidadTareas(EstadoTarea.FINALIZADA));
+        assertFalse(p.todasFinalizadas());
+
+        hs.reasignarEmpleadoConMenosRetraso(1, "T3"); // sigue en curso
+        assertEquals(2, p.cantidadTareas(EstadoTarea.EN_CURSO));
+        hs.finalizarTarea(1, "T1");
+        hs.finalizarTarea(1, "T3");
+        assertFalse(hs.estaFinalizado(1));
+        hs.finalizarTarea(1, "T4");
+        assertTrue(p.todasFinalizadas());
+        assertTrue(hs.estaFinalizado(1));
+        assertArrayEquals(new Object[]{"T2", "T1", "T3", "T4"}, p.titulosEn(EstadoTarea.FINALIZADA));
+    }
+
+    @Test
+    public void tareaActualDe_sigueAsignacionesReasignacionesYFinalizaciones() throws Exception {
+        hs.registrarEmpleado("Ana", 1000);  // 100
+        hs.registrarEmpleado("Beto", 1000); // 101
+        hs.registrarEmpleado("Caro", 1000); // 102
+        hs.registrarProyecto(new String[]{"T1", "T2"}, new String[]{"", ""}, new double[]{1, 1},
+                "D1", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.registrarProyecto(new String[]{"X"}, new String[]{""}, new double[]{1},
+                "D2", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.asignarResponsableEnTarea(1, "T1"); // 100
+        hs.asignarResponsableEnTarea(1, "T2"); // 101
+        hs.asignarResponsableEnTarea(2, "X");  // 102
+        assertEquals(Integer.valueOf(1), hs.tareaActualDe(101).getValor1());
+        assertEquals("T2", hs.tareaActualDe(101).getValor2());
+
+        hs.finalizarTarea(1, "T1");
+        assertNull(hs.tareaActualDe(100));
+        hs.reasignarEmpleadoEnProyecto(1, 100, "T2");
+        assertNull(hs.tareaActualDe(101));
+        assertEquals("T2", hs.tareaActualDe(100).getValor2());
+        assertEquals(2, hs.ocupacionesActuales().size());
+
+        hs.finalizarProyecto(2, "2025-02-01");
+        assertNull(hs.tareaActualDe(102));
+        assertNull(hs.tareaActualDe(999));
+        List<Tupla<Integer, Integer>> ocupados = hs.ocupacionesActuales();
+        assertEquals(1, ocupados.size());
+        assertEquals(100, ocupados.get(0).getValor1().intValue());
+        assertEquals(1, ocupados.get(0).getValor2().intValue());
+        assertEquals(2, hs.empleadosNoAsignados().length);
+    }
+
+    @Test
+    public void reasignarTareaFinalizada_noLiberaAlAnteriorSiYaTrabajaEnOtra() throws Exception {
+        hs.registrarEmpleado("Ana", 1000); // 100
+        hs.registrarProyecto(new String[]{"A", "B"}, new String[]{"", ""}, new double[]{1, 1},
+                "D1", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.registrarProyecto(new String[]{"C"}, new String[]{""}, new double[]{1},
+                "D2", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.asignarResponsableEnTarea(1, "A"); // 100
+        hs.finalizarTarea(1, "A");
+        hs.asignarResponsableEnTarea(2, "C"); // 100 otra vez, ahora en el proyecto 2
+        hs.registrarEmpleado("Beto", 1000); // 101
+
+        hs.reasignarEmpleadoEnProyecto(1, 101, "A");
+
+        assertEquals(Integer.valueOf(2), hs.tareaActualDe(100).getValor1());
+        assertEquals("C", hs.tareaActualDe(100).getValor2());
+        assertTrue(hs.obtenerEmpleado(100).isAsignado());
+        assertEquals(100, hs.responsableDeTarea(2, "C").intValue());
+        assertArrayEquals(new Object[0], hs.empleadosNoAsignados());
+    }
+
+    @Test
+    public void rankingDeRetrasos_posicionPercentilTopYRango() throws Exception {
+        for (int i = 0; i < 10; i++) hs.registrarEmpleado("E" + i, 1000); // 100..109
+        hs.registrarProyecto(new String[]{"T"}, new String[]{""}, new double[]{1},
+                "D", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.asignarResponsableEnTarea(1, "T");             // 100
+        hs.registrarRetrasoEnTarea(1, "T", 5);            // 100 -> 5
+        hs.reasignarEmpleadoEnProyecto(1, 107, "T");
+        hs.registrarRetrasoEnTarea(1, "T", 2);            // 107 -> 2
+        hs.reasignarEmpleadoEnProyecto(1, 103, "T");
+        hs.registrarRetrasoEnTarea(1, "T", 2);            // 103 -> 2
+
+        // orden (nRetrasos, legajo): 101 102 104 105 106 108 109 | 103 107 | 100
+        assertEquals(0, hs.posicionPorRetrasos(101));
+        assertEquals(7, hs.posicionPorRetrasos(103));
+        assertEquals(9, hs.posicionPorRetrasos(100));
+        assertEquals(-1, hs.posicionPorRetrasos(999));
+        assertEquals(107, hs.empleadoEnPosicionPorRetrasos(8).getValor1().intValue());
+        assertEquals(103, hs.empleadoEnPercentilDeRetrasos(0.8).getValor1().intValue());
+        assertEquals(100, hs.empleadoEnPercentilDeRetrasos(1).getValor1().intValue());
+        assertEquals(101, hs.empleadoEnPercentilDeRetrasos(0).getValor1().intValue());
+
+        List<Tupla<Integer, Integer>> top = hs.masRetrasados(2);
+        assertEquals(100, top.get(0).getValor1().intValue());
+        assertEquals(5, top.get(0).getValor2().intValue());
+        assertEquals(107, top.get(1).getValor1().intValue());
+        assertEquals(3, hs.cantidadConRetrasosEntre(1, 10));
+        assertEquals(2, hs.cantidadConRetrasosEntre(2, 2));
+        assertEquals(7, hs.cantidadConRetrasosEntre(0, 0));
+    }
 }
@@ -0,0 +1,52 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import entidades.HomeSolution;
+import metricas.HomeSolutionInstrumentado;
+import metricas.HomeSolutionInstrumentado.Metodo;
+import metricas.ResumenOperacion;
+
+public class HomeSolutionInstrumentadoTests {
+
+    @Test
+    public void cuentaLlamadasYErroresPorMetodo() throws Exception {
+        HomeSolutionInstrumentado hs = new HomeSolutionInstrumentado(new HomeSolution());
+        hs.registrarEmpleado("Ana", 1000);
+        hs.registrarProyecto(new String[]{"T1"}, new String[]{""}, new double[]{1},
+                "Calle 1", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.asignarResponsableEnTarea(1, "T1");
+        try {
+            hs.asignarResponsableEnTarea(1, "T1"); // ya asignada
+            fail();
+        } catch (Exception esperado) {
+        }
+        try {
+            hs.registrarEmpleado("", 10);
+            fail();
+        } catch (IllegalArgumentException esperado) {
+        }
+        for (int i = 0; i < 100; i++) hs.costoProyecto(1);
+
+        ResumenOperacion asignar = hs.resumen(Metodo.ASIGNAR_RESPONSABLE);
+        assertEquals(2, asignar.getLlamadas());
+        assertEquals(1, asignar.getErrores());
+        assertEquals(2, hs.resumen(Metodo.REGISTRAR_EMPLEADO).getLlamadas());
+        assertEquals(1, hs.resumen(Metodo.REGISTRAR_EMPLEADO).getErrores());
+        ResumenOperacion costo = hs.resumen(Metodo.COSTO_PROYECTO);
+        assertEquals(100, costo.getLlamadas());
+        assertTrue(costo.getP50() <= costo.getP99() && costo.getP99() <= costo.getMaximo());
+
+        List<ResumenOperacion> todos = hs.instantanea();
+        assertEquals(4, todos.size()); // solo los metodos llamados
+
+        hs.reiniciar();
+        assertTrue(hs.instantanea().isEmpty());
+        assertEquals(hs.getDestino().costoProyecto(1), hs.costoProyecto(1), 0); // sigue delegando
+        assertEquals(1, hs.instantanea().size());
+    }
+}
@@ -0,0 +1,138 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import entidades.HomeSolution;
+import entidades.HomeSolutionParticionado;
+import entidades.IHomeSolution;
+import entidades.Tupla;
+
+public class HomeSolutionParticionadoTests {
+
+    private HomeSolutionParticionado hs;
+
+    @Before
+    public void setUp() {
+        hs = new HomeSolutionParticionado(4);
+    }
+
+    private static void cargar(IHomeSolution s) throws Exception {
+        s.registrarEmpleado("Ana", 1000);  // 100
+        s.registrarEmpleado("Beto", 1200); // 101
+        s.registrarEmpleado("Caro", 900);  // 102
+        for (int i = 1; i <= 6; i++) {
+            s.registrarProyecto(new String[]{"T1", "T2"}, new String[]{"", ""}, new double[]{1, 1},
+                    "Calle " + i, new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        }
+        // cada paso cae en una particion distinta: el orden de los empleados tiene que ser global
+        s.asignarResponsableEnTarea(1, "T1");   // 100
+        s.asignarResponsableEnTarea(2, "T1");   // 101
+        s.registrarRetrasoEnTarea(1, "T1", 3);
+        s.registrarRetrasoEnTarea(2, "T1", 1);
+        s.finalizarTarea(2, "T1");              // libres: 102, 101
+        s.finalizarTarea(1, "T1");              // libres: 102, 101, 100
+        s.asignarResponsableMenosRetraso(3, "T1");
+        s.asignarResponsableEnTarea(4, "T2");
+        s.finalizarProyecto(5, "2025-02-01");
+    }
+
+    @Test
+    public void mismoResultadoQueHomeSolution() throws Exception {
+        HomeSolution base = new HomeSolution();
+        cargar(base);
+        cargar(hs);
+
+        assertEquals(base.responsableDeTarea(3, "T1"), hs.responsableDeTarea(3, "T1"));
+        assertEquals(102, hs.responsableDeTarea(3, "T1").intValue()); // el de menos retrasos, de otra particion
+        assertEquals(101, hs.responsableDeTarea(4, "T2").intValue()); // primero en la cola global
+        assertArrayEquals(base.empleadosNoAsignados(), hs.empleadosNoAsignados());
+        assertEquals(ids(base.proyectosPendientes()), ids(hs.proyectosPendientes()));
+        assertEquals(ids(base.proyectosActivos()), ids(hs.proyectosActivos()));
+        assertEquals(ids(base.proyectosFinalizados()), ids(hs.proyectosFinalizados()));
+        assertEquals(ids(base.empleados()), ids(hs.empleados()));
+        assertEquals(base.costoProyecto(1), hs.costoProyecto(1), 1e-9);
+        assertEquals(base.consultarProyecto(2), hs.consultarProyecto(2));
+        assertEquals(3, hs.consultarCantidadRetrasosEmpleado(100));
+        assertTrue(hs.estaFinalizado(5));
+        assertFalse(hs.estaFinalizado(99));
+        assertNull(hs.consultarDomicilioProyecto(0));
+    }
+
+    @Test
+    public void reparteLosProyectosParejo() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            hs.registrarProyecto(new String[]{"T"}, new String[]{""}, new double[]{1},
+                    "D" + i, new String[]{"C"}, "2025-01-01", "2025-01-02");
+        }
+        assertArrayEquals(new int[]{3, 3, 2, 2}, hs.proyectosPorParticion());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), ids(hs.proyectosPendientes()));
+    }
+
+    @Test
+    public void variosHilos_noAsignanDosVecesAlMismoEmpleado() throws Exception {
+        int proyectos = 64;
+        int tareas = 8;
+        for (int i = 0; i < 40; i++) hs.registrarEmpleado("E" + i, 1000);
+        String[] titulos = new String[tareas];
+        String[] desc = new String[tareas];
+        double[] dias = new double[tareas];
+        for (int i = 0; i < tareas; i++) {
+            titulos[i] = "T" + i;
+            desc[i] = "";
+            dias[i] = 1;
+        }
+        for (int i = 0; i < proyectos; i++) {
+            hs.registrarProyecto(titulos, desc, dias, "Calle " + i, new String[]{"C"}, "2025-01-01", "2025-01-02");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int i = 1; i <= proyectos; i++) {
+            final int numero = i;
+            futuros.add(pool.submit(() -> {
+                for (String titulo : titulos) {
+                    while (true) {
+                        try {
+                            if (numero % 2 == 0) hs.asignarResponsableEnTarea(numero, titulo);
+                            else hs.asignarResponsableMenosRetraso(numero, titulo);
+                            break;
+                        } catch (Exception sinLibres) {
+                            Thread.yield();
+                        }
+                    }
+                    hs.registrarRetrasoEnTarea(numero, titulo, 1);
+                    hs.finalizarTarea(numero, titulo);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : futuros) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(proyectos, hs.proyectosFinalizados().size());
+        Object[] libres = hs.empleadosNoAsignados();
+        Set<Object> distintos = new HashSet<>(List.of(libres));
+        assertEquals(40, distintos.size());
+        int retrasos = 0;
+        for (Object leg : libres) retrasos += hs.consultarCantidadRetrasosEmpleado((Integer) leg);
+        assertEquals(proyectos * tareas, retrasos);
+    }
+
+    private static List<Integer> ids(List<Tupla<Integer, String>> tuplas) {
+        List<Integer> out = new ArrayList<>();
+        for (Tupla<Integer, String> t : tuplas) out.add(t.getValor1());
+        return out;
+    }
+}
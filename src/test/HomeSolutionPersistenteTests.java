@@ -0,0 +1,271 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import entidades.Snapshot;
+import entidades.Tupla;
+import importacion.ImportadorCsv;
+import persistencia.HomeSolutionPersistente;
+import persistencia.Journal;
+
+public class HomeSolutionPersistenteTests {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private void cargar(HomeSolutionPersistente hs) throws Exception {
+        hs.registrarEmpleado("Ana", 1000);              // 100
+        hs.registrarEmpleado("Beto", 50000, "EXPERTO"); // 101
+        hs.registrarEmpleado("Caro", 1200);             // 102
+        hs.registrarProyecto(new String[]{"T1", "T2"}, new String[]{"", ""}, new double[]{1, 2},
+                "Calle 1", new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        hs.registrarProyecto(new String[]{"X"}, new String[]{""}, new double[]{3},
+                "Calle 2", new String[]{"Cli"}, "2025-02-01", "2025-02-05");
+        hs.asignarResponsableEnTarea(1, "T1");
+        hs.asignarResponsableMenosRetraso(1, "T2");
+        hs.registrarRetrasoEnTarea(1, "T1", 2);
+        try {
+            hs.asignarResponsableEnTarea(1, "T1"); // falla y queda en el journal
+            fail();
+        } catch (IllegalArgumentException esperado) {
+        }
+        hs.reasignarEmpleadoConMenosRetraso(1, "T2");
+        hs.finalizarTarea(2, "X", LocalDate.of(2025, 2, 10));
+        hs.agregarTareaEnProyecto(1, "T3", "", 1);
+    }
+
+    private static String estado(HomeSolutionPersistente hs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(texto(hs.empleados())).append(texto(hs.empleadosPorRetrasosOrden()))
+                .append(Arrays.toString(hs.empleadosNoAsignados()))
+                .append(texto(hs.proyectosPendientes())).append(texto(hs.proyectosFinalizados()));
+        for (int n = 1; n <= 2; n++) {
+            sb.append(hs.consultarProyecto(n)).append(hs.costoProyecto(n))
+                    .append(texto(hs.historialEmpleadosDeProyecto(n)));
+        }
+        return sb.toString();
+    }
+
+    private static String texto(List<Tupla<Integer, String>> tuplas) {
+        StringBuilder sb = new StringBuilder();
+        for (Tupla<Integer, String> t : tuplas) sb.append(t.getValor1()).append('=').append(t.getValor2()).append(' ');
+        return sb.toString();
+    }
+
+    @Test
+    public void importacionPorLotes_sobreviveAlReabrir() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        String csv = "Calle 1,Cli,2025-01-01,2025-01-05,T1|T2,|,1|2\n"
+                + "Calle 2,Cli,2025-02-01,2025-01-05,X,,3\n"
+                + "Calle 3,Cli|Otro,2025-03-01,2025-03-05,X,,3\n";
+        String antes;
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            new ImportadorCsv(hs).importarEmpleados(new StringReader("Ana,1000\nBeto,50000,EXPERTO\n"));
+            assertEquals(2, new ImportadorCsv(hs).importarProyectos(new StringReader(csv)).getAceptadas());
+            hs.asignarResponsableEnTarea(2, "X");
+            antes = estado(hs);
+        }
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            assertEquals(3, hs.getOperacionesReproducidas());
+            assertEquals(antes, estado(hs));
+        }
+    }
+
+    @Test
+    public void reabrir_reconstruyeElMismoEstado() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        String antes;
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            cargar(hs);
+            antes = estado(hs);
+        }
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            assertEquals(12, hs.getOperacionesReproducidas());
+            assertEquals(antes, estado(hs));
+            // los contadores siguen donde quedaron
+            hs.registrarEmpleado("Dani", 1000);
+            hs.registrarProyecto(new String[]{"Y"}, new String[]{""}, new double[]{1},
+                    "Calle 3", new String[]{"Cli"}, "2025-03-01", "2025-03-02");
+            List<Tupla<Integer, String>> emps = hs.empleados();
+            assertEquals(103, emps.get(emps.size() - 1).getValor1().intValue());
+            assertEquals("Calle 3", hs.consultarDomicilioProyecto(3));
+        }
+    }
+
+    @Test
+    public void ultimoRegistroCortado_seDescarta() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        long largoSinUltimo;
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            cargar(hs);
+            largoSinUltimo = Files.size(archivo);
+            hs.registrarEmpleado("Dani", 1000);
+        }
+        cortar(archivo, Files.size(archivo) - 3);
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            assertEquals(12, hs.getOperacionesReproducidas());
+            assertEquals(3, hs.empleados().size());
+            assertEquals(largoSinUltimo, Files.size(archivo));
+            hs.registrarEmpleado("Dani", 1000); // se sigue agregando despues del corte
+        }
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            assertEquals(4, hs.empleados().size());
+        }
+    }
+
+    @Test
+    public void largoRotoEnMedio_esCorrupcionYNoTrunca() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        long inicioSegundo;
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            hs.registrarEmpleado("Ana", 1000);
+            inicioSegundo = Files.size(archivo);
+            cargar(hs);
+        }
+        long largo = Files.size(archivo);
+        try (FileChannel c = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            c.write(ByteBuffer.wrap(new byte[]{0x7f}), inicioSegundo); // el largo pasa a ser enorme
+        }
+        try {
+            new HomeSolutionPersistente(archivo).close();
+            fail("abrio un journal corrupto");
+        } catch (IOException esperado) {
+            assertTrue(esperado.getMessage().contains("corrupto"));
+        }
+        assertEquals(largo, Files.size(archivo));
+    }
+
+    @Test
+    public void registroIlegible_haceFallarLaApertura() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            cargar(hs);
+        }
+        // crc correcto pero datos que no alcanzan para un registrarEmpleado (tipo 1)
+        try (Journal j = Journal.abrir(archivo, Journal.Durabilidad.INMEDIATA, 0, r -> { })) {
+            j.esperar(j.agregar((byte) 1, ByteBuffer.wrap(new byte[]{0, 0})));
+        }
+        try {
+            new HomeSolutionPersistente(archivo).close();
+            fail("ignoro un registro ilegible");
+        } catch (IOException esperado) {
+            assertTrue(esperado.getMessage().contains("Registro invalido"));
+        }
+    }
+
+    @Test
+    public void variosHilos_compartenFsync() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        int hilos = 8, porHilo = 50;
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo, Journal.Durabilidad.INMEDIATA, 0)) {
+            ExecutorService pool = Executors.newFixedThreadPool(hilos);
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int h = 0; h < hilos; h++) {
+                futuros.add(pool.submit(() -> {
+                    for (int i = 0; i < porHilo; i++) hs.registrarEmpleado("E", 1000);
+                    return null;
+                }));
+            }
+            for (Future<?> f : futuros) f.get(30, TimeUnit.SECONDS);
+            pool.shutdown();
+        }
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            assertEquals(hilos * porHilo, hs.empleados().size());
+        }
+    }
+
+    @Test
+    public void snapshot_masColaDelJournal_reconstruyeElMismoEstado() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        Path foto = carpeta.getRoot().toPath().resolve("hs.snapshot");
+        String antes;
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo, foto, Journal.Durabilidad.INMEDIATA, 0)) {
+            cargar(hs);
+            hs.cambiarSinRetrasosPeriodo(101, false);
+            hs.tomarSnapshot();
+            hs.registrarRetrasoEnTarea(1, "T2", 1); // queda solo en el journal
+            hs.finalizarProyecto(1, "2025-01-20");
+            antes = estado(hs);
+        }
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo, foto, Journal.Durabilidad.INMEDIATA, 0)) {
+            assertEquals(2, hs.getOperacionesReproducidas());
+            assertEquals(antes, estado(hs));
+            hs.registrarEmpleado("Dani", 1000);
+            List<Tupla<Integer, String>> emps = hs.empleados();
+            assertEquals(103, emps.get(emps.size() - 1).getValor1().intValue());
+        }
+    }
+
+    @Test
+    public void snapshot_sacaDelJournalLoQueYaIncluye() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        Path foto = carpeta.getRoot().toPath().resolve("hs.snapshot");
+        String antes;
+        long largoAntes;
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo, foto, Journal.Durabilidad.INMEDIATA, 0)) {
+            cargar(hs);
+            largoAntes = Files.size(archivo);
+            hs.tomarSnapshot();
+            long vacio = Files.size(archivo);
+            assertTrue(vacio < 32);
+            hs.registrarRetrasoEnTarea(1, "T2", 1);
+            hs.tomarSnapshot();
+            assertEquals(vacio, Files.size(archivo));
+            hs.finalizarProyecto(1, "2025-01-20");
+            antes = estado(hs);
+        }
+        assertTrue(Files.size(archivo) < largoAntes);
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo, foto, Journal.Durabilidad.INMEDIATA, 0)) {
+            assertEquals(1, hs.getOperacionesReproducidas());
+            assertEquals(antes, estado(hs));
+        }
+        // sin la foto faltan los registros que se sacaron: no se puede abrir como si nada
+        Files.delete(foto);
+        try {
+            new HomeSolutionPersistente(archivo).close();
+            fail("abrio un journal sin el principio");
+        } catch (IOException esperado) {
+            assertTrue(esperado.getMessage().contains("marca del snapshot"));
+        }
+    }
+
+    @Test
+    public void snapshot_cargadoEnHomeSolution_igualAlOriginal() throws Exception {
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.journal");
+        Path foto = carpeta.getRoot().toPath().resolve("solo.snapshot");
+        try (HomeSolutionPersistente hs = new HomeSolutionPersistente(archivo)) {
+            cargar(hs);
+            Snapshot.guardar(hs, foto);
+            HomeSolutionPersistente copia = new HomeSolutionPersistente(carpeta.getRoot().toPath().resolve("otro.journal"));
+            Snapshot.cargar(foto, copia);
+            assertEquals(estado(hs), estado(copia));
+            copia.close();
+        }
+    }
+
+    private static void cortar(Path archivo, long largo) throws IOException {
+        try (FileChannel c = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+            c.truncate(largo);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+
+import entidades.HomeSolution;
+import importacion.FilaRechazada;
+import importacion.ImportadorCsv;
+import importacion.ResultadoImportacion;
+
+public class ImportadorCsvTests {
+
+    @Test
+    public void empleados_rechazaFilasInvalidasSinCortar() throws Exception {
+        HomeSolution hs = new HomeSolution();
+        String csv = "nombre,valor,categoria\n"
+                + "Ana,100\n"
+                + "Beto,-5\n"
+                + "\n"
+                + "\"Perez, Carla\",2000,EXPERTO\n"
+                + "Dario,abc\n"
+                + "Eva,300,NINGUNA\n";
+        ResultadoImportacion r = new ImportadorCsv(hs, 2, 2).importarEmpleados(new StringReader(csv));
+
+        assertEquals(2, r.getAceptadas());
+        assertEquals(3, r.getCantidadRechazadas());
+        List<FilaRechazada> rech = r.getRechazadas();
+        assertEquals(3, rech.get(0).getLinea());
+        assertEquals("Valor negativo", rech.get(0).getMotivo());
+        assertEquals(6, rech.get(1).getLinea());
+        assertEquals(7, rech.get(2).getLinea());
+        assertEquals("Categoria inválida", rech.get(2).getMotivo());
+        assertEquals(2, hs.empleados().size());
+        assertEquals("Perez, Carla", hs.empleados().get(1).getValor2());
+    }
+
+    @Test
+    public void proyectos_seRegistranEnOrdenConIdsConsecutivos() throws Exception {
+        HomeSolution hs = new HomeSolution();
+        StringBuilder csv = new StringBuilder("domicilio,cliente,inicio,fin,titulos,descripciones,dias\n");
+        for (int i = 0; i < 50; i++) {
+            if (i % 10 == 3) {
+                csv.append("Calle ").append(i).append(",Cliente|mail,2025-01-10,2025-01-01,A,d,1\n");
+            } else {
+                csv.append("Calle ").append(i).append(",Cliente|mail,2025-01-01,2025-02-01,Pintar|Techo,d1|d2,1|2.5\n");
+            }
+        }
+        csv.append("Calle x,Cliente,2025-01-01,2025-02-01,Pintar|Techo,d1,1|2\n");
+
+        ResultadoImportacion r = new ImportadorCsv(hs, 7, 3).importarProyectos(new StringReader(csv.toString()));
+
+        assertEquals(45, r.getAceptadas());
+        assertEquals(6, r.getRechazadas().size());
+        assertEquals(5, r.getRechazadas().get(0).getLinea());
+        assertEquals("Fecha fin anterior a inicio", r.getRechazadas().get(0).getMotivo());
+        assertEquals(52, r.getRechazadas().get(5).getLinea());
+        assertEquals("Arrays de tareas con longitudes inconsistentes", r.getRechazadas().get(5).getMotivo());
+        // los proyectos validos quedan numerados en el orden del archivo
+        assertEquals(45, hs.proyectosPendientes().size());
+        assertEquals("Calle 0", hs.proyectosPendientes().get(0).getValor2());
+        assertEquals("Calle 49", hs.proyectosPendientes().get(44).getValor2());
+        assertEquals(2, hs.tareasDeUnProyecto(hs.proyectosPendientes().get(44).getValor1()).length);
+    }
+}
@@ -0,0 +1,183 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import entidades.HomeSolution;
+import entidades.Instantanea;
+import entidades.Pagina;
+import entidades.Tupla;
+import entidades.VistaEmpleado;
+import entidades.VistaProyecto;
+
+public class InstantaneasTests {
+
+    private HomeSolution hs;
+
+    @Before
+    public void setUp() throws Exception {
+        hs = new HomeSolution();
+        hs.registrarEmpleado("Ana", 1000);             // 100
+        hs.registrarEmpleado("Beto", 1200, "EXPERTO"); // 101
+        hs.registrarEmpleado("Caro", 900);             // 102
+        for (int i = 1; i <= 6; i++) {
+            hs.registrarProyecto(new String[]{"T1", "T2"}, new String[]{"", ""}, new double[]{1, 1},
+                    "Calle " + i, new String[]{"Cli"}, "2025-01-01", "2025-01-10");
+        }
+        hs.habilitarInstantaneas(); // con datos ya cargados: la primera se arma con todo
+    }
+
+    private static List<Integer> ids(List<Tupla<Integer, String>> tuplas) {
+        List<Integer> out = new ArrayList<>();
+        for (Tupla<Integer, String> t : tuplas) out.add(t.getValor1());
+        return out;
+    }
+
+    @Test
+    public void mismasRespuestasQueHomeSolution() throws Exception {
+        hs.asignarResponsableEnTarea(1, "T1");
+        hs.asignarResponsableEnTarea(2, "T1");
+        hs.registrarRetrasoEnTarea(1, "T1", 3);
+        hs.finalizarTarea(2, "T1");
+        hs.reasignarEmpleadoConMenosRetraso(1, "T1");
+        hs.finalizarProyecto(5, "2025-02-01");
+        hs.agregarTareaEnProyecto(3, "T3", "nueva", 2);
+        hs.cambiarSinRetrasosPeriodo(101, false);
+
+        Instantanea foto = hs.instantanea();
+        assertEquals(ids(hs.proyectosPendientes()), ids(foto.proyectosPendientes()));
+        assertEquals(ids(hs.proyectosActivos()), ids(foto.proyectosActivos()));
+        assertEquals(ids(hs.proyectosFinalizados()), ids(foto.proyectosFinalizados()));
+        assertEquals(ids(hs.empleados()), ids(foto.empleados()));
+        assertArrayEquals(hs.empleadosNoAsignados(), foto.empleadosNoAsignados());
+        for (int n = 1; n <= 6; n++) {
+            assertEquals(hs.consultarProyecto(n), foto.consultarProyecto(n));
+            assertEquals(hs.costoProyecto(n), foto.costoProyecto(n), 1e-9);
+            assertEquals(hs.estaFinalizado(n), foto.estaFinalizado(n));
+            assertEquals(hs.consultarDomicilioProyecto(n), foto.consultarDomicilioProyecto(n));
+            assertArrayEquals(hs.tareasDeUnProyecto(n), foto.tareasDeUnProyecto(n));
+            if (!hs.estaFinalizado(n)) assertArrayEquals(hs.tareasProyectoNoAsignadas(n), foto.tareasProyectoNoAsignadas(n));
+            assertEquals(hs.responsableDeTarea(n, "T1"), foto.responsableDeTarea(n, "T1"));
+            assertEquals(ids(hs.empleadosAsignadosAProyecto(n)), ids(foto.empleadosAsignadosAProyecto(n)));
+            assertEquals(ids(hs.historialEmpleadosDeProyecto(n)), ids(foto.historialEmpleadosDeProyecto(n)));
+        }
+        for (int leg = 100; leg <= 102; leg++) {
+            assertEquals(hs.consultarCantidadRetrasosEmpleado(leg), foto.consultarCantidadRetrasosEmpleado(leg));
+            assertEquals(hs.tieneRestrasos(leg), foto.tieneRestrasos(leg));
+            assertEquals(hs.obtenerEmpleado(leg).isAsignado(), foto.empleado(leg).isAsignado());
+        }
+        assertNull(foto.consultarProyecto(99));
+
+        Pagina<Tupla<Integer, String>> pagina = foto.paginaProyectosPendientes(null, 2);
+        assertEquals(List.of(1, 2), ids(pagina.getElementos()));
+        pagina = foto.paginaProyectosPendientes(pagina.getSiguiente(), 2);
+        assertEquals(ids(hs.paginaProyectosPendientes(3, 2).getElementos()), ids(pagina.getElementos()));
+        assertEquals(List.of(101, 102), ids(foto.paginaEmpleados(101, 5).getElementos()));
+    }
+
+    @Test
+    public void instantaneaViejaNoCambia() throws Exception {
+        Instantanea antes = hs.instantanea();
+        hs.asignarResponsableEnTarea(1, "T1");
+        hs.finalizarTarea(1, "T1");
+        hs.finalizarTarea(1, "T2");
+        hs.registrarEmpleado("Dani", 500);
+
+        assertEquals(6, antes.proyectosPendientes().size());
+        assertTrue(antes.proyectosFinalizados().isEmpty());
+        assertEquals(3, antes.cantidadEmpleados());
+        assertNull(antes.proyecto(1).getTareas().get(0).getResponsableLegajo());
+
+        Instantanea despues = hs.instantanea();
+        assertTrue(despues.getVersion() > antes.getVersion());
+        assertEquals(List.of(1), ids(despues.proyectosFinalizados()));
+        assertEquals(4, despues.cantidadEmpleados());
+        assertEquals(Integer.valueOf(100), despues.proyecto(1).getTareas().get(0).getResponsableLegajo());
+        assertSame(antes.proyecto(2), despues.proyecto(2)); // lo que no cambio se comparte
+
+        // una consulta no publica nada
+        hs.costoProyecto(1);
+        assertSame(despues, hs.instantanea());
+    }
+
+    @Test
+    public void cambiarUnaTareaCompartelasDemas() throws Exception {
+        String[] titulos = new String[50];
+        String[] descripciones = new String[50];
+        double[] dias = new double[50];
+        for (int i = 0; i < titulos.length; i++) {
+            titulos[i] = "T" + i;
+            descripciones[i] = "";
+            dias[i] = 1;
+        }
+        hs.registrarProyecto(titulos, descripciones, dias, "Larga",
+                new String[]{"Cli"}, "2025-01-01", "2025-03-01");
+        hs.asignarResponsableEnTarea(7, "T3");
+        VistaProyecto antes = hs.instantanea().proyecto(7);
+
+        hs.registrarRetrasoEnTarea(7, "T3", 2);
+        hs.asignarResponsableEnTarea(7, "T40");
+        hs.agregarTareaEnProyecto(7, "T50", "", 1);
+        VistaProyecto despues = hs.instantanea().proyecto(7);
+
+        assertEquals(51, despues.cantidadTareas());
+        for (int i = 0; i < 50; i++) {
+            if (i == 3 || i == 40) assertNotSame(antes.getTareas().get(i), despues.getTareas().get(i));
+            else assertSame(antes.getTareas().get(i), despues.getTareas().get(i));
+        }
+        assertEquals("T50", despues.getTareas().get(50).getTitulo());
+        assertEquals(Integer.valueOf(101), despues.tarea("T40").getResponsableLegajo());
+        assertArrayEquals(new int[]{100}, antes.getHistorialEmpleados());
+        assertArrayEquals(hs.obtenerProyecto(7).getHistorialEmpleados(), despues.getHistorialEmpleados());
+        assertEquals(hs.consultarProyecto(7), hs.instantanea().consultarProyecto(7));
+    }
+
+    @Test
+    public void lectorEnOtroHiloSiempreVeUnEstadoConsistente() throws Exception {
+        for (int i = 0; i < 20; i++) hs.registrarEmpleado("E" + i, 1000);
+        AtomicReference<String> error = new AtomicReference<>();
+        Thread escritor = new Thread(() -> {
+            try {
+                for (int i = 0; i < 300; i++) {
+                    hs.registrarProyecto(new String[]{"A", "B"}, new String[]{"", ""}, new double[]{1, 1},
+                            "Dir " + i, new String[]{"C"}, "2025-01-01", "2025-01-10");
+                    int n = 7 + i;
+                    hs.asignarResponsableEnTarea(n, "A");
+                    hs.asignarResponsableMenosRetraso(n, "B");
+                    hs.registrarRetrasoEnTarea(n, "A", 1);
+                    hs.finalizarTarea(n, "A");
+                    if (i % 2 == 0) hs.finalizarTarea(n, "B");
+                    else hs.finalizarProyecto(n, "2025-03-01");
+                }
+            } catch (Exception e) {
+                error.set(e.toString());
+            }
+        });
+        escritor.start();
+        long version = -1;
+        int lecturas = 0;
+        while (escritor.isAlive() || lecturas == 0) {
+            Instantanea foto = hs.instantanea();
+            assertTrue(foto.getVersion() >= version);
+            version = foto.getVersion();
+            // cada empleado asignado esta entre los actuales de exactamente un proyecto de la misma foto
+            int asignados = 0;
+            for (VistaEmpleado e : foto.empleadosPorLegajo()) if (e.isAsignado()) asignados++;
+            int actuales = 0;
+            for (VistaProyecto p : foto.proyectosPorNumero()) actuales += p.cantidadEmpleadosActuales();
+            assertEquals(asignados, actuales);
+            assertEquals(foto.cantidadProyectos(), foto.proyectosPendientes().size() + foto.proyectosFinalizados().size());
+            lecturas++;
+        }
+        escritor.join();
+        assertNull(error.get());
+        assertEquals(306, hs.instantanea().proyectosFinalizados().size() + hs.instantanea().proyectosPendientes().size());
+        assertEquals(300, hs.instantanea().proyectosFinalizados().size());
+    }
+}
@@ -0,0 +1,97 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import entidades.EstadisticasIndices;
+import entidades.HomeSolution;
+import entidades.Proyecto;
+import entidades.Snapshot;
+import metricas.MonitorIndices;
+
+public class MonitorIndicesTests {
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private static HomeSolution conOperaciones() throws Exception {
+        HomeSolution hs = new HomeSolution();
+        for (int i = 0; i < 6; i++) hs.registrarEmpleado("E" + i, 1000);
+        hs.registrarEmpleado("P", 20000, "EXPERTO");
+        for (int i = 0; i < 3; i++) {
+            hs.registrarProyecto(new String[]{"A", "B"}, new String[]{"", ""}, new double[]{1, 2},
+                    "Calle " + i, new String[]{"Cli"}, "2025-01-01", "2025-01-05");
+        }
+        hs.asignarResponsableEnTarea(1, "A");
+        hs.asignarResponsableEnTarea(1, "B");
+        hs.asignarResponsableEnTarea(2, "A");
+        hs.reasignarEmpleadoEnProyecto(2, 106, "A");
+        hs.agregarTareaEnProyecto(3, "C", "nueva", 1);
+        hs.asignarResponsableMenosRetraso(3, "C");
+        hs.finalizarTarea(1, "A");
+        hs.finalizarProyecto(2, "2025-02-01");
+        return hs;
+    }
+
+    // los totales incrementales tienen que coincidir con recorrer todo
+    private static void verificarTotales(HomeSolution hs) {
+        EstadisticasIndices e = hs.estadisticas();
+        long tareas = 0, actuales = 0, historial = 0;
+        for (Proyecto p : hs.proyectosPorNumero()) {
+            tareas += p.cantidadTareas();
+            actuales += p.cantidadEmpleadosActuales();
+            historial += p.cantidadHistorial();
+        }
+        assertEquals(tareas, e.getTareas());
+        assertEquals(actuales, e.getEmpleadosActuales());
+        assertEquals(historial, e.getHistorial());
+        assertEquals(hs.empleadosNoAsignados().length, e.getEmpleadosLibres());
+    }
+
+    @Test
+    public void totales_coincidenConRecorrerYSobrevivenAlSnapshot() throws Exception {
+        HomeSolution hs = conOperaciones();
+        EstadisticasIndices e = hs.estadisticas();
+        assertEquals(7, e.getEmpleados());
+        assertEquals(3, e.getProyectos());
+        assertEquals(7, e.getTareas());
+        assertEquals(2, e.getEmpleadosActuales()); // 1-B y 3-C
+        assertEquals(5, e.getHistorial());
+        assertEquals(1, e.getProyectosFinalizados());
+        assertEquals(107, e.getNextLegajo());
+        verificarTotales(hs);
+
+        Path archivo = carpeta.getRoot().toPath().resolve("hs.snapshot");
+        Snapshot.guardar(hs, archivo);
+        HomeSolution restaurado = new HomeSolution();
+        Snapshot.cargar(archivo, restaurado);
+        verificarTotales(restaurado);
+        assertEquals(e.memoriaEstimada(), restaurado.estadisticas().memoriaEstimada());
+    }
+
+    @Test
+    public void mxbean_seLeePorJmx() throws Exception {
+        HomeSolution hs = conOperaciones();
+        ObjectName nombre = MonitorIndices.registrar(hs);
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(7, servidor.getAttribute(nombre, "Empleados"));
+            assertEquals(7L, servidor.getAttribute(nombre, "Tareas"));
+            TabularData memoria = (TabularData) servidor.getAttribute(nombre, "MemoriaEstimada");
+            assertEquals(hs.estadisticas().memoriaEstimada().size(), memoria.size());
+            assertTrue((Long) servidor.getAttribute(nombre, "MemoriaEstimadaTotal") > 0);
+        } finally {
+            servidor.unregisterMBean(nombre);
+        }
+    }
+}
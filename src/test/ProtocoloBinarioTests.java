@@ -0,0 +1,139 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import entidades.HomeSolution;
+import entidades.Tupla;
+import protocolo.ClienteBinario;
+import protocolo.Operacion;
+import protocolo.ServidorBinario;
+
+public class ProtocoloBinarioTests {
+
+    private HomeSolution hs;
+    private ServidorBinario servidor;
+    private ClienteBinario cliente;
+
+    @Before
+    public void setUp() throws Exception {
+        hs = new HomeSolution();
+        servidor = new ServidorBinario(hs, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        servidor.iniciar();
+        cliente = ClienteBinario.conectar(new InetSocketAddress(InetAddress.getLoopbackAddress(), servidor.getPuerto()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        cliente.close();
+        servidor.close();
+    }
+
+    private void proyectoDeEjemplo() {
+        cliente.registrarProyecto(new String[]{"Pintar pared", "Techo"}, new String[]{"", ""}, new double[]{1, 2},
+                "San Martín 10", new String[]{"Ana", "ana@mail", "123"}, "2025-01-01", "2025-01-10");
+    }
+
+    // Tupla no define equals
+    private static String texto(List<Tupla<Integer, String>> tuplas) {
+        StringBuilder sb = new StringBuilder();
+        for (Tupla<Integer, String> t : tuplas) sb.append(t.getValor1()).append('=').append(t.getValor2()).append(';');
+        return sb.toString();
+    }
+
+    @Test
+    public void flujoCompletoPorElCliente() throws Exception {
+        cliente.registrarEmpleado("Luis", 1000);
+        cliente.registrarEmpleado("Eva", 2000, "EXPERTO");
+        proyectoDeEjemplo();
+
+        assertEquals(texto(hs.proyectosPendientes()), texto(cliente.proyectosPendientes()));
+        cliente.asignarResponsableEnTarea(1, "Pintar pared");
+        assertEquals(Integer.valueOf(100), cliente.responsableDeTarea(1, "Pintar pared"));
+        assertNull(cliente.responsableDeTarea(1, "Techo"));
+        cliente.registrarRetrasoEnTarea(1, "Pintar pared", 2);
+        assertTrue(cliente.tieneRestrasos(100));
+        assertEquals(2, cliente.consultarCantidadRetrasosEmpleado(100));
+        assertArrayEquals(new Object[]{"Techo"}, cliente.tareasProyectoNoAsignadas(1));
+        assertArrayEquals(new Object[]{101}, cliente.empleadosNoAsignados());
+        assertEquals("San Martín 10", cliente.consultarDomicilioProyecto(1));
+
+        cliente.finalizarTarea(1, "Pintar pared");
+        cliente.finalizarTarea(1, "Techo");
+        assertTrue(cliente.estaFinalizado(1));
+        assertEquals(hs.costoProyecto(1), cliente.costoProyecto(1), 1e-9);
+        assertEquals(hs.consultarProyecto(1), cliente.consultarProyecto(1));
+        assertEquals(texto(hs.historialEmpleadosDeProyecto(1)), texto(cliente.historialEmpleadosDeProyecto(1)));
+    }
+
+    @Test
+    public void erroresVuelvenComoExcepciones() throws Exception {
+        proyectoDeEjemplo();
+        try {
+            cliente.costoProyecto(9);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("no existe"));
+        }
+        try {
+            cliente.asignarResponsableEnTarea(1, "Techo"); // no hay empleados
+            fail();
+        } catch (IllegalArgumentException e) {
+            fail("un rechazo de negocio no es un argumento invalido");
+        } catch (Exception e) {
+            assertNotNull(e.getMessage());
+        }
+        try {
+            cliente.registrarEmpleado("", 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // ok
+        }
+        // la conexion sigue sirviendo despues de los errores
+        assertEquals(1, cliente.proyectosPendientes().size());
+    }
+
+    @Test
+    public void muchosPedidosEnVueloPorUnaConexion() throws Exception {
+        for (int i = 0; i < 10; i++) proyectoDeEjemplo();
+        List<CompletableFuture<Object>> pedidos = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) pedidos.add(cliente.pedir(Operacion.COSTO_PROYECTO, 1 + i % 10));
+        pedidos.add(cliente.pedir(Operacion.COSTO_PROYECTO, 99));
+        for (int i = 0; i < 1000; i++) assertEquals(hs.costoProyecto(1 + i % 10), (Double) pedidos.get(i).get(), 1e-9);
+        try {
+            pedidos.get(1000).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+        assertEquals(0, cliente.getEnVuelo());
+        assertEquals(1011, servidor.getPedidos());
+    }
+
+    @Test
+    public void respuestaMasGrandeQueElBuffer() throws Exception {
+        for (int i = 0; i < 5000; i++) hs.registrarEmpleado("Empleado " + i + " ñandú", 1000);
+        List<Tupla<Integer, String>> empleados = cliente.empleados();
+        assertEquals(5000, empleados.size());
+        assertEquals(texto(hs.empleados()), texto(empleados));
+        assertEquals(5000, cliente.empleadosNoAsignados().length);
+    }
+
+    @Test
+    public void close_loMarcaCerradoSinFalla() throws Exception {
+        assertTrue(servidor.estaAbierto());
+        servidor.close();
+        assertFalse(servidor.estaAbierto());
+        assertNull(servidor.getFalla());
+    }
+}
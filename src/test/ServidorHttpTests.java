@@ -0,0 +1,117 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import entidades.HomeSolutionConcurrente;
+import servidor.ServidorHttp;
+
+public class ServidorHttpTests {
+
+    private HomeSolutionConcurrente hs;
+    private ServidorHttp servidor;
+    private HttpClient cliente;
+    private String base;
+
+    @Before
+    public void setUp() throws Exception {
+        hs = new HomeSolutionConcurrente(8);
+        servidor = new ServidorHttp(hs, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        servidor.iniciar();
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        base = "http://127.0.0.1:" + servidor.getPuerto();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servidor.close();
+    }
+
+    private HttpResponse<String> get(String camino) throws Exception {
+        return cliente.send(HttpRequest.newBuilder(URI.create(base + camino)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String camino, String json) throws Exception {
+        return cliente.send(HttpRequest.newBuilder(URI.create(base + camino))
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void proyectoDeEjemplo() throws Exception {
+        assertEquals(201, post("/proyectos", "{\"titulos\":[\"Pintar pared\",\"Techo\"],\"descripciones\":[\"\",\"\"],"
+                + "\"dias\":[1,2],\"domicilio\":\"San Martín 10\",\"cliente\":[\"Ana\"],"
+                + "\"inicio\":\"2025-01-01\",\"fin\":\"2025-01-10\"}").statusCode());
+    }
+
+    @Test
+    public void flujoCompletoPorHttp() throws Exception {
+        assertEquals(201, post("/empleados", "{\"nombre\":\"Luis\",\"valor\":1000}").statusCode());
+        assertEquals(201, post("/empleados", "{\"nombre\":\"Eva\",\"valor\":2000,\"categoria\":\"EXPERTO\"}").statusCode());
+        proyectoDeEjemplo();
+
+        assertEquals("[{\"numero\":1,\"domicilio\":\"San Martín 10\"}]", get("/proyectos?estado=pendientes").body());
+        assertEquals(200, post("/proyectos/1/tareas/Pintar%20pared/asignar", "").statusCode());
+        assertEquals("{\"titulo\":\"Pintar pared\",\"responsable\":100}", get("/proyectos/1/tareas/Pintar%20pared").body());
+        assertEquals(200, post("/proyectos/1/tareas/Pintar%20pared/retraso", "{\"dias\":2}").statusCode());
+        assertEquals("{\"legajo\":100,\"retrasos\":2,\"tieneRetrasos\":true}", get("/empleados/100").body());
+        assertEquals("[\"Techo\"]", get("/proyectos/1/tareas?sinAsignar=true").body());
+        assertEquals("[101]", get("/empleados/libres").body());
+        assertEquals("[{\"legajo\":100,\"nombre\":\"Luis\"}]", get("/proyectos/1/empleados").body());
+
+        assertEquals(200, post("/proyectos/1/tareas/Pintar%20pared/finalizar", "").statusCode());
+        assertEquals(200, post("/proyectos/1/tareas/Techo/finalizar", "").statusCode());
+        HttpResponse<String> proyecto = get("/proyectos/1");
+        assertEquals(200, proyecto.statusCode());
+        assertTrue(proyecto.body().contains("\"finalizado\":true"));
+        assertEquals(hs.costoProyecto(1), Double.parseDouble(
+                get("/proyectos/1/costo").body().replaceAll(".*\"costo\":([0-9.]+).*", "$1")), 1e-6);
+    }
+
+    @Test
+    public void erroresConCodigoYMensaje() throws Exception {
+        proyectoDeEjemplo();
+        HttpResponse<String> r = get("/proyectos/9/costo");
+        assertEquals(404, r.statusCode());
+        assertTrue(r.body().startsWith("{\"error\":"));
+        assertEquals(409, post("/proyectos/1/tareas/Techo/asignar", "{}").statusCode()); // sin empleados libres
+        assertEquals(400, post("/empleados", "{\"nombre\":").statusCode());
+        assertEquals(400, post("/empleados", "{\"nombre\":\"\",\"valor\":1}").statusCode());
+        assertEquals(405, post("/empleados/libres", "{}").statusCode());
+        assertEquals(404, get("/nada").statusCode());
+        assertEquals(400, get("/proyectos/uno").statusCode());
+    }
+
+    @Test
+    public void respuestaGrandeSaleEnPartes() throws Exception {
+        for (int i = 0; i < 2000; i++) hs.registrarEmpleado("Empleado \"" + i + "\" ñandú", 1000);
+        HttpResponse<String> r = get("/empleados");
+        assertEquals(200, r.statusCode());
+        assertTrue(r.body().length() > 8 * 1024);
+        assertTrue(r.body().startsWith("[{\"legajo\":100,\"nombre\":\"Empleado \\\"0\\\" ñandú\"}"));
+        assertEquals(2000, r.body().split("\"legajo\"").length - 1);
+    }
+
+    @Test
+    public void pedidosConcurrentes() throws Exception {
+        for (int i = 0; i < 20; i++) proyectoDeEjemplo();
+        List<CompletableFuture<HttpResponse<String>>> pedidos = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            pedidos.add(cliente.sendAsync(HttpRequest.newBuilder(URI.create(base + "/proyectos/" + (1 + i % 20) + "/costo"))
+                    .GET().build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> p : pedidos) assertEquals(200, p.get().statusCode());
+    }
+}